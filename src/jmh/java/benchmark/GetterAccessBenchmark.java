@@ -1,5 +1,9 @@
 package benchmark;
 
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.DataFetchingEnvironmentImpl;
+import graphql.schema.PropertyDataFetcher;
+import graphql.schema.PropertyDataFetcherHelper;
 import graphql.schema.fetching.LambdaFetchingSupport;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Fork;
@@ -40,6 +44,10 @@ public class GetterAccessBenchmark {
 
     static Method getterMethod;
 
+    static PropertyDataFetcher<Object> nameFetcher = PropertyDataFetcher.fetching("name");
+
+    static DataFetchingEnvironment dfe = DataFetchingEnvironmentImpl.newDataFetchingEnvironment().source(pojo).build();
+
     static {
         try {
             getterMethod = Pojo.class.getMethod("getName");
@@ -70,5 +78,16 @@ public class GetterAccessBenchmark {
             throw new RuntimeException(e);
         }
     }
-}
 
+    @Benchmark
+    public void measurePropertyDataFetcherAccess(Blackhole bh) {
+        Object value = nameFetcher.get(dfe);
+        bh.consume(value);
+    }
+
+    @Benchmark
+    public void measureGlobalCacheAccess(Blackhole bh) {
+        Object value = PropertyDataFetcherHelper.getPropertyValue("name", pojo, null, () -> dfe);
+        bh.consume(value);
+    }
+}
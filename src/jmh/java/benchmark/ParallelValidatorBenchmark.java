@@ -0,0 +1,88 @@
+package benchmark;
+
+import graphql.ParseAndValidate;
+import graphql.language.Document;
+import graphql.parser.Parser;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.validation.ValidationError;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This benchmark validates a large batch of documents in parallel, as you might when checking all the registered
+ * operations of your clients against a candidate schema.  Compare the thread counts to see how validation scales.
+ *
+ * @see ValidatorBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3)
+@Fork(2)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ParallelValidatorBenchmark {
+
+    @Param({"1", "2", "4", "8"})
+    int threads;
+
+    int howManyDocuments = 200;
+
+    GraphQLSchema largeSchema1;
+    Map<String, Document> largeSchema1Documents;
+    GraphQLSchema manyFragments;
+    Map<String, Document> manyFragmentsDocuments;
+    ExecutorService executorService;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        largeSchema1 = SchemaGenerator.createdMockedSchema(BenchmarkUtils.loadResource("large-schema-1.graphqls"));
+        largeSchema1Documents = documents(BenchmarkUtils.loadResource("large-schema-1-query.graphql"));
+        manyFragments = SchemaGenerator.createdMockedSchema(BenchmarkUtils.loadResource("many-fragments.graphqls"));
+        manyFragmentsDocuments = documents(BenchmarkUtils.loadResource("many-fragments-query.graphql"));
+        executorService = Executors.newFixedThreadPool(threads);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    private Map<String, Document> documents(String query) {
+        // each document is parsed separately, as they would be if they were registered by clients
+        Map<String, Document> documents = new LinkedHashMap<>();
+        for (int i = 0; i < howManyDocuments; i++) {
+            documents.put("document" + i, Parser.parse(query));
+        }
+        return documents;
+    }
+
+    @Benchmark
+    public Map<String, List<ValidationError>> largeSchema1() {
+        return ParseAndValidate.validateAll(largeSchema1, largeSchema1Documents, Locale.ENGLISH, executorService).join();
+    }
+
+    @Benchmark
+    public Map<String, List<ValidationError>> manyFragments() {
+        return ParseAndValidate.validateAll(manyFragments, manyFragmentsDocuments, Locale.ENGLISH, executorService).join();
+    }
+}
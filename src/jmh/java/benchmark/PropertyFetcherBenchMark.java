@@ -3,6 +3,7 @@ package benchmark;
 import graphql.schema.DataFetchingEnvironment;
 import graphql.schema.DataFetchingEnvironmentImpl;
 import graphql.schema.PropertyDataFetcher;
+import graphql.schema.PropertyDataFetcherHelper;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Fork;
@@ -12,6 +13,7 @@ import org.openjdk.jmh.annotations.OutputTimeUnit;
 import org.openjdk.jmh.annotations.Warmup;
 import org.openjdk.jmh.infra.Blackhole;
 
+import java.util.Collections;
 import java.util.concurrent.TimeUnit;
 
 @Warmup(iterations = 2, time = 5, batchSize = 50)
@@ -33,10 +35,34 @@ public class PropertyFetcherBenchMark {
         executeTest(blackhole, dfeBar);
     }
 
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void benchMarkThroughputViaGlobalCaches(Blackhole blackhole) {
+        // what every fetch cost before fetchers kept the accessor for the class of their sources
+        blackhole.consume(PropertyDataFetcherHelper.getPropertyValue("name", dfeBar.getSource(), null, () -> dfeBar));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void benchMarkThroughputPublicField(Blackhole blackhole) {
+        executeTest(blackhole, dfeBaz);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void benchMarkThroughputMapSource(Blackhole blackhole) {
+        executeTest(blackhole, dfeMap);
+    }
+
     static PropertyDataFetcher<Object> nameFetcher = PropertyDataFetcher.fetching("name");
 
     static DataFetchingEnvironment dfeFoo = DataFetchingEnvironmentImpl.newDataFetchingEnvironment().source(new Foo("brad")).build();
     static DataFetchingEnvironment dfeBar = DataFetchingEnvironmentImpl.newDataFetchingEnvironment().source(new Bar("brad")).build();
+    static DataFetchingEnvironment dfeBaz = DataFetchingEnvironmentImpl.newDataFetchingEnvironment().source(new Baz("brad")).build();
+    static DataFetchingEnvironment dfeMap = DataFetchingEnvironmentImpl.newDataFetchingEnvironment().source(Collections.singletonMap("name", "brad")).build();
 
     public static void executeTest(Blackhole blackhole, DataFetchingEnvironment dfe) {
         blackhole.consume(nameFetcher.get(dfe));
@@ -60,4 +86,12 @@ public class PropertyFetcherBenchMark {
             return name;
         }
     }
+
+    static class Baz {
+        public final String name;
+
+        Baz(String name) {
+            this.name = name;
+        }
+    }
 }
@@ -0,0 +1,81 @@
+package benchmark;
+
+import graphql.schema.GraphQLNamedType;
+import graphql.schema.GraphQLScalarType;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.SchemaImage;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.ScalarInfo;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import graphql.schema.idl.TypeDefinitionRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares building a large schema from SDL, as every replica does at startup, with reading the same schema
+ * back from a {@link SchemaImage}
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3)
+@Fork(2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SchemaImageBenchmark {
+
+    @Param({"large-schema-3.graphqls", "extra-large-schema-1.graphqls"})
+    public String schemaFile;
+
+    String sdl;
+    byte[] image;
+    RuntimeWiring imageWiring;
+
+    @Setup
+    public void setup() throws IOException {
+        sdl = BenchmarkUtils.loadResource(schemaFile);
+        GraphQLSchema schema = createSchema(sdl);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SchemaImage.write(schema, out);
+        image = out.toByteArray();
+
+        // the mocked wiring factory makes scalars from their SDL definitions, which an image does not have
+        RuntimeWiring.Builder wiring = RuntimeWiring.newRuntimeWiring();
+        for (GraphQLNamedType type : schema.getAllTypesAsList()) {
+            if (type instanceof GraphQLScalarType && !ScalarInfo.isGraphqlSpecifiedScalar((GraphQLScalarType) type)) {
+                wiring.scalar((GraphQLScalarType) type);
+            }
+        }
+        imageWiring = wiring.build();
+    }
+
+    @Benchmark
+    public GraphQLSchema benchmarkBuildFromSdl() {
+        return createSchema(sdl);
+    }
+
+    @Benchmark
+    public GraphQLSchema benchmarkReadFromImage() throws IOException {
+        return SchemaImage.read(new ByteArrayInputStream(image), imageWiring);
+    }
+
+    private static GraphQLSchema createSchema(String sdl) {
+        TypeDefinitionRegistry registry = new SchemaParser().parse(sdl);
+        return new SchemaGenerator().makeExecutableSchema(registry, RuntimeWiring.MOCKED_WIRING);
+    }
+}
@@ -89,12 +89,15 @@ public class SchemaTransformerBenchmark {
             }
         };
 
+        String incrementalTypeName;
+
         @Setup
         public void setup() {
             try {
                 String schemaString = BenchmarkUtils.loadResource("large-schema-3.graphqls");
                 schema = SchemaGenerator.createdMockedSchema(schemaString);
                 txSchema = SchemaTransformer.transformSchema(schema, directiveAdder);
+                incrementalTypeName = schema.getQueryType().getName();
             } catch (Exception e) {
                 throw new RuntimeException(e);
             }
@@ -114,4 +117,10 @@ public class SchemaTransformerBenchmark {
         GraphQLSchema schema = myState.txSchema;
         return SchemaTransformer.transformSchema(schema, myState.directiveRemover);
     }
+
+    @Benchmark
+    public GraphQLSchema benchMarkSchemaTransformerAddIncrementally(MyState myState) {
+        GraphQLSchema schema = myState.schema;
+        return SchemaTransformer.transformSchemaIncrementally(schema, List.of(myState.incrementalTypeName), myState.directiveAdder);
+    }
 }
@@ -0,0 +1,106 @@
+package performance;
+
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.analysis.AdmissionControlInstrumentation;
+import graphql.analysis.AdmissionController;
+import graphql.analysis.FieldComplexityCalculator;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static graphql.schema.idl.TypeRuntimeWiring.newTypeWiring;
+
+/**
+ * A load test of the {@link AdmissionControlInstrumentation}.  A few threads keep sending expensive queries, which saturate the node,
+ * while one thread sends cheap queries.  The sample time percentiles of the {@code cheap} benchmark show the tail latency of the cheap
+ * queries with and without admission control, and those of the {@code expensive} benchmark show how quickly the expensive queries that
+ * don't fit the cost budget are turned away.
+ * <p>
+ * The differences only show on machines with more cores than the expensive threads.
+ */
+@State(Scope.Group)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3)
+@Fork(2)
+public class AdmissionControlPerformance {
+
+    static final String CHEAP_QUERY = "{ items(count : 1) { value } }";
+    static final String EXPENSIVE_QUERY = "{ items(count : 2000) { value } }";
+
+    @Param({"none", "admission"})
+    String mode;
+
+    GraphQL graphQL;
+
+    @Setup
+    public void setup() {
+        String sdl = "type Query { items(count : Int!) : [Item] }\n" +
+                "type Item { value : Int }\n";
+        RuntimeWiring wiring = RuntimeWiring.newRuntimeWiring()
+                .type(newTypeWiring("Query").dataFetcher("items", env -> Collections.nCopies(env.<Integer>getArgument("count"), 1)))
+                .type(newTypeWiring("Item").dataFetcher("value", env -> {
+                    // stands in for the work a real data fetcher does
+                    Blackhole.consumeCPU(1000);
+                    return 1;
+                }))
+                .build();
+        GraphQLSchema schema = new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(sdl), wiring);
+
+        GraphQL.Builder builder = GraphQL.newGraphQL(schema);
+        if (mode.equals("admission")) {
+            // a list field costs its items times the cost of an item
+            FieldComplexityCalculator calculator = (env, childComplexity) -> {
+                Object count = env.getArguments().get("count");
+                return count instanceof Integer ? (Integer) count * (1 + childComplexity) : 1 + childComplexity;
+            };
+            // room for one expensive query and plenty of cheap ones
+            AdmissionController admissionController = AdmissionController.newAdmissionController()
+                    .maxConcurrentCost(5000)
+                    .maxQueueLength(4)
+                    .maxQueueTime(Duration.ofMillis(50))
+                    .build();
+            builder.instrumentation(new AdmissionControlInstrumentation(admissionController, calculator));
+        }
+        graphQL = builder.build();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void cheap(Blackhole blackhole) {
+        ExecutionResult executionResult = graphQL.execute(CHEAP_QUERY);
+        blackhole.consume(executionResult);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(3)
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void expensive(Blackhole blackhole) {
+        ExecutionResult executionResult = graphQL.execute(EXPENSIVE_QUERY);
+        blackhole.consume(executionResult);
+    }
+}
@@ -25,6 +25,8 @@ import org.openjdk.jmh.annotations.Warmup;
 import org.openjdk.jmh.infra.Blackhole;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 @State(Scope.Benchmark)
@@ -95,6 +97,30 @@ public class DFSelectionSetPerformance {
         blackhole.consume(fields);
     }
 
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void benchMarkAvgTime_siblingsContains(MyState myState, Blackhole blackhole) {
+        siblingsContains(myState, blackhole, null);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void benchMarkAvgTime_siblingsContainsShared(MyState myState, Blackhole blackhole) {
+        siblingsContains(myState, blackhole, new ConcurrentHashMap<>());
+    }
+
+    /*
+     * This is what a look-ahead data fetcher on the items of a list does - each item has its own environment and so its own selection set
+     */
+    private void siblingsContains(MyState myState, Blackhole blackhole, Map<ExecutableNormalizedField, DataFetchingFieldSelectionSet> sharedSelectionSets) {
+        for (int i = 0; i < 100; i++) {
+            DataFetchingFieldSelectionSet dataFetchingFieldSelectionSet = DataFetchingFieldSelectionSetImpl.newCollector(myState.schema, myState.outputFieldType, () -> myState.normalisedField, sharedSelectionSets);
+            blackhole.consume(dataFetchingFieldSelectionSet.contains("wontBeFound/*"));
+        }
+    }
+
     private List<SelectedField> getSelectedFields(MyState myState) {
         DataFetchingFieldSelectionSet dataFetchingFieldSelectionSet = DataFetchingFieldSelectionSetImpl.newCollector(myState.schema, myState.outputFieldType, () -> myState.normalisedField);
         return dataFetchingFieldSelectionSet.getFields("wontBeFound");
@@ -53,7 +53,7 @@ public class OverlappingFieldValidationPerformance {
         GraphQLSchema schema2;
         Document document;
 
-        @Param({"100"})
+        @Param({"100", "800"})
         int size;
 
         Document overlapFrag;
@@ -62,6 +62,7 @@ public class OverlappingFieldValidationPerformance {
         Document noOverlapNoFrag;
         Document repeatedFields;
         Document deepAbstractConcrete;
+        Document nestedFragments;
 
         @Setup
         public void setup() {
@@ -71,7 +72,9 @@ public class OverlappingFieldValidationPerformance {
                 noOverlapFrag = makeQuery(size, false, true);
                 noOverlapNoFrag = makeQuery(size, false, false);
                 repeatedFields = makeRepeatedFieldsQuery(size);
-                deepAbstractConcrete = makeDeepAbstractConcreteQuery(size);
+                // the parser limits how deep a query can be nested
+                deepAbstractConcrete = makeDeepAbstractConcreteQuery(Math.min(size, 100));
+                nestedFragments = makeNestedFragmentsQuery(size);
 
 
                 schema2 = SchemaGenerator.createdMockedSchema(schemaSdl);
@@ -147,6 +150,13 @@ public class OverlappingFieldValidationPerformance {
         blackhole.consume(validateQuery(myState.schema2, myState.deepAbstractConcrete));
     }
 
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void benchmarkNestedFragments(MyState myState, Blackhole blackhole) {
+        blackhole.consume(validateQuery(myState.schema2, myState.nestedFragments));
+    }
+
     private List<ValidationError> validateQuery(GraphQLSchema schema, Document document) {
         ValidationErrorCollector errorCollector = new ValidationErrorCollector();
         I18n i18n = I18n.i18n(I18n.BundleType.Validation, Locale.ENGLISH);
@@ -221,6 +231,18 @@ public class OverlappingFieldValidationPerformance {
         return Parser.parse(b.toString());
     }
 
+    private static Document makeNestedFragmentsQuery(int size) {
+        StringBuilder b = new StringBuilder();
+
+        b.append("fragment nestedFields0 on Query { viewer { xingId { firstName } } }\n");
+        for (int i = 1; i <= size; i++) {
+            b.append("fragment nestedFields" + i + " on Query { ...nestedFields" + (i - 1) + " viewer { xingId { firstName lastName } } }\n");
+        }
+        b.append("query testQuery { ...nestedFields" + size + " }");
+
+        return Parser.parse(b.toString());
+    }
+
     private static Document makeDeepAbstractConcreteQuery(int depth) {
         StringBuilder q = new StringBuilder();
 
@@ -0,0 +1,118 @@
+package performance;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.execution.AsyncExecutionStrategy;
+import graphql.execution.ExecutionStrategy;
+import graphql.execution.PrecompiledExecutionStrategy;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.language.Document;
+import graphql.parser.Parser;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static graphql.schema.idl.TypeRuntimeWiring.newTypeWiring;
+
+/**
+ * Compares the {@link PrecompiledExecutionStrategy} with the {@link AsyncExecutionStrategy} on a query that selects its fields via
+ * fragments on a list of objects of an interface type, with the same document executed every time.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3)
+@Fork(2)
+public class PrecompiledExecutionPerformance {
+
+    @State(Scope.Benchmark)
+    public static class MyState {
+
+        @Param({"async", "precompiled"})
+        String strategy;
+
+        GraphQL graphQL;
+        String query;
+
+        @Setup
+        public void setup() {
+            String sdl = "type Query { items : [Item] }\n" +
+                    "interface Item { id : ID name : String }\n" +
+                    "type Book implements Item { id : ID name : String author : Person pages : Int }\n" +
+                    "type Film implements Item { id : ID name : String director : Person minutes : Int }\n" +
+                    "type Person { id : ID name : String }\n";
+            query = "query Items($withIds : Boolean!) {\n" +
+                    "  items {\n" +
+                    "    ...ItemFields\n" +
+                    "    ... on Book { pages author { ...PersonFields } }\n" +
+                    "    ... on Film { minutes director { ...PersonFields } }\n" +
+                    "  }\n" +
+                    "}\n" +
+                    "fragment ItemFields on Item { id @include(if : $withIds) name }\n" +
+                    "fragment PersonFields on Person { id @include(if : $withIds) name }\n";
+
+            List<Map<String, Object>> items = IntStream.range(0, 1000)
+                    .mapToObj(i -> i % 2 == 0
+                            ? Map.<String, Object>of("id", i, "name", "book" + i, "pages", i, "author", Map.of("id", i, "name", "author" + i))
+                            : Map.<String, Object>of("id", i, "name", "film" + i, "minutes", i, "director", Map.of("id", i, "name", "director" + i)))
+                    .collect(Collectors.toList());
+            RuntimeWiring wiring = RuntimeWiring.newRuntimeWiring()
+                    .type(newTypeWiring("Query").dataFetcher("items", env -> items))
+                    .type(newTypeWiring("Item").typeResolver(env -> {
+                        Map<String, Object> item = env.getObject();
+                        return env.getSchema().getObjectType(item.containsKey("pages") ? "Book" : "Film");
+                    }))
+                    .build();
+            GraphQLSchema schema = new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(sdl), wiring);
+
+            Document document = Parser.parse(query);
+            ExecutionStrategy executionStrategy = strategy.equals("precompiled") ? new PrecompiledExecutionStrategy() : new AsyncExecutionStrategy();
+            graphQL = GraphQL.newGraphQL(schema)
+                    .queryExecutionStrategy(executionStrategy)
+                    .preparsedDocumentProvider((executionInput, parseAndValidate) -> CompletableFuture.completedFuture(new PreparsedDocumentEntry(document)))
+                    .build();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void benchMarkAvgTime(MyState myState, Blackhole blackhole) {
+        runImpl(myState, blackhole);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void benchMarkThroughput(MyState myState, Blackhole blackhole) {
+        runImpl(myState, blackhole);
+    }
+
+    private void runImpl(MyState myState, Blackhole blackhole) {
+        ExecutionInput executionInput = ExecutionInput.newExecutionInput(myState.query)
+                .variables(Map.of("withIds", true))
+                .build();
+        ExecutionResult executionResult = myState.graphQL.execute(executionInput);
+        blackhole.consume(executionResult);
+    }
+}
@@ -0,0 +1,135 @@
+package performance;
+
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.execution.AsyncExecutionStrategy;
+import graphql.execution.ExecutionStrategy;
+import graphql.execution.PrecompiledExecutionStrategy;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.language.Document;
+import graphql.parser.Parser;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static graphql.schema.idl.TypeRuntimeWiring.newTypeWiring;
+
+/**
+ * Measures the completion of a list of plain objects whose fields are all scalars or enums read by the default property data fetcher,
+ * which the {@link PrecompiledExecutionStrategy} completes in one loop per object.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3)
+@Fork(2)
+public class TrivialObjectPerformance {
+
+    static final String QUERY = "{ products { __typename id name description price quantity available status } }";
+
+    public enum Status {
+        ACTIVE, RETIRED
+    }
+
+    public static class Product {
+        private final String id;
+        private final String name;
+        private final String description;
+        private final double price;
+        private final int quantity;
+        private final boolean available;
+        private final Status status;
+
+        Product(int i) {
+            this.id = String.valueOf(i);
+            this.name = "product" + i;
+            this.description = "the product number " + i;
+            this.price = i * 1.5;
+            this.quantity = i;
+            this.available = i % 2 == 0;
+            this.status = i % 3 == 0 ? Status.RETIRED : Status.ACTIVE;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public double getPrice() {
+            return price;
+        }
+
+        public int getQuantity() {
+            return quantity;
+        }
+
+        public boolean isAvailable() {
+            return available;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class MyState {
+
+        @Param({"async", "precompiled"})
+        String strategy;
+
+        GraphQL graphQL;
+
+        @Setup
+        public void setup() {
+            String sdl = "type Query { products : [Product] }\n" +
+                    "type Product { id : ID! name : String description : String price : Float quantity : Int available : Boolean status : Status }\n" +
+                    "enum Status { ACTIVE RETIRED }\n";
+            List<Product> products = IntStream.range(0, 1000).mapToObj(Product::new).collect(Collectors.toList());
+            RuntimeWiring wiring = RuntimeWiring.newRuntimeWiring()
+                    .type(newTypeWiring("Query").dataFetcher("products", env -> products))
+                    .build();
+            GraphQLSchema schema = new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(sdl), wiring);
+
+            Document document = Parser.parse(QUERY);
+            ExecutionStrategy executionStrategy = strategy.equals("precompiled") ? new PrecompiledExecutionStrategy() : new AsyncExecutionStrategy();
+            graphQL = GraphQL.newGraphQL(schema)
+                    .queryExecutionStrategy(executionStrategy)
+                    .preparsedDocumentProvider((executionInput, parseAndValidate) -> CompletableFuture.completedFuture(new PreparsedDocumentEntry(document)))
+                    .build();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void benchMarkAvgTime(MyState myState, Blackhole blackhole) {
+        ExecutionResult executionResult = myState.graphQL.execute(QUERY);
+        blackhole.consume(executionResult);
+    }
+}
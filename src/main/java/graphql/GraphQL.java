@@ -26,7 +26,9 @@ import graphql.execution.preparsed.PreparsedDocumentEntry;
 import graphql.execution.preparsed.PreparsedDocumentProvider;
 import graphql.language.Document;
 import graphql.schema.GraphQLSchema;
+import graphql.validation.NoOpValidationResultCache;
 import graphql.validation.ValidationError;
+import graphql.validation.ValidationResultCache;
 
 import java.util.List;
 import java.util.Locale;
@@ -160,6 +162,7 @@ public class GraphQL {
     private final PreparsedDocumentProvider preparsedDocumentProvider;
     private final ValueUnboxer valueUnboxer;
     private final ResponseMapFactory responseMapFactory;
+    private final ValidationResultCache validationResultCache;
     private final boolean doNotAutomaticallyDispatchDataLoader;
 
 
@@ -173,6 +176,7 @@ public class GraphQL {
         this.preparsedDocumentProvider = assertNotNull(builder.preparsedDocumentProvider, () -> "preparsedDocumentProvider must be non null");
         this.valueUnboxer = assertNotNull(builder.valueUnboxer, () -> "valueUnboxer must not be null");
         this.responseMapFactory = assertNotNull(builder.responseMapFactory, () -> "responseMapFactory must be not null");
+        this.validationResultCache = assertNotNull(builder.validationResultCache, () -> "validationResultCache must be non null");
         this.doNotAutomaticallyDispatchDataLoader = builder.doNotAutomaticallyDispatchDataLoader;
     }
 
@@ -236,6 +240,13 @@ public class GraphQL {
         return valueUnboxer;
     }
 
+    /**
+     * @return the ValidationResultCache for this {@link GraphQL} instance
+     */
+    public ValidationResultCache getValidationResultCache() {
+        return validationResultCache;
+    }
+
     /**
      * Helps you build a GraphQL object ready to execute queries
      *
@@ -263,7 +274,8 @@ public class GraphQL {
                 .subscriptionExecutionStrategy(this.subscriptionStrategy)
                 .executionIdProvider(Optional.ofNullable(this.idProvider).orElse(builder.idProvider))
                 .instrumentation(Optional.ofNullable(this.instrumentation).orElse(builder.instrumentation))
-                .preparsedDocumentProvider(Optional.ofNullable(this.preparsedDocumentProvider).orElse(builder.preparsedDocumentProvider));
+                .preparsedDocumentProvider(Optional.ofNullable(this.preparsedDocumentProvider).orElse(builder.preparsedDocumentProvider))
+                .validationResultCache(this.validationResultCache);
 
         builderConsumer.accept(builder);
 
@@ -283,6 +295,7 @@ public class GraphQL {
         private boolean doNotAutomaticallyDispatchDataLoader = false;
         private ValueUnboxer valueUnboxer = ValueUnboxer.DEFAULT;
         private ResponseMapFactory responseMapFactory = ResponseMapFactory.DEFAULT;
+        private ValidationResultCache validationResultCache = NoOpValidationResultCache.INSTANCE;
 
         public Builder(GraphQLSchema graphQLSchema) {
             this.graphQLSchema = graphQLSchema;
@@ -331,6 +344,19 @@ public class GraphQL {
             return this;
         }
 
+        /**
+         * This allows you to set a {@link ValidationResultCache} so that the validation of documents can be reused
+         * across requests and across {@link GraphQL} instances that share it.
+         *
+         * @param validationResultCache the cache of validation results
+         *
+         * @return this builder
+         */
+        public Builder validationResultCache(ValidationResultCache validationResultCache) {
+            this.validationResultCache = assertNotNull(validationResultCache, () -> "ValidationResultCache must be non null");
+            return this;
+        }
+
         public Builder executionIdProvider(ExecutionIdProvider executionIdProvider) {
             this.idProvider = assertNotNull(executionIdProvider, () -> "ExecutionIdProvider must be non null");
             return this;
@@ -544,7 +570,7 @@ public class GraphQL {
             executionInputRef.set(transformedInput);
             return parseAndValidate(executionInputRef, graphQLSchema, instrumentationState);
         };
-        CompletableFuture<PreparsedDocumentEntry> preparsedDoc = preparsedDocumentProvider.getDocumentAsync(executionInput, computeFunction);
+        CompletableFuture<PreparsedDocumentEntry> preparsedDoc = preparsedDocumentProvider.getDocumentAsync(executionInput, graphQLSchema, computeFunction);
         return engineRunningState.compose(preparsedDoc, (preparsedDocumentEntry -> {
             if (preparsedDocumentEntry.hasErrors()) {
                 return CompletableFuture.completedFuture(new ExecutionResultImpl(preparsedDocumentEntry.getErrors()));
@@ -604,7 +630,7 @@ public class GraphQL {
 
         Predicate<Class<?>> validationRulePredicate = executionInput.getGraphQLContext().getOrDefault(ParseAndValidate.INTERNAL_VALIDATION_PREDICATE_HINT, r -> true);
         Locale locale = executionInput.getLocale() != null ? executionInput.getLocale() : Locale.getDefault();
-        List<ValidationError> validationErrors = ParseAndValidate.validate(graphQLSchema, document, validationRulePredicate, locale);
+        List<ValidationError> validationErrors = ParseAndValidate.validate(graphQLSchema, document, validationRulePredicate, locale, validationResultCache);
 
         validationCtx.onCompleted(validationErrors, null);
         return validationErrors;
@@ -2,6 +2,8 @@ package graphql;
 
 import graphql.execution.instrumentation.dataloader.DelayedDataLoaderDispatcherExecutorFactory;
 import graphql.introspection.GoodFaithIntrospection;
+import graphql.introspection.Introspection;
+import graphql.normalized.ExecutableNormalizedOperationCache;
 import graphql.parser.ParserOptions;
 import graphql.schema.PropertyDataFetcherHelper;
 
@@ -272,6 +274,20 @@ public class GraphQLUnusualConfiguration {
             return new DataloaderConfig(this);
         }
 
+        /**
+         * @return an element that allows you to control how introspection is executed
+         */
+        public IntrospectionConfig introspection() {
+            return new IntrospectionConfig(this);
+        }
+
+        /**
+         * @return an element that allows you to control how operations are normalized
+         */
+        public NormalizedOperationConfig normalizedOperations() {
+            return new NormalizedOperationConfig(this);
+        }
+
         private void put(String named, Object value) {
             if (graphQLContext != null) {
                 graphQLContext.put(named, value);
@@ -335,6 +351,54 @@ public class GraphQLUnusualConfiguration {
         }
     }
 
+    public static class IntrospectionConfig extends BaseContextConfig {
+        private IntrospectionConfig(GraphQLContextConfiguration contextConfig) {
+            super(contextConfig);
+        }
+
+        /**
+         * @return true if the standard introspection queries are served from a result that is worked out once per schema
+         */
+        public boolean isCachedIntrospectionEnabled() {
+            return contextConfig.getBoolean(Introspection.CACHED_INTROSPECTION_ENABLED);
+        }
+
+        /**
+         * This controls whether the standard introspection queries, those built by {@link graphql.introspection.IntrospectionQueryBuilder},
+         * are served from a result that is worked out once per schema rather than executed every time.
+         * <p>
+         * The result depends on the field visibility of the schema, so it is only cached for schemas that use the default field visibility,
+         * {@link graphql.schema.visibility.BlockedFields} or a {@link graphql.schema.visibility.PrecomputedGraphqlFieldVisibility}.
+         */
+        public IntrospectionConfig enableCachedIntrospection(boolean enable) {
+            contextConfig.put(Introspection.CACHED_INTROSPECTION_ENABLED, enable);
+            return this;
+        }
+    }
+
+    public static class NormalizedOperationConfig extends BaseContextConfig {
+        private NormalizedOperationConfig(GraphQLContextConfiguration contextConfig) {
+            super(contextConfig);
+        }
+
+        /**
+         * @return the cache the normalized operations are kept in across requests or null if they are normalized for every request
+         */
+        public ExecutableNormalizedOperationCache cache() {
+            return contextConfig.get(ExecutableNormalizedOperationCache.CONTEXT_KEY);
+        }
+
+        /**
+         * This sets the cache that normalized operations are kept in across requests, so that an operation is normalized once rather than
+         * every time {@link graphql.schema.DataFetchingEnvironment#getSelectionSet()} or an instrumentation asks for it.  The same cache
+         * instance should be given to every execution.
+         */
+        public NormalizedOperationConfig cache(ExecutableNormalizedOperationCache cache) {
+            contextConfig.put(ExecutableNormalizedOperationCache.CONTEXT_KEY, cache);
+            return this;
+        }
+    }
+
     public static class DataloaderConfig extends BaseContextConfig {
         private DataloaderConfig(GraphQLContextConfiguration contextConfig) {
             super(contextConfig);
@@ -7,11 +7,17 @@ import graphql.parser.ParserEnvironment;
 import graphql.parser.ParserOptions;
 import graphql.schema.GraphQLSchema;
 import graphql.validation.ValidationError;
+import graphql.validation.ValidationResultCache;
 import graphql.validation.Validator;
 import org.jspecify.annotations.NonNull;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.Predicate;
 
 import static java.util.Optional.ofNullable;
@@ -118,6 +124,22 @@ public class ParseAndValidate {
         return validator.validateDocument(graphQLSchema, parsedDocument, rulePredicate, locale);
     }
 
+    /**
+     * This can be called to validate a parsed graphql query, consulting the given cache of validation results first.
+     *
+     * @param graphQLSchema         the graphql schema to validate against
+     * @param parsedDocument        the previously parsed document
+     * @param rulePredicate         this predicate is used to decide what validation rules will be applied
+     * @param locale                the current locale
+     * @param validationResultCache the cache of validation results
+     *
+     * @return a result object that indicates how this operation went
+     */
+    public static List<ValidationError> validate(@NonNull GraphQLSchema graphQLSchema, @NonNull Document parsedDocument, @NonNull Predicate<Class<?>> rulePredicate, @NonNull Locale locale, @NonNull ValidationResultCache validationResultCache) {
+        return validationResultCache.getValidationErrors(graphQLSchema, parsedDocument, rulePredicate, locale,
+                () -> validate(graphQLSchema, parsedDocument, rulePredicate, locale));
+    }
+
     /**
      * This can be called to validate a parsed graphql query, with the JVM default locale.
      *
@@ -131,4 +153,51 @@ public class ParseAndValidate {
         Validator validator = new Validator();
         return validator.validateDocument(graphQLSchema, parsedDocument, rulePredicate, Locale.getDefault());
     }
+
+    /**
+     * This can be called to validate many parsed graphql documents in parallel, say when checking all the registered operations of
+     * your clients against a candidate schema.  Each document is validated on its own on the given executor, so validation scales with
+     * the threads available to the executor.
+     *
+     * @param graphQLSchema  the graphql schema to validate against
+     * @param documents      the previously parsed documents keyed by some identifier of your choosing
+     * @param rulePredicate  this predicate is used to decide what validation rules will be applied
+     * @param locale         the current locale
+     * @param executor       the executor to validate the documents on
+     * @param <K>            the type of the document keys
+     *
+     * @return a promise to the validation errors of each document, keyed and ordered the same as the documents
+     */
+    public static <K> CompletableFuture<Map<K, List<ValidationError>>> validateAll(@NonNull GraphQLSchema graphQLSchema, @NonNull Map<K, Document> documents, @NonNull Predicate<Class<?>> rulePredicate, @NonNull Locale locale, @NonNull Executor executor) {
+        List<K> keys = new ArrayList<>(documents.keySet());
+        List<CompletableFuture<List<ValidationError>>> futures = new ArrayList<>(keys.size());
+        for (K key : keys) {
+            Document document = documents.get(key);
+            futures.add(CompletableFuture.supplyAsync(() -> validate(graphQLSchema, document, rulePredicate, locale), executor));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).thenApply(ignored -> {
+            Map<K, List<ValidationError>> results = new LinkedHashMap<>();
+            for (int i = 0; i < keys.size(); i++) {
+                results.put(keys.get(i), futures.get(i).join());
+            }
+            return results;
+        });
+    }
+
+    /**
+     * This can be called to validate many parsed graphql documents in parallel with all the validation rules applied.
+     *
+     * @param graphQLSchema the graphql schema to validate against
+     * @param documents     the previously parsed documents keyed by some identifier of your choosing
+     * @param locale        the current locale
+     * @param executor      the executor to validate the documents on
+     * @param <K>           the type of the document keys
+     *
+     * @return a promise to the validation errors of each document, keyed and ordered the same as the documents
+     *
+     * @see #validateAll(GraphQLSchema, Map, Predicate, Locale, Executor)
+     */
+    public static <K> CompletableFuture<Map<K, List<ValidationError>>> validateAll(@NonNull GraphQLSchema graphQLSchema, @NonNull Map<K, Document> documents, @NonNull Locale locale, @NonNull Executor executor) {
+        return validateAll(graphQLSchema, documents, ruleClass -> true, locale, executor);
+    }
 }
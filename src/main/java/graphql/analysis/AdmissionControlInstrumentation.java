@@ -0,0 +1,120 @@
+package graphql.analysis;
+
+import graphql.ExecutionResult;
+import graphql.ExperimentalApi;
+import graphql.execution.ExecutionContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static graphql.Assert.assertNotNull;
+import static graphql.execution.instrumentation.InstrumentationState.ofState;
+
+/**
+ * Asks an {@link AdmissionController} to admit each operation, using the complexity of the operation as its cost, before the
+ * operation starts executing.  Operations that are not admitted fail with an {@link AdmissionRejectedException} error, and admitted
+ * operations give back their share of the budgets when they complete.
+ * <p>
+ * The complexity is worked out by a {@link QueryComplexityCalculator} with the given {@link FieldComplexityCalculator}, in the same
+ * way as {@link MaxQueryComplexityInstrumentation}, and like there it is worked out on every execution unless the instrumentation is
+ * told to cache it, see {@link #AdmissionControlInstrumentation(AdmissionController, FieldComplexityCalculator, boolean)}.
+ */
+@ExperimentalApi
+public class AdmissionControlInstrumentation extends SimplePerformantInstrumentation {
+
+    private final AdmissionController admissionController;
+    private final FieldComplexityCalculator fieldComplexityCalculator;
+    private final @Nullable AnalysisResultCache costCache;
+
+    /**
+     * new Instrumentation with default complexity calculator which is `1 + childComplexity`
+     *
+     * @param admissionController the admission controller of the node
+     */
+    public AdmissionControlInstrumentation(AdmissionController admissionController) {
+        this(admissionController, (env, childComplexity) -> 1 + childComplexity);
+    }
+
+    /**
+     * new Instrumentation with custom complexity calculator
+     *
+     * @param admissionController       the admission controller of the node
+     * @param fieldComplexityCalculator custom complexity calculator
+     */
+    public AdmissionControlInstrumentation(AdmissionController admissionController, FieldComplexityCalculator fieldComplexityCalculator) {
+        this(admissionController, fieldComplexityCalculator, false);
+    }
+
+    /**
+     * new Instrumentation with custom complexity calculator that can cache the cost of operations
+     * <p>
+     * When the cost is cached it is worked out once per schema, {@link graphql.language.Document} object, operation name and values of
+     * the variables in the document.  The {@link FieldComplexityCalculator} must then be pure, that is it must only depend on the
+     * {@link FieldComplexityEnvironment} and child complexity it is given.  A {@link LearnedFieldComplexityCalculator} can be used too,
+     * as a cached cost is only reused until the next {@link FieldCostModel#snapshot() snapshot} of its model.
+     *
+     * @param admissionController       the admission controller of the node
+     * @param fieldComplexityCalculator custom complexity calculator
+     * @param cacheCost                 true to cache the cost of operations, which is false by default
+     */
+    public AdmissionControlInstrumentation(AdmissionController admissionController, FieldComplexityCalculator fieldComplexityCalculator, boolean cacheCost) {
+        this.admissionController = assertNotNull(admissionController, () -> "admissionController can't be null");
+        this.fieldComplexityCalculator = assertNotNull(fieldComplexityCalculator, () -> "calculator can't be null");
+        this.costCache = cacheCost ? new AnalysisResultCache() : null;
+    }
+
+    @Override
+    public @Nullable CompletableFuture<InstrumentationState> createStateAsync(InstrumentationCreateStateParameters parameters) {
+        return CompletableFuture.completedFuture(new State());
+    }
+
+    @Override
+    public @Nullable InstrumentationContext<ExecutionResult> beginExecuteOperation(InstrumentationExecuteOperationParameters parameters, InstrumentationState rawState) {
+        State state = ofState(rawState);
+        ExecutionContext executionContext = parameters.getExecutionContext();
+        int cost = costCache == null ? newQueryComplexityCalculator(executionContext).calculate()
+                : costCache.computeIfAbsent(executionContext, AnalysisResultCache.generation(fieldComplexityCalculator), () -> newQueryComplexityCalculator(executionContext).calculate());
+        AdmissionController.Admission admission = admissionController.admit(cost);
+        state.admission.set(admission);
+        return SimpleInstrumentationContext.whenCompleted((result, throwable) -> admission.release());
+    }
+
+    @Override
+    public @NonNull CompletableFuture<ExecutionResult> instrumentExecutionResult(ExecutionResult executionResult, InstrumentationExecutionParameters parameters, InstrumentationState rawState) {
+        // the operation may have failed in a way that never completed its instrumentation context, and the budgets must always be given back
+        State state = ofState(rawState);
+        AdmissionController.Admission admission = state == null ? null : state.admission.getAndSet(null);
+        if (admission != null) {
+            admission.release();
+        }
+        return CompletableFuture.completedFuture(executionResult);
+    }
+
+    @Override
+    public boolean isInstrumentingTrivialFields(InstrumentationState state) {
+        return isDerivedFrom(AdmissionControlInstrumentation.class);
+    }
+
+    private QueryComplexityCalculator newQueryComplexityCalculator(ExecutionContext executionContext) {
+        return QueryComplexityCalculator.newCalculator()
+                .fieldComplexityCalculator(fieldComplexityCalculator)
+                .schema(executionContext.getGraphQLSchema())
+                .document(executionContext.getDocument())
+                .operationName(executionContext.getExecutionInput().getOperationName())
+                .variables(executionContext.getCoercedVariables())
+                .build();
+    }
+
+    private static class State implements InstrumentationState {
+        private final AtomicReference<AdmissionController.Admission> admission = new AtomicReference<>();
+    }
+}
@@ -0,0 +1,242 @@
+package graphql.analysis;
+
+import graphql.ExperimentalApi;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static graphql.Assert.assertNotNull;
+import static graphql.Assert.assertTrue;
+
+/**
+ * An admission controller decides whether an operation may start running on this node, given its cost and the operations that
+ * are already running.
+ * <p>
+ * It has a budget of operations that can run at the same time and a budget of the total cost of those operations.  An operation that
+ * fits both budgets is admitted straight away, even when other operations are waiting.  Otherwise it waits in a queue for up to the
+ * maximum queue time, unless the queue is already full.  Waiting operations hold no share of either budget, so under load, expensive
+ * operations are the ones that wait and get shed, while cheap ones keep being admitted.  Operations that cost more than the whole cost
+ * budget are never admitted.
+ * <p>
+ * Waiting operations block the thread that is executing them, so the queue should be kept short relative to the request threads of the
+ * node.  One admission controller is meant to be shared by all the {@link graphql.GraphQL} instances of a node.
+ *
+ * @see AdmissionControlInstrumentation
+ */
+@ExperimentalApi
+public class AdmissionController {
+
+    private final int maxConcurrentOperations;
+    private final int maxConcurrentCost;
+    private final int maxQueueLength;
+    private final Duration maxQueueTime;
+    // not fair, so that cheap operations that fit the budget left over are not held up behind queued expensive ones
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition budgetsReleased = lock.newCondition();
+    private final AtomicInteger queuedOperations = new AtomicInteger();
+    private int runningOperations;
+    private int runningCost;
+
+    private AdmissionController(Builder builder) {
+        this.maxConcurrentOperations = builder.maxConcurrentOperations;
+        this.maxConcurrentCost = builder.maxConcurrentCost;
+        this.maxQueueLength = builder.maxQueueLength;
+        this.maxQueueTime = builder.maxQueueTime;
+    }
+
+    /**
+     * Admits an operation of the given cost, waiting in the queue if the budgets are used up
+     *
+     * @param cost the cost of the operation
+     *
+     * @return the admission, which must be released when the operation completes
+     *
+     * @throws AdmissionRejectedException if the operation is not admitted
+     */
+    public Admission admit(int cost) throws AdmissionRejectedException {
+        int operationCost = Math.max(cost, 0);
+        if (operationCost > maxConcurrentCost) {
+            throw new AdmissionRejectedException(AdmissionRejectedException.Reason.COST_OVER_BUDGET, operationCost,
+                    "operation rejected because its cost " + operationCost + " is more than the cost budget " + maxConcurrentCost);
+        }
+        try {
+            if (tryAcquire(operationCost, 0)) {
+                return new Admission(operationCost);
+            }
+            if (queuedOperations.incrementAndGet() > maxQueueLength) {
+                queuedOperations.decrementAndGet();
+                throw new AdmissionRejectedException(AdmissionRejectedException.Reason.QUEUE_FULL, operationCost,
+                        "operation rejected because the node is busy and its queue is full");
+            }
+            try {
+                if (tryAcquire(operationCost, maxQueueTime.toNanos())) {
+                    return new Admission(operationCost);
+                }
+            } finally {
+                queuedOperations.decrementAndGet();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        throw new AdmissionRejectedException(AdmissionRejectedException.Reason.QUEUE_TIMEOUT, operationCost,
+                "operation rejected because the node stayed busy for longer than " + maxQueueTime.toMillis() + "ms");
+    }
+
+    /*
+     * Both budgets are taken at once, so an operation that waits for one of them never holds on to the other
+     */
+    private boolean tryAcquire(int operationCost, long timeoutNanos) throws InterruptedException {
+        long remainingNanos = timeoutNanos;
+        lock.lock();
+        try {
+            while (runningOperations >= maxConcurrentOperations || runningCost > maxConcurrentCost - operationCost) {
+                if (remainingNanos <= 0) {
+                    return false;
+                }
+                remainingNanos = budgetsReleased.awaitNanos(remainingNanos);
+            }
+            runningOperations++;
+            runningCost += operationCost;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(int operationCost) {
+        lock.lock();
+        try {
+            runningOperations--;
+            runningCost -= operationCost;
+            budgetsReleased.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of operations that are running
+     */
+    public int getRunningOperations() {
+        lock.lock();
+        try {
+            return runningOperations;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the total cost of the operations that are running
+     */
+    public int getRunningCost() {
+        lock.lock();
+        try {
+            return runningCost;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of operations that are waiting to be admitted
+     */
+    public int getQueuedOperations() {
+        return queuedOperations.get();
+    }
+
+    /**
+     * An admitted operation, whose share of the budgets is given back when it is released
+     */
+    public class Admission {
+        private final int cost;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Admission(int cost) {
+            this.cost = cost;
+        }
+
+        /**
+         * @return the cost the operation was admitted with
+         */
+        public int getCost() {
+            return cost;
+        }
+
+        /**
+         * Gives back the budgets of the operation.  Only the first call has any effect.
+         */
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                AdmissionController.this.release(cost);
+            }
+        }
+    }
+
+    /**
+     * @return a new builder of admission controllers
+     */
+    public static Builder newAdmissionController() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private int maxConcurrentOperations = Integer.MAX_VALUE;
+        private int maxConcurrentCost = Integer.MAX_VALUE;
+        private int maxQueueLength = 0;
+        private Duration maxQueueTime = Duration.ZERO;
+
+        /**
+         * @param maxConcurrentOperations the most operations that can run at the same time, which is unlimited by default
+         *
+         * @return this builder
+         */
+        public Builder maxConcurrentOperations(int maxConcurrentOperations) {
+            assertTrue(maxConcurrentOperations > 0, () -> "maxConcurrentOperations must be greater than zero");
+            this.maxConcurrentOperations = maxConcurrentOperations;
+            return this;
+        }
+
+        /**
+         * @param maxConcurrentCost the most total cost of the operations that run at the same time, which is unlimited by default
+         *
+         * @return this builder
+         */
+        public Builder maxConcurrentCost(int maxConcurrentCost) {
+            assertTrue(maxConcurrentCost > 0, () -> "maxConcurrentCost must be greater than zero");
+            this.maxConcurrentCost = maxConcurrentCost;
+            return this;
+        }
+
+        /**
+         * @param maxQueueLength the most operations that can wait to be admitted, which is zero by default so that operations are
+         *                       rejected straight away when the budgets are used up
+         *
+         * @return this builder
+         */
+        public Builder maxQueueLength(int maxQueueLength) {
+            assertTrue(maxQueueLength >= 0, () -> "maxQueueLength must not be negative");
+            this.maxQueueLength = maxQueueLength;
+            return this;
+        }
+
+        /**
+         * @param maxQueueTime how long an operation can wait to be admitted before it is rejected
+         *
+         * @return this builder
+         */
+        public Builder maxQueueTime(Duration maxQueueTime) {
+            assertNotNull(maxQueueTime, () -> "maxQueueTime can't be null");
+            assertTrue(!maxQueueTime.isNegative(), () -> "maxQueueTime must not be negative");
+            this.maxQueueTime = maxQueueTime;
+            return this;
+        }
+
+        public AdmissionController build() {
+            return new AdmissionController(this);
+        }
+    }
+}
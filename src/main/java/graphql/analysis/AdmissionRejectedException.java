@@ -0,0 +1,64 @@
+package graphql.analysis;
+
+import graphql.ExperimentalApi;
+import graphql.execution.AbortExecutionException;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This is thrown by an {@link AdmissionController} when it does not admit an operation, which stops the operation before it starts
+ * executing.  The reason is given in the extensions of the error, so that clients can tell whether to retry later.
+ */
+@ExperimentalApi
+public class AdmissionRejectedException extends AbortExecutionException {
+
+    /**
+     * Why an operation was not admitted
+     */
+    public enum Reason {
+        /**
+         * The operation costs more than the whole cost budget, so it can never be admitted
+         */
+        COST_OVER_BUDGET,
+        /**
+         * The budgets were used up and the queue of waiting operations was full
+         */
+        QUEUE_FULL,
+        /**
+         * The operation waited in the queue for longer than the maximum queue time
+         */
+        QUEUE_TIMEOUT
+    }
+
+    private final Reason reason;
+    private final int cost;
+
+    public AdmissionRejectedException(Reason reason, int cost, String message) {
+        super(message);
+        this.reason = reason;
+        this.cost = cost;
+    }
+
+    /**
+     * @return why the operation was not admitted
+     */
+    public Reason getReason() {
+        return reason;
+    }
+
+    /**
+     * @return the cost of the operation that was not admitted
+     */
+    public int getCost() {
+        return cost;
+    }
+
+    @Override
+    public Map<String, Object> getExtensions() {
+        Map<String, Object> extensions = new LinkedHashMap<>();
+        extensions.put("reason", reason.name());
+        extensions.put("cost", cost);
+        return extensions;
+    }
+}
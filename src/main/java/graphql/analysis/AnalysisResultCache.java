@@ -0,0 +1,169 @@
+package graphql.analysis;
+
+import graphql.Internal;
+import graphql.execution.CoercedVariables;
+import graphql.execution.ExecutionContext;
+import graphql.language.Document;
+import graphql.language.Node;
+import graphql.language.VariableReference;
+import graphql.schema.GraphQLSchema;
+import graphql.util.LockKit;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.function.IntSupplier;
+
+/**
+ * This keeps the result of an analysis of an operation, such as its complexity or depth, so that it is only worked out once for the
+ * same schema, {@link Document} object, operation name and values of the variables the document refers to.
+ * <p>
+ * An analysis that depends on something that changes over time, such as the costs learned by a {@link LearnedFieldComplexityCalculator},
+ * is given a generation, and the results of a document are worked out again whenever the generation changes.
+ * <p>
+ * Documents are held weakly, so the results go away with documents that are no longer used.  Documents that are reused via a
+ * {@link graphql.execution.preparsed.PreparsedDocumentProvider} are needed to get cache hits.
+ */
+@Internal
+class AnalysisResultCache {
+
+    // variables used as arguments can take endless values, so past this many results per document they are worked out each time
+    private static final int MAX_RESULTS_PER_DOCUMENT = 100;
+    private static final Object ABSENT = new Object();
+
+    private final LockKit.ReentrantLock lock = new LockKit.ReentrantLock();
+    private final Map<Document, DocumentResults> resultsByDocument = new WeakHashMap<>();
+
+    /**
+     * Gets the cached result of the analysis for the operation being executed, running the analysis if there is none yet
+     *
+     * @param executionContext the execution context in play
+     * @param analysis         the analysis of the operation
+     *
+     * @return the result of the analysis
+     */
+    int computeIfAbsent(ExecutionContext executionContext, IntSupplier analysis) {
+        return computeIfAbsent(executionContext, 0, analysis);
+    }
+
+    /**
+     * Gets the cached result of the analysis for the operation being executed, running the analysis if there is none yet for the
+     * given generation
+     *
+     * @param executionContext the execution context in play
+     * @param generation       the generation of what the analysis depends on, see {@link #generation(FieldComplexityCalculator)}
+     * @param analysis         the analysis of the operation
+     *
+     * @return the result of the analysis
+     */
+    int computeIfAbsent(ExecutionContext executionContext, long generation, IntSupplier analysis) {
+        Document document = executionContext.getDocument();
+        GraphQLSchema schema = executionContext.getGraphQLSchema();
+        DocumentResults documentResults = lock.callLocked(() -> resultsByDocument.get(document));
+        if (documentResults == null || documentResults.schema != schema || documentResults.generation != generation) {
+            DocumentResults newResults = new DocumentResults(schema, generation, variableNames(document));
+            lock.runLocked(() -> resultsByDocument.put(document, newResults));
+            documentResults = newResults;
+        }
+        Key key = new Key(executionContext.getExecutionInput().getOperationName(), variableSignature(documentResults.variableNames, executionContext.getCoercedVariables()));
+        DocumentResults finalDocumentResults = documentResults;
+        Integer result = lock.callLocked(() -> finalDocumentResults.results.get(key));
+        if (result != null) {
+            return result;
+        }
+        int newResult = analysis.getAsInt();
+        lock.runLocked(() -> {
+            if (finalDocumentResults.results.size() < MAX_RESULTS_PER_DOCUMENT) {
+                finalDocumentResults.results.put(key, newResult);
+            }
+        });
+        return newResult;
+    }
+
+    /**
+     * @param fieldComplexityCalculator the calculator used by the analysis
+     *
+     * @return the generation of the costs the calculator has learned, which is always 0 for a calculator that doesn't learn
+     */
+    static long generation(FieldComplexityCalculator fieldComplexityCalculator) {
+        if (fieldComplexityCalculator instanceof LearnedFieldComplexityCalculator) {
+            return ((LearnedFieldComplexityCalculator) fieldComplexityCalculator).getFieldCostModel().getGeneration();
+        }
+        return 0;
+    }
+
+    private static List<String> variableNames(Document document) {
+        Set<String> variableNames = new LinkedHashSet<>();
+        Deque<Node<?>> nodes = new ArrayDeque<>();
+        nodes.push(document);
+        while (!nodes.isEmpty()) {
+            Node<?> node = nodes.pop();
+            if (node instanceof VariableReference) {
+                variableNames.add(((VariableReference) node).getName());
+            }
+            for (Node<?> child : node.getChildren()) {
+                nodes.push(child);
+            }
+        }
+        return Collections.unmodifiableList(new ArrayList<>(variableNames));
+    }
+
+    private static List<Object> variableSignature(List<String> variableNames, CoercedVariables coercedVariables) {
+        if (variableNames.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Object> signature = new ArrayList<>(variableNames.size());
+        for (String variableName : variableNames) {
+            signature.add(coercedVariables.containsKey(variableName) ? coercedVariables.get(variableName) : ABSENT);
+        }
+        return signature;
+    }
+
+    private static class DocumentResults {
+        private final GraphQLSchema schema;
+        private final long generation;
+        private final List<String> variableNames;
+        private final Map<Key, Integer> results = new HashMap<>();
+
+        DocumentResults(GraphQLSchema schema, long generation, List<String> variableNames) {
+            this.schema = schema;
+            this.generation = generation;
+            this.variableNames = variableNames;
+        }
+    }
+
+    private static class Key {
+        private final String operationName;
+        private final List<Object> variableSignature;
+
+        Key(String operationName, List<Object> variableSignature) {
+            this.operationName = operationName;
+            this.variableSignature = variableSignature;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return Objects.equals(operationName, key.operationName) && variableSignature.equals(key.variableSignature);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(operationName, variableSignature);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package graphql.analysis;
+
+import graphql.ExperimentalApi;
+import graphql.execution.DataFetcherResult;
+import graphql.execution.ExecutionStepInfo;
+import graphql.execution.instrumentation.FieldFetchingInstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.FieldCoordinates;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLFieldsContainer;
+import graphql.schema.GraphQLInterfaceType;
+import graphql.schema.GraphQLTypeUtil;
+import org.jspecify.annotations.Nullable;
+
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static graphql.Assert.assertNotNull;
+import static graphql.Assert.assertTrue;
+
+/**
+ * Learns the cost of fields from the executions it samples and records them in a {@link FieldCostModel}, for use by a
+ * {@link LearnedFieldComplexityCalculator}.
+ * <p>
+ * For every field fetched in a sampled execution it records how long the data fetcher took until its value completed, how many
+ * objects the value fans out to and how big it is.  Executions that are not sampled cost no more than a random number.
+ */
+@ExperimentalApi
+public class FieldCostLearningInstrumentation extends SimplePerformantInstrumentation {
+
+    private static final InstrumentationState SAMPLED = new InstrumentationState() {
+    };
+    private static final InstrumentationState NOT_SAMPLED = new InstrumentationState() {
+    };
+
+    private final FieldCostModel fieldCostModel;
+    private final double sampleRate;
+
+    /**
+     * Creates an instrumentation that samples every execution
+     *
+     * @param fieldCostModel the model to record the field costs in
+     */
+    public FieldCostLearningInstrumentation(FieldCostModel fieldCostModel) {
+        this(fieldCostModel, 1.0);
+    }
+
+    /**
+     * Creates an instrumentation that samples the given share of executions
+     *
+     * @param fieldCostModel the model to record the field costs in
+     * @param sampleRate     the share of executions to sample, from 0 to 1
+     */
+    public FieldCostLearningInstrumentation(FieldCostModel fieldCostModel, double sampleRate) {
+        this.fieldCostModel = assertNotNull(fieldCostModel, () -> "fieldCostModel can't be null");
+        assertTrue(sampleRate >= 0 && sampleRate <= 1, () -> "sampleRate must be between 0 and 1");
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public @Nullable CompletableFuture<InstrumentationState> createStateAsync(InstrumentationCreateStateParameters parameters) {
+        boolean sampled = sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+        return CompletableFuture.completedFuture(sampled ? SAMPLED : NOT_SAMPLED);
+    }
+
+    @Override
+    public @Nullable FieldFetchingInstrumentationContext beginFieldFetching(InstrumentationFieldFetchParameters parameters, InstrumentationState rawState) {
+        if (rawState != SAMPLED) {
+            return null;
+        }
+        long startNanos = System.nanoTime();
+        DataFetchingEnvironment environment = parameters.getEnvironment();
+        if (!(environment.getParentType() instanceof GraphQLFieldsContainer)) {
+            return null;
+        }
+        FieldCoordinates coordinates = FieldCoordinates.coordinates((GraphQLFieldsContainer) environment.getParentType(), environment.getFieldDefinition());
+        FieldCoordinates interfaceCoordinates = interfaceCoordinates(environment);
+        return new FieldFetchingInstrumentationContext() {
+            @Override
+            public void onDispatched() {
+            }
+
+            @Override
+            public void onCompleted(Object result, Throwable t) {
+                Object value = result instanceof DataFetcherResult ? ((DataFetcherResult<?>) result).getData() : result;
+                long latencyNanos = System.nanoTime() - startNanos;
+                fieldCostModel.record(coordinates, latencyNanos, fanOut(value), resultSize(value));
+                if (interfaceCoordinates != null) {
+                    fieldCostModel.record(interfaceCoordinates, latencyNanos, fanOut(value), resultSize(value));
+                }
+            }
+        };
+    }
+
+    /*
+     * Complexity is calculated against the type the field is selected on, which is an interface when it is selected without a type
+     * condition, so the cost is recorded against the interface as well as the object type
+     */
+    private static FieldCoordinates interfaceCoordinates(DataFetchingEnvironment environment) {
+        // the type of the parent step has been resolved to the object type, but its field definition still has the declared type
+        ExecutionStepInfo parentStepInfo = environment.getExecutionStepInfo().getParent();
+        GraphQLFieldDefinition parentField = parentStepInfo == null ? null : parentStepInfo.getFieldDefinition();
+        if (parentField == null || !(GraphQLTypeUtil.unwrapAll(parentField.getType()) instanceof GraphQLInterfaceType)) {
+            return null;
+        }
+        GraphQLInterfaceType interfaceType = (GraphQLInterfaceType) GraphQLTypeUtil.unwrapAll(parentField.getType());
+        String fieldName = environment.getFieldDefinition().getName();
+        return interfaceType.getFieldDefinition(fieldName) == null ? null : FieldCoordinates.coordinates(interfaceType, fieldName);
+    }
+
+    private static int fanOut(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof Collection) {
+            return ((Collection<?>) value).size();
+        }
+        if (value.getClass().isArray()) {
+            return Array.getLength(value);
+        }
+        return 1;
+    }
+
+    private static int resultSize(Object value) {
+        if (value instanceof CharSequence) {
+            return ((CharSequence) value).length();
+        }
+        if (value instanceof Map) {
+            return ((Map<?, ?>) value).size();
+        }
+        return fanOut(value);
+    }
+}
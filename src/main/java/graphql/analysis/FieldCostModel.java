@@ -0,0 +1,357 @@
+package graphql.analysis;
+
+import graphql.ExperimentalApi;
+import graphql.schema.FieldCoordinates;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import static graphql.Assert.assertNotNull;
+
+/**
+ * A field cost model keeps what fields have been seen to cost at runtime, per {@link FieldCoordinates}: how long their data fetchers
+ * take, how many objects they fan out to and how big their values are.
+ * <p>
+ * The model is filled by a {@link FieldCostLearningInstrumentation} and used by a {@link LearnedFieldComplexityCalculator}.  It can
+ * be written to and read from a file, so that a node can start with the costs learned by the nodes before it.
+ * <p>
+ * A {@link LearnedFieldComplexityCalculator} goes by a {@link #snapshot() snapshot} of the learned costs rather than the costs as they are
+ * being learned, so that the complexity of an operation stays the same, and can be cached, between snapshots.  A snapshot is taken when
+ * a model is read in, and should otherwise be taken on a schedule, say once a minute.
+ * <p>
+ * Latencies are kept in a histogram with four buckets per doubling, so percentiles are accurate to within about 20%.
+ */
+@ExperimentalApi
+public class FieldCostModel {
+
+    private static final int BUCKETS_PER_DOUBLING = 4;
+    private static final int BUCKETS = 64 * BUCKETS_PER_DOUBLING;
+    private static final String HEADER = "# field samples latencyNanosTotal fanOutTotal resultSizeTotal latencyHistogram";
+
+    private final Map<FieldCoordinates, FieldStats> statsByField = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Map<FieldCoordinates, FieldCost> snapshotCosts = Map.of();
+
+    private FieldCostModel() {
+    }
+
+    /**
+     * @return a new empty field cost model
+     */
+    public static FieldCostModel newModel() {
+        return new FieldCostModel();
+    }
+
+    /**
+     * Records one sampled fetch of a field
+     *
+     * @param coordinates  the coordinates of the field
+     * @param latencyNanos how long the data fetcher took, up until its value completed
+     * @param fanOut       the number of objects the value has, which is the size of a list, 1 for any other value or 0 for null
+     * @param resultSize   the size of the value, which is the length of a string, the size of a list or map, or 1 for any other value
+     */
+    public void record(FieldCoordinates coordinates, long latencyNanos, int fanOut, int resultSize) {
+        FieldStats stats = statsByField.computeIfAbsent(coordinates, key -> new FieldStats());
+        long latency = Math.max(latencyNanos, 0);
+        stats.samples.increment();
+        stats.latencyNanosTotal.add(latency);
+        stats.fanOutTotal.add(fanOut);
+        stats.resultSizeTotal.add(resultSize);
+        stats.latencyHistogram.incrementAndGet(bucket(latency));
+    }
+
+    /**
+     * Takes a snapshot of the costs learned so far, which is what a {@link LearnedFieldComplexityCalculator} goes by until the next
+     * snapshot is taken
+     */
+    public void snapshot() {
+        snapshotCosts = Map.copyOf(getFieldCosts());
+        generation.incrementAndGet();
+    }
+
+    /**
+     * The generation of a model goes up every time a {@link #snapshot() snapshot} is taken, so that anything worked out from the
+     * snapshot costs can tell whether it has gone stale.
+     *
+     * @return the generation of the model
+     */
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * @param coordinates the coordinates of a field
+     *
+     * @return the cost of the field as of the last snapshot or null if it had not been seen by then
+     */
+    public FieldCost getSnapshotFieldCost(FieldCoordinates coordinates) {
+        return snapshotCosts.get(coordinates);
+    }
+
+    /**
+     * @param coordinates the coordinates of a field
+     *
+     * @return the learned cost of the field or null if it has not been seen yet
+     */
+    public FieldCost getFieldCost(FieldCoordinates coordinates) {
+        FieldStats stats = statsByField.get(coordinates);
+        return stats == null ? null : stats.toFieldCost();
+    }
+
+    /**
+     * @return the learned costs of all the fields that have been seen
+     */
+    public Map<FieldCoordinates, FieldCost> getFieldCosts() {
+        Map<FieldCoordinates, FieldCost> fieldCosts = new LinkedHashMap<>();
+        statsByField.forEach((coordinates, stats) -> fieldCosts.put(coordinates, stats.toFieldCost()));
+        return fieldCosts;
+    }
+
+    /**
+     * Writes the model out in a line based text format that {@link #readFrom(Reader)} reads back in
+     *
+     * @param writer the writer to write to
+     *
+     * @throws IOException if the writer fails
+     */
+    public void writeTo(Writer writer) throws IOException {
+        writer.write(HEADER);
+        writer.write('\n');
+        for (Map.Entry<FieldCoordinates, FieldStats> entry : statsByField.entrySet()) {
+            FieldStats stats = entry.getValue();
+            StringBuilder line = new StringBuilder();
+            line.append(entry.getKey().toString())
+                    .append(' ').append(stats.samples.sum())
+                    .append(' ').append(stats.latencyNanosTotal.sum())
+                    .append(' ').append(stats.fanOutTotal.sum())
+                    .append(' ').append(stats.resultSizeTotal.sum())
+                    .append(' ');
+            boolean first = true;
+            for (int i = 0; i < BUCKETS; i++) {
+                long count = stats.latencyHistogram.get(i);
+                if (count > 0) {
+                    line.append(first ? "" : ",").append(i).append(':').append(count);
+                    first = false;
+                }
+            }
+            writer.write(line.toString());
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    /**
+     * Reads a model written by {@link #writeTo(Writer)} and adds it to this model, and then takes a {@link #snapshot() snapshot}
+     *
+     * @param reader the reader to read from
+     *
+     * @throws IOException if the reader fails or the text is not a field cost model
+     */
+    public void readFrom(Reader reader) throws IOException {
+        BufferedReader lines = new BufferedReader(reader);
+        String line;
+        int lineNumber = 0;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            try {
+                readLine(line);
+            } catch (RuntimeException e) {
+                throw new IOException("Invalid field cost model at line " + lineNumber + " : " + line, e);
+            }
+        }
+        snapshot();
+    }
+
+    private void readLine(String line) {
+        String[] parts = line.split(" ");
+        if (parts.length < 5 || parts.length > 6) {
+            throw new IllegalArgumentException("expected 5 or 6 parts but got " + parts.length);
+        }
+        String[] typeAndField = parts[0].split("\\.");
+        if (typeAndField.length != 2) {
+            throw new IllegalArgumentException("expected field coordinates but got " + parts[0]);
+        }
+        FieldStats stats = statsByField.computeIfAbsent(FieldCoordinates.coordinates(typeAndField[0], typeAndField[1]), key -> new FieldStats());
+        stats.samples.add(Long.parseLong(parts[1]));
+        stats.latencyNanosTotal.add(Long.parseLong(parts[2]));
+        stats.fanOutTotal.add(Long.parseLong(parts[3]));
+        stats.resultSizeTotal.add(Long.parseLong(parts[4]));
+        if (parts.length == 6) {
+            for (String bucketCount : parts[5].split(",")) {
+                int colon = bucketCount.indexOf(':');
+                stats.latencyHistogram.addAndGet(Integer.parseInt(bucketCount.substring(0, colon)), Long.parseLong(bucketCount.substring(colon + 1)));
+            }
+        }
+    }
+
+    /**
+     * Writes the model to a file
+     *
+     * @param file the file to write to
+     *
+     * @throws IOException if the file can't be written
+     */
+    public void save(Path file) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(assertNotNull(file), StandardCharsets.UTF_8)) {
+            writeTo(writer);
+        }
+    }
+
+    /**
+     * Reads a model from a file
+     *
+     * @param file the file written by {@link #save(Path)}
+     *
+     * @return a new model with the costs from the file
+     *
+     * @throws IOException if the file can't be read or is not a field cost model
+     */
+    public static FieldCostModel load(Path file) throws IOException {
+        FieldCostModel model = newModel();
+        try (Reader reader = Files.newBufferedReader(assertNotNull(file), StandardCharsets.UTF_8)) {
+            model.readFrom(reader);
+        }
+        return model;
+    }
+
+    private static int bucket(long latencyNanos) {
+        // a few nanoseconds is too little to measure anyway
+        if (latencyNanos < 4) {
+            return 0;
+        }
+        int doublings = 63 - Long.numberOfLeadingZeros(latencyNanos);
+        // the two bits below the highest one give the quarter of the doubling the latency is in
+        int quarter = (int) ((latencyNanos >>> (doublings - 2)) & 3);
+        return doublings * BUCKETS_PER_DOUBLING + quarter;
+    }
+
+    private static long bucketUpperBound(int bucket) {
+        int doublings = bucket / BUCKETS_PER_DOUBLING;
+        int quarter = bucket % BUCKETS_PER_DOUBLING;
+        if (doublings < 2) {
+            return 4;
+        }
+        if (doublings >= 62) {
+            return Long.MAX_VALUE;
+        }
+        return (1L << doublings) + ((quarter + 1) * (1L << doublings)) / BUCKETS_PER_DOUBLING;
+    }
+
+    private static class FieldStats {
+        private final LongAdder samples = new LongAdder();
+        private final LongAdder latencyNanosTotal = new LongAdder();
+        private final LongAdder fanOutTotal = new LongAdder();
+        private final LongAdder resultSizeTotal = new LongAdder();
+        private final AtomicLongArray latencyHistogram = new AtomicLongArray(BUCKETS);
+
+        FieldCost toFieldCost() {
+            long count = samples.sum();
+            if (count == 0) {
+                return new FieldCost(0, 0, 0, 0, 0);
+            }
+            return new FieldCost(count,
+                    latencyNanosTotal.sum() / count,
+                    percentile(0.99),
+                    (double) fanOutTotal.sum() / count,
+                    (double) resultSizeTotal.sum() / count);
+        }
+
+        private long percentile(double percentile) {
+            long total = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                total += latencyHistogram.get(i);
+            }
+            long rank = (long) Math.ceil(total * percentile);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += latencyHistogram.get(i);
+                if (seen >= rank && seen > 0) {
+                    return bucketUpperBound(i);
+                }
+            }
+            return 0;
+        }
+    }
+
+    /**
+     * What a field has been seen to cost
+     */
+    @ExperimentalApi
+    public static class FieldCost {
+        private final long samples;
+        private final long meanLatencyNanos;
+        private final long p99LatencyNanos;
+        private final double meanFanOut;
+        private final double meanResultSize;
+
+        public FieldCost(long samples, long meanLatencyNanos, long p99LatencyNanos, double meanFanOut, double meanResultSize) {
+            this.samples = samples;
+            this.meanLatencyNanos = meanLatencyNanos;
+            this.p99LatencyNanos = p99LatencyNanos;
+            this.meanFanOut = meanFanOut;
+            this.meanResultSize = meanResultSize;
+        }
+
+        /**
+         * @return the number of fetches the cost was learned from
+         */
+        public long getSamples() {
+            return samples;
+        }
+
+        /**
+         * @return the mean latency of the data fetcher
+         */
+        public Duration getMeanLatency() {
+            return Duration.ofNanos(meanLatencyNanos);
+        }
+
+        /**
+         * @return the 99th percentile latency of the data fetcher
+         */
+        public Duration getP99Latency() {
+            return Duration.ofNanos(p99LatencyNanos);
+        }
+
+        /**
+         * @return the mean number of objects the field fans out to
+         */
+        public double getMeanFanOut() {
+            return meanFanOut;
+        }
+
+        /**
+         * @return the mean size of the values of the field
+         */
+        public double getMeanResultSize() {
+            return meanResultSize;
+        }
+
+        @Override
+        public String toString() {
+            return "FieldCost{" +
+                    "samples=" + samples +
+                    ", meanLatency=" + getMeanLatency() +
+                    ", p99Latency=" + getP99Latency() +
+                    ", meanFanOut=" + meanFanOut +
+                    ", meanResultSize=" + meanResultSize +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package graphql.analysis;
+
+import graphql.ExperimentalApi;
+import graphql.schema.FieldCoordinates;
+import graphql.schema.GraphQLFieldsContainer;
+
+import java.time.Duration;
+
+import static graphql.Assert.assertNotNull;
+import static graphql.Assert.assertTrue;
+
+/**
+ * A {@link FieldComplexityCalculator} that uses the field costs learned at runtime in a {@link FieldCostModel}, so that query
+ * complexity, and the limits and admission decisions based on it, reflect what fields really cost.  The costs are those of the last
+ * {@link FieldCostModel#snapshot() snapshot} of the model.
+ * <p>
+ * A field costs its learned latency in cost units, and at least 1, plus the complexity of its sub selection times the mean number of
+ * objects the field fans out to.  Fields that have not been seen often enough yet are calculated by the fallback calculator, which is
+ * {@code 1 + childComplexity} by default.
+ * <p>
+ * The complexity this calculator gives changes with each snapshot, so instrumentations that cache the complexity of operations only
+ * reuse a cached complexity while the {@link FieldCostModel#getGeneration() generation} of the model stays the same.
+ */
+@ExperimentalApi
+public class LearnedFieldComplexityCalculator implements FieldComplexityCalculator {
+
+    private final FieldCostModel fieldCostModel;
+    private final long costUnitNanos;
+    private final boolean useP99Latency;
+    private final long minSamples;
+    private final FieldComplexityCalculator fallbackCalculator;
+
+    private LearnedFieldComplexityCalculator(Builder builder) {
+        this.fieldCostModel = builder.fieldCostModel;
+        this.costUnitNanos = builder.costUnit.toNanos();
+        this.useP99Latency = builder.useP99Latency;
+        this.minSamples = builder.minSamples;
+        this.fallbackCalculator = builder.fallbackCalculator;
+    }
+
+    @Override
+    public int calculate(FieldComplexityEnvironment environment, int childComplexity) {
+        FieldCostModel.FieldCost fieldCost = null;
+        if (environment.getParentType() instanceof GraphQLFieldsContainer) {
+            GraphQLFieldsContainer parentType = (GraphQLFieldsContainer) environment.getParentType();
+            fieldCost = fieldCostModel.getSnapshotFieldCost(FieldCoordinates.coordinates(parentType, environment.getFieldDefinition()));
+        }
+        if (fieldCost == null || fieldCost.getSamples() < minSamples) {
+            return fallbackCalculator.calculate(environment, childComplexity);
+        }
+        Duration latency = useP99Latency ? fieldCost.getP99Latency() : fieldCost.getMeanLatency();
+        double ownCost = Math.max(1, Math.ceil((double) latency.toNanos() / costUnitNanos));
+        double subSelectionCost = Math.ceil(fieldCost.getMeanFanOut() * childComplexity);
+        return (int) Math.min(ownCost + subSelectionCost, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @return the model with the learned field costs
+     */
+    public FieldCostModel getFieldCostModel() {
+        return fieldCostModel;
+    }
+
+    /**
+     * @param fieldCostModel the model with the learned field costs
+     *
+     * @return a new builder of calculators
+     */
+    public static Builder newCalculator(FieldCostModel fieldCostModel) {
+        return new Builder(fieldCostModel);
+    }
+
+    public static class Builder {
+        private final FieldCostModel fieldCostModel;
+        private Duration costUnit = Duration.ofMillis(1);
+        private boolean useP99Latency = false;
+        private long minSamples = 10;
+        private FieldComplexityCalculator fallbackCalculator = (env, childComplexity) -> 1 + childComplexity;
+
+        private Builder(FieldCostModel fieldCostModel) {
+            this.fieldCostModel = assertNotNull(fieldCostModel, () -> "fieldCostModel can't be null");
+        }
+
+        /**
+         * @param costUnit the latency that counts as one unit of cost, which is 1ms by default
+         *
+         * @return this builder
+         */
+        public Builder costUnit(Duration costUnit) {
+            assertNotNull(costUnit, () -> "costUnit can't be null");
+            assertTrue(costUnit.toNanos() > 0, () -> "costUnit must be positive");
+            this.costUnit = costUnit;
+            return this;
+        }
+
+        /**
+         * @param useP99Latency true to cost fields by their 99th percentile latency rather than their mean latency
+         *
+         * @return this builder
+         */
+        public Builder useP99Latency(boolean useP99Latency) {
+            this.useP99Latency = useP99Latency;
+            return this;
+        }
+
+        /**
+         * @param minSamples the number of samples a field needs before its learned cost is used, which is 10 by default
+         *
+         * @return this builder
+         */
+        public Builder minSamples(long minSamples) {
+            this.minSamples = minSamples;
+            return this;
+        }
+
+        /**
+         * @param fallbackCalculator the calculator for fields without enough samples
+         *
+         * @return this builder
+         */
+        public Builder fallbackCalculator(FieldComplexityCalculator fallbackCalculator) {
+            this.fallbackCalculator = assertNotNull(fallbackCalculator, () -> "fallbackCalculator can't be null");
+            return this;
+        }
+
+        public LearnedFieldComplexityCalculator build() {
+            return new LearnedFieldComplexityCalculator(this);
+        }
+    }
+}
@@ -27,6 +27,9 @@ import static graphql.execution.instrumentation.SimpleInstrumentationContext.noO
  * <p>
  * Use the {@code Function<QueryComplexityInfo, Boolean>} parameter to supply a function to perform a custom action when the max complexity
  * is exceeded. If the function returns {@code true} a {@link AbortExecutionException} is thrown.
+ * <p>
+ * The complexity of an operation is worked out on every execution, unless the instrumentation is told to cache it, see
+ * {@link #MaxQueryComplexityInstrumentation(int, FieldComplexityCalculator, Function, boolean)}.
  */
 @PublicApi
 public class MaxQueryComplexityInstrumentation extends SimplePerformantInstrumentation {
@@ -34,6 +37,7 @@ public class MaxQueryComplexityInstrumentation extends SimplePerformantInstrumen
     private final int maxComplexity;
     private final FieldComplexityCalculator fieldComplexityCalculator;
     private final Function<QueryComplexityInfo, Boolean> maxQueryComplexityExceededFunction;
+    private final @Nullable AnalysisResultCache complexityCache;
 
     /**
      * new Instrumentation with default complexity calculator which is `1 + childComplexity`
@@ -73,9 +77,30 @@ public class MaxQueryComplexityInstrumentation extends SimplePerformantInstrumen
      */
     public MaxQueryComplexityInstrumentation(int maxComplexity, FieldComplexityCalculator fieldComplexityCalculator,
                                              Function<QueryComplexityInfo, Boolean> maxQueryComplexityExceededFunction) {
+        this(maxComplexity, fieldComplexityCalculator, maxQueryComplexityExceededFunction, false);
+    }
+
+    /**
+     * new Instrumentation with custom complexity calculator that can cache the complexity of operations
+     * <p>
+     * When the complexity is cached it is worked out once per schema, {@link graphql.language.Document} object, operation name and
+     * values of the variables in the document, and reused by later executions of the same document, such as those from a
+     * {@link graphql.execution.preparsed.PreparsedDocumentProvider}.  The {@link FieldComplexityCalculator} must then be pure, that is
+     * it must only depend on the {@link FieldComplexityEnvironment} and child complexity it is given, or later executions get a
+     * complexity that it no longer agrees with.  A {@link LearnedFieldComplexityCalculator} can be used too, as a cached complexity is
+     * only reused until the next {@link FieldCostModel#snapshot() snapshot} of its model.
+     *
+     * @param maxComplexity                      max allowed complexity, otherwise execution will be aborted
+     * @param fieldComplexityCalculator          custom complexity calculator
+     * @param maxQueryComplexityExceededFunction the function to perform when the max complexity is exceeded
+     * @param cacheComplexity                    true to cache the complexity of operations, which is false by default
+     */
+    public MaxQueryComplexityInstrumentation(int maxComplexity, FieldComplexityCalculator fieldComplexityCalculator,
+                                             Function<QueryComplexityInfo, Boolean> maxQueryComplexityExceededFunction, boolean cacheComplexity) {
         this.maxComplexity = maxComplexity;
         this.fieldComplexityCalculator = assertNotNull(fieldComplexityCalculator, () -> "calculator can't be null");
         this.maxQueryComplexityExceededFunction = maxQueryComplexityExceededFunction;
+        this.complexityCache = cacheComplexity ? new AnalysisResultCache() : null;
     }
 
     @Override
@@ -94,8 +119,9 @@ public class MaxQueryComplexityInstrumentation extends SimplePerformantInstrumen
     @Override
     public @Nullable InstrumentationContext<ExecutionResult> beginExecuteOperation(InstrumentationExecuteOperationParameters instrumentationExecuteOperationParameters, InstrumentationState rawState) {
         State state = ofState(rawState);
-        QueryComplexityCalculator queryComplexityCalculator = newQueryComplexityCalculator(instrumentationExecuteOperationParameters.getExecutionContext());
-        int totalComplexity = queryComplexityCalculator.calculate();
+        ExecutionContext executionContext = instrumentationExecuteOperationParameters.getExecutionContext();
+        int totalComplexity = complexityCache == null ? newQueryComplexityCalculator(executionContext).calculate()
+                : complexityCache.computeIfAbsent(executionContext, AnalysisResultCache.generation(fieldComplexityCalculator), () -> newQueryComplexityCalculator(executionContext).calculate());
         if (totalComplexity > maxComplexity) {
             QueryComplexityInfo queryComplexityInfo = QueryComplexityInfo.newQueryComplexityInfo()
                     .complexity(totalComplexity)
@@ -110,6 +136,11 @@ public class MaxQueryComplexityInstrumentation extends SimplePerformantInstrumen
         return noOp();
     }
 
+    @Override
+    public boolean isInstrumentingTrivialFields(InstrumentationState state) {
+        return isDerivedFrom(MaxQueryComplexityInstrumentation.class);
+    }
+
     private QueryComplexityCalculator newQueryComplexityCalculator(ExecutionContext executionContext) {
         return QueryComplexityCalculator.newCalculator()
                 .fieldComplexityCalculator(fieldComplexityCalculator)
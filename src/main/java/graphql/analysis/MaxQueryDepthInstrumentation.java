@@ -19,6 +19,9 @@ import static graphql.execution.instrumentation.SimpleInstrumentationContext.noO
  * <p>
  * Use the {@code Function<QueryDepthInfo, Boolean>} parameter to supply a function to perform a custom action when the max depth is
  * exceeded. If the function returns {@code true} a {@link AbortExecutionException} is thrown.
+ * <p>
+ * The depth of an operation is worked out on every execution, unless the instrumentation is told to cache it, see
+ * {@link #MaxQueryDepthInstrumentation(int, Function, boolean)}.
  */
 @PublicApi
 public class MaxQueryDepthInstrumentation extends SimplePerformantInstrumentation {
@@ -26,6 +29,7 @@ public class MaxQueryDepthInstrumentation extends SimplePerformantInstrumentatio
 
     private final int maxDepth;
     private final Function<QueryDepthInfo, Boolean> maxQueryDepthExceededFunction;
+    private final @Nullable AnalysisResultCache depthCache;
 
     /**
      * Creates a new instrumentation that tracks the query depth.
@@ -43,14 +47,29 @@ public class MaxQueryDepthInstrumentation extends SimplePerformantInstrumentatio
      * @param maxQueryDepthExceededFunction the function to perform when the max depth is exceeded
      */
     public MaxQueryDepthInstrumentation(int maxDepth, Function<QueryDepthInfo, Boolean> maxQueryDepthExceededFunction) {
+        this(maxDepth, maxQueryDepthExceededFunction, false);
+    }
+
+    /**
+     * Creates a new instrumentation that tracks the query depth and can cache the depth of operations.
+     * <p>
+     * When the depth is cached it is worked out once per schema, {@link graphql.language.Document} object, operation name and values
+     * of the variables in the document, and reused by later executions of the same document.
+     *
+     * @param maxDepth                      max allowed depth, otherwise execution will be aborted
+     * @param maxQueryDepthExceededFunction the function to perform when the max depth is exceeded
+     * @param cacheDepth                    true to cache the depth of operations, which is false by default
+     */
+    public MaxQueryDepthInstrumentation(int maxDepth, Function<QueryDepthInfo, Boolean> maxQueryDepthExceededFunction, boolean cacheDepth) {
         this.maxDepth = maxDepth;
         this.maxQueryDepthExceededFunction = maxQueryDepthExceededFunction;
+        this.depthCache = cacheDepth ? new AnalysisResultCache() : null;
     }
 
     @Override
     public @Nullable InstrumentationContext<ExecutionResult> beginExecuteOperation(InstrumentationExecuteOperationParameters parameters, InstrumentationState state) {
-        QueryTraverser queryTraverser = newQueryTraverser(parameters.getExecutionContext());
-        int depth = queryTraverser.reducePreOrder((env, acc) -> Math.max(getPathLength(env.getParentEnvironment()), acc), 0);
+        ExecutionContext executionContext = parameters.getExecutionContext();
+        int depth = depthCache == null ? calculateDepth(executionContext) : depthCache.computeIfAbsent(executionContext, () -> calculateDepth(executionContext));
         if (depth > maxDepth) {
             QueryDepthInfo queryDepthInfo = QueryDepthInfo.newQueryDepthInfo()
                     .depth(depth)
@@ -63,6 +82,11 @@ public class MaxQueryDepthInstrumentation extends SimplePerformantInstrumentatio
         return noOp();
     }
 
+    @Override
+    public boolean isInstrumentingTrivialFields(InstrumentationState state) {
+        return isDerivedFrom(MaxQueryDepthInstrumentation.class);
+    }
+
     /**
      * Called to generate your own error message or custom exception class
      *
@@ -75,6 +99,10 @@ public class MaxQueryDepthInstrumentation extends SimplePerformantInstrumentatio
         return new AbortExecutionException("maximum query depth exceeded " + depth + " > " + maxDepth);
     }
 
+    private int calculateDepth(ExecutionContext executionContext) {
+        return newQueryTraverser(executionContext).reducePreOrder((env, acc) -> Math.max(getPathLength(env.getParentEnvironment()), acc), 0);
+    }
+
     QueryTraverser newQueryTraverser(ExecutionContext executionContext) {
         return QueryTraverser.newQueryTraverser()
                 .schema(executionContext.getGraphQLSchema())
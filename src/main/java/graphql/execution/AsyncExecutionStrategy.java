@@ -7,6 +7,7 @@ import graphql.execution.instrumentation.ExecutionStrategyInstrumentationContext
 import graphql.execution.instrumentation.Instrumentation;
 import graphql.execution.instrumentation.parameters.InstrumentationExecutionStrategyParameters;
 import graphql.introspection.Introspection;
+import graphql.introspection.IntrospectionResultCache;
 
 import java.util.List;
 import java.util.Optional;
@@ -52,6 +53,15 @@ public class AsyncExecutionStrategy extends AbstractAsyncExecutionStrategy {
         if (isNotSensible.isPresent()) {
             return CompletableFuture.completedFuture(isNotSensible.get());
         }
+        String introspectionCacheKey = IntrospectionResultCache.cacheKey(fields, executionContext);
+        if (introspectionCacheKey != null) {
+            ExecutionResult cachedResult = IntrospectionResultCache.getResult(executionContext, introspectionCacheKey);
+            if (cachedResult != null) {
+                executionStrategyCtx.onDispatched();
+                executionStrategyCtx.onCompleted(cachedResult, null);
+                return CompletableFuture.completedFuture(cachedResult);
+            }
+        }
 
         DeferredExecutionSupport deferredExecutionSupport = createDeferredExecutionSupport(executionContext, parameters);
         Async.CombinedBuilder<FieldValueInfo> futures = getAsyncFieldValueInfo(executionContext, parameters, deferredExecutionSupport);
@@ -86,6 +96,9 @@ public class AsyncExecutionStrategy extends AbstractAsyncExecutionStrategy {
         });
 
         overallResult.whenComplete(executionStrategyCtx::onCompleted);
+        if (introspectionCacheKey != null) {
+            overallResult.thenAccept(result -> IntrospectionResultCache.putResult(executionContext, introspectionCacheKey, result));
+        }
         return overallResult;
     }
 
@@ -17,8 +17,11 @@ import graphql.execution.instrumentation.InstrumentationState;
 import graphql.language.Document;
 import graphql.language.FragmentDefinition;
 import graphql.language.OperationDefinition;
+import graphql.normalized.ExecutableNormalizedField;
 import graphql.normalized.ExecutableNormalizedOperation;
+import graphql.normalized.ExecutableNormalizedOperationCache;
 import graphql.normalized.ExecutableNormalizedOperationFactory;
+import graphql.schema.DataFetchingFieldSelectionSet;
 import graphql.schema.GraphQLSchema;
 import graphql.util.FpKit;
 import graphql.util.LockKit;
@@ -29,6 +32,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
@@ -65,6 +69,7 @@ public class ExecutionContext {
 
     private final ExecutionInput executionInput;
     private final Supplier<ExecutableNormalizedOperation> queryTree;
+    private final Map<ExecutableNormalizedField, DataFetchingFieldSelectionSet> selectionSets = new ConcurrentHashMap<>();
     private final boolean propagateErrorsOnNonNullContractFailure;
 
     private final AtomicInteger isRunning = new AtomicInteger(0);
@@ -99,11 +104,19 @@ public class ExecutionContext {
         this.localContext = builder.localContext;
         this.executionInput = builder.executionInput;
         this.dataLoaderDispatcherStrategy = builder.dataLoaderDispatcherStrategy;
-        this.queryTree = FpKit.interThreadMemoize(() -> ExecutableNormalizedOperationFactory.createExecutableNormalizedOperation(graphQLSchema, operationDefinition, fragmentsByName, coercedVariables));
+        this.queryTree = FpKit.interThreadMemoize(this::createNormalizedOperation);
         this.propagateErrorsOnNonNullContractFailure = builder.propagateErrorsOnNonNullContractFailure;
         this.engineRunningState = builder.engineRunningState;
     }
 
+    private ExecutableNormalizedOperation createNormalizedOperation() {
+        ExecutableNormalizedOperationCache normalizedOperationCache = graphQLContext == null ? null : graphQLContext.get(ExecutableNormalizedOperationCache.CONTEXT_KEY);
+        if (normalizedOperationCache != null) {
+            return normalizedOperationCache.getOrCreate(graphQLSchema, document, operationDefinition, fragmentsByName, coercedVariables);
+        }
+        return ExecutableNormalizedOperationFactory.createExecutableNormalizedOperation(graphQLSchema, operationDefinition, fragmentsByName, coercedVariables);
+    }
+
     public ExecutionId getExecutionId() {
         return executionId;
     }
@@ -338,6 +351,14 @@ public class ExecutionContext {
         return queryTree;
     }
 
+    /**
+     * @return the selection sets per normalized field, which are shared by the data fetching environments of this execution
+     */
+    @Internal
+    public Map<ExecutableNormalizedField, DataFetchingFieldSelectionSet> getSelectionSets() {
+        return selectionSets;
+    }
+
     @Internal
     public void setDataLoaderDispatcherStrategy(DataLoaderDispatchStrategy dataLoaderDispatcherStrategy) {
         this.dataLoaderDispatcherStrategy = dataLoaderDispatcherStrategy;
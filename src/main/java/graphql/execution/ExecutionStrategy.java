@@ -35,7 +35,6 @@ import graphql.schema.DataFetcher;
 import graphql.schema.DataFetchingEnvironment;
 import graphql.schema.DataFetchingFieldSelectionSet;
 import graphql.schema.DataFetchingFieldSelectionSetImpl;
-import graphql.schema.GraphQLCodeRegistry;
 import graphql.schema.GraphQLEnumType;
 import graphql.schema.GraphQLFieldDefinition;
 import graphql.schema.GraphQLObjectType;
@@ -399,47 +398,13 @@ public abstract class ExecutionStrategy {
             return new FetchedValue(null, Collections.emptyList(), null);
         }
 
-        MergedField field = parameters.getField();
         String pathString = parameters.getPath().toString();
         GraphQLObjectType parentType = (GraphQLObjectType) parameters.getExecutionStepInfo().getUnwrappedNonNullType();
 
         // if the DF (like PropertyDataFetcher) does not use the arguments or execution step info then dont build any
+        Supplier<DataFetchingEnvironment> dataFetchingEnvironment = createDataFetchingEnvironment(executionContext, parameters, fieldDef, parentType);
 
-        Supplier<DataFetchingEnvironment> dataFetchingEnvironment = FpKit.intraThreadMemoize(() -> {
-
-            Supplier<ExecutionStepInfo> executionStepInfo = FpKit.intraThreadMemoize(
-                    () -> createExecutionStepInfo(executionContext, parameters, fieldDef, parentType));
-
-            Supplier<Map<String, Object>> argumentValues = () -> executionStepInfo.get().getArguments();
-
-            Supplier<ExecutableNormalizedField> normalizedFieldSupplier = getNormalizedField(executionContext, parameters, executionStepInfo);
-
-            // DataFetchingFieldSelectionSet and QueryDirectives is a supplier of sorts - eg a lazy pattern
-            DataFetchingFieldSelectionSet fieldCollector = DataFetchingFieldSelectionSetImpl.newCollector(executionContext.getGraphQLSchema(), fieldDef.getType(), normalizedFieldSupplier);
-            QueryDirectives queryDirectives = new QueryDirectivesImpl(field,
-                    executionContext.getGraphQLSchema(),
-                    executionContext.getCoercedVariables(),
-                    executionContext.getNormalizedVariables(),
-                    executionContext.getGraphQLContext(),
-                    executionContext.getLocale());
-
-
-            return newDataFetchingEnvironment(executionContext)
-                    .source(parameters.getSource())
-                    .localContext(parameters.getLocalContext())
-                    .arguments(argumentValues)
-                    .fieldDefinition(fieldDef)
-                    .mergedField(parameters.getField())
-                    .fieldType(fieldDef.getType())
-                    .executionStepInfo(executionStepInfo)
-                    .parentType(parentType)
-                    .selectionSet(fieldCollector)
-                    .queryDirectives(queryDirectives)
-                    .build();
-        });
-
-        GraphQLCodeRegistry codeRegistry = executionContext.getGraphQLSchema().getCodeRegistry();
-        DataFetcher<?> dataFetcher = codeRegistry.getDataFetcher(parentType, fieldDef);
+        DataFetcher<?> dataFetcher = executionContext.getGraphQLSchema().getBoundDataFetchers().getDataFetcher(parentType, fieldDef);
 
         Instrumentation instrumentation = executionContext.getInstrumentation();
 
@@ -485,6 +450,48 @@ public abstract class ExecutionStrategy {
         }
     }
 
+    /*
+     * The environment is built lazily, since data fetchers such as a PropertyDataFetcher mostly don't need it
+     */
+    Supplier<DataFetchingEnvironment> createDataFetchingEnvironment(ExecutionContext executionContext,
+                                                                    ExecutionStrategyParameters parameters,
+                                                                    GraphQLFieldDefinition fieldDef,
+                                                                    GraphQLObjectType parentType) {
+        MergedField field = parameters.getField();
+        return FpKit.intraThreadMemoize(() -> {
+
+            Supplier<ExecutionStepInfo> executionStepInfo = FpKit.intraThreadMemoize(
+                    () -> createExecutionStepInfo(executionContext, parameters, fieldDef, parentType));
+
+            Supplier<Map<String, Object>> argumentValues = () -> executionStepInfo.get().getArguments();
+
+            Supplier<ExecutableNormalizedField> normalizedFieldSupplier = getNormalizedField(executionContext, parameters, executionStepInfo);
+
+            // DataFetchingFieldSelectionSet and QueryDirectives is a supplier of sorts - eg a lazy pattern
+            DataFetchingFieldSelectionSet fieldCollector = DataFetchingFieldSelectionSetImpl.newCollector(executionContext.getGraphQLSchema(), fieldDef.getType(), normalizedFieldSupplier, executionContext.getSelectionSets());
+            QueryDirectives queryDirectives = new QueryDirectivesImpl(field,
+                    executionContext.getGraphQLSchema(),
+                    executionContext.getCoercedVariables(),
+                    executionContext.getNormalizedVariables(),
+                    executionContext.getGraphQLContext(),
+                    executionContext.getLocale());
+
+
+            return newDataFetchingEnvironment(executionContext)
+                    .source(parameters.getSource())
+                    .localContext(parameters.getLocalContext())
+                    .arguments(argumentValues)
+                    .fieldDefinition(fieldDef)
+                    .mergedField(parameters.getField())
+                    .fieldType(fieldDef.getType())
+                    .executionStepInfo(executionStepInfo)
+                    .parentType(parentType)
+                    .selectionSet(fieldCollector)
+                    .queryDirectives(queryDirectives)
+                    .build();
+        });
+    }
+
     /*
      * ExecutionContext is not used in the method, but the java agent uses it, so it needs to be present
      */
@@ -892,6 +899,28 @@ public abstract class ExecutionStrategy {
     protected Object completeValueForObject(ExecutionContext executionContext, ExecutionStrategyParameters parameters, GraphQLObjectType resolvedObjectType, Object result) {
         ExecutionStepInfo executionStepInfo = parameters.getExecutionStepInfo();
 
+        MergedSelectionSet subFields = collectSubFields(executionContext, parameters, resolvedObjectType);
+
+        ExecutionStepInfo newExecutionStepInfo = executionStepInfo.changeTypeWithPreservedNonNull(resolvedObjectType);
+
+        ExecutionStrategyParameters newParameters = parameters.transform(newExecutionStepInfo,
+                subFields,
+                result);
+
+        // Calling this from the executionContext to ensure we shift back from mutation strategy to the query strategy.
+        return executionContext.getQueryStrategy().executeObject(executionContext, newParameters);
+    }
+
+    /**
+     * Called to collect the sub fields of the current field that are to be executed on an object of the resolved object type
+     *
+     * @param executionContext   contains the top level execution parameters
+     * @param parameters         contains the parameters holding the field whose sub fields are collected
+     * @param resolvedObjectType the resolved object type
+     *
+     * @return the sub fields to execute on the object
+     */
+    protected MergedSelectionSet collectSubFields(ExecutionContext executionContext, ExecutionStrategyParameters parameters, GraphQLObjectType resolvedObjectType) {
         FieldCollectorParameters collectorParameters = newParameters()
                 .schema(executionContext.getGraphQLSchema())
                 .objectType(resolvedObjectType)
@@ -900,20 +929,11 @@ public abstract class ExecutionStrategy {
                 .graphQLContext(executionContext.getGraphQLContext())
                 .build();
 
-        MergedSelectionSet subFields = fieldCollector.collectFields(
+        return fieldCollector.collectFields(
                 collectorParameters,
                 parameters.getField(),
                 executionContext.hasIncrementalSupport()
         );
-
-        ExecutionStepInfo newExecutionStepInfo = executionStepInfo.changeTypeWithPreservedNonNull(resolvedObjectType);
-
-        ExecutionStrategyParameters newParameters = parameters.transform(newExecutionStepInfo,
-                subFields,
-                result);
-
-        // Calling this from the executionContext to ensure we shift back from mutation strategy to the query strategy.
-        return executionContext.getQueryStrategy().executeObject(executionContext, newParameters);
     }
 
     @SuppressWarnings("SameReturnValue")
@@ -956,7 +976,7 @@ public abstract class ExecutionStrategy {
      *
      * @return true if max nodes were exceeded
      */
-    private boolean incrementAndCheckMaxNodesExceeded(ExecutionContext executionContext) {
+    boolean incrementAndCheckMaxNodesExceeded(ExecutionContext executionContext) {
         int resultNodesCount = executionContext.getResultNodesInfo().incrementAndGetResultNodesCount();
         Integer maxNodes;
         if ((maxNodes = executionContext.getGraphQLContext().get(MAX_RESULT_NODES)) != null) {
@@ -0,0 +1,447 @@
+package graphql.execution;
+
+import graphql.DuckTyped;
+import graphql.EngineRunningState;
+import graphql.ExecutionResult;
+import graphql.ExperimentalApi;
+import graphql.GraphQLContext;
+import graphql.execution.conditional.ConditionalNodeDecision;
+import graphql.execution.reactive.ReactiveSupport;
+import graphql.introspection.Introspection;
+import graphql.language.Directive;
+import graphql.language.Document;
+import graphql.language.Node;
+import graphql.language.OperationDefinition;
+import graphql.language.VariableReference;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.GraphQLEnumType;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLScalarType;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLType;
+import graphql.schema.GraphQLTypeUtil;
+import graphql.schema.LightDataFetcher;
+import graphql.util.LockKit;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static graphql.Directives.IncludeDirective;
+import static graphql.Directives.SkipDirective;
+import static graphql.schema.GraphQLTypeUtil.isEnum;
+import static graphql.schema.GraphQLTypeUtil.isScalar;
+
+/**
+ * This execution strategy runs fields the same as {@link AsyncExecutionStrategy} but compiles the sub fields of each field once per
+ * object type and keeps them with the query document, rather than collecting them from the document for every object that is executed.
+ * <p>
+ * The sub fields of a field only depend on the object type, the document and the values of the variables used by {@code @skip} and
+ * {@code @include}, so the compiled sub fields are reused by every object of the same type in a request and by every later request
+ * that executes the same {@link Document} object, such as those from a {@link graphql.execution.preparsed.PreparsedDocumentProvider}.
+ * This skips the fragment expansion, type condition checks and {@link MergedField} building at runtime.
+ * <p>
+ * Objects whose sub fields are all scalars or enums fetched by a {@link LightDataFetcher}, such as a
+ * {@link graphql.schema.PropertyDataFetcher}, are trivial.  They are completed in one loop that fetches and serializes every value
+ * directly, without the {@link ExecutionStepInfo}, {@link ExecutionStrategyParameters} and {@link FieldValueInfo} of each field, as
+ * long as no data loaders are dispatched and the instrumentation is not
+ * {@link graphql.execution.instrumentation.Instrumentation#isInstrumentingTrivialFields(graphql.execution.instrumentation.InstrumentationState) instrumenting trivial fields}.
+ * Nulls of non-null fields, errors, futures and {@link DataFetcherResult}s are completed as usual.  The values of trivial objects don't
+ * go through {@link #completeValueForScalar} or {@link #completeValueForEnum}, so subclasses that override those should not use this
+ * strategy.
+ * <p>
+ * Executions with incremental support enabled or a {@link ConditionalNodeDecision} in their context collect their fields as usual.
+ */
+@ExperimentalApi
+public class PrecompiledExecutionStrategy extends AsyncExecutionStrategy {
+
+    private final LockKit.ReentrantLock lock = new LockKit.ReentrantLock();
+    private final Map<Document, DocumentPlans> plansByDocument = new WeakHashMap<>();
+    // the plans of the executions in flight, which are kept apart from the user's context since the context can be shared between executions
+    private final Map<ExecutionContext, ActivePlan> activePlans = new ConcurrentHashMap<>();
+
+    /**
+     * The execution strategy that compiles the sub fields of each field once
+     */
+    public PrecompiledExecutionStrategy() {
+        super();
+    }
+
+    /**
+     * Creates an execution strategy that uses the provided exception handler
+     *
+     * @param exceptionHandler the exception handler to use
+     */
+    public PrecompiledExecutionStrategy(DataFetcherExceptionHandler exceptionHandler) {
+        super(exceptionHandler);
+    }
+
+    @Override
+    public CompletableFuture<ExecutionResult> execute(ExecutionContext executionContext, ExecutionStrategyParameters parameters) throws NonNullableFieldWasNullException {
+        GraphQLContext graphQLContext = executionContext.getGraphQLContext();
+        if (graphQLContext == null || executionContext.hasIncrementalSupport() || graphQLContext.get(ConditionalNodeDecision.class) != null) {
+            return super.execute(executionContext, parameters);
+        }
+        activePlans.put(executionContext, new ActivePlan(getPlan(executionContext), completesTrivialObjects(executionContext)));
+        CompletableFuture<ExecutionResult> result;
+        try {
+            result = super.execute(executionContext, parameters);
+        } catch (RuntimeException e) {
+            activePlans.remove(executionContext);
+            throw e;
+        }
+        result.whenComplete((executionResult, throwable) -> activePlans.remove(executionContext));
+        return result;
+    }
+
+    @Override
+    protected MergedSelectionSet collectSubFields(ExecutionContext executionContext, ExecutionStrategyParameters parameters, GraphQLObjectType resolvedObjectType) {
+        ActivePlan activePlan = getActivePlan(executionContext);
+        if (activePlan == null) {
+            return super.collectSubFields(executionContext, parameters, resolvedObjectType);
+        }
+        Map<String, MergedSelectionSet> subFieldsByType = activePlan.plan.subFields.computeIfAbsent(parameters.getField(), field -> new ConcurrentHashMap<>());
+        MergedSelectionSet subFields = subFieldsByType.get(resolvedObjectType.getName());
+        if (subFields == null) {
+            subFields = super.collectSubFields(executionContext, parameters, resolvedObjectType);
+            subFieldsByType.putIfAbsent(resolvedObjectType.getName(), subFields);
+        }
+        return subFields;
+    }
+
+    @Override
+    @DuckTyped(shape = "CompletableFuture<Map<String, Object>> | Map<String, Object>")
+    protected Object completeValueForObject(ExecutionContext executionContext, ExecutionStrategyParameters parameters, GraphQLObjectType resolvedObjectType, Object result) {
+        ActivePlan activePlan = getActivePlan(executionContext);
+        if (activePlan == null || !activePlan.completesTrivialObjects) {
+            return super.completeValueForObject(executionContext, parameters, resolvedObjectType, result);
+        }
+        Map<String, TrivialObject> trivialObjectsByType = activePlan.plan.trivialObjects.computeIfAbsent(parameters.getField(), field -> new ConcurrentHashMap<>());
+        TrivialObject trivialObject = trivialObjectsByType.get(resolvedObjectType.getName());
+        if (trivialObject == null) {
+            MergedSelectionSet subFields = collectSubFields(executionContext, parameters, resolvedObjectType);
+            trivialObject = TrivialObject.of(this, executionContext.getGraphQLSchema(), resolvedObjectType, subFields);
+            trivialObjectsByType.putIfAbsent(resolvedObjectType.getName(), trivialObject);
+        }
+        if (trivialObject == TrivialObject.NOT_TRIVIAL) {
+            return super.completeValueForObject(executionContext, parameters, resolvedObjectType, result);
+        }
+        return new TrivialObjectCompletion(executionContext, parameters, resolvedObjectType, result, trivialObject).complete();
+    }
+
+    private ActivePlan getActivePlan(ExecutionContext executionContext) {
+        return activePlans.get(executionContext);
+    }
+
+    /*
+     * Trivial objects are completed without data loader dispatching or instrumentation, so this can only be done when neither needs to
+     * see the fields
+     */
+    private static boolean completesTrivialObjects(ExecutionContext executionContext) {
+        return executionContext.getDataLoaderDispatcherStrategy() == DataLoaderDispatchStrategy.NO_OP
+                && !executionContext.getInstrumentation().isInstrumentingTrivialFields(executionContext.getInstrumentationState());
+    }
+
+    private ExecutionPlan getPlan(ExecutionContext executionContext) {
+        Document document = executionContext.getDocument();
+        GraphQLSchema schema = executionContext.getGraphQLSchema();
+        DocumentPlans documentPlans = lock.callLocked(() -> {
+            DocumentPlans plans = plansByDocument.get(document);
+            if (plans == null || plans.schema != schema) {
+                plans = new DocumentPlans(schema, document);
+                plansByDocument.put(document, plans);
+            }
+            return plans;
+        });
+        CoercedVariables variables = executionContext.getCoercedVariables();
+        List<Object> conditionalValues = new ArrayList<>(documentPlans.conditionalVariableNames.size());
+        for (String variableName : documentPlans.conditionalVariableNames) {
+            conditionalValues.add(variables.get(variableName));
+        }
+        PlanKey planKey = new PlanKey(executionContext.getOperationDefinition(), conditionalValues);
+        return documentPlans.plans.computeIfAbsent(planKey, key -> new ExecutionPlan());
+    }
+
+    private static Set<String> conditionalVariableNames(Document document) {
+        Set<String> variableNames = new LinkedHashSet<>();
+        Deque<Node<?>> nodes = new ArrayDeque<>();
+        nodes.push(document);
+        while (!nodes.isEmpty()) {
+            Node<?> node = nodes.pop();
+            if (node instanceof Directive && isConditional((Directive) node)) {
+                collectVariableNames(node, variableNames);
+                continue;
+            }
+            for (Node<?> child : node.getChildren()) {
+                nodes.push(child);
+            }
+        }
+        return variableNames;
+    }
+
+    private static boolean isConditional(Directive directive) {
+        return directive.getName().equals(SkipDirective.getName()) || directive.getName().equals(IncludeDirective.getName());
+    }
+
+    private static void collectVariableNames(Node<?> node, Set<String> variableNames) {
+        if (node instanceof VariableReference) {
+            variableNames.add(((VariableReference) node).getName());
+        }
+        for (Node<?> child : node.getChildren()) {
+            collectVariableNames(child, variableNames);
+        }
+    }
+
+    private static class DocumentPlans {
+        private final GraphQLSchema schema;
+        private final List<String> conditionalVariableNames;
+        private final Map<PlanKey, ExecutionPlan> plans = new ConcurrentHashMap<>();
+
+        DocumentPlans(GraphQLSchema schema, Document document) {
+            this.schema = schema;
+            this.conditionalVariableNames = Collections.unmodifiableList(new ArrayList<>(conditionalVariableNames(document)));
+        }
+    }
+
+    private static class PlanKey {
+        private final OperationDefinition operationDefinition;
+        private final List<Object> conditionalValues;
+
+        PlanKey(OperationDefinition operationDefinition, List<Object> conditionalValues) {
+            this.operationDefinition = operationDefinition;
+            this.conditionalValues = conditionalValues;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof PlanKey)) {
+                return false;
+            }
+            PlanKey planKey = (PlanKey) o;
+            return operationDefinition == planKey.operationDefinition && conditionalValues.equals(planKey.conditionalValues);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(operationDefinition), conditionalValues);
+        }
+    }
+
+    /*
+     * The sub fields of each field per object type name, and whether they are trivial, for one operation of a document and one set
+     * of @skip / @include values
+     */
+    private static class ExecutionPlan {
+        private final Map<MergedField, Map<String, MergedSelectionSet>> subFields = new ConcurrentHashMap<>();
+        private final Map<MergedField, Map<String, TrivialObject>> trivialObjects = new ConcurrentHashMap<>();
+    }
+
+    private static class ActivePlan {
+        private final ExecutionPlan plan;
+        private final boolean completesTrivialObjects;
+
+        ActivePlan(ExecutionPlan plan, boolean completesTrivialObjects) {
+            this.plan = plan;
+            this.completesTrivialObjects = completesTrivialObjects;
+        }
+    }
+
+    /*
+     * The sub fields of an object type when every one of them is fetched by a LightDataFetcher, or is __typename, into a scalar or
+     * an enum
+     */
+    private static class TrivialObject {
+        private static final TrivialObject NOT_TRIVIAL = new TrivialObject(null, null, null, null, null, null);
+
+        private final MergedSelectionSet subFields;
+        private final List<String> resultKeys;
+        private final GraphQLFieldDefinition[] fieldDefinitions;
+        // null for __typename
+        private final LightDataFetcher<?>[] dataFetchers;
+        private final GraphQLType[] unwrappedTypes;
+        private final boolean[] nonNullTypes;
+
+        private TrivialObject(MergedSelectionSet subFields, List<String> resultKeys, GraphQLFieldDefinition[] fieldDefinitions, LightDataFetcher<?>[] dataFetchers, GraphQLType[] unwrappedTypes, boolean[] nonNullTypes) {
+            this.subFields = subFields;
+            this.resultKeys = resultKeys;
+            this.fieldDefinitions = fieldDefinitions;
+            this.dataFetchers = dataFetchers;
+            this.unwrappedTypes = unwrappedTypes;
+            this.nonNullTypes = nonNullTypes;
+        }
+
+        static TrivialObject of(ExecutionStrategy strategy, GraphQLSchema schema, GraphQLObjectType objectType, MergedSelectionSet subFields) {
+            List<String> resultKeys = subFields.getKeys();
+            int size = resultKeys.size();
+            GraphQLFieldDefinition[] fieldDefinitions = new GraphQLFieldDefinition[size];
+            LightDataFetcher<?>[] dataFetchers = new LightDataFetcher<?>[size];
+            GraphQLType[] unwrappedTypes = new GraphQLType[size];
+            boolean[] nonNullTypes = new boolean[size];
+            for (int i = 0; i < size; i++) {
+                MergedField field = subFields.getSubField(resultKeys.get(i));
+                GraphQLFieldDefinition fieldDefinition = strategy.getFieldDef(schema, objectType, field.getSingleField());
+                GraphQLType unwrappedType = GraphQLTypeUtil.unwrapNonNull(fieldDefinition.getType());
+                if (!isScalar(unwrappedType) && !isEnum(unwrappedType)) {
+                    return NOT_TRIVIAL;
+                }
+                DataFetcher<?> dataFetcher = schema.getBoundDataFetchers().getDataFetcher(objectType, fieldDefinition);
+                if (fieldDefinition == Introspection.TypeNameMetaFieldDef && dataFetcher == Introspection.TypeNameMetaFieldDefDataFetcher) {
+                    dataFetchers[i] = null;
+                } else if (dataFetcher instanceof LightDataFetcher) {
+                    dataFetchers[i] = (LightDataFetcher<?>) dataFetcher;
+                } else {
+                    return NOT_TRIVIAL;
+                }
+                fieldDefinitions[i] = fieldDefinition;
+                unwrappedTypes[i] = unwrappedType;
+                nonNullTypes[i] = GraphQLTypeUtil.isNonNull(fieldDefinition.getType());
+            }
+            return new TrivialObject(subFields, resultKeys, fieldDefinitions, dataFetchers, unwrappedTypes, nonNullTypes);
+        }
+    }
+
+    /*
+     * Completes one trivial object in a single loop over its fields, reading each value and serializing it directly.  Anything out of
+     * the ordinary, such as a null for a non-null field, an error, a DataFetcherResult or a future, is handed to the usual field
+     * completion, which builds the execution step info and parameters that the fast path does without.
+     */
+    private class TrivialObjectCompletion {
+        private final ExecutionContext executionContext;
+        private final ExecutionStrategyParameters parameters;
+        private final GraphQLObjectType objectType;
+        private final Object source;
+        private final TrivialObject trivialObject;
+        private ExecutionStrategyParameters objectParameters;
+
+        TrivialObjectCompletion(ExecutionContext executionContext, ExecutionStrategyParameters parameters, GraphQLObjectType objectType, Object source, TrivialObject trivialObject) {
+            this.executionContext = executionContext;
+            this.parameters = parameters;
+            this.objectType = objectType;
+            this.source = source;
+            this.trivialObject = trivialObject;
+        }
+
+        @SuppressWarnings("unchecked")
+        @DuckTyped(shape = "CompletableFuture<Map<String, Object>> | Map<String, Object>")
+        Object complete() {
+            int size = trivialObject.resultKeys.size();
+            Object[] values = new Object[size];
+            boolean materialized = true;
+            for (int i = 0; i < size; i++) {
+                Object value = completeTrivialField(i);
+                values[i] = value;
+                materialized &= !(value instanceof CompletableFuture);
+            }
+            if (materialized) {
+                return executionContext.getResponseMapFactory().createInsertionOrdered(trivialObject.resultKeys, Arrays.asList(values));
+            }
+            Async.CombinedBuilder<Object> valuesBuilder = Async.ofExpectedSize(size);
+            for (Object value : values) {
+                valuesBuilder.addObject(value);
+            }
+            CompletableFuture<Map<String, Object>> overallResult = new CompletableFuture<>();
+            valuesBuilder.await().whenComplete((results, exception) -> {
+                if (exception != null) {
+                    handleValueException(overallResult, exception, executionContext);
+                    return;
+                }
+                overallResult.complete(executionContext.getResponseMapFactory().createInsertionOrdered(trivialObject.resultKeys, results));
+            });
+            return overallResult;
+        }
+
+        @DuckTyped(shape = "CompletableFuture<Object> | Object")
+        private Object completeTrivialField(int index) {
+            if (incrementAndCheckMaxNodesExceeded(executionContext)) {
+                return completeFieldAsUsual(index, null);
+            }
+            LightDataFetcher<?> dataFetcher = trivialObject.dataFetchers[index];
+            if (dataFetcher == null) {
+                return objectType.getName();
+            }
+            Object fetchedObject;
+            try {
+                fetchedObject = dataFetcher.get(trivialObject.fieldDefinitions[index], source, () -> dataFetchingEnvironment(fieldParameters(index), index).get());
+            } catch (Exception e) {
+                return completeFieldAsUsual(index, Async.exceptionallyCompletedFuture(e));
+            }
+            Object reactiveObject = ReactiveSupport.fetchedObject(fetchedObject);
+            if (reactiveObject != fetchedObject || fetchedObject instanceof CompletionStage || fetchedObject instanceof DataFetcherResult) {
+                return completeFieldAsUsual(index, reactiveObject);
+            }
+            Object value = executionContext.getValueUnboxer().unbox(fetchedObject);
+            if (value == null) {
+                return trivialObject.nonNullTypes[index] ? completeFieldAsUsual(index, null) : null;
+            }
+            Object serialized;
+            try {
+                GraphQLType unwrappedType = trivialObject.unwrappedTypes[index];
+                if (unwrappedType instanceof GraphQLScalarType) {
+                    serialized = ((GraphQLScalarType) unwrappedType).getCoercing().serialize(value, executionContext.getGraphQLContext(), executionContext.getLocale());
+                } else {
+                    serialized = ((GraphQLEnumType) unwrappedType).serialize(value, executionContext.getGraphQLContext(), executionContext.getLocale());
+                }
+            } catch (RuntimeException e) {
+                // the usual completion serializes the value again and reports the problem
+                return completeFieldAsUsual(index, value);
+            }
+            if (serialized == null && trivialObject.nonNullTypes[index]) {
+                return completeFieldAsUsual(index, value);
+            }
+            return serialized;
+        }
+
+        @SuppressWarnings("unchecked")
+        @DuckTyped(shape = "CompletableFuture<Object> | Object")
+        private Object completeFieldAsUsual(int index, Object fetchedObject) {
+            ExecutionStrategyParameters fieldParameters = fieldParameters(index);
+            try {
+                fetchedObject = Async.toCompletableFutureOrMaterializedObject(fetchedObject);
+                if (fetchedObject instanceof CompletableFuture) {
+                    CompletableFuture<Object> fetchedValue = (CompletableFuture<Object>) fetchedObject;
+                    EngineRunningState engineRunningState = executionContext.getEngineRunningState();
+                    CompletableFuture<CompletableFuture<Object>> handleCF = engineRunningState.handle(fetchedValue, (result, exception) ->
+                            exception != null ? handleFetchingException(dataFetchingEnvironment(fieldParameters, index).get(), fieldParameters, exception) : fetchedValue);
+                    CompletableFuture<Object> rawResultCF = engineRunningState.compose(handleCF, Function.identity());
+                    return rawResultCF.thenCompose(result -> completeField(executionContext, fieldParameters, unboxPossibleDataFetcherResult(executionContext, fieldParameters, result))
+                            .getFieldValueFuture());
+                }
+                FetchedValue fetchedValue = unboxPossibleDataFetcherResult(executionContext, fieldParameters, fetchedObject);
+                return completeField(executionContext, fieldParameters, fetchedValue).getFieldValueObject();
+            } catch (Exception e) {
+                return Async.exceptionallyCompletedFuture(e);
+            }
+        }
+
+        private Supplier<DataFetchingEnvironment> dataFetchingEnvironment(ExecutionStrategyParameters fieldParameters, int index) {
+            return createDataFetchingEnvironment(executionContext, fieldParameters, trivialObject.fieldDefinitions[index], objectType);
+        }
+
+        private ExecutionStrategyParameters fieldParameters(int index) {
+            if (objectParameters == null) {
+                ExecutionStepInfo objectStepInfo = parameters.getExecutionStepInfo().changeTypeWithPreservedNonNull(objectType);
+                objectParameters = parameters.transform(objectStepInfo, trivialObject.subFields, source);
+            }
+            MergedField field = trivialObject.subFields.getSubField(trivialObject.resultKeys.get(index));
+            return objectParameters.transform(field, objectParameters.getPath().segment(mkNameForPath(field)), objectParameters);
+        }
+    }
+}
@@ -212,6 +212,20 @@ public class ChainedInstrumentation implements Instrumentation {
         return chainedCtx(state, (instrumentation, specificState) -> instrumentation.beginFieldListCompletion(parameters, specificState));
     }
 
+    @Override
+    public boolean isInstrumentingTrivialFields(InstrumentationState state) {
+        if (instrumentations.isEmpty()) {
+            return false;
+        }
+        ChainedInstrumentationState chainedInstrumentationState = (ChainedInstrumentationState) state;
+        for (int i = 0; i < instrumentations.size(); i++) {
+            if (instrumentations.get(i).isInstrumentingTrivialFields(chainedInstrumentationState.getState(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @NonNull
     @Override
     public ExecutionInput instrumentExecutionInput(ExecutionInput executionInput, InstrumentationExecutionParameters parameters, InstrumentationState state) {
@@ -252,6 +252,24 @@ public interface Instrumentation {
         return noOp();
     }
 
+    /**
+     * Execution strategies such as {@link graphql.execution.PrecompiledExecutionStrategy} can complete objects whose fields are all
+     * fetched by {@link graphql.schema.LightDataFetcher}s into scalars or enums in one go.  They do that without calling
+     * {@link #beginExecuteObject(InstrumentationExecutionStrategyParameters, InstrumentationState)}, the field level methods or
+     * {@link #instrumentDataFetcher(DataFetcher, InstrumentationFieldFetchParameters, InstrumentationState)} for those objects and
+     * their trivial fields, but only if the instrumentation says it does not need to see them.
+     * <p>
+     * This is an EXPERIMENTAL instrumentation callback. The method signature will definitely change.
+     *
+     * @param state the state created during the call to {@link #createStateAsync(InstrumentationCreateStateParameters)}
+     *
+     * @return true if the instrumentation needs to be called for trivial fields, which is the default
+     */
+    @ExperimentalApi
+    default boolean isInstrumentingTrivialFields(InstrumentationState state) {
+        return true;
+    }
+
     /**
      * This is called to instrument a {@link graphql.ExecutionInput} before it is used to parse, validate
      * and execute a query, allowing you to adjust what query input parameters are used
@@ -111,6 +111,23 @@ public class SimplePerformantInstrumentation implements Instrumentation {
         return noOp();
     }
 
+    @Override
+    public boolean isInstrumentingTrivialFields(InstrumentationState state) {
+        return isDerivedFrom(SimplePerformantInstrumentation.class);
+    }
+
+    /**
+     * Built in instrumentations that leave fields alone can only say so for their own exact class, since classes derived
+     * from them may well instrument fields.
+     *
+     * @param declaringClass the class that knows it leaves trivial fields alone
+     *
+     * @return true if this is an instance of a class derived from the given class rather than of that class itself
+     */
+    protected final boolean isDerivedFrom(Class<? extends SimplePerformantInstrumentation> declaringClass) {
+        return getClass() != declaringClass;
+    }
+
     @Override
     public @NonNull ExecutionInput instrumentExecutionInput(ExecutionInput executionInput, InstrumentationExecutionParameters parameters, InstrumentationState state) {
         return executionInput;
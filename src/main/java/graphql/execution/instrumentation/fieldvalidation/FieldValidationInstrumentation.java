@@ -45,4 +45,9 @@ public class FieldValidationInstrumentation extends SimplePerformantInstrumentat
         }
         return super.beginExecuteOperation(parameters, state);
     }
+
+    @Override
+    public boolean isInstrumentingTrivialFields(InstrumentationState state) {
+        return isDerivedFrom(FieldValidationInstrumentation.class);
+    }
 }
@@ -94,6 +94,11 @@ public class TracingInstrumentation extends SimplePerformantInstrumentation {
         return whenCompleted((result, t) -> ctx.onEnd());
     }
 
+    @Override
+    public boolean isInstrumentingTrivialFields(InstrumentationState state) {
+        return isDerivedFrom(TracingInstrumentation.class) || options.includeTrivialDataFetchers;
+    }
+
     @Override
     public InstrumentationContext<Document> beginParse(InstrumentationExecutionParameters parameters, InstrumentationState rawState) {
         TracingSupport tracingSupport = ofState(rawState);
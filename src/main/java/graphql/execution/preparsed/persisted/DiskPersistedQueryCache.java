@@ -0,0 +1,202 @@
+package graphql.execution.preparsed.persisted;
+
+import graphql.ExecutionInput;
+import graphql.ParseAndValidate;
+import graphql.ParseAndValidateResult;
+import graphql.PublicApi;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.schema.GraphQLSchema;
+import graphql.util.LockKit;
+import graphql.validation.ValidationError;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+import static graphql.Assert.assertNotNull;
+import static graphql.Assert.assertTrue;
+
+/**
+ * A PersistedQueryCache that stores known queries in a local append only file so that they survive restarts, with
+ * a bounded in memory tier of parsed and validated documents in front of it.
+ * <p>
+ * New queries that parse and validate cleanly are appended to the file, which may be shared by many processes on the
+ * same machine.  On startup you can call {@link #warmUp(GraphQLSchema, Executor)} to parse and validate the stored
+ * queries against the current schema in parallel, so that the first requests after a deploy don't all miss the cache.
+ */
+@PublicApi
+public class DiskPersistedQueryCache implements PersistedQueryCache, Closeable {
+
+    private final PersistedQueryJournal journal;
+    private final int maxInMemoryEntries;
+    private final Map<String, PreparsedDocumentEntry> inMemoryEntries;
+    private final Map<String, CompletableFuture<PreparsedDocumentEntry>> loadingEntries = new ConcurrentHashMap<>();
+    private final LockKit.ReentrantLock lock = new LockKit.ReentrantLock();
+
+    private DiskPersistedQueryCache(Builder builder) {
+        this.journal = new PersistedQueryJournal(builder.path);
+        this.maxInMemoryEntries = builder.maxInMemoryEntries;
+        this.inMemoryEntries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparsedDocumentEntry> eldest) {
+                return size() > maxInMemoryEntries;
+            }
+        };
+    }
+
+    public Path getPath() {
+        return journal.getPath();
+    }
+
+    public int getMaxInMemoryEntries() {
+        return maxInMemoryEntries;
+    }
+
+    /**
+     * @return the ids of the queries that are persisted on disk
+     */
+    public List<String> getKnownQueryIds() {
+        journal.refresh();
+        return journal.getQueryIds();
+    }
+
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getPersistedQueryDocumentAsync(Object persistedQueryId, ExecutionInput executionInput, PersistedQueryCacheMiss onCacheMiss) throws PersistedQueryNotFound {
+        String queryId = String.valueOf(persistedQueryId);
+        while (true) {
+            PreparsedDocumentEntry documentEntry = lock.callLocked(() -> inMemoryEntries.get(queryId));
+            if (documentEntry != null) {
+                return CompletableFuture.completedFuture(documentEntry);
+            }
+            CompletableFuture<PreparsedDocumentEntry> loading = new CompletableFuture<>();
+            CompletableFuture<PreparsedDocumentEntry> inFlight = loadingEntries.putIfAbsent(queryId, loading);
+            if (inFlight == null) {
+                try {
+                    documentEntry = loadDocument(queryId, persistedQueryId, executionInput, onCacheMiss);
+                    return CompletableFuture.completedFuture(documentEntry);
+                } finally {
+                    loadingEntries.remove(queryId, loading);
+                    loading.complete(documentEntry);
+                }
+            }
+            // someone else is already loading this query so we wait for them rather than doing the same work twice.
+            // If they failed we have a go ourselves, since it may have been their query text that was at fault
+            documentEntry = inFlight.join();
+            if (documentEntry != null) {
+                return CompletableFuture.completedFuture(documentEntry);
+            }
+        }
+    }
+
+    private PreparsedDocumentEntry loadDocument(String queryId, Object persistedQueryId, ExecutionInput executionInput, PersistedQueryCacheMiss onCacheMiss) {
+        //get the query from the execution input. Make sure it's not null, empty or the APQ marker.
+        // if it is, fallback to the queries on disk.
+        String queryText = executionInput.getQuery();
+        if (queryText == null || queryText.isEmpty() || queryText.equals(PersistedQuerySupport.PERSISTED_QUERY_MARKER)) {
+            queryText = journal.readQuery(queryId);
+        }
+        if (queryText == null) {
+            throw new PersistedQueryNotFound(persistedQueryId);
+        }
+
+        PreparsedDocumentEntry documentEntry = onCacheMiss.apply(queryText);
+        if (!documentEntry.hasErrors()) {
+            journal.append(queryId, queryText);
+        }
+        putInMemory(queryId, documentEntry);
+        return documentEntry;
+    }
+
+    /**
+     * This will parse and validate the queries stored on disk against the given schema, in parallel on the given executor,
+     * and place them into the in memory tier.  At most {@link #getMaxInMemoryEntries()} queries are warmed.
+     * <p>
+     * This is done without any {@link graphql.execution.instrumentation.Instrumentation} and with the default locale,
+     * much as {@link ParseAndValidate#parseAndValidate(GraphQLSchema, ExecutionInput)} does.
+     *
+     * @param graphQLSchema the schema to validate the queries against
+     * @param executor      the executor to run the parsing and validation on
+     *
+     * @return a promise that completes when all the queries have been warmed
+     */
+    public CompletableFuture<Void> warmUp(GraphQLSchema graphQLSchema, Executor executor) {
+        assertNotNull(graphQLSchema);
+        assertNotNull(executor);
+        journal.refresh();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (String queryId : journal.getQueryIds()) {
+            if (futures.size() >= maxInMemoryEntries) {
+                break;
+            }
+            futures.add(CompletableFuture.runAsync(() -> warmUpQuery(queryId, graphQLSchema), executor));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+    }
+
+    private void warmUpQuery(String queryId, GraphQLSchema graphQLSchema) {
+        String queryText = journal.readQuery(queryId);
+        if (queryText == null) {
+            return;
+        }
+        ExecutionInput executionInput = ExecutionInput.newExecutionInput().query(queryText).build();
+        ParseAndValidateResult parseResult = ParseAndValidate.parse(executionInput);
+        if (parseResult.isFailure()) {
+            putInMemory(queryId, new PreparsedDocumentEntry(parseResult.getSyntaxException().toInvalidSyntaxError()));
+            return;
+        }
+        List<ValidationError> errors = ParseAndValidate.validate(graphQLSchema, parseResult.getDocument(), Locale.getDefault());
+        if (!errors.isEmpty()) {
+            putInMemory(queryId, new PreparsedDocumentEntry(parseResult.getDocument(), errors));
+            return;
+        }
+        putInMemory(queryId, new PreparsedDocumentEntry(parseResult.getDocument()));
+    }
+
+    private void putInMemory(String queryId, PreparsedDocumentEntry documentEntry) {
+        lock.runLocked(() -> inMemoryEntries.put(queryId, documentEntry));
+    }
+
+    @Override
+    public void close() throws IOException {
+        journal.close();
+    }
+
+    public static Builder newDiskPersistedQueryCache(Path path) {
+        return new Builder(path);
+    }
+
+    public static class Builder {
+        private final Path path;
+        private int maxInMemoryEntries = 1000;
+
+        private Builder(Path path) {
+            this.path = assertNotNull(path);
+        }
+
+        /**
+         * The maximum number of parsed and validated documents to keep in memory.  The least recently used ones
+         * are evicted and will be re-read from disk when next asked for.
+         *
+         * @param maxInMemoryEntries the maximum number of in memory entries
+         *
+         * @return this builder
+         */
+        public Builder maxInMemoryEntries(int maxInMemoryEntries) {
+            assertTrue(maxInMemoryEntries > 0, "maxInMemoryEntries must be greater than zero");
+            this.maxInMemoryEntries = maxInMemoryEntries;
+            return this;
+        }
+
+        public DiskPersistedQueryCache build() {
+            return new DiskPersistedQueryCache(this);
+        }
+    }
+}
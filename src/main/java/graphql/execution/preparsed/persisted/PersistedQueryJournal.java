@@ -0,0 +1,324 @@
+package graphql.execution.preparsed.persisted;
+
+import graphql.Internal;
+import graphql.util.LockKit;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+
+import static graphql.Assert.assertNotNull;
+import static graphql.Assert.assertTrue;
+
+/**
+ * An append only file of persisted query id to query text records that is read via a memory mapping.
+ * <p>
+ * The file starts with a magic number and a format version followed by records of the form
+ * {@code [payload length][key length][crc32 of payload][key bytes][query bytes]}.
+ * <p>
+ * Appends are made while holding an exclusive file lock so that many processes can share the one file.  A record that
+ * is only partially written (say because a writer crashed) is ignored by readers and truncated away by the next writer.
+ * <p>
+ * The file is mapped in fixed size segments, since a single mapping can't be larger than 2GB.
+ */
+@Internal
+public class PersistedQueryJournal implements Closeable {
+
+    private static final int MAGIC = 0x47515051;
+    private static final int FORMAT_VERSION = 1;
+    private static final int FILE_HEADER_SIZE = 8;
+    private static final int RECORD_HEADER_SIZE = 12;
+    private static final int DEFAULT_SEGMENT_SIZE = 1 << 30;
+
+    // file locks are held per JVM, so journals on the same file in the one JVM must also take turns
+    private static final Map<Path, LockKit.ReentrantLock> PATH_LOCKS = new ConcurrentHashMap<>();
+
+    private final Path path;
+    private final int segmentSize;
+    private final FileChannel channel;
+    private final LockKit.ReentrantLock lock;
+    private final Map<String, Long> recordOffsets = new ConcurrentHashMap<>();
+    private volatile MappedSegments mappedFile = new MappedSegments(new MappedByteBuffer[0]);
+    private long scannedUpTo;
+
+    public PersistedQueryJournal(Path path) {
+        this(path, DEFAULT_SEGMENT_SIZE);
+    }
+
+    PersistedQueryJournal(Path path, int segmentSize) {
+        assertTrue(segmentSize > 0, "segmentSize must be greater than zero");
+        this.path = assertNotNull(path);
+        this.segmentSize = segmentSize;
+        this.lock = PATH_LOCKS.computeIfAbsent(path.toAbsolutePath().normalize(), key -> new LockKit.ReentrantLock());
+        try {
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        lock.runLocked(() -> {
+            try {
+                FileLock fileLock = channel.lock();
+                try {
+                    ensureFileHeader();
+                } finally {
+                    fileLock.release();
+                }
+            } catch (IOException e) {
+                closeQuietly();
+                throw new UncheckedIOException(e);
+            }
+        });
+        this.scannedUpTo = FILE_HEADER_SIZE;
+        refresh();
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * @return the ids of all the queries in the journal as of the last refresh, in the order they were written
+     */
+    public List<String> getQueryIds() {
+        return recordOffsets.entrySet()
+                .stream()
+                .sorted(Map.Entry.comparingByValue())
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Reads the query text for the given id, scanning the file for records appended by other writers
+     * if it's not currently known
+     *
+     * @param queryId the persisted query id
+     *
+     * @return the query text or null if it's not in the journal
+     */
+    public String readQuery(String queryId) {
+        Long offset = recordOffsets.get(queryId);
+        if (offset == null) {
+            refresh();
+            offset = recordOffsets.get(queryId);
+            if (offset == null) {
+                return null;
+            }
+        }
+        MappedSegments segments = mappedFile;
+        ByteBuffer header = segments.get(offset, new byte[RECORD_HEADER_SIZE]);
+        int payloadLength = header.getInt();
+        int keyLength = header.getInt();
+        byte[] queryBytes = new byte[payloadLength - keyLength];
+        segments.get(offset + RECORD_HEADER_SIZE + keyLength, queryBytes);
+        return new String(queryBytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Appends the query to the journal unless a record for that id is already present
+     *
+     * @param queryId   the persisted query id
+     * @param queryText the query text
+     */
+    public void append(String queryId, String queryText) {
+        if (recordOffsets.containsKey(queryId)) {
+            return;
+        }
+        lock.runLocked(() -> {
+            try {
+                FileLock fileLock = channel.lock();
+                try {
+                    appendLocked(queryId, queryText);
+                } finally {
+                    fileLock.release();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Scans any records that have been appended to the file since it was last scanned, possibly by other processes.
+     */
+    public void refresh() {
+        lock.runLocked(() -> {
+            try {
+                scanNewRecords();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void closeQuietly() {
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    private void appendLocked(String queryId, String queryText) throws IOException {
+        scanNewRecords();
+        if (recordOffsets.containsKey(queryId)) {
+            return;
+        }
+        if (channel.size() > scannedUpTo) {
+            // a writer died mid-record - that partial record is garbage and we write over it
+            channel.truncate(scannedUpTo);
+        }
+        ByteBuffer record = encodeRecord(queryId, queryText);
+        long offset = scannedUpTo;
+        long position = offset;
+        while (record.hasRemaining()) {
+            position += channel.write(record, position);
+        }
+        scannedUpTo = position;
+        remap(position);
+        recordOffsets.put(queryId, offset);
+    }
+
+    private void scanNewRecords() throws IOException {
+        long size = channel.size();
+        if (size <= scannedUpTo) {
+            return;
+        }
+        remap(size);
+        MappedSegments segments = mappedFile;
+        byte[] headerBytes = new byte[RECORD_HEADER_SIZE];
+        long position = scannedUpTo;
+        while (position + RECORD_HEADER_SIZE <= size) {
+            ByteBuffer header = segments.get(position, headerBytes);
+            int payloadLength = header.getInt();
+            int keyLength = header.getInt();
+            int checksum = header.getInt();
+            if (!isCompleteRecord(segments, size, position, payloadLength, keyLength, checksum)) {
+                break;
+            }
+            byte[] keyBytes = new byte[keyLength];
+            segments.get(position + RECORD_HEADER_SIZE, keyBytes);
+            recordOffsets.putIfAbsent(new String(keyBytes, StandardCharsets.UTF_8), position);
+            position += RECORD_HEADER_SIZE + payloadLength;
+        }
+        scannedUpTo = position;
+    }
+
+    private boolean isCompleteRecord(MappedSegments segments, long size, long position, int payloadLength, int keyLength, int checksum) {
+        if (payloadLength < 0 || keyLength < 0 || keyLength > payloadLength) {
+            return false;
+        }
+        if (position + RECORD_HEADER_SIZE + payloadLength > size) {
+            return false;
+        }
+        CRC32 crc32 = new CRC32();
+        segments.updateChecksum(crc32, position + RECORD_HEADER_SIZE, payloadLength);
+        return (int) crc32.getValue() == checksum;
+    }
+
+    private void remap(long size) throws IOException {
+        MappedByteBuffer[] current = mappedFile.segments;
+        int segmentCount = Math.toIntExact((size + segmentSize - 1) / segmentSize);
+        long mappedSize = current.length == 0 ? 0 : (long) (current.length - 1) * segmentSize + current[current.length - 1].capacity();
+        if (mappedSize >= size) {
+            return;
+        }
+        MappedByteBuffer[] segments = Arrays.copyOf(current, segmentCount);
+        for (int i = 0; i < segmentCount; i++) {
+            // full segments never change, only the last partial one and any new ones need mapping
+            if (segments[i] == null || segments[i].capacity() < segmentSize) {
+                long segmentStart = (long) i * segmentSize;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, segmentStart, Math.min(segmentSize, size - segmentStart));
+            }
+        }
+        mappedFile = new MappedSegments(segments);
+    }
+
+    private void ensureFileHeader() throws IOException {
+        if (channel.size() == 0) {
+            ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE);
+            header.putInt(MAGIC).putInt(FORMAT_VERSION).flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            return;
+        }
+        ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE);
+        channel.read(header, 0);
+        header.flip();
+        if (header.remaining() < FILE_HEADER_SIZE || header.getInt() != MAGIC || header.getInt() != FORMAT_VERSION) {
+            throw new IOException("The file '" + path + "' is not a persisted query journal");
+        }
+    }
+
+    private static ByteBuffer encodeRecord(String queryId, String queryText) {
+        byte[] keyBytes = queryId.getBytes(StandardCharsets.UTF_8);
+        byte[] queryBytes = queryText.getBytes(StandardCharsets.UTF_8);
+        int payloadLength = keyBytes.length + queryBytes.length;
+
+        CRC32 crc32 = new CRC32();
+        crc32.update(keyBytes);
+        crc32.update(queryBytes);
+
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + payloadLength);
+        record.putInt(payloadLength).putInt(keyBytes.length).putInt((int) crc32.getValue());
+        record.put(keyBytes).put(queryBytes);
+        record.flip();
+        return record;
+    }
+
+    /**
+     * The mapped segments of the file, which reads can straddle
+     */
+    private class MappedSegments {
+        private final MappedByteBuffer[] segments;
+
+        MappedSegments(MappedByteBuffer[] segments) {
+            this.segments = segments;
+        }
+
+        ByteBuffer get(long position, byte[] dst) {
+            int copied = 0;
+            while (copied < dst.length) {
+                ByteBuffer segment = segmentAt(position + copied);
+                int length = Math.min(dst.length - copied, segment.remaining());
+                segment.get(dst, copied, length);
+                copied += length;
+            }
+            return ByteBuffer.wrap(dst);
+        }
+
+        void updateChecksum(CRC32 crc32, long position, int length) {
+            int updated = 0;
+            while (updated < length) {
+                ByteBuffer segment = segmentAt(position + updated);
+                int segmentLength = Math.min(length - updated, segment.remaining());
+                segment.limit(segment.position() + segmentLength);
+                crc32.update(segment);
+                updated += segmentLength;
+            }
+        }
+
+        private ByteBuffer segmentAt(long position) {
+            ByteBuffer segment = segments[(int) (position / segmentSize)].duplicate();
+            segment.position((int) (position % segmentSize));
+            return segment;
+        }
+    }
+}
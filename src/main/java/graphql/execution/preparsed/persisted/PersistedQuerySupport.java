@@ -6,6 +6,8 @@ import graphql.GraphqlErrorBuilder;
 import graphql.PublicSpi;
 import graphql.execution.preparsed.PreparsedDocumentEntry;
 import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.schema.GraphQLSchema;
+import org.jspecify.annotations.Nullable;
 
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
@@ -39,13 +41,22 @@ public abstract class PersistedQuerySupport implements PreparsedDocumentProvider
 
     @Override
     public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(ExecutionInput executionInput, Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        return getDocumentAsyncImpl(executionInput, null, parseAndValidateFunction);
+    }
+
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(ExecutionInput executionInput, GraphQLSchema graphQLSchema, Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        return getDocumentAsyncImpl(executionInput, assertNotNull(graphQLSchema), parseAndValidateFunction);
+    }
+
+    private CompletableFuture<PreparsedDocumentEntry> getDocumentAsyncImpl(ExecutionInput executionInput, @Nullable GraphQLSchema graphQLSchema, Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
         Optional<Object> queryIdOption = getPersistedQueryId(executionInput);
         assertNotNull(queryIdOption, "The class %s MUST return a non null optional query id", this.getClass().getName());
 
         try {
             if (queryIdOption.isPresent()) {
                 Object persistedQueryId = queryIdOption.get();
-                return persistedQueryCache.getPersistedQueryDocumentAsync(persistedQueryId, executionInput, (queryText) -> {
+                PersistedQueryCacheMiss onCacheMiss = (queryText) -> {
                     // we have a miss and they gave us nothing - bah!
                     if (queryText == null || queryText.isBlank()) {
                         throw new PersistedQueryNotFound(persistedQueryId);
@@ -56,7 +67,11 @@ public abstract class PersistedQuerySupport implements PreparsedDocumentProvider
                     }
                     ExecutionInput newEI = executionInput.transform(builder -> builder.query(queryText));
                     return parseAndValidateFunction.apply(newEI);
-                });
+                };
+                if (graphQLSchema == null) {
+                    return persistedQueryCache.getPersistedQueryDocumentAsync(persistedQueryId, executionInput, onCacheMiss);
+                }
+                return persistedQueryCache.getPersistedQueryDocumentAsync(persistedQueryId, executionInput, graphQLSchema, onCacheMiss);
             }
             // ok there is no query id - we assume the query is indeed ready to go as is - ie its not a persisted query
             return completedFuture(parseAndValidateFunction.apply(executionInput));
@@ -0,0 +1,243 @@
+package graphql.execution.preparsed.persisted;
+
+import graphql.ExecutionInput;
+import graphql.ParseAndValidate;
+import graphql.ParseAndValidateResult;
+import graphql.PublicApi;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.schema.GraphQLSchema;
+import graphql.util.LockKit;
+import graphql.validation.ValidationError;
+import org.jspecify.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+
+import static graphql.Assert.assertNotNull;
+import static java.util.Collections.unmodifiableMap;
+
+/**
+ * A PersistedQueryCache of trusted documents, that is operations that were registered ahead of time (say at client build time)
+ * via a manifest of document id to document text.
+ * <p>
+ * The documents are parsed once when the registry is built and validated once per schema, so requests that match a
+ * registered document id skip the parser and the validator entirely.  When the schema changes you should call
+ * {@link #revalidate(GraphQLSchema)} with the new schema so that the documents are validated against it in bulk.  Until then,
+ * requests executed against any other schema than {@link #getSchema()} have their document validated against that schema the first
+ * time it is asked for, so a document is never executed against a schema it was not validated against.  Those validations are kept
+ * for only as long as their schema is in use.
+ * <p>
+ * By default, requests for unregistered document ids are rejected with {@link PersistedQueryNotFound}.  You can
+ * allow them via {@link Builder#allowUntrustedDocuments(boolean)} in which case they are parsed and validated as normal
+ * on every request.
+ *
+ * @see ApolloPersistedQuerySupport
+ */
+@PublicApi
+public class TrustedDocumentRegistry implements PersistedQueryCache {
+
+    private final Map<String, ParseAndValidateResult> parsedDocuments;
+    private final boolean allowUntrustedDocuments;
+    private final Locale locale;
+    private volatile ValidatedDocuments validatedDocuments;
+    private final LockKit.ReentrantLock lock = new LockKit.ReentrantLock();
+    private final Map<GraphQLSchema, Map<String, PreparsedDocumentEntry>> otherSchemaDocuments = new WeakHashMap<>();
+
+    private TrustedDocumentRegistry(Builder builder) {
+        this.allowUntrustedDocuments = builder.allowUntrustedDocuments;
+        this.locale = builder.locale;
+        this.parsedDocuments = parseDocuments(builder.documents);
+        revalidate(builder.schema);
+    }
+
+    /**
+     * @return the schema that the trusted documents are currently validated against
+     */
+    public GraphQLSchema getSchema() {
+        return validatedDocuments.schema;
+    }
+
+    /**
+     * @return the trusted documents by document id, as validated against {@link #getSchema()}
+     */
+    public Map<String, PreparsedDocumentEntry> getDocuments() {
+        return validatedDocuments.documents;
+    }
+
+    public boolean isAllowUntrustedDocuments() {
+        return allowUntrustedDocuments;
+    }
+
+    /**
+     * This will validate all the trusted documents against a new schema, and from then on requests will be served
+     * from the newly validated documents.  Documents are not re-parsed.
+     *
+     * @param newSchema the new schema to validate the documents against
+     */
+    public void revalidate(GraphQLSchema newSchema) {
+        assertNotNull(newSchema, "a schema must be provided");
+        Map<String, PreparsedDocumentEntry> newDocuments = new LinkedHashMap<>();
+        for (Map.Entry<String, ParseAndValidateResult> entry : parsedDocuments.entrySet()) {
+            newDocuments.put(entry.getKey(), validateDocument(newSchema, entry.getValue()));
+        }
+        this.validatedDocuments = new ValidatedDocuments(newSchema, unmodifiableMap(newDocuments));
+        lock.runLocked(() -> otherSchemaDocuments.remove(newSchema));
+    }
+
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getPersistedQueryDocumentAsync(Object persistedQueryId, ExecutionInput executionInput, PersistedQueryCacheMiss onCacheMiss) throws PersistedQueryNotFound {
+        return getDocumentAsync(persistedQueryId, executionInput, null, onCacheMiss);
+    }
+
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getPersistedQueryDocumentAsync(Object persistedQueryId, ExecutionInput executionInput, GraphQLSchema graphQLSchema, PersistedQueryCacheMiss onCacheMiss) throws PersistedQueryNotFound {
+        return getDocumentAsync(persistedQueryId, executionInput, assertNotNull(graphQLSchema), onCacheMiss);
+    }
+
+    private CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(Object persistedQueryId, ExecutionInput executionInput, @Nullable GraphQLSchema executionSchema, PersistedQueryCacheMiss onCacheMiss) {
+        String documentId = String.valueOf(persistedQueryId);
+        ValidatedDocuments validatedDocuments = this.validatedDocuments;
+        if (executionSchema != null && executionSchema != validatedDocuments.schema) {
+            ParseAndValidateResult parseResult = parsedDocuments.get(documentId);
+            if (parseResult != null) {
+                return CompletableFuture.completedFuture(validateDocumentForOtherSchema(executionSchema, documentId, parseResult));
+            }
+        } else {
+            PreparsedDocumentEntry documentEntry = validatedDocuments.documents.get(documentId);
+            if (documentEntry != null) {
+                return CompletableFuture.completedFuture(documentEntry);
+            }
+        }
+        if (!allowUntrustedDocuments) {
+            throw new PersistedQueryNotFound(persistedQueryId);
+        }
+        String queryText = executionInput.getQuery();
+        if (queryText == null || queryText.isEmpty() || queryText.equals(PersistedQuerySupport.PERSISTED_QUERY_MARKER)) {
+            throw new PersistedQueryNotFound(persistedQueryId);
+        }
+        return CompletableFuture.completedFuture(onCacheMiss.apply(queryText));
+    }
+
+    private PreparsedDocumentEntry validateDocumentForOtherSchema(GraphQLSchema executionSchema, String documentId, ParseAndValidateResult parseResult) {
+        PreparsedDocumentEntry documentEntry = lock.callLocked(() -> {
+            Map<String, PreparsedDocumentEntry> documents = otherSchemaDocuments.get(executionSchema);
+            return documents == null ? null : documents.get(documentId);
+        });
+        if (documentEntry == null) {
+            PreparsedDocumentEntry newDocumentEntry = validateDocument(executionSchema, parseResult);
+            documentEntry = lock.callLocked(() -> otherSchemaDocuments.computeIfAbsent(executionSchema, schema -> new HashMap<>())
+                    .computeIfAbsent(documentId, key -> newDocumentEntry));
+        }
+        return documentEntry;
+    }
+
+    private PreparsedDocumentEntry validateDocument(GraphQLSchema newSchema, ParseAndValidateResult parseResult) {
+        if (parseResult.isFailure()) {
+            return new PreparsedDocumentEntry(parseResult.getSyntaxException().toInvalidSyntaxError());
+        }
+        List<ValidationError> errors = ParseAndValidate.validate(newSchema, parseResult.getDocument(), locale);
+        if (!errors.isEmpty()) {
+            return new PreparsedDocumentEntry(parseResult.getDocument(), errors);
+        }
+        return new PreparsedDocumentEntry(parseResult.getDocument());
+    }
+
+    private Map<String, ParseAndValidateResult> parseDocuments(Map<String, String> documents) {
+        Map<String, ParseAndValidateResult> parsed = new LinkedHashMap<>();
+        for (Map.Entry<String, String> entry : documents.entrySet()) {
+            ExecutionInput executionInput = ExecutionInput.newExecutionInput(entry.getValue()).locale(locale).build();
+            parsed.put(entry.getKey(), ParseAndValidate.parse(executionInput));
+        }
+        return parsed;
+    }
+
+    /*
+     * The documents are kept together with the schema they were validated against, so that both are swapped in one go
+     */
+    private static class ValidatedDocuments {
+        private final GraphQLSchema schema;
+        private final Map<String, PreparsedDocumentEntry> documents;
+
+        ValidatedDocuments(GraphQLSchema schema, Map<String, PreparsedDocumentEntry> documents) {
+            this.schema = schema;
+            this.documents = documents;
+        }
+    }
+
+    public static Builder newTrustedDocumentRegistry() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private final Map<String, String> documents = new LinkedHashMap<>();
+        private GraphQLSchema schema;
+        private boolean allowUntrustedDocuments = false;
+        private Locale locale = Locale.getDefault();
+
+        /**
+         * @param schema the schema to validate the trusted documents against
+         *
+         * @return this builder
+         */
+        public Builder schema(GraphQLSchema schema) {
+            this.schema = assertNotNull(schema);
+            return this;
+        }
+
+        /**
+         * Adds a trusted document
+         *
+         * @param documentId   the document id, which is typically a hash of the document text
+         * @param documentText the document text
+         *
+         * @return this builder
+         */
+        public Builder document(String documentId, String documentText) {
+            documents.put(assertNotNull(documentId), assertNotNull(documentText));
+            return this;
+        }
+
+        /**
+         * Adds all the trusted documents from a manifest of document id to document text
+         *
+         * @param manifest the map of document id to document text
+         *
+         * @return this builder
+         */
+        public Builder documents(Map<String, String> manifest) {
+            assertNotNull(manifest).forEach(this::document);
+            return this;
+        }
+
+        /**
+         * @param allowUntrustedDocuments true if document ids that are not registered should be parsed and validated as normal
+         *                                rather than rejected
+         *
+         * @return this builder
+         */
+        public Builder allowUntrustedDocuments(boolean allowUntrustedDocuments) {
+            this.allowUntrustedDocuments = allowUntrustedDocuments;
+            return this;
+        }
+
+        /**
+         * @param locale the locale used for any parsing or validation error messages
+         *
+         * @return this builder
+         */
+        public Builder locale(Locale locale) {
+            this.locale = assertNotNull(locale);
+            return this;
+        }
+
+        public TrustedDocumentRegistry build() {
+            assertNotNull(schema, "a schema must be provided");
+            return new TrustedDocumentRegistry(this);
+        }
+    }
+}
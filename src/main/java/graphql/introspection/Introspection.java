@@ -83,6 +83,14 @@ public class Introspection {
      * or disable Introspection on that request.
      */
     public static final String INTROSPECTION_DISABLED = "INTROSPECTION_DISABLED";
+
+    /**
+     * Placing a true boolean value under this key in the per request {@link GraphQLContext} will serve the standard introspection
+     * queries, those built by {@link IntrospectionQueryBuilder}, from a result that is worked out once per schema when they are executed
+     * by {@link graphql.execution.AsyncExecutionStrategy}.  The checks that introspection is enabled and asked for in good faith are
+     * still made on every request.
+     */
+    public static final String CACHED_INTROSPECTION_ENABLED = "CACHED_INTROSPECTION_ENABLED";
     private static final AtomicBoolean INTROSPECTION_ENABLED_STATE = new AtomicBoolean(true);
 
     /**
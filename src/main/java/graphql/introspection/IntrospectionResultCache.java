@@ -0,0 +1,186 @@
+package graphql.introspection;
+
+import graphql.ExecutionResult;
+import graphql.GraphQLContext;
+import graphql.Internal;
+import graphql.execution.ExecutionContext;
+import graphql.execution.MergedSelectionSet;
+import graphql.language.AstPrinter;
+import graphql.language.Document;
+import graphql.language.Field;
+import graphql.language.FragmentDefinition;
+import graphql.language.OperationDefinition;
+import graphql.language.SelectionSet;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.visibility.BlockedFields;
+import graphql.schema.visibility.DefaultGraphqlFieldVisibility;
+import graphql.schema.visibility.PrecomputedGraphqlFieldVisibility;
+import graphql.util.LockKit;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import static graphql.introspection.Introspection.CACHED_INTROSPECTION_ENABLED;
+
+/**
+ * This keeps the results of the standard introspection queries, those built by {@link IntrospectionQueryBuilder}, per schema so that
+ * they are only worked out once.
+ * <p>
+ * A query document is recognised as a standard introspection query by working out the {@link IntrospectionQueryBuilder.Options} it
+ * would have been built with and comparing it to the query built with those options.  This is done once per document object, so
+ * documents that are reused via a {@link graphql.execution.preparsed.PreparsedDocumentProvider} are recognised straight away.
+ * <p>
+ * Results are only kept for schemas whose field visibility gives the same answers for every request, since the results depend on it.
+ */
+@Internal
+public class IntrospectionResultCache {
+
+    private static final String NOT_STANDARD = "";
+
+    private static final LockKit.ReentrantLock lock = new LockKit.ReentrantLock();
+    private static final Map<Document, String> standardQueries = new WeakHashMap<>();
+    private static final Map<GraphQLSchema, Map<String, ExecutionResult>> resultsBySchema = new WeakHashMap<>();
+
+    /**
+     * Works out the key that the result of an execution is cached under
+     *
+     * @param mergedSelectionSet the top level fields to be executed
+     * @param executionContext   the execution context in play
+     *
+     * @return the key or null if the result of the execution can't be cached
+     */
+    public static String cacheKey(MergedSelectionSet mergedSelectionSet, ExecutionContext executionContext) {
+        if (!isEnabled(executionContext.getGraphQLContext())
+                || mergedSelectionSet.size() != 1
+                || !mergedSelectionSet.getSubFieldsList().get(0).getName().equals(Introspection.SchemaMetaFieldDef.getName())
+                || !isStableFieldVisibility(executionContext.getGraphQLSchema())) {
+            return null;
+        }
+        Document document = executionContext.getDocument();
+        String standardQuery = lock.callLocked(() -> standardQueries.get(document));
+        if (standardQuery == null) {
+            standardQuery = standardQuery(document);
+            String finalStandardQuery = standardQuery;
+            lock.runLocked(() -> standardQueries.put(document, finalStandardQuery));
+        }
+        return standardQuery.isEmpty() ? null : standardQuery;
+    }
+
+    /**
+     * @param executionContext the execution context in play
+     * @param cacheKey         the key from {@link #cacheKey(MergedSelectionSet, ExecutionContext)}
+     *
+     * @return the cached result or null if there is none yet
+     */
+    public static ExecutionResult getResult(ExecutionContext executionContext, String cacheKey) {
+        return lock.callLocked(() -> {
+            Map<String, ExecutionResult> results = resultsBySchema.get(executionContext.getGraphQLSchema());
+            return results == null ? null : results.get(cacheKey);
+        });
+    }
+
+    /**
+     * Keeps the result of an execution, if it has no errors, for the next executions of the same query against the same schema
+     *
+     * @param executionContext the execution context in play
+     * @param cacheKey         the key from {@link #cacheKey(MergedSelectionSet, ExecutionContext)}
+     * @param result           the result of the execution
+     */
+    public static void putResult(ExecutionContext executionContext, String cacheKey, ExecutionResult result) {
+        if (result == null || !result.getErrors().isEmpty() || result.getData() == null) {
+            return;
+        }
+        // the result is shared by every request from now on, so no one is allowed to change it
+        ExecutionResult sharedResult = ExecutionResult.newExecutionResult().data(immutableCopy(result.getData())).build();
+        lock.runLocked(() -> resultsBySchema.computeIfAbsent(executionContext.getGraphQLSchema(), schema -> new HashMap<>())
+                .putIfAbsent(cacheKey, sharedResult));
+    }
+
+    private static boolean isEnabled(GraphQLContext graphQLContext) {
+        return graphQLContext.getBoolean(CACHED_INTROSPECTION_ENABLED, false);
+    }
+
+    private static boolean isStableFieldVisibility(GraphQLSchema schema) {
+        // a subclass may change what it answers, so only these exact classes are known to give the same answers every time
+        Class<?> fieldVisibilityClass = schema.getCodeRegistry().getFieldVisibility().getClass();
+        return fieldVisibilityClass == DefaultGraphqlFieldVisibility.class
+                || fieldVisibilityClass == PrecomputedGraphqlFieldVisibility.class
+                || fieldVisibilityClass == BlockedFields.class;
+    }
+
+    private static String standardQuery(Document document) {
+        List<OperationDefinition> operations = document.getDefinitionsOfType(OperationDefinition.class);
+        FragmentDefinition fullType = fragment(document, "FullType");
+        FragmentDefinition inputValue = fragment(document, "InputValue");
+        FragmentDefinition typeRef = fragment(document, "TypeRef");
+        if (operations.size() != 1 || fullType == null || inputValue == null || typeRef == null) {
+            return NOT_STANDARD;
+        }
+        Field schemaField = field(operations.get(0).getSelectionSet(), "__schema");
+        Field directivesField = schemaField == null ? null : field(schemaField.getSelectionSet(), "directives");
+        if (directivesField == null) {
+            return NOT_STANDARD;
+        }
+        IntrospectionQueryBuilder.Options options = IntrospectionQueryBuilder.Options.defaultOptions()
+                .descriptions(field(fullType.getSelectionSet(), "description") != null)
+                .specifiedByUrl(field(fullType.getSelectionSet(), "specifiedByURL") != null)
+                .isOneOf(field(fullType.getSelectionSet(), "isOneOf") != null)
+                .directiveIsRepeatable(field(directivesField.getSelectionSet(), "isRepeatable") != null)
+                .schemaDescription(field(schemaField.getSelectionSet(), "description") != null)
+                .inputValueDeprecation(field(inputValue.getSelectionSet(), "isDeprecated") != null)
+                .typeRefFragmentDepth(ofTypeDepth(typeRef.getSelectionSet()));
+        String standardQuery = AstPrinter.printAstCompact(IntrospectionQueryBuilder.buildDocument(options));
+        return standardQuery.equals(AstPrinter.printAstCompact(document)) ? standardQuery : NOT_STANDARD;
+    }
+
+    private static FragmentDefinition fragment(Document document, String name) {
+        for (FragmentDefinition fragment : document.getDefinitionsOfType(FragmentDefinition.class)) {
+            if (fragment.getName().equals(name)) {
+                return fragment;
+            }
+        }
+        return null;
+    }
+
+    private static Field field(SelectionSet selectionSet, String name) {
+        if (selectionSet != null) {
+            for (Field field : selectionSet.getSelectionsOfType(Field.class)) {
+                if (field.getName().equals(name)) {
+                    return field;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static int ofTypeDepth(SelectionSet selectionSet) {
+        int depth = 0;
+        Field ofType = field(selectionSet, "ofType");
+        while (ofType != null) {
+            depth++;
+            ofType = field(ofType.getSelectionSet(), "ofType");
+        }
+        return depth;
+    }
+
+    private static Object immutableCopy(Object value) {
+        if (value instanceof Map) {
+            Map<Object, Object> copy = new LinkedHashMap<>();
+            ((Map<?, ?>) value).forEach((k, v) -> copy.put(k, immutableCopy(v)));
+            return Collections.unmodifiableMap(copy);
+        }
+        if (value instanceof List) {
+            List<Object> copy = new ArrayList<>(((List<?>) value).size());
+            for (Object element : (List<?>) value) {
+                copy.add(immutableCopy(element));
+            }
+            return Collections.unmodifiableList(copy);
+        }
+        return value;
+    }
+}
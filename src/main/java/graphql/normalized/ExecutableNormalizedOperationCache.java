@@ -0,0 +1,205 @@
+package graphql.normalized;
+
+import graphql.PublicApi;
+import graphql.execution.CoercedVariables;
+import graphql.language.Document;
+import graphql.language.FragmentDefinition;
+import graphql.language.FragmentSpread;
+import graphql.language.Node;
+import graphql.language.OperationDefinition;
+import graphql.language.VariableReference;
+import graphql.schema.GraphQLSchema;
+import graphql.util.LockKit;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import static graphql.Assert.assertTrue;
+
+/**
+ * A normalized operation cache keeps {@link ExecutableNormalizedOperation}s across requests so that an operation is only normalized
+ * once for the same schema, document and variables, rather than every time a data fetcher or instrumentation asks for it.
+ * <p>
+ * Operations are keyed by the schema and the {@link Document} object, so documents that are reused via a
+ * {@link graphql.execution.preparsed.PreparsedDocumentProvider} are needed to get cache hits, along with the operation name and the
+ * values of the variables the operation refers to in its selections.  Those are the variables that can change the normalized operation,
+ * via {@code @skip}, {@code @include} and field arguments, so variables that are declared but never used don't cause cache misses.
+ * <p>
+ * The cache holds at most the given number of operations and evicts the least recently used one when it is full.  A cached operation
+ * is shared by every request that hits it and so must not be changed.
+ * <p>
+ * The cache is used for an execution by putting it into the {@link graphql.GraphQLContext} under {@link #CONTEXT_KEY}.
+ */
+@PublicApi
+public class ExecutableNormalizedOperationCache {
+
+    /**
+     * The {@link graphql.GraphQLContext} key the cache is put under to be used for an execution
+     */
+    public static final String CONTEXT_KEY = ExecutableNormalizedOperationCache.class.getName();
+
+    private static final Object ABSENT = new Object();
+
+    private final int maxSize;
+    private final LockKit.ReentrantLock lock = new LockKit.ReentrantLock();
+    private final Map<Key, ExecutableNormalizedOperation> operations;
+    private final Map<OperationDefinition, List<String>> variableNamesByOperation = new WeakHashMap<>();
+
+    private ExecutableNormalizedOperationCache(int maxSize) {
+        assertTrue(maxSize > 0, () -> "maxSize must be greater than zero");
+        this.maxSize = maxSize;
+        this.operations = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Creates a new normalized operation cache
+     *
+     * @param maxSize the most operations the cache holds
+     *
+     * @return a new normalized operation cache
+     */
+    public static ExecutableNormalizedOperationCache newCache(int maxSize) {
+        return new ExecutableNormalizedOperationCache(maxSize);
+    }
+
+    /**
+     * Gets the normalized operation for the given schema, document, operation and variables, normalizing it if it is not cached yet
+     *
+     * @param graphQLSchema         the schema to be used
+     * @param document              the document holding the operation
+     * @param operationDefinition   the operation to be executed
+     * @param fragments             the fragments of the document
+     * @param coercedVariableValues the coerced variables to use
+     *
+     * @return the normalized operation, which may be shared with other requests
+     */
+    public ExecutableNormalizedOperation getOrCreate(GraphQLSchema graphQLSchema,
+                                                     Document document,
+                                                     OperationDefinition operationDefinition,
+                                                     Map<String, FragmentDefinition> fragments,
+                                                     CoercedVariables coercedVariableValues) {
+        List<String> variableNames = lock.callLocked(() -> variableNamesByOperation.get(operationDefinition));
+        if (variableNames == null) {
+            variableNames = referencedVariableNames(operationDefinition, fragments);
+            List<String> finalVariableNames = variableNames;
+            lock.runLocked(() -> variableNamesByOperation.put(operationDefinition, finalVariableNames));
+        }
+        Key key = new Key(graphQLSchema, document, operationDefinition.getName(), variableSignature(variableNames, coercedVariableValues));
+        ExecutableNormalizedOperation operation = lock.callLocked(() -> operations.get(key));
+        if (operation != null) {
+            return operation;
+        }
+        ExecutableNormalizedOperation newOperation = ExecutableNormalizedOperationFactory.createExecutableNormalizedOperation(graphQLSchema,
+                operationDefinition,
+                fragments,
+                coercedVariableValues);
+        return lock.callLocked(() -> {
+            ExecutableNormalizedOperation existing = operations.putIfAbsent(key, newOperation);
+            if (existing != null) {
+                return existing;
+            }
+            if (operations.size() > maxSize) {
+                operations.remove(operations.keySet().iterator().next());
+            }
+            return newOperation;
+        });
+    }
+
+    /**
+     * @return the number of normalized operations in the cache
+     */
+    public int size() {
+        return lock.callLocked(operations::size);
+    }
+
+    /**
+     * Evicts all the normalized operations, for example because the schema has been replaced
+     */
+    public void clear() {
+        lock.runLocked(() -> {
+            operations.clear();
+            variableNamesByOperation.clear();
+        });
+    }
+
+    private static List<String> referencedVariableNames(OperationDefinition operationDefinition, Map<String, FragmentDefinition> fragments) {
+        Set<String> variableNames = new LinkedHashSet<>();
+        Set<String> visitedFragments = new HashSet<>();
+        Deque<Node<?>> nodes = new ArrayDeque<>();
+        nodes.push(operationDefinition.getSelectionSet());
+        nodes.addAll(operationDefinition.getDirectives());
+        while (!nodes.isEmpty()) {
+            Node<?> node = nodes.pop();
+            if (node instanceof VariableReference) {
+                variableNames.add(((VariableReference) node).getName());
+            } else if (node instanceof FragmentSpread) {
+                String fragmentName = ((FragmentSpread) node).getName();
+                FragmentDefinition fragment = fragments.get(fragmentName);
+                if (fragment != null && visitedFragments.add(fragmentName)) {
+                    nodes.push(fragment);
+                }
+            }
+            for (Node<?> child : node.getChildren()) {
+                nodes.push(child);
+            }
+        }
+        return new ArrayList<>(variableNames);
+    }
+
+    private static List<Object> variableSignature(List<String> variableNames, CoercedVariables coercedVariableValues) {
+        if (variableNames.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Object> signature = new ArrayList<>(variableNames.size());
+        for (String variableName : variableNames) {
+            signature.add(coercedVariableValues.containsKey(variableName) ? coercedVariableValues.get(variableName) : ABSENT);
+        }
+        return signature;
+    }
+
+    private static class Key {
+        private final GraphQLSchema schema;
+        private final Document document;
+        private final String operationName;
+        private final List<Object> variableSignature;
+        private final int hashCode;
+
+        Key(GraphQLSchema schema, Document document, String operationName, List<Object> variableSignature) {
+            this.schema = schema;
+            this.document = document;
+            this.operationName = operationName;
+            this.variableSignature = variableSignature;
+            this.hashCode = Objects.hash(System.identityHashCode(schema), System.identityHashCode(document), operationName, variableSignature);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return schema == key.schema
+                    && document == key.document
+                    && Objects.equals(operationName, key.operationName)
+                    && variableSignature.equals(key.variableSignature);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -54,6 +54,10 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -86,6 +90,7 @@ public class ExecutableNormalizedOperationFactory {
         private final int maxFieldsCount;
 
         private final boolean deferSupport;
+        private final @Nullable ForkJoinPool forkJoinPool;
 
         /**
          * The default max fields count is 100,000.
@@ -97,18 +102,21 @@ public class ExecutableNormalizedOperationFactory {
                 Locale.getDefault(),
                 Integer.MAX_VALUE,
                 DEFAULT_MAX_FIELDS_COUNT,
-                false);
+                false,
+                null);
 
         private Options(GraphQLContext graphQLContext,
                         Locale locale,
                         int maxChildrenDepth,
                         int maxFieldsCount,
-                        boolean deferSupport) {
+                        boolean deferSupport,
+                        @Nullable ForkJoinPool forkJoinPool) {
             this.graphQLContext = graphQLContext;
             this.locale = locale;
             this.maxChildrenDepth = maxChildrenDepth;
             this.deferSupport = deferSupport;
             this.maxFieldsCount = maxFieldsCount;
+            this.forkJoinPool = forkJoinPool;
         }
 
         /**
@@ -140,7 +148,7 @@ public class ExecutableNormalizedOperationFactory {
          * @return new options object to use
          */
         public Options locale(Locale locale) {
-            return new Options(this.graphQLContext, locale, this.maxChildrenDepth, this.maxFieldsCount, this.deferSupport);
+            return new Options(this.graphQLContext, locale, this.maxChildrenDepth, this.maxFieldsCount, this.deferSupport, this.forkJoinPool);
         }
 
         /**
@@ -153,7 +161,7 @@ public class ExecutableNormalizedOperationFactory {
          * @return new options object to use
          */
         public Options graphQLContext(GraphQLContext graphQLContext) {
-            return new Options(graphQLContext, this.locale, this.maxChildrenDepth, this.maxFieldsCount, this.deferSupport);
+            return new Options(graphQLContext, this.locale, this.maxChildrenDepth, this.maxFieldsCount, this.deferSupport, this.forkJoinPool);
         }
 
         /**
@@ -165,7 +173,7 @@ public class ExecutableNormalizedOperationFactory {
          * @return new options object to use
          */
         public Options maxChildrenDepth(int maxChildrenDepth) {
-            return new Options(this.graphQLContext, this.locale, maxChildrenDepth, this.maxFieldsCount, this.deferSupport);
+            return new Options(this.graphQLContext, this.locale, maxChildrenDepth, this.maxFieldsCount, this.deferSupport, this.forkJoinPool);
         }
 
         /**
@@ -177,7 +185,7 @@ public class ExecutableNormalizedOperationFactory {
          * @return new options object to use
          */
         public Options maxFieldsCount(int maxFieldsCount) {
-            return new Options(this.graphQLContext, this.locale, this.maxChildrenDepth, maxFieldsCount, this.deferSupport);
+            return new Options(this.graphQLContext, this.locale, this.maxChildrenDepth, maxFieldsCount, this.deferSupport, this.forkJoinPool);
         }
 
         /**
@@ -189,7 +197,21 @@ public class ExecutableNormalizedOperationFactory {
          */
         @ExperimentalApi
         public Options deferSupport(boolean deferSupport) {
-            return new Options(this.graphQLContext, this.locale, this.maxChildrenDepth, this.maxFieldsCount, deferSupport);
+            return new Options(this.graphQLContext, this.locale, this.maxChildrenDepth, this.maxFieldsCount, deferSupport, this.forkJoinPool);
+        }
+
+        /**
+         * Controls whether the operation is normalized in parallel on the given pool, with the sub trees of sibling fields normalized
+         * independently of each other.  This is worthwhile for very large operations only.  The normalized operation is the same
+         * as when it is normalized on a single thread, and the max fields count and max children depth still apply to it as a whole.
+         *
+         * @param forkJoinPool the pool to normalize on, or null to normalize on the calling thread
+         *
+         * @return new options object to use
+         */
+        @ExperimentalApi
+        public Options forkJoinPool(@Nullable ForkJoinPool forkJoinPool) {
+            return new Options(this.graphQLContext, this.locale, this.maxChildrenDepth, this.maxFieldsCount, this.deferSupport, forkJoinPool);
         }
 
         /**
@@ -232,6 +254,16 @@ public class ExecutableNormalizedOperationFactory {
         public boolean getDeferSupport() {
             return deferSupport;
         }
+
+        /**
+         * @return the pool the operation is normalized on in parallel, or null if it is normalized on the calling thread
+         *
+         * @see #forkJoinPool(ForkJoinPool)
+         */
+        @ExperimentalApi
+        public @Nullable ForkJoinPool getForkJoinPool() {
+            return forkJoinPool;
+        }
     }
 
     private static final ConditionalNodes conditionalNodes = new ConditionalNodes();
@@ -455,8 +487,8 @@ public class ExecutableNormalizedOperationFactory {
         private final ImmutableMap.Builder<ExecutableNormalizedField, MergedField> normalizedFieldToMergedField = ImmutableMap.builder();
         private final ImmutableMap.Builder<ExecutableNormalizedField, QueryDirectives> normalizedFieldToQueryDirectives = ImmutableMap.builder();
         private final ImmutableListMultimap.Builder<FieldCoordinates, ExecutableNormalizedField> coordinatesToNormalizedFields = ImmutableListMultimap.builder();
-        private int fieldCount = 0;
-        private int maxDepthSeen = 0;
+        private final AtomicInteger fieldCount = new AtomicInteger();
+        private final AtomicInteger maxDepthSeen = new AtomicInteger();
 
         private final List<ExecutableNormalizedField> rootEnfs = new ArrayList<>();
 
@@ -480,7 +512,12 @@ public class ExecutableNormalizedOperationFactory {
          * Creates a new ExecutableNormalizedOperation for the provided query
          */
         private ExecutableNormalizedOperation createNormalizedQueryImpl() {
-            buildEnfsRecursively(null, null, 0);
+            ForkJoinPool forkJoinPool = options.getForkJoinPool();
+            if (forkJoinPool == null) {
+                buildEnfsRecursively(null, null, 0);
+            } else {
+                buildEnfsInParallel(forkJoinPool);
+            }
 
             for (PossibleMerger possibleMerger : possibleMergerList) {
                 List<ExecutableNormalizedField> childrenWithSameResultKey = possibleMerger.parent.getChildrenWithSameResultKey(possibleMerger.resultKey);
@@ -494,30 +531,61 @@ public class ExecutableNormalizedOperationFactory {
                     normalizedFieldToMergedField.build(),
                     normalizedFieldToQueryDirectives.build(),
                     coordinatesToNormalizedFields.build(),
-                    fieldCount,
-                    maxDepthSeen
+                    fieldCount.get(),
+                    maxDepthSeen.get()
             );
         }
 
         private void captureMergedField(ExecutableNormalizedField enf, MergedField mergedFld) {
+            normalizedFieldToQueryDirectives.put(enf, newQueryDirectives(mergedFld));
+            normalizedFieldToMergedField.put(enf, mergedFld);
+        }
+
+        private QueryDirectives newQueryDirectives(MergedField mergedFld) {
             // QueryDirectivesImpl is a lazy object and only computes itself when asked for
-            QueryDirectives queryDirectives = new QueryDirectivesImpl(mergedFld,
+            return new QueryDirectivesImpl(mergedFld,
                     graphQLSchema,
                     coercedVariableValues,
                     () -> normalizedVariableValues,
                     options.getGraphQLContext(),
                     options.getLocale());
-            normalizedFieldToQueryDirectives.put(enf, queryDirectives);
-            normalizedFieldToMergedField.put(enf, mergedFld);
         }
 
         private void buildEnfsRecursively(@Nullable ExecutableNormalizedField executableNormalizedField,
                                           @Nullable ImmutableList<CollectedField> fieldAndAstParents,
                                           int curLevel) {
-            if (this.maxDepthSeen < curLevel) {
-                this.maxDepthSeen = curLevel;
-                checkMaxDepthExceeded(curLevel);
+            ImmutableListMultimap.Builder<ExecutableNormalizedField, CollectedField> normalizedFieldToAstFields = ImmutableListMultimap.builder();
+            List<ExecutableNormalizedField> nextLevelChildren = createChildren(executableNormalizedField, fieldAndAstParents, curLevel, normalizedFieldToAstFields, possibleMergerList);
+            ImmutableListMultimap<ExecutableNormalizedField, CollectedField> nextLevelNormalizedFieldToAstFields = normalizedFieldToAstFields.build();
+
+            for (ExecutableNormalizedField childENF : nextLevelChildren) {
+                if (executableNormalizedField == null) {
+                    // all root ENFs don't have a parent, but are collected in the rootEnfs list
+                    rootEnfs.add(childENF);
+                } else {
+                    executableNormalizedField.addChild(childENF);
+                }
+                ImmutableList<CollectedField> childFieldAndAstParents = nextLevelNormalizedFieldToAstFields.get(childENF);
+
+                MergedField mergedField = newMergedField(childFieldAndAstParents);
+                captureMergedField(childENF, mergedField);
+
+                updateFieldToNFMap(childENF, childFieldAndAstParents);
+                updateCoordinatedToNFMap(childENF);
+
+                // recursive call
+                buildEnfsRecursively(childENF,
+                        childFieldAndAstParents,
+                        curLevel + 1);
             }
+        }
+
+        private List<ExecutableNormalizedField> createChildren(@Nullable ExecutableNormalizedField executableNormalizedField,
+                                                               @Nullable ImmutableList<CollectedField> fieldAndAstParents,
+                                                               int curLevel,
+                                                               ImmutableListMultimap.Builder<ExecutableNormalizedField, CollectedField> normalizedFieldToAstFields,
+                                                               List<PossibleMerger> possibleMergers) {
+            updateMaxDepthSeen(curLevel);
             Set<GraphQLObjectType> possibleObjects;
             List<CollectedField> collectedFields;
 
@@ -531,7 +599,7 @@ public class ExecutableNormalizedOperationFactory {
                 List<GraphQLFieldDefinition> fieldDefs = executableNormalizedField.getFieldDefinitions(graphQLSchema);
                 possibleObjects = resolvePossibleObjects(fieldDefs);
                 if (possibleObjects.isEmpty()) {
-                    return;
+                    return ImmutableList.of();
                 }
                 collectedFields = new ArrayList<>();
                 for (CollectedField fieldAndAstParent : fieldAndAstParents) {
@@ -555,31 +623,135 @@ public class ExecutableNormalizedOperationFactory {
 
             Map<String, List<CollectedField>> fieldsByName = fieldsByResultKey(collectedFields);
             ImmutableList.Builder<ExecutableNormalizedField> resultNFs = ImmutableList.builder();
-            ImmutableListMultimap.Builder<ExecutableNormalizedField, CollectedField> normalizedFieldToAstFields = ImmutableListMultimap.builder();
-            createNFs(resultNFs, fieldsByName, normalizedFieldToAstFields, curLevel + 1, executableNormalizedField);
+            createNFs(resultNFs, fieldsByName, normalizedFieldToAstFields, curLevel + 1, executableNormalizedField, possibleMergers);
+            return resultNFs.build();
+        }
 
-            ImmutableList<ExecutableNormalizedField> nextLevelChildren = resultNFs.build();
-            ImmutableListMultimap<ExecutableNormalizedField, CollectedField> nextLevelNormalizedFieldToAstFields = normalizedFieldToAstFields.build();
+        /*
+         * Each field with a selection set is normalized by its own task, which records what it captured in its own segment.  The segments
+         * are replayed in depth first order once all tasks are done, so the normalized operation is the same as on a single thread.
+         */
+        private void buildEnfsInParallel(ForkJoinPool forkJoinPool) {
+            AtomicReference<RuntimeException> failure = new AtomicReference<>();
+            CapturedSegment rootSegment = new CapturedSegment();
+            forkJoinPool.invoke(new NormalizeTask(null, null, 0, rootSegment, failure));
+            if (failure.get() != null) {
+                throw failure.get();
+            }
+            rootSegment.replay(this);
+        }
 
-            for (ExecutableNormalizedField childENF : nextLevelChildren) {
-                if (executableNormalizedField == null) {
-                    // all root ENFs don't have a parent, but are collected in the rootEnfs list
-                    rootEnfs.add(childENF);
-                } else {
-                    executableNormalizedField.addChild(childENF);
+        private class NormalizeTask extends RecursiveAction {
+            private final @Nullable ExecutableNormalizedField executableNormalizedField;
+            private final @Nullable ImmutableList<CollectedField> fieldAndAstParents;
+            private final int curLevel;
+            private final CapturedSegment segment;
+            private final AtomicReference<RuntimeException> failure;
+
+            NormalizeTask(@Nullable ExecutableNormalizedField executableNormalizedField,
+                          @Nullable ImmutableList<CollectedField> fieldAndAstParents,
+                          int curLevel,
+                          CapturedSegment segment,
+                          AtomicReference<RuntimeException> failure) {
+                this.executableNormalizedField = executableNormalizedField;
+                this.fieldAndAstParents = fieldAndAstParents;
+                this.curLevel = curLevel;
+                this.segment = segment;
+                this.failure = failure;
+            }
+
+            @Override
+            protected void compute() {
+                if (failure.get() != null) {
+                    return;
                 }
-                ImmutableList<CollectedField> childFieldAndAstParents = nextLevelNormalizedFieldToAstFields.get(childENF);
+                List<NormalizeTask> subTasks;
+                try {
+                    subTasks = normalizeChildren();
+                } catch (RuntimeException e) {
+                    // kept rather than thrown, so the first failure is what the caller gets, exactly as it was thrown
+                    failure.compareAndSet(null, e);
+                    return;
+                }
+                invokeAll(subTasks);
+            }
 
-                MergedField mergedField = newMergedField(childFieldAndAstParents);
-                captureMergedField(childENF, mergedField);
+            private List<NormalizeTask> normalizeChildren() {
+                ImmutableListMultimap.Builder<ExecutableNormalizedField, CollectedField> normalizedFieldToAstFields = ImmutableListMultimap.builder();
+                List<PossibleMerger> possibleMergers = new ArrayList<>();
+                List<ExecutableNormalizedField> nextLevelChildren = createChildren(executableNormalizedField, fieldAndAstParents, curLevel, normalizedFieldToAstFields, possibleMergers);
+                ImmutableListMultimap<ExecutableNormalizedField, CollectedField> nextLevelNormalizedFieldToAstFields = normalizedFieldToAstFields.build();
+                segment.parts.addAll(possibleMergers);
+
+                List<NormalizeTask> subTasks = new ArrayList<>();
+                for (ExecutableNormalizedField childENF : nextLevelChildren) {
+                    if (executableNormalizedField == null) {
+                        rootEnfs.add(childENF);
+                    } else {
+                        executableNormalizedField.addChild(childENF);
+                    }
+                    ImmutableList<CollectedField> childFieldAndAstParents = nextLevelNormalizedFieldToAstFields.get(childENF);
+                    CapturedSegment childSegment = new CapturedSegment();
+                    childSegment.parts.add(new CapturedField(childENF, childFieldAndAstParents, newMergedField(childFieldAndAstParents)));
+                    segment.parts.add(childSegment);
+                    if (hasSelectionSet(childFieldAndAstParents)) {
+                        subTasks.add(new NormalizeTask(childENF, childFieldAndAstParents, curLevel + 1, childSegment, failure));
+                    } else {
+                        // a leaf field has no children to normalize but its level still counts towards the depth
+                        updateMaxDepthSeen(curLevel + 1);
+                    }
+                }
+                return subTasks;
+            }
+        }
 
-                updateFieldToNFMap(childENF, childFieldAndAstParents);
-                updateCoordinatedToNFMap(childENF);
+        private static boolean hasSelectionSet(List<CollectedField> fieldAndAstParents) {
+            for (CollectedField fieldAndAstParent : fieldAndAstParents) {
+                if (fieldAndAstParent.field.getSelectionSet() != null) {
+                    return true;
+                }
+            }
+            return false;
+        }
 
-                // recursive call
-                buildEnfsRecursively(childENF,
-                        childFieldAndAstParents,
-                        curLevel + 1);
+        /*
+         * What a task captured, in the order it was captured: the possible mergers, the captured fields and the segments of sub tasks
+         */
+        private static class CapturedSegment {
+            private final List<Object> parts = new ArrayList<>();
+
+            void replay(ExecutableNormalizedOperationFactoryImpl factory) {
+                for (Object part : parts) {
+                    if (part instanceof CapturedSegment) {
+                        ((CapturedSegment) part).replay(factory);
+                    } else if (part instanceof CapturedField) {
+                        CapturedField capturedField = (CapturedField) part;
+                        factory.captureMergedField(capturedField.executableNormalizedField, capturedField.mergedField);
+                        factory.updateFieldToNFMap(capturedField.executableNormalizedField, capturedField.fieldAndAstParents);
+                        factory.updateCoordinatedToNFMap(capturedField.executableNormalizedField);
+                    } else {
+                        factory.possibleMergerList.add((PossibleMerger) part);
+                    }
+                }
+            }
+        }
+
+        private static class CapturedField {
+            private final ExecutableNormalizedField executableNormalizedField;
+            private final ImmutableList<CollectedField> fieldAndAstParents;
+            private final MergedField mergedField;
+
+            CapturedField(ExecutableNormalizedField executableNormalizedField, ImmutableList<CollectedField> fieldAndAstParents, MergedField mergedField) {
+                this.executableNormalizedField = executableNormalizedField;
+                this.fieldAndAstParents = fieldAndAstParents;
+                this.mergedField = mergedField;
+            }
+        }
+
+        private void updateMaxDepthSeen(int curLevel) {
+            if (this.maxDepthSeen.get() < curLevel) {
+                this.maxDepthSeen.accumulateAndGet(curLevel, Math::max);
+                checkMaxDepthExceeded(curLevel);
             }
         }
 
@@ -621,7 +793,8 @@ public class ExecutableNormalizedOperationFactory {
                                Map<String, List<CollectedField>> fieldsByName,
                                ImmutableListMultimap.Builder<ExecutableNormalizedField, CollectedField> normalizedFieldToAstFields,
                                int level,
-                               ExecutableNormalizedField parent) {
+                               ExecutableNormalizedField parent,
+                               List<PossibleMerger> possibleMergers) {
             for (String resultKey : fieldsByName.keySet()) {
                 List<CollectedField> fieldsWithSameResultKey = fieldsByName.get(resultKey);
                 List<CollectedFieldGroup> commonParentsGroups = groupByCommonParents(fieldsWithSameResultKey);
@@ -640,7 +813,7 @@ public class ExecutableNormalizedOperationFactory {
                     }
                 }
                 if (commonParentsGroups.size() > 1) {
-                    possibleMergerList.add(new PossibleMerger(parent, resultKey));
+                    possibleMergers.add(new PossibleMerger(parent, resultKey));
                 }
             }
         }
@@ -650,9 +823,9 @@ public class ExecutableNormalizedOperationFactory {
                                                    int level,
                                                    ExecutableNormalizedField parent) {
 
-            this.fieldCount++;
-            if (this.fieldCount > this.options.getMaxFieldsCount()) {
-                throw new AbortExecutionException("Maximum field count exceeded. " + this.fieldCount + " > " + this.options.getMaxFieldsCount());
+            int fieldCount = this.fieldCount.incrementAndGet();
+            if (fieldCount > this.options.getMaxFieldsCount()) {
+                throw new AbortExecutionException("Maximum field count exceeded. " + fieldCount + " > " + this.options.getMaxFieldsCount());
             }
             Field field;
             Set<GraphQLObjectType> objectTypes = collectedFieldGroup.objectTypes;
@@ -0,0 +1,66 @@
+package graphql.schema;
+
+import graphql.Internal;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static graphql.Assert.assertNotNull;
+
+/**
+ * This holds the {@link DataFetcher}s of a schema bound to their fields, so that the execution engine can find the data fetcher
+ * of a field with a direct lookup rather than resolving it via the {@link GraphQLCodeRegistry} on every field fetch.
+ * <p>
+ * The fields of an object type are bound together the first time any field of that type is fetched.  Only data fetchers that come
+ * from factories that always return the same data fetcher (such as those registered via
+ * {@link GraphQLCodeRegistry.Builder#dataFetcher(FieldCoordinates, DataFetcher)} and the default property data fetcher) are bound.
+ * Fields with other {@link DataFetcherFactory}s continue to call their factory on every fetch, since they may be late binding
+ * their data fetchers per request.
+ * <p>
+ * There is one of these per {@link GraphQLSchema} and so a transformed schema gets a fresh set of bindings.
+ */
+@Internal
+public class BoundDataFetchers {
+
+    private final GraphQLCodeRegistry codeRegistry;
+    private final ConcurrentHashMap<GraphQLObjectType, Map<GraphQLFieldDefinition, DataFetcher<?>>> boundByType = new ConcurrentHashMap<>();
+
+    public BoundDataFetchers(GraphQLCodeRegistry codeRegistry) {
+        this.codeRegistry = assertNotNull(codeRegistry);
+    }
+
+    /**
+     * Returns the data fetcher associated with a field within an object type, which is the same data fetcher that
+     * {@link GraphQLCodeRegistry#getDataFetcher(GraphQLObjectType, GraphQLFieldDefinition)} would return
+     *
+     * @param parentType      the container type
+     * @param fieldDefinition the field definition
+     *
+     * @return the DataFetcher associated with this field.  All fields have data fetchers
+     */
+    public DataFetcher<?> getDataFetcher(GraphQLObjectType parentType, GraphQLFieldDefinition fieldDefinition) {
+        Map<GraphQLFieldDefinition, DataFetcher<?>> boundDataFetchers = boundByType.get(parentType);
+        if (boundDataFetchers == null) {
+            boundDataFetchers = boundByType.computeIfAbsent(parentType, this::bind);
+        }
+        DataFetcher<?> dataFetcher = boundDataFetchers.get(fieldDefinition);
+        if (dataFetcher != null) {
+            return dataFetcher;
+        }
+        // introspection fields and fields with late binding factories
+        return codeRegistry.getDataFetcher(parentType, fieldDefinition);
+    }
+
+    private Map<GraphQLFieldDefinition, DataFetcher<?>> bind(GraphQLObjectType objectType) {
+        // field definitions have identity equality, and only the field definitions of this very type are bound
+        Map<GraphQLFieldDefinition, DataFetcher<?>> boundDataFetchers = new IdentityHashMap<>();
+        for (GraphQLFieldDefinition fieldDefinition : objectType.getFieldDefinitions()) {
+            DataFetcherFactory<?> dataFetcherFactory = codeRegistry.getDataFetcherFactory(FieldCoordinates.coordinates(objectType, fieldDefinition), fieldDefinition);
+            if (dataFetcherFactory instanceof ConstantDataFetcherFactory) {
+                boundDataFetchers.put(fieldDefinition, GraphQLCodeRegistry.getDataFetcherFromFactory(dataFetcherFactory, fieldDefinition));
+            }
+        }
+        return boundDataFetchers;
+    }
+}
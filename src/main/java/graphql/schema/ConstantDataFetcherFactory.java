@@ -0,0 +1,32 @@
+package graphql.schema;
+
+import graphql.Internal;
+
+/**
+ * A {@link DataFetcherFactory} that always returns the same {@link DataFetcher}, which means the data fetcher
+ * can be resolved once per field rather than once per field fetch.
+ *
+ * @param <T> the type of the data fetcher
+ *
+ * @see BoundDataFetchers
+ */
+@Internal
+final class ConstantDataFetcherFactory<T> implements DataFetcherFactory<T> {
+
+    private final DataFetcher<T> dataFetcher;
+
+    ConstantDataFetcherFactory(DataFetcher<T> dataFetcher) {
+        this.dataFetcher = dataFetcher;
+    }
+
+    @SuppressWarnings("deprecation")
+    @Override
+    public DataFetcher<T> get(DataFetcherFactoryEnvironment environment) {
+        return dataFetcher;
+    }
+
+    @Override
+    public DataFetcher<T> get(GraphQLFieldDefinition fieldDefinition) {
+        return dataFetcher;
+    }
+}
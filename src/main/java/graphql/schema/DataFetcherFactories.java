@@ -20,18 +20,7 @@ public class DataFetcherFactories {
      * @return a data fetcher factory that always returns the provided data fetcher
      */
     public static <T> DataFetcherFactory<T> useDataFetcher(DataFetcher<T> dataFetcher) {
-        //noinspection deprecation
-        return new DataFetcherFactory<>() {
-            @Override
-            public DataFetcher<T> get(DataFetcherFactoryEnvironment environment) {
-                return dataFetcher;
-            }
-
-            @Override
-            public DataFetcher<T> get(GraphQLFieldDefinition fieldDefinition) {
-                return dataFetcher;
-            }
-        };
+        return new ConstantDataFetcherFactory<>(dataFetcher);
     }
 
     /**
@@ -6,6 +6,7 @@ import graphql.Internal;
 import graphql.collect.ImmutableKit;
 import graphql.normalized.ExecutableNormalizedField;
 import graphql.util.LockKit;
+import org.jspecify.annotations.Nullable;
 
 import java.io.File;
 import java.nio.file.FileSystems;
@@ -21,6 +22,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -35,6 +37,11 @@ public class DataFetchingFieldSelectionSetImpl implements DataFetchingFieldSelec
     private final static String SEP = "/";
     private final static boolean UNIXY = SEP.equals(File.separator);
 
+    // glob patterns are nearly always constants in data fetcher code, so they are compiled once and kept for all requests.
+    // patterns built from request input could be endless, so once the cache is full any new ones are compiled each time
+    private final static int MAX_CACHED_GLOB_MATCHERS = 1024;
+    private final static Map<String, PathMatcher> GLOB_MATCHERS = new ConcurrentHashMap<>();
+
     private final static DataFetchingFieldSelectionSet NOOP = new DataFetchingFieldSelectionSet() {
 
         @Override
@@ -80,12 +87,34 @@ public class DataFetchingFieldSelectionSetImpl implements DataFetchingFieldSelec
     };
 
     public static DataFetchingFieldSelectionSet newCollector(GraphQLSchema schema, GraphQLOutputType fieldType, Supplier<ExecutableNormalizedField> normalizedFieldSupplier) {
-        if (!GraphQLTypeUtil.isLeaf(fieldType)) {
-            return new DataFetchingFieldSelectionSetImpl(normalizedFieldSupplier, schema);
-        } else {
+        return newCollector(schema, fieldType, normalizedFieldSupplier, null);
+    }
+
+    /**
+     * Creates a selection set collector that shares its selected fields with the other collectors created with the same map.
+     * <p>
+     * The selected fields only depend on the normalized field, which already stands for the object types it is selected on, so the
+     * collectors of sibling environments, such as the items of a list, work them out once rather than once per environment.
+     *
+     * @param schema                  the schema in play
+     * @param fieldType               the output type of the field
+     * @param normalizedFieldSupplier the supplier of the normalized field
+     * @param sharedSelectionSets     the selection sets per normalized field, which must be thread safe, or null to not share them
+     *
+     * @return a selection set collector
+     */
+    public static DataFetchingFieldSelectionSet newCollector(GraphQLSchema schema,
+                                                             GraphQLOutputType fieldType,
+                                                             Supplier<ExecutableNormalizedField> normalizedFieldSupplier,
+                                                             @Nullable Map<ExecutableNormalizedField, DataFetchingFieldSelectionSet> sharedSelectionSets) {
+        if (GraphQLTypeUtil.isLeaf(fieldType)) {
             // we can only collect fields on object types and interfaces and unions.
             return NOOP;
         }
+        if (sharedSelectionSets == null) {
+            return new DataFetchingFieldSelectionSetImpl(normalizedFieldSupplier, schema);
+        }
+        return new SharedSelectionSet(normalizedFieldSupplier, schema, sharedSelectionSets);
     }
 
     private final Supplier<ExecutableNormalizedField> normalizedFieldSupplier;
@@ -100,6 +129,8 @@ public class DataFetchingFieldSelectionSetImpl implements DataFetchingFieldSelec
     private Map<String, List<SelectedField>> normalisedSelectionSetFields;
     private List<SelectedField> immediateFields;
     private Set<String> flattenedFieldsForGlobSearching;
+    // the paths of the flattened fields, in the same order, which are only made once something is glob matched
+    private volatile List<Path> flattenedPathsForGlobSearching;
     private final GraphQLSchema schema;
 
     private DataFetchingFieldSelectionSetImpl(Supplier<ExecutableNormalizedField> normalizedFieldSupplier, GraphQLSchema schema) {
@@ -115,9 +146,7 @@ public class DataFetchingFieldSelectionSetImpl implements DataFetchingFieldSelec
         computeValuesLazily(false);
         fieldGlobPattern = removeLeadingSlash(fieldGlobPattern);
         PathMatcher globMatcher = globMatcher(fieldGlobPattern);
-        for (String flattenedField : flattenedFieldsForGlobSearching) {
-            flattenedField = osAppropriate(flattenedField);
-            Path path = Paths.get(flattenedField);
+        for (Path path : flattenedPaths()) {
             if (globMatcher.matches(path)) {
                 return true;
             }
@@ -125,7 +154,20 @@ public class DataFetchingFieldSelectionSetImpl implements DataFetchingFieldSelec
         return false;
     }
 
-    private String osAppropriate(String flattenedField) {
+    private List<Path> flattenedPaths() {
+        List<Path> paths = flattenedPathsForGlobSearching;
+        if (paths == null) {
+            // racing threads make the same list, so there is no need to lock
+            paths = new ArrayList<>(flattenedFieldsForGlobSearching.size());
+            for (String flattenedField : flattenedFieldsForGlobSearching) {
+                paths.add(Paths.get(osAppropriate(flattenedField)));
+            }
+            flattenedPathsForGlobSearching = paths;
+        }
+        return paths;
+    }
+
+    private static String osAppropriate(String flattenedField) {
         if (UNIXY) {
             return flattenedField;
         } else {
@@ -164,11 +206,16 @@ public class DataFetchingFieldSelectionSetImpl implements DataFetchingFieldSelec
         }
         computeValuesLazily(false);
 
+        List<PathMatcher> globMatchers = new ArrayList<>();
+        for (String globPattern : mkIterable(fieldGlobPattern, fieldGlobPatterns)) {
+            globMatchers.add(globMatcher(globPattern));
+        }
         List<String> targetNames = new ArrayList<>();
+        List<Path> paths = flattenedPaths();
+        int i = 0;
         for (String flattenedField : flattenedFieldsForGlobSearching) {
-            for (String globPattern : mkIterable(fieldGlobPattern, fieldGlobPatterns)) {
-                PathMatcher globMatcher = globMatcher(globPattern);
-                Path path = Paths.get(flattenedField);
+            Path path = paths.get(i++);
+            for (PathMatcher globMatcher : globMatchers) {
                 if (globMatcher.matches(path)) {
                     targetNames.add(flattenedField);
                 }
@@ -231,6 +278,7 @@ public class DataFetchingFieldSelectionSetImpl implements DataFetchingFieldSelec
             }
 
             flattenedFieldsForGlobSearching = new LinkedHashSet<>();
+            flattenedPathsForGlobSearching = null;
             normalisedSelectionSetFields = new LinkedHashMap<>();
             ImmutableList.Builder<SelectedField> immediateFieldsBuilder = ImmutableList.builder();
             traverseSubSelectedFields(currentNormalisedField, immediateFieldsBuilder, "", "", true, immediate);
@@ -283,7 +331,14 @@ public class DataFetchingFieldSelectionSetImpl implements DataFetchingFieldSelec
     }
 
     private static PathMatcher globMatcher(String fieldGlobPattern) {
-        return FileSystems.getDefault().getPathMatcher("glob:" + fieldGlobPattern);
+        PathMatcher globMatcher = GLOB_MATCHERS.get(fieldGlobPattern);
+        if (globMatcher == null) {
+            globMatcher = FileSystems.getDefault().getPathMatcher("glob:" + fieldGlobPattern);
+            if (GLOB_MATCHERS.size() < MAX_CACHED_GLOB_MATCHERS) {
+                GLOB_MATCHERS.putIfAbsent(fieldGlobPattern, globMatcher);
+            }
+        }
+        return globMatcher;
     }
 
     private List<String> mkIterable(String fieldGlobPattern, String[] fieldGlobPatterns) {
@@ -301,6 +356,79 @@ public class DataFetchingFieldSelectionSetImpl implements DataFetchingFieldSelec
         return String.join("\n", flattenedFieldsForGlobSearching);
     }
 
+    /*
+     * A selection set that looks up the shared selection set of its normalized field the first time it is used and hands every call to it
+     */
+    private static class SharedSelectionSet implements DataFetchingFieldSelectionSet {
+
+        private final Supplier<ExecutableNormalizedField> normalizedFieldSupplier;
+        private final GraphQLSchema schema;
+        private final Map<ExecutableNormalizedField, DataFetchingFieldSelectionSet> sharedSelectionSets;
+        private volatile DataFetchingFieldSelectionSet delegate;
+
+        private SharedSelectionSet(Supplier<ExecutableNormalizedField> normalizedFieldSupplier, GraphQLSchema schema, Map<ExecutableNormalizedField, DataFetchingFieldSelectionSet> sharedSelectionSets) {
+            this.normalizedFieldSupplier = normalizedFieldSupplier;
+            this.schema = schema;
+            this.sharedSelectionSets = sharedSelectionSets;
+        }
+
+        private DataFetchingFieldSelectionSet delegate() {
+            DataFetchingFieldSelectionSet selectionSet = delegate;
+            if (selectionSet == null) {
+                ExecutableNormalizedField normalizedField = normalizedFieldSupplier.get();
+                selectionSet = sharedSelectionSets.computeIfAbsent(normalizedField, field -> new DataFetchingFieldSelectionSetImpl(() -> field, schema));
+                delegate = selectionSet;
+            }
+            return selectionSet;
+        }
+
+        @Override
+        public boolean contains(String fieldGlobPattern) {
+            return delegate().contains(fieldGlobPattern);
+        }
+
+        @Override
+        public boolean containsAnyOf(String fieldGlobPattern, String... fieldGlobPatterns) {
+            return delegate().containsAnyOf(fieldGlobPattern, fieldGlobPatterns);
+        }
+
+        @Override
+        public boolean containsAllOf(String fieldGlobPattern, String... fieldGlobPatterns) {
+            return delegate().containsAllOf(fieldGlobPattern, fieldGlobPatterns);
+        }
+
+        @Override
+        public List<SelectedField> getFields() {
+            return delegate().getFields();
+        }
+
+        @Override
+        public List<SelectedField> getImmediateFields() {
+            return delegate().getImmediateFields();
+        }
+
+        @Override
+        public List<SelectedField> getFields(String fieldGlobPattern, String... fieldGlobPatterns) {
+            return delegate().getFields(fieldGlobPattern, fieldGlobPatterns);
+        }
+
+        @Override
+        public Map<String, List<SelectedField>> getFieldsGroupedByResultKey() {
+            return delegate().getFieldsGroupedByResultKey();
+        }
+
+        @Override
+        public Map<String, List<SelectedField>> getFieldsGroupedByResultKey(String fieldGlobPattern, String... fieldGlobPatterns) {
+            return delegate().getFieldsGroupedByResultKey(fieldGlobPattern, fieldGlobPatterns);
+        }
+
+        @Override
+        public String toString() {
+            DataFetchingFieldSelectionSet selectionSet = delegate;
+            return selectionSet == null ? "notComputed" : selectionSet.toString();
+        }
+    }
+
     private static class SelectedFieldImpl implements SelectedField {
 
         private final String qualifiedName;
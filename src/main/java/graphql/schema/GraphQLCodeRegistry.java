@@ -84,8 +84,24 @@ public class GraphQLCodeRegistry {
         return hasDataFetcherImpl(coordinates, dataFetcherMap, systemDataFetcherMap);
     }
 
-    @SuppressWarnings("deprecation")
+    /**
+     * Returns the data fetcher factory that provides the data fetcher for a field located at specified coordinates.
+     *
+     * @param coordinates     the field coordinates
+     * @param fieldDefinition the field definition
+     *
+     * @return the DataFetcherFactory associated with this field.  All fields have data fetcher factories
+     */
+    DataFetcherFactory<?> getDataFetcherFactory(FieldCoordinates coordinates, GraphQLFieldDefinition fieldDefinition) {
+        return getDataFetcherFactoryImpl(coordinates, fieldDefinition, dataFetcherMap, systemDataFetcherMap, defaultDataFetcherFactory);
+    }
+
     private static DataFetcher<?> getDataFetcherImpl(FieldCoordinates coordinates, GraphQLFieldDefinition fieldDefinition, Map<FieldCoordinates, DataFetcherFactory<?>> dataFetcherMap, Map<String, DataFetcherFactory<?>> systemDataFetcherMap, DataFetcherFactory<?> defaultDataFetcherFactory) {
+        DataFetcherFactory<?> dataFetcherFactory = getDataFetcherFactoryImpl(coordinates, fieldDefinition, dataFetcherMap, systemDataFetcherMap, defaultDataFetcherFactory);
+        return getDataFetcherFromFactory(dataFetcherFactory, fieldDefinition);
+    }
+
+    private static DataFetcherFactory<?> getDataFetcherFactoryImpl(FieldCoordinates coordinates, GraphQLFieldDefinition fieldDefinition, Map<FieldCoordinates, DataFetcherFactory<?>> dataFetcherMap, Map<String, DataFetcherFactory<?>> systemDataFetcherMap, DataFetcherFactory<?> defaultDataFetcherFactory) {
         assertNotNull(coordinates);
         assertNotNull(fieldDefinition);
 
@@ -96,6 +112,11 @@ public class GraphQLCodeRegistry {
                 dataFetcherFactory = defaultDataFetcherFactory;
             }
         }
+        return dataFetcherFactory;
+    }
+
+    @SuppressWarnings("deprecation")
+    static DataFetcher<?> getDataFetcherFromFactory(DataFetcherFactory<?> dataFetcherFactory, GraphQLFieldDefinition fieldDefinition) {
         // call direct from the field - cheaper to not make a new environment object
         DataFetcher<?> dataFetcher = dataFetcherFactory.get(fieldDefinition);
         if (dataFetcher == null) {
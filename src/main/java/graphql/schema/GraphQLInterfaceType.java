@@ -17,10 +17,12 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
 
 import static graphql.Assert.assertNotNull;
 import static graphql.Assert.assertShouldNeverHappen;
+import static graphql.Assert.assertTrue;
 import static graphql.Assert.assertValidName;
 import static graphql.collect.ImmutableKit.emptyList;
 import static graphql.schema.GraphqlTypeComparators.sortTypes;
@@ -41,7 +43,9 @@ public class GraphQLInterfaceType implements GraphQLNamedType, GraphQLCompositeT
 
     private final String name;
     private final String description;
-    private final Map<String, GraphQLFieldDefinition> fieldDefinitionsByName;
+    private final Supplier<List<GraphQLFieldDefinition>> lazyFieldDefinitions;
+    private final Comparator<? super GraphQLSchemaElement> fieldComparator;
+    private volatile Map<String, GraphQLFieldDefinition> fieldDefinitionsByName;
     private final TypeResolver typeResolver;
     private final InterfaceTypeDefinition definition;
     private final ImmutableList<InterfaceTypeExtensionDefinition> extensionDefinitions;
@@ -50,6 +54,8 @@ public class GraphQLInterfaceType implements GraphQLNamedType, GraphQLCompositeT
     private final ImmutableList<GraphQLNamedOutputType> originalInterfaces;
     private final Comparator<? super GraphQLSchemaElement> interfaceComparator;
     private ImmutableList<GraphQLNamedOutputType> replacedInterfaces;
+    // the ordinal of this type in the SchemaTypeOrdinals it was last looked up in
+    private volatile long cachedOrdinal;
 
     public static final String CHILD_FIELD_DEFINITIONS = "fieldDefinitions";
     public static final String CHILD_INTERFACES = "interfaces";
@@ -58,6 +64,8 @@ public class GraphQLInterfaceType implements GraphQLNamedType, GraphQLCompositeT
     private GraphQLInterfaceType(String name,
                                  String description,
                                  List<GraphQLFieldDefinition> fieldDefinitions,
+                                 Supplier<List<GraphQLFieldDefinition>> lazyFieldDefinitions,
+                                 Comparator<? super GraphQLSchemaElement> fieldComparator,
                                  TypeResolver typeResolver,
                                  List<GraphQLDirective> directives,
                                  List<GraphQLAppliedDirective> appliedDirectives,
@@ -77,7 +85,9 @@ public class GraphQLInterfaceType implements GraphQLNamedType, GraphQLCompositeT
         this.originalInterfaces = ImmutableList.copyOf(sortTypes(interfaceComparator, interfaces));
         this.extensionDefinitions = ImmutableList.copyOf(extensionDefinitions);
         this.directivesHolder = DirectivesUtil.DirectivesHolder.create(directives, appliedDirectives);
-        this.fieldDefinitionsByName = buildDefinitionMap(fieldDefinitions);
+        this.lazyFieldDefinitions = lazyFieldDefinitions;
+        this.fieldComparator = fieldComparator;
+        this.fieldDefinitionsByName = lazyFieldDefinitions == null ? buildDefinitionMap(fieldDefinitions) : null;
     }
 
     private Map<String, GraphQLFieldDefinition> buildDefinitionMap(List<GraphQLFieldDefinition> fieldDefinitions) {
@@ -85,14 +95,34 @@ public class GraphQLInterfaceType implements GraphQLNamedType, GraphQLCompositeT
                 (fld1, fld2) -> assertShouldNeverHappen("Duplicated definition for field '%s' in interface '%s'", fld1.getName(), this.name));
     }
 
+    private Map<String, GraphQLFieldDefinition> fieldDefinitionsByName() {
+        Map<String, GraphQLFieldDefinition> fieldDefinitions = this.fieldDefinitionsByName;
+        if (fieldDefinitions == null) {
+            // the lazy supplier hands back the same field instances every time, so racing callers build equal maps
+            fieldDefinitions = buildDefinitionMap(sortTypes(fieldComparator, lazyFieldDefinitions.get()));
+            this.fieldDefinitionsByName = fieldDefinitions;
+        }
+        return fieldDefinitions;
+    }
+
+    /**
+     * A type built with {@link Builder#lazyFields(Supplier)} only creates its field definitions the first time they are asked for.
+     *
+     * @return true if the field definitions of this type have been created
+     */
+    @Internal
+    public boolean isFieldDefinitionsMaterialized() {
+        return fieldDefinitionsByName != null;
+    }
+
     @Override
     public GraphQLFieldDefinition getFieldDefinition(String name) {
-        return fieldDefinitionsByName.get(name);
+        return fieldDefinitionsByName().get(name);
     }
 
     @Override
     public List<GraphQLFieldDefinition> getFieldDefinitions() {
-        return ImmutableList.copyOf(fieldDefinitionsByName.values());
+        return ImmutableList.copyOf(fieldDefinitionsByName().values());
     }
 
     @Override
@@ -100,6 +130,14 @@ public class GraphQLInterfaceType implements GraphQLNamedType, GraphQLCompositeT
         return name;
     }
 
+    long getCachedOrdinal() {
+        return cachedOrdinal;
+    }
+
+    void setCachedOrdinal(long cachedOrdinal) {
+        this.cachedOrdinal = cachedOrdinal;
+    }
+
     public String getDescription() {
         return description;
     }
@@ -159,7 +197,7 @@ public class GraphQLInterfaceType implements GraphQLNamedType, GraphQLCompositeT
         return "GraphQLInterfaceType{" +
                 "name='" + name + '\'' +
                 ", description='" + description + '\'' +
-                ", fieldDefinitionsByName=" + fieldDefinitionsByName.keySet() +
+                ", fieldDefinitionsByName=" + fieldDefinitionsByName().keySet() +
                 ", typeResolver=" + typeResolver +
                 '}';
     }
@@ -191,7 +229,7 @@ public class GraphQLInterfaceType implements GraphQLNamedType, GraphQLCompositeT
 
     @Override
     public List<GraphQLSchemaElement> getChildren() {
-        List<GraphQLSchemaElement> children = new ArrayList<>(fieldDefinitionsByName.values());
+        List<GraphQLSchemaElement> children = new ArrayList<>(fieldDefinitionsByName().values());
         children.addAll(getInterfaces());
         children.addAll(directivesHolder.getDirectives());
         children.addAll(directivesHolder.getAppliedDirectives());
@@ -201,7 +239,7 @@ public class GraphQLInterfaceType implements GraphQLNamedType, GraphQLCompositeT
     @Override
     public SchemaElementChildrenContainer getChildrenWithTypeReferences() {
         return SchemaElementChildrenContainer.newSchemaElementChildrenContainer()
-                .children(CHILD_FIELD_DEFINITIONS, fieldDefinitionsByName.values())
+                .children(CHILD_FIELD_DEFINITIONS, fieldDefinitionsByName().values())
                 .children(CHILD_INTERFACES, originalInterfaces)
                 .children(CHILD_DIRECTIVES, directivesHolder.getDirectives())
                 .children(CHILD_APPLIED_DIRECTIVES, directivesHolder.getAppliedDirectives())
@@ -263,6 +301,7 @@ public class GraphQLInterfaceType implements GraphQLNamedType, GraphQLCompositeT
         private InterfaceTypeDefinition definition;
         private List<InterfaceTypeExtensionDefinition> extensionDefinitions = emptyList();
         private final Map<String, GraphQLFieldDefinition> fields = new LinkedHashMap<>();
+        private Supplier<List<GraphQLFieldDefinition>> lazyFields;
         private final Map<String, GraphQLNamedOutputType> interfaces = new LinkedHashMap<>();
 
         public Builder() {
@@ -289,6 +328,21 @@ public class GraphQLInterfaceType implements GraphQLNamedType, GraphQLCompositeT
             return this;
         }
 
+        /**
+         * The field definitions of the type are taken from the supplier the first time they are asked for, rather than when the
+         * type is built.  The supplier must hand back the same field definition instances every time it is called, and it
+         * cannot be combined with the other field methods of this builder.
+         *
+         * @param lazyFields the supplier of the field definitions
+         *
+         * @return this builder
+         */
+        @Internal
+        public Builder lazyFields(Supplier<List<GraphQLFieldDefinition>> lazyFields) {
+            this.lazyFields = assertNotNull(lazyFields, () -> "lazyFields can't be null");
+            return this;
+        }
+
         public Builder field(GraphQLFieldDefinition fieldDefinition) {
             assertNotNull(fieldDefinition, () -> "fieldDefinition can't be null");
             this.fields.put(fieldDefinition.getName(), fieldDefinition);
@@ -449,10 +503,13 @@ public class GraphQLInterfaceType implements GraphQLNamedType, GraphQLCompositeT
         }
 
         public GraphQLInterfaceType build() {
+            assertTrue(lazyFields == null || fields.isEmpty(), () -> "lazyFields can't be combined with fields");
             return new GraphQLInterfaceType(
                     name,
                     description,
                     sort(fields, GraphQLInterfaceType.class, GraphQLFieldDefinition.class),
+                    lazyFields,
+                    getComparator(GraphQLInterfaceType.class, GraphQLFieldDefinition.class),
                     typeResolver,
                     sort(directives, GraphQLInterfaceType.class, GraphQLDirective.class),
                     sort(appliedDirectives, GraphQLScalarType.class, GraphQLAppliedDirective.class),
@@ -17,10 +17,12 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
 
 import static graphql.Assert.assertNotNull;
 import static graphql.Assert.assertShouldNeverHappen;
+import static graphql.Assert.assertTrue;
 import static graphql.Assert.assertValidName;
 import static graphql.collect.ImmutableKit.emptyList;
 import static graphql.schema.GraphqlTypeComparators.sortTypes;
@@ -42,13 +44,17 @@ public class GraphQLObjectType implements GraphQLNamedOutputType, GraphQLComposi
     private final String name;
     private final String description;
     private final Comparator<? super GraphQLSchemaElement> interfaceComparator;
-    private final Map<String, GraphQLFieldDefinition> fieldDefinitionsByName;
+    private final Supplier<List<GraphQLFieldDefinition>> lazyFieldDefinitions;
+    private final Comparator<? super GraphQLSchemaElement> fieldComparator;
+    private volatile Map<String, GraphQLFieldDefinition> fieldDefinitionsByName;
     private final ImmutableList<GraphQLNamedOutputType> originalInterfaces;
     private final DirectivesUtil.DirectivesHolder directivesHolder;
     private final ObjectTypeDefinition definition;
     private final ImmutableList<ObjectTypeExtensionDefinition> extensionDefinitions;
 
     private ImmutableList<GraphQLNamedOutputType> replacedInterfaces;
+    // the ordinal of this type in the SchemaTypeOrdinals it was last looked up in
+    private volatile long cachedOrdinal;
 
     public static final String CHILD_INTERFACES = "interfaces";
     public static final String CHILD_FIELD_DEFINITIONS = "fieldDefinitions";
@@ -57,6 +63,8 @@ public class GraphQLObjectType implements GraphQLNamedOutputType, GraphQLComposi
     private GraphQLObjectType(String name,
                               String description,
                               List<GraphQLFieldDefinition> fieldDefinitions,
+                              Supplier<List<GraphQLFieldDefinition>> lazyFieldDefinitions,
+                              Comparator<? super GraphQLSchemaElement> fieldComparator,
                               List<GraphQLNamedOutputType> interfaces,
                               List<GraphQLDirective> directives,
                               List<GraphQLAppliedDirective> appliedDirectives,
@@ -73,7 +81,9 @@ public class GraphQLObjectType implements GraphQLNamedOutputType, GraphQLComposi
         this.definition = definition;
         this.extensionDefinitions = ImmutableList.copyOf(extensionDefinitions);
         this.directivesHolder = DirectivesUtil.DirectivesHolder.create(directives, appliedDirectives);
-        this.fieldDefinitionsByName = buildDefinitionMap(fieldDefinitions);
+        this.lazyFieldDefinitions = lazyFieldDefinitions;
+        this.fieldComparator = fieldComparator;
+        this.fieldDefinitionsByName = lazyFieldDefinitions == null ? buildDefinitionMap(fieldDefinitions) : null;
     }
 
     void replaceInterfaces(List<GraphQLNamedOutputType> interfaces) {
@@ -85,6 +95,26 @@ public class GraphQLObjectType implements GraphQLNamedOutputType, GraphQLComposi
                 (fld1, fld2) -> assertShouldNeverHappen("Duplicated definition for field '%s' in type '%s'", fld1.getName(), this.name));
     }
 
+    private Map<String, GraphQLFieldDefinition> fieldDefinitionsByName() {
+        Map<String, GraphQLFieldDefinition> fieldDefinitions = this.fieldDefinitionsByName;
+        if (fieldDefinitions == null) {
+            // the lazy supplier hands back the same field instances every time, so racing callers build equal maps
+            fieldDefinitions = buildDefinitionMap(sortTypes(fieldComparator, lazyFieldDefinitions.get()));
+            this.fieldDefinitionsByName = fieldDefinitions;
+        }
+        return fieldDefinitions;
+    }
+
+    /**
+     * A type built with {@link Builder#lazyFields(Supplier)} only creates its field definitions the first time they are asked for.
+     *
+     * @return true if the field definitions of this type have been created
+     */
+    @Internal
+    public boolean isFieldDefinitionsMaterialized() {
+        return fieldDefinitionsByName != null;
+    }
+
     @Override
     public List<GraphQLDirective> getDirectives() {
         return directivesHolder.getDirectives();
@@ -122,12 +152,12 @@ public class GraphQLObjectType implements GraphQLNamedOutputType, GraphQLComposi
 
     @Override
     public GraphQLFieldDefinition getFieldDefinition(String name) {
-        return fieldDefinitionsByName.get(name);
+        return fieldDefinitionsByName().get(name);
     }
 
     @Override
     public List<GraphQLFieldDefinition> getFieldDefinitions() {
-        return ImmutableList.copyOf(fieldDefinitionsByName.values());
+        return ImmutableList.copyOf(fieldDefinitionsByName().values());
     }
 
     @Override
@@ -148,6 +178,14 @@ public class GraphQLObjectType implements GraphQLNamedOutputType, GraphQLComposi
         return name;
     }
 
+    long getCachedOrdinal() {
+        return cachedOrdinal;
+    }
+
+    void setCachedOrdinal(long cachedOrdinal) {
+        this.cachedOrdinal = cachedOrdinal;
+    }
+
     public ObjectTypeDefinition getDefinition() {
         return definition;
     }
@@ -161,7 +199,7 @@ public class GraphQLObjectType implements GraphQLNamedOutputType, GraphQLComposi
         return "GraphQLObjectType{" +
                 "name='" + name + '\'' +
                 ", description='" + description + '\'' +
-                ", fieldDefinitionsByName=" + fieldDefinitionsByName.keySet() +
+                ", fieldDefinitionsByName=" + fieldDefinitionsByName().keySet() +
                 ", interfaces=" + getInterfaces() +
                 '}';
     }
@@ -192,7 +230,7 @@ public class GraphQLObjectType implements GraphQLNamedOutputType, GraphQLComposi
 
     @Override
     public List<GraphQLSchemaElement> getChildren() {
-        List<GraphQLSchemaElement> children = new ArrayList<>(fieldDefinitionsByName.values());
+        List<GraphQLSchemaElement> children = new ArrayList<>(fieldDefinitionsByName().values());
         children.addAll(getInterfaces());
         children.addAll(directivesHolder.getDirectives());
         children.addAll(directivesHolder.getAppliedDirectives());
@@ -202,7 +240,7 @@ public class GraphQLObjectType implements GraphQLNamedOutputType, GraphQLComposi
     @Override
     public SchemaElementChildrenContainer getChildrenWithTypeReferences() {
         return SchemaElementChildrenContainer.newSchemaElementChildrenContainer()
-                .children(CHILD_FIELD_DEFINITIONS, fieldDefinitionsByName.values())
+                .children(CHILD_FIELD_DEFINITIONS, fieldDefinitionsByName().values())
                 .children(CHILD_INTERFACES, originalInterfaces)
                 .children(CHILD_APPLIED_DIRECTIVES, directivesHolder.getAppliedDirectives())
                 .children(CHILD_DIRECTIVES, directivesHolder.getDirectives())
@@ -251,6 +289,7 @@ public class GraphQLObjectType implements GraphQLNamedOutputType, GraphQLComposi
         private ObjectTypeDefinition definition;
         private List<ObjectTypeExtensionDefinition> extensionDefinitions = emptyList();
         private final Map<String, GraphQLFieldDefinition> fields = new LinkedHashMap<>();
+        private Supplier<List<GraphQLFieldDefinition>> lazyFields;
         private final Map<String, GraphQLNamedOutputType> interfaces = new LinkedHashMap<>();
 
         public Builder() {
@@ -276,6 +315,21 @@ public class GraphQLObjectType implements GraphQLNamedOutputType, GraphQLComposi
             return this;
         }
 
+        /**
+         * The field definitions of the type are taken from the supplier the first time they are asked for, rather than when the
+         * type is built.  The supplier must hand back the same field definition instances every time it is called, and it
+         * cannot be combined with the other field methods of this builder.
+         *
+         * @param lazyFields the supplier of the field definitions
+         *
+         * @return this builder
+         */
+        @Internal
+        public Builder lazyFields(Supplier<List<GraphQLFieldDefinition>> lazyFields) {
+            this.lazyFields = assertNotNull(lazyFields, () -> "lazyFields can't be null");
+            return this;
+        }
+
         public Builder field(GraphQLFieldDefinition fieldDefinition) {
             assertNotNull(fieldDefinition, () -> "fieldDefinition can't be null");
             this.fields.put(fieldDefinition.getName(), fieldDefinition);
@@ -429,10 +483,13 @@ public class GraphQLObjectType implements GraphQLNamedOutputType, GraphQLComposi
         }
 
         public GraphQLObjectType build() {
+            assertTrue(lazyFields == null || fields.isEmpty(), () -> "lazyFields can't be combined with fields");
             return new GraphQLObjectType(
                     name,
                     description,
                     sort(fields, GraphQLObjectType.class, GraphQLFieldDefinition.class),
+                    lazyFields,
+                    getComparator(GraphQLObjectType.class, GraphQLFieldDefinition.class),
                     valuesToList(interfaces),
                     sort(directives, GraphQLObjectType.class, GraphQLDirective.class),
                     sort(appliedDirectives, GraphQLObjectType.class, GraphQLAppliedDirective.class),
@@ -27,6 +27,7 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.function.Consumer;
 
 import static graphql.Assert.assertNotNull;
@@ -64,10 +65,11 @@ public class GraphQLSchema {
     private final ImmutableList<SchemaExtensionDefinition> extensionDefinitions;
     private final String description;
     private final GraphQLCodeRegistry codeRegistry;
+    private final BoundDataFetchers boundDataFetchers;
+    private volatile SchemaTypeOrdinals typeOrdinals;
 
     private final ImmutableMap<String, GraphQLNamedType> typeMap;
     private final ImmutableMap<String, ImmutableList<GraphQLObjectType>> interfaceNameToObjectTypes;
-    private final ImmutableMap<String, ImmutableList<String>> interfaceNameToObjectTypeNames;
 
     /*
      * This constructs partial GraphQL schema object which has the schema (query / mutation / subscription) trees
@@ -97,9 +99,9 @@ public class GraphQLSchema {
         this.description = builder.description;
 
         this.codeRegistry = null;
+        this.boundDataFetchers = null;
         this.typeMap = ImmutableKit.emptyMap();
         this.interfaceNameToObjectTypes = ImmutableKit.emptyMap();
-        this.interfaceNameToObjectTypeNames = ImmutableKit.emptyMap();
     }
 
     /*
@@ -127,9 +129,9 @@ public class GraphQLSchema {
         this.extensionDefinitions = existingSchema.extensionDefinitions;
         this.description = existingSchema.description;
         this.codeRegistry = codeRegistry;
+        this.boundDataFetchers = new BoundDataFetchers(codeRegistry);
         this.typeMap = typeMap;
         this.interfaceNameToObjectTypes = interfaceNameToObjectTypes;
-        this.interfaceNameToObjectTypeNames = buildInterfacesToObjectName(interfaceNameToObjectTypes);
     }
 
     /*
@@ -154,10 +156,11 @@ public class GraphQLSchema {
         this.extensionDefinitions = existingSchema.extensionDefinitions;
         this.typeMap = existingSchema.typeMap;
         this.interfaceNameToObjectTypes = existingSchema.interfaceNameToObjectTypes;
-        this.interfaceNameToObjectTypeNames = existingSchema.interfaceNameToObjectTypeNames;
+        this.typeOrdinals = existingSchema.typeOrdinals;
 
         this.description = builder.description;
         this.codeRegistry = builder.codeRegistry;
+        this.boundDataFetchers = new BoundDataFetchers(builder.codeRegistry);
     }
 
     private static GraphQLDirective[] schemaDirectivesArray(GraphQLSchema existingSchema) {
@@ -181,17 +184,32 @@ public class GraphQLSchema {
         return map.build();
     }
 
-    private static ImmutableMap<String, ImmutableList<String>> buildInterfacesToObjectName(ImmutableMap<String, ImmutableList<GraphQLObjectType>> byInterface) {
-        ImmutableMap.Builder<String, ImmutableList<String>> map = ImmutableMap.builder();
-        for (Map.Entry<String, ImmutableList<GraphQLObjectType>> e : byInterface.entrySet()) {
-            ImmutableList<String> objectTypeNames = map(e.getValue(), GraphQLObjectType::getName);
-            map.put(e.getKey(), objectTypeNames);
+    public GraphQLCodeRegistry getCodeRegistry() {
+        return codeRegistry;
+    }
+
+    /**
+     * The ordinals are worked out the first time they are asked for, since type references are still being replaced
+     * while the schema is being built.
+     *
+     * @return the ordinals of the types in this schema
+     */
+    @Internal
+    public SchemaTypeOrdinals getTypeOrdinals() {
+        SchemaTypeOrdinals ordinals = typeOrdinals;
+        if (ordinals == null) {
+            ordinals = new SchemaTypeOrdinals(this);
+            typeOrdinals = ordinals;
         }
-        return map.build();
+        return ordinals;
     }
 
-    public GraphQLCodeRegistry getCodeRegistry() {
-        return codeRegistry;
+    /**
+     * @return the data fetchers of this schema bound to their fields
+     */
+    @Internal
+    public BoundDataFetchers getBoundDataFetchers() {
+        return boundDataFetchers;
     }
 
     /**
@@ -381,11 +399,8 @@ public class GraphQLSchema {
      * @return true if possible type, false otherwise.
      */
     public boolean isPossibleType(GraphQLNamedType abstractType, GraphQLObjectType concreteType) {
-        if (abstractType instanceof GraphQLInterfaceType) {
-            ImmutableList<String> objectNames = this.interfaceNameToObjectTypeNames.getOrDefault(abstractType.getName(), emptyList());
-            return objectNames.contains(concreteType.getName());
-        } else if (abstractType instanceof GraphQLUnionType) {
-            return ((GraphQLUnionType) abstractType).isPossibleType(concreteType);
+        if (abstractType instanceof GraphQLInterfaceType || abstractType instanceof GraphQLUnionType) {
+            return getTypeOrdinals().isPossibleType(abstractType, concreteType);
         }
         return assertShouldNeverHappen("Unsupported abstract type %s. Abstract types supported are Union and Interface.", abstractType.getName());
     }
@@ -874,6 +889,36 @@ public class GraphQLSchema {
             return validateSchema(finalSchema);
         }
 
+        /**
+         * This builds a schema from types whose type references have already been replaced and which are known to be valid,
+         * such as those read back from a schema image, and so it does not traverse, resolve or validate the types again.
+         *
+         * @param resolvedTypes all the named types of the schema other than the introspection types, which are added
+         *
+         * @return the built schema
+         */
+        @Internal
+        public GraphQLSchema buildWithResolvedTypes(Map<String, GraphQLNamedType> resolvedTypes) {
+            addBuiltInDirective(Directives.DeprecatedDirective, additionalDirectives);
+            addBuiltInDirective(Directives.SpecifiedByDirective, additionalDirectives);
+            addBuiltInDirective(Directives.OneOfDirective, additionalDirectives);
+            addBuiltInDirective(Directives.DeferDirective, additionalDirectives);
+            addBuiltInDirective(Directives.ExperimentalDisableErrorPropagationDirective, additionalDirectives);
+
+            final GraphQLSchema partiallyBuiltSchema = new GraphQLSchema(this);
+
+            Map<String, GraphQLNamedType> types = new TreeMap<>(resolvedTypes);
+            for (GraphQLNamedType introspectionType : asList(Introspection.__Schema, Introspection.__Type, Introspection.__TypeKind, Introspection.__Field,
+                    Introspection.__InputValue, Introspection.__EnumValue, Introspection.__Directive, Introspection.__DirectiveLocation)) {
+                types.put(introspectionType.getName(), introspectionType);
+            }
+            ImmutableMap<String, GraphQLNamedType> allTypes = ImmutableMap.copyOf(types);
+
+            ImmutableMap<String, List<GraphQLObjectType>> groupedImplementations = SchemaUtil.groupInterfaceImplementationsByName(getAllTypesAsList(allTypes));
+            ImmutableMap<String, ImmutableList<GraphQLObjectType>> interfaceNameToObjectTypes = buildInterfacesToObjectTypes(groupedImplementations);
+            return new GraphQLSchema(partiallyBuiltSchema, codeRegistry, allTypes, interfaceNameToObjectTypes);
+        }
+
         private void addBuiltInDirective(GraphQLDirective qlDirective, Set<GraphQLDirective> additionalDirectives1) {
             if (additionalDirectives1.stream().noneMatch(d -> d.getName().equals(qlDirective.getName()))) {
                 additionalDirectives1.add(qlDirective);
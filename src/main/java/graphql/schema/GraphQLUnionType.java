@@ -46,6 +46,8 @@ public class GraphQLUnionType implements GraphQLNamedOutputType, GraphQLComposit
     private final DirectivesUtil.DirectivesHolder directives;
 
     private ImmutableList<GraphQLNamedOutputType> replacedTypes;
+    // the ordinal of this type in the SchemaTypeOrdinals it was last looked up in
+    private volatile long cachedOrdinal;
 
     public static final String CHILD_TYPES = "types";
 
@@ -116,6 +118,14 @@ public class GraphQLUnionType implements GraphQLNamedOutputType, GraphQLComposit
         return name;
     }
 
+    long getCachedOrdinal() {
+        return cachedOrdinal;
+    }
+
+    void setCachedOrdinal(long cachedOrdinal) {
+        this.cachedOrdinal = cachedOrdinal;
+    }
+
     public String getDescription() {
         return description;
     }
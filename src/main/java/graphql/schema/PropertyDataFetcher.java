@@ -7,6 +7,7 @@ import graphql.PublicApi;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
+import java.util.Map;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -39,6 +40,8 @@ public class PropertyDataFetcher<T> implements LightDataFetcher<T> {
 
     private final String propertyName;
     private final Function<Object, Object> function;
+    // the accessor for the class of the sources this fetcher has seen, so that most fetches skip the global caches
+    private volatile InlineCache inlineCache;
 
     /**
      * This constructor will use the property name and examine the {@link DataFetchingEnvironment#getSource()}
@@ -132,7 +135,45 @@ public class PropertyDataFetcher<T> implements LightDataFetcher<T> {
             return (T) function.apply(source);
         }
 
-        return (T) PropertyDataFetcherHelper.getPropertyValue(propertyName, source, fieldDefinition, environmentSupplier);
+        Class<?> sourceClass = source.getClass();
+        int generation = PropertyDataFetcherHelper.getCacheGeneration();
+        InlineCache cache = inlineCache;
+        if (cache != null && cache.sourceClass == sourceClass && cache.generation == generation) {
+            if (cache.accessor == null) {
+                // the property of this class can't be read by an accessor, such as a getter that takes the environment
+                return (T) PropertyDataFetcherHelper.getPropertyValue(propertyName, source, fieldDefinition, environmentSupplier);
+            }
+            return (T) cache.accessor.apply(source);
+        }
+        if (source instanceof Map) {
+            // maps are never inline cached, so they don't make this fetcher give up on the class of its other sources
+            return (T) ((Map<?, ?>) source).get(propertyName);
+        }
+        if (cache != null && cache.generation == generation) {
+            if (cache.sourceClass != null) {
+                // sources of more than one class are fetched from, so leave them to the global caches from now on
+                inlineCache = new InlineCache(generation, null, null);
+            }
+            return (T) PropertyDataFetcherHelper.getPropertyValue(propertyName, source, fieldDefinition, environmentSupplier);
+        }
+
+        Object value = PropertyDataFetcherHelper.getPropertyValue(propertyName, source, fieldDefinition, environmentSupplier);
+        inlineCache = new InlineCache(generation, sourceClass, PropertyDataFetcherHelper.getCachedAccessor(propertyName, source));
+        return (T) value;
+    }
+
+    private static final class InlineCache {
+        private final int generation;
+        // null once sources of more than one class have been seen
+        private final Class<?> sourceClass;
+        // null when the property of the source class can only be read the slow way
+        private final Function<Object, Object> accessor;
+
+        private InlineCache(int generation, Class<?> sourceClass, Function<Object, Object> accessor) {
+            this.generation = generation;
+            this.sourceClass = sourceClass;
+            this.accessor = accessor;
+        }
     }
 
     /**
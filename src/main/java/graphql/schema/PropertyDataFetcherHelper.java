@@ -3,6 +3,7 @@ package graphql.schema;
 import graphql.Internal;
 import graphql.VisibleForTesting;
 
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 /**
@@ -23,6 +24,14 @@ public class PropertyDataFetcherHelper {
         return impl.getPropertyValue(propertyName, object, graphQLType, true, environment);
     }
 
+    public static Function<Object, Object> getCachedAccessor(String propertyName, Object object) {
+        return impl.getCachedAccessor(propertyName, object);
+    }
+
+    public static int getCacheGeneration() {
+        return impl.getCacheGeneration();
+    }
+
     public static void clearReflectionCache() {
         impl.clearReflectionCache();
     }
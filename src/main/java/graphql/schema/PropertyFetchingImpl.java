@@ -17,6 +17,7 @@ import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
@@ -38,6 +39,7 @@ public class PropertyFetchingImpl {
     private final ConcurrentMap<CacheKey, CachedMethod> METHOD_CACHE = new ConcurrentHashMap<>();
     private final ConcurrentMap<CacheKey, Field> FIELD_CACHE = new ConcurrentHashMap<>();
     private final ConcurrentMap<CacheKey, CacheKey> NEGATIVE_CACHE = new ConcurrentHashMap<>();
+    private final AtomicInteger CACHE_GENERATION = new AtomicInteger();
     private final Class<?> singleArgumentType;
 
     public PropertyFetchingImpl(Class<?> singleArgumentType) {
@@ -166,6 +168,56 @@ public class PropertyFetchingImpl {
         return null;
     }
 
+    /**
+     * Returns the accessor that {@link #getPropertyValue(String, Object, GraphQLType, boolean, Supplier)} has cached for the class
+     * of the object, if that accessor needs nothing but the object itself.  Callers can hold on to it for as long as
+     * {@link #getCacheGeneration()} stays the same.
+     *
+     * @param propertyName the name of the property
+     * @param object       an object that the property value has been got from
+     *
+     * @return the accessor or null if there is none cached or it needs more than the object
+     */
+    public Function<Object, Object> getCachedAccessor(String propertyName, Object object) {
+        if (object instanceof Map) {
+            return null;
+        }
+        CacheKey cacheKey = mkCacheKey(object, propertyName);
+        CachedLambdaFunction cachedFunction = LAMBDA_CACHE.get(cacheKey);
+        if (cachedFunction != null) {
+            return cachedFunction.getter;
+        }
+        CachedMethod cachedMethod = METHOD_CACHE.get(cacheKey);
+        if (cachedMethod != null) {
+            if (cachedMethod.takesSingleArgumentTypeAsOnlyArgument) {
+                return null;
+            }
+            Method method = cachedMethod.method;
+            return obj -> {
+                try {
+                    return method.invoke(obj);
+                } catch (IllegalAccessException | InvocationTargetException e) {
+                    throw new GraphQLException(e);
+                }
+            };
+        }
+        Field cachedField = FIELD_CACHE.get(cacheKey);
+        if (cachedField != null) {
+            return obj -> invokeField(obj, cachedField);
+        }
+        if (isNegativelyCached(cacheKey)) {
+            return obj -> null;
+        }
+        return null;
+    }
+
+    /**
+     * @return a number that changes whenever the caches are cleared or the way that properties are found is changed
+     */
+    public int getCacheGeneration() {
+        return CACHE_GENERATION.get();
+    }
+
     private Optional<Function<Object, Object>> lambdaGetter(String propertyName, Object object) {
         if (USE_LAMBDA_FACTORY.get()) {
             return LambdaFetchingSupport.createGetter(object.getClass(), propertyName);
@@ -314,8 +366,7 @@ public class PropertyFetchingImpl {
         Class<?> aClass = object.getClass();
         try {
             Field field = aClass.getField(propertyName);
-            FIELD_CACHE.putIfAbsent(cacheKey, field);
-            return field.get(object);
+            return cacheField(cacheKey, field).apply(object);
         } catch (NoSuchFieldException e) {
             if (!USE_SET_ACCESSIBLE.get()) {
                 throw new FastNoSuchMethodException(cacheKey.toString());
@@ -324,18 +375,30 @@ public class PropertyFetchingImpl {
             try {
                 Field field = aClass.getDeclaredField(propertyName);
                 field.setAccessible(true);
-                FIELD_CACHE.putIfAbsent(cacheKey, field);
-                return field.get(object);
+                return cacheField(cacheKey, field).apply(object);
             } catch (SecurityException | NoSuchFieldException ignored2) {
                 throw new FastNoSuchMethodException(cacheKey.toString());
-            } catch (IllegalAccessException e1) {
-                throw new GraphQLException(e);
             }
-        } catch (IllegalAccessException e) {
-            throw new GraphQLException(e);
         }
     }
 
+    /*
+     * Fields are read via a method handle where we can make one, which is cached alongside the lambda getters, and otherwise
+     * via reflection
+     */
+    private Function<Object, Object> cacheField(CacheKey cacheKey, Field field) {
+        if (USE_LAMBDA_FACTORY.get()) {
+            Optional<Function<Object, Object>> getterOpt = LambdaFetchingSupport.createFieldGetter(field);
+            if (getterOpt.isPresent()) {
+                Function<Object, Object> getter = getterOpt.get();
+                LAMBDA_CACHE.putIfAbsent(cacheKey, new CachedLambdaFunction(getter));
+                return getter;
+            }
+        }
+        FIELD_CACHE.putIfAbsent(cacheKey, field);
+        return obj -> invokeField(obj, field);
+    }
+
     private Object invokeMethod(Object object, Supplier<?> singleArgumentValue, Method method, boolean takesSingleArgument) throws FastNoSuchMethodException {
         try {
             if (takesSingleArgument) {
@@ -376,18 +439,25 @@ public class PropertyFetchingImpl {
         METHOD_CACHE.clear();
         FIELD_CACHE.clear();
         NEGATIVE_CACHE.clear();
+        CACHE_GENERATION.incrementAndGet();
     }
 
     public boolean setUseSetAccessible(boolean flag) {
-        return USE_SET_ACCESSIBLE.getAndSet(flag);
+        boolean previous = USE_SET_ACCESSIBLE.getAndSet(flag);
+        CACHE_GENERATION.incrementAndGet();
+        return previous;
     }
 
     public boolean setUseLambdaFactory(boolean flag) {
-        return USE_LAMBDA_FACTORY.getAndSet(flag);
+        boolean previous = USE_LAMBDA_FACTORY.getAndSet(flag);
+        CACHE_GENERATION.incrementAndGet();
+        return previous;
     }
 
     public boolean setUseNegativeCache(boolean flag) {
-        return USE_NEGATIVE_CACHE.getAndSet(flag);
+        boolean previous = USE_NEGATIVE_CACHE.getAndSet(flag);
+        CACHE_GENERATION.incrementAndGet();
+        return previous;
     }
 
     private CacheKey mkCacheKey(Object object, String propertyName) {
@@ -0,0 +1,159 @@
+package graphql.schema;
+
+import graphql.PublicApi;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A schema footprint measures how many schema element and description objects a set of schemas holds, and how many of them are
+ * distinct objects.  The difference between the two is what the schemas share with each other, for example when they were built
+ * with a {@link graphql.schema.idl.SchemaElementPool}.
+ * <p>
+ * The elements of a schema are everything reachable from its types, its directive definitions and its schema directives.  Measuring a
+ * schema walks all of it and so it is meant for diagnostics rather than the hot path.
+ */
+@PublicApi
+public class SchemaFootprint {
+
+    private final int schemaCount;
+    private final int elementCount;
+    private final int distinctElementCount;
+    private final int descriptionCount;
+    private final int distinctDescriptionCount;
+
+    private SchemaFootprint(int schemaCount, int elementCount, int distinctElementCount, int descriptionCount, int distinctDescriptionCount) {
+        this.schemaCount = schemaCount;
+        this.elementCount = elementCount;
+        this.distinctElementCount = distinctElementCount;
+        this.descriptionCount = descriptionCount;
+        this.distinctDescriptionCount = distinctDescriptionCount;
+    }
+
+    /**
+     * Measures the footprint of the given schemas
+     *
+     * @param schemas the schemas to measure
+     *
+     * @return the footprint of the schemas
+     */
+    public static SchemaFootprint measure(GraphQLSchema... schemas) {
+        return measure(Arrays.asList(schemas));
+    }
+
+    /**
+     * Measures the footprint of the given schemas
+     *
+     * @param schemas the schemas to measure
+     *
+     * @return the footprint of the schemas
+     */
+    public static SchemaFootprint measure(Collection<GraphQLSchema> schemas) {
+        Set<GraphQLSchemaElement> distinctElements = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<String> distinctDescriptions = Collections.newSetFromMap(new IdentityHashMap<>());
+        int elementCount = 0;
+        int descriptionCount = 0;
+        for (GraphQLSchema schema : schemas) {
+            Map<GraphQLSchemaElement, Boolean> visited = new IdentityHashMap<>();
+            Deque<GraphQLSchemaElement> stack = new ArrayDeque<>(roots(schema));
+            while (!stack.isEmpty()) {
+                GraphQLSchemaElement element = stack.pop();
+                if (visited.put(element, Boolean.TRUE) != null) {
+                    continue;
+                }
+                elementCount++;
+                distinctElements.add(element);
+                String description = description(element);
+                if (description != null) {
+                    descriptionCount++;
+                    distinctDescriptions.add(description);
+                }
+                stack.addAll(element.getChildren());
+            }
+        }
+        return new SchemaFootprint(schemas.size(), elementCount, distinctElements.size(), descriptionCount, distinctDescriptions.size());
+    }
+
+    private static List<GraphQLSchemaElement> roots(GraphQLSchema schema) {
+        List<GraphQLSchemaElement> roots = new ArrayList<>(schema.getAllTypesAsList());
+        roots.addAll(schema.getDirectives());
+        roots.addAll(schema.getSchemaDirectives());
+        roots.addAll(schema.getSchemaAppliedDirectives());
+        return roots;
+    }
+
+    private static String description(GraphQLSchemaElement element) {
+        if (element instanceof GraphQLNamedSchemaElement) {
+            return ((GraphQLNamedSchemaElement) element).getDescription();
+        }
+        return null;
+    }
+
+    /**
+     * @return the number of schemas measured
+     */
+    public int getSchemaCount() {
+        return schemaCount;
+    }
+
+    /**
+     * @return the number of schema elements summed over all the schemas, counting an element once per schema that holds it
+     */
+    public int getElementCount() {
+        return elementCount;
+    }
+
+    /**
+     * @return the number of distinct schema element objects held by the schemas
+     */
+    public int getDistinctElementCount() {
+        return distinctElementCount;
+    }
+
+    /**
+     * @return the number of schema elements the schemas hold without having their own copy of it
+     */
+    public int getSharedElementCount() {
+        return elementCount - distinctElementCount;
+    }
+
+    /**
+     * @return the number of descriptions summed over all the schemas, counting a description once per schema element that has it
+     */
+    public int getDescriptionCount() {
+        return descriptionCount;
+    }
+
+    /**
+     * @return the number of distinct description string objects held by the schemas
+     */
+    public int getDistinctDescriptionCount() {
+        return distinctDescriptionCount;
+    }
+
+    /**
+     * @return the number of descriptions the schema elements hold without having their own copy of it
+     */
+    public int getSharedDescriptionCount() {
+        return descriptionCount - distinctDescriptionCount;
+    }
+
+    @Override
+    public String toString() {
+        return "SchemaFootprint{" +
+                "schemaCount=" + schemaCount +
+                ", elementCount=" + elementCount +
+                ", distinctElementCount=" + distinctElementCount +
+                ", descriptionCount=" + descriptionCount +
+                ", distinctDescriptionCount=" + distinctDescriptionCount +
+                '}';
+    }
+}
@@ -0,0 +1,59 @@
+package graphql.schema;
+
+import graphql.PublicApi;
+import graphql.schema.idl.RuntimeWiring;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * A schema image is a compact binary snapshot of a built {@link GraphQLSchema}.  It captures the resolved types,
+ * the directive definitions and the directives and applied directives on every schema element.
+ * <p>
+ * Reading an image back is much cheaper than building the same schema from SDL, since there is no SDL to parse, no
+ * type registry to check, no traversal to collect types or replace type references and no schema validation.
+ * Images are therefore useful when many replicas need to build the same large schema at startup.
+ * <p>
+ * Runtime code is not part of an image, so it is attached again when the image is read, from a {@link RuntimeWiring}.
+ * The data fetchers and type resolvers of {@link RuntimeWiring#getCodeRegistry()}, which are registered by {@link FieldCoordinates},
+ * are used first, then the type wiring of the runtime wiring and finally the code registry defaults, which is the same precedence
+ * as {@link graphql.schema.idl.SchemaGenerator}.  Scalars are looked up by name in {@link RuntimeWiring#getScalars()} and
+ * enum values that are not their own name are looked up via {@link RuntimeWiring#getEnumValuesProviders()}.
+ * <p>
+ * The AST definitions of schema elements are not part of an image, and the {@link graphql.schema.idl.WiringFactory} and
+ * {@link graphql.schema.idl.SchemaDirectiveWiring} callbacks of a runtime wiring are not called when an image is read,
+ * since they work off those definitions.  Default values and applied directive argument values are kept as literals.
+ */
+@PublicApi
+public class SchemaImage {
+
+    static final int MAGIC = 0x47514c49;
+    static final int VERSION = 1;
+
+    /**
+     * Writes an image of the schema to the output stream
+     *
+     * @param schema       the schema to write an image of
+     * @param outputStream the stream to write to, which is not closed
+     *
+     * @throws IOException if the image cannot be written
+     */
+    public static void write(GraphQLSchema schema, OutputStream outputStream) throws IOException {
+        new SchemaImageWriter().write(schema, outputStream);
+    }
+
+    /**
+     * Reads a schema back from an image, attaching the runtime code from the runtime wiring
+     *
+     * @param inputStream the stream to read the image from, which is not closed
+     * @param wiring      the runtime wiring to attach data fetchers, type resolvers, scalars and enum values from
+     *
+     * @return the schema
+     *
+     * @throws IOException if the image cannot be read or is not a schema image
+     */
+    public static GraphQLSchema read(InputStream inputStream, RuntimeWiring wiring) throws IOException {
+        return new SchemaImageReader(wiring).read(inputStream);
+    }
+}
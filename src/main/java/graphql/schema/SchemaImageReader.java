@@ -0,0 +1,477 @@
+package graphql.schema;
+
+import graphql.Internal;
+import graphql.introspection.Introspection;
+import graphql.language.ArrayValue;
+import graphql.language.BooleanValue;
+import graphql.language.EnumValue;
+import graphql.language.FloatValue;
+import graphql.language.IntValue;
+import graphql.language.NullValue;
+import graphql.language.ObjectField;
+import graphql.language.ObjectValue;
+import graphql.language.StringValue;
+import graphql.language.Value;
+import graphql.schema.idl.EnumValuesProvider;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.ScalarInfo;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static graphql.Assert.assertNotNull;
+import static graphql.schema.FieldCoordinates.coordinates;
+import static graphql.schema.SchemaImageWriter.KIND_ENUM;
+import static graphql.schema.SchemaImageWriter.KIND_INPUT_OBJECT;
+import static graphql.schema.SchemaImageWriter.KIND_INTERFACE;
+import static graphql.schema.SchemaImageWriter.KIND_OBJECT;
+import static graphql.schema.SchemaImageWriter.KIND_SCALAR;
+import static graphql.schema.SchemaImageWriter.KIND_UNION;
+import static graphql.schema.SchemaImageWriter.TYPE_LIST;
+import static graphql.schema.SchemaImageWriter.TYPE_NAMED;
+import static graphql.schema.SchemaImageWriter.TYPE_NON_NULL;
+import static graphql.schema.SchemaImageWriter.VALUE_ARRAY;
+import static graphql.schema.SchemaImageWriter.VALUE_BOOLEAN;
+import static graphql.schema.SchemaImageWriter.VALUE_ENUM;
+import static graphql.schema.SchemaImageWriter.VALUE_FLOAT;
+import static graphql.schema.SchemaImageWriter.VALUE_INT;
+import static graphql.schema.SchemaImageWriter.VALUE_NOT_SET;
+import static graphql.schema.SchemaImageWriter.VALUE_NULL;
+import static graphql.schema.SchemaImageWriter.VALUE_OBJECT;
+import static graphql.schema.SchemaImageWriter.VALUE_STRING;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Reads a {@link SchemaImage}.  Types are referred to by name in an image, so they are read as {@link GraphQLTypeReference}s
+ * and each place that holds a reference is remembered.  Once all the types have been read those places are pointed
+ * at the real types directly, rather than traversing the whole schema to find them.
+ */
+@Internal
+class SchemaImageReader {
+
+    private final RuntimeWiring wiring;
+    private final GraphqlTypeComparatorRegistry comparatorRegistry;
+    private final Map<String, GraphQLNamedType> types = new TreeMap<>();
+    private final List<Runnable> typeReferenceReplacements = new ArrayList<>();
+    private String[] strings;
+    private DataInputStream in;
+
+    SchemaImageReader(RuntimeWiring wiring) {
+        this.wiring = assertNotNull(wiring, "a runtime wiring must be provided");
+        this.comparatorRegistry = wiring.getComparatorRegistry();
+    }
+
+    GraphQLSchema read(InputStream inputStream) throws IOException {
+        in = new DataInputStream(inputStream);
+        if (in.readInt() != SchemaImage.MAGIC) {
+            throw new IOException("The input is not a schema image");
+        }
+        int version = in.readInt();
+        if (version != SchemaImage.VERSION) {
+            throw new IOException("Unsupported schema image version " + version);
+        }
+        strings = new String[in.readInt()];
+        for (int i = 0; i < strings.length; i++) {
+            byte[] bytes = new byte[in.readInt()];
+            in.readFully(bytes);
+            strings[i] = new String(bytes, UTF_8);
+        }
+        return readSchema();
+    }
+
+    private GraphQLSchema readSchema() throws IOException {
+        GraphQLSchema.Builder schemaBuilder = GraphQLSchema.newSchema();
+        schemaBuilder.description(readString());
+        String queryTypeName = readString();
+        String mutationTypeName = readString();
+        String subscriptionTypeName = readString();
+
+        schemaBuilder.clearDirectives();
+        int directiveCount = in.readInt();
+        for (int i = 0; i < directiveCount; i++) {
+            schemaBuilder.additionalDirective(readDirective());
+        }
+        schemaBuilder.withSchemaDirectives(readLegacyDirectives());
+        schemaBuilder.withSchemaAppliedDirectives(readAppliedDirectives());
+
+        int typeCount = in.readInt();
+        for (int i = 0; i < typeCount; i++) {
+            GraphQLNamedType type = readNamedType();
+            types.put(type.getName(), type);
+        }
+        for (Runnable typeReferenceReplacement : typeReferenceReplacements) {
+            typeReferenceReplacement.run();
+        }
+
+        Set<GraphQLType> additionalTypes = new LinkedHashSet<>();
+        for (String additionalTypeName : readStrings()) {
+            additionalTypes.add(namedType(additionalTypeName));
+        }
+        schemaBuilder.query((GraphQLObjectType) namedType(queryTypeName));
+        if (mutationTypeName != null) {
+            schemaBuilder.mutation((GraphQLObjectType) namedType(mutationTypeName));
+        }
+        if (subscriptionTypeName != null) {
+            schemaBuilder.subscription((GraphQLObjectType) namedType(subscriptionTypeName));
+        }
+        schemaBuilder.additionalTypes(additionalTypes);
+        schemaBuilder.codeRegistry(buildCodeRegistry());
+        return schemaBuilder.buildWithResolvedTypes(types);
+    }
+
+    private GraphQLCodeRegistry buildCodeRegistry() {
+        GraphQLCodeRegistry.Builder codeRegistry = GraphQLCodeRegistry.newCodeRegistry(wiring.getCodeRegistry());
+        Introspection.addCodeForIntrospectionTypes(codeRegistry);
+        for (GraphQLNamedType type : types.values()) {
+            if (Introspection.isIntrospectionTypes(type)) {
+                continue;
+            }
+            if (type instanceof GraphQLFieldsContainer) {
+                Map<String, DataFetcher> typeDataFetchers = wiring.getDataFetchers().get(type.getName());
+                DataFetcher<?> defaultDataFetcher = wiring.getDefaultDataFetcherForType(type.getName());
+                for (GraphQLFieldDefinition fieldDefinition : ((GraphQLFieldsContainer) type).getFieldDefinitions()) {
+                    FieldCoordinates coordinates = coordinates(type.getName(), fieldDefinition.getName());
+                    if (codeRegistry.hasDataFetcher(coordinates)) {
+                        continue;
+                    }
+                    DataFetcher<?> dataFetcher = typeDataFetchers == null ? null : typeDataFetchers.get(fieldDefinition.getName());
+                    if (dataFetcher == null) {
+                        dataFetcher = defaultDataFetcher;
+                    }
+                    // otherwise the code registry default data fetcher will be used when it's asked for
+                    if (dataFetcher != null) {
+                        codeRegistry.dataFetcher(coordinates, DataFetcherFactories.useDataFetcher(dataFetcher));
+                    }
+                }
+            }
+            if ((type instanceof GraphQLInterfaceType || type instanceof GraphQLUnionType) && !codeRegistry.hasTypeResolver(type.getName())) {
+                TypeResolver typeResolver = wiring.getTypeResolvers().get(type.getName());
+                codeRegistry.typeResolver(type.getName(), typeResolver != null ? typeResolver : new TypeResolverProxy());
+            }
+        }
+        codeRegistry.fieldVisibility(wiring.getFieldVisibility());
+        return codeRegistry.build();
+    }
+
+    private GraphQLNamedType readNamedType() throws IOException {
+        int kind = in.readByte();
+        String name = readString();
+        String description = readString();
+        switch (kind) {
+            case KIND_SCALAR:
+                return readScalar(name, description);
+            case KIND_OBJECT: {
+                GraphQLObjectType.Builder builder = GraphQLObjectType.newObject()
+                        .name(name)
+                        .description(description)
+                        .comparatorRegistry(comparatorRegistry);
+                for (String interfaceName : readStrings()) {
+                    builder.withInterface(GraphQLTypeReference.typeRef(interfaceName));
+                }
+                builder.fields(readFields());
+                readDirectives(builder);
+                GraphQLObjectType objectType = builder.build();
+                typeReferenceReplacements.add(() -> objectType.replaceInterfaces(namedOutputTypes(objectType.getInterfaces())));
+                return objectType;
+            }
+            case KIND_INTERFACE: {
+                GraphQLInterfaceType.Builder builder = GraphQLInterfaceType.newInterface()
+                        .name(name)
+                        .description(description)
+                        .comparatorRegistry(comparatorRegistry);
+                for (String interfaceName : readStrings()) {
+                    builder.withInterface(GraphQLTypeReference.typeRef(interfaceName));
+                }
+                builder.fields(readFields());
+                readDirectives(builder);
+                GraphQLInterfaceType interfaceType = builder.build();
+                typeReferenceReplacements.add(() -> interfaceType.replaceInterfaces(namedOutputTypes(interfaceType.getInterfaces())));
+                return interfaceType;
+            }
+            case KIND_UNION: {
+                GraphQLUnionType.Builder builder = GraphQLUnionType.newUnionType()
+                        .name(name)
+                        .description(description)
+                        .comparatorRegistry(comparatorRegistry);
+                for (String memberName : readStrings()) {
+                    builder.possibleType(GraphQLTypeReference.typeRef(memberName));
+                }
+                readDirectives(builder);
+                GraphQLUnionType unionType = builder.build();
+                typeReferenceReplacements.add(() -> unionType.replaceTypes(namedOutputTypes(unionType.getTypes())));
+                return unionType;
+            }
+            case KIND_ENUM:
+                return readEnum(name, description);
+            case KIND_INPUT_OBJECT: {
+                GraphQLInputObjectType.Builder builder = GraphQLInputObjectType.newInputObject()
+                        .name(name)
+                        .description(description)
+                        .comparatorRegistry(comparatorRegistry);
+                int fieldCount = in.readInt();
+                for (int i = 0; i < fieldCount; i++) {
+                    GraphQLInputObjectField.Builder fieldBuilder = GraphQLInputObjectField.newInputObjectField()
+                            .name(readString())
+                            .description(readString())
+                            .deprecate(readString())
+                            .comparatorRegistry(comparatorRegistry)
+                            .type((GraphQLInputType) readType());
+                    Value<?> defaultValue = readValue();
+                    if (defaultValue != null) {
+                        fieldBuilder.defaultValueLiteral(defaultValue);
+                    }
+                    readDirectives(fieldBuilder);
+                    GraphQLInputObjectField field = fieldBuilder.build();
+                    typeReferenceReplacements.add(() -> field.replaceType((GraphQLInputType) resolve(field.getType())));
+                    builder.field(field);
+                }
+                readDirectives(builder);
+                return builder.build();
+            }
+            default:
+                throw new IOException("Unknown schema image type kind " + kind);
+        }
+    }
+
+    private GraphQLScalarType readScalar(String name, String description) throws IOException {
+        String specifiedByUrl = readString();
+        GraphQLScalarType scalar = assertNotNull(wiring.getScalars().get(name), "The runtime wiring does not have an implementation of scalar '%s'", name);
+        GraphQLScalarType.Builder builder = GraphQLScalarType.newScalar(scalar);
+        readDirectives(builder);
+        if (ScalarInfo.isGraphqlSpecifiedScalar(scalar)) {
+            return scalar;
+        }
+        return builder
+                .description(description)
+                .specifiedByUrl(specifiedByUrl)
+                .comparatorRegistry(comparatorRegistry)
+                .build();
+    }
+
+    private GraphQLEnumType readEnum(String name, String description) throws IOException {
+        GraphQLEnumType.Builder builder = GraphQLEnumType.newEnum()
+                .name(name)
+                .description(description)
+                .comparatorRegistry(comparatorRegistry);
+        EnumValuesProvider enumValuesProvider = wiring.getEnumValuesProviders().get(name);
+        int valueCount = in.readInt();
+        for (int i = 0; i < valueCount; i++) {
+            String valueName = readString();
+            GraphQLEnumValueDefinition.Builder valueBuilder = GraphQLEnumValueDefinition.newEnumValueDefinition()
+                    .name(valueName)
+                    .description(readString())
+                    .deprecationReason(readString());
+            if (in.readBoolean()) {
+                valueBuilder.value(valueName);
+            } else {
+                assertNotNull(enumValuesProvider, "The runtime wiring does not have an enum values provider for enum '%s'", name);
+                valueBuilder.value(enumValuesProvider.getValue(valueName));
+            }
+            readDirectives(valueBuilder);
+            builder.value(valueBuilder.build());
+        }
+        readDirectives(builder);
+        return builder.build();
+    }
+
+    private List<GraphQLFieldDefinition> readFields() throws IOException {
+        int fieldCount = in.readInt();
+        List<GraphQLFieldDefinition> fields = new ArrayList<>(fieldCount);
+        for (int i = 0; i < fieldCount; i++) {
+            GraphQLFieldDefinition.Builder builder = GraphQLFieldDefinition.newFieldDefinition()
+                    .name(readString())
+                    .description(readString())
+                    .deprecate(readString())
+                    .comparatorRegistry(comparatorRegistry)
+                    .type((GraphQLOutputType) readType());
+            builder.arguments(readArguments());
+            readDirectives(builder);
+            GraphQLFieldDefinition field = builder.build();
+            typeReferenceReplacements.add(() -> field.replaceType((GraphQLOutputType) resolve(field.getType())));
+            fields.add(field);
+        }
+        return fields;
+    }
+
+    private List<GraphQLArgument> readArguments() throws IOException {
+        int argumentCount = in.readInt();
+        List<GraphQLArgument> arguments = new ArrayList<>(argumentCount);
+        for (int i = 0; i < argumentCount; i++) {
+            GraphQLArgument.Builder builder = GraphQLArgument.newArgument()
+                    .name(readString())
+                    .description(readString())
+                    .deprecate(readString())
+                    .comparatorRegistry(comparatorRegistry)
+                    .type((GraphQLInputType) readType());
+            Value<?> defaultValue = readValue();
+            if (defaultValue != null) {
+                builder.defaultValueLiteral(defaultValue);
+            }
+            Value<?> value = readValue();
+            if (value != null) {
+                builder.valueLiteral(value);
+            }
+            readDirectives(builder);
+            GraphQLArgument argument = builder.build();
+            typeReferenceReplacements.add(() -> argument.replaceType((GraphQLInputType) resolve(argument.getType())));
+            arguments.add(argument);
+        }
+        return arguments;
+    }
+
+    private GraphQLDirective readDirective() throws IOException {
+        GraphQLDirective.Builder builder = GraphQLDirective.newDirective()
+                .name(readString())
+                .description(readString())
+                .repeatable(in.readBoolean())
+                .comparatorRegistry(comparatorRegistry);
+        for (String location : readStrings()) {
+            builder.validLocation(Introspection.DirectiveLocation.valueOf(location));
+        }
+        builder.replaceArguments(readArguments());
+        return builder.build();
+    }
+
+    private List<GraphQLDirective> readLegacyDirectives() throws IOException {
+        int directiveCount = in.readInt();
+        List<GraphQLDirective> directives = new ArrayList<>(directiveCount);
+        for (int i = 0; i < directiveCount; i++) {
+            directives.add(readDirective());
+        }
+        return directives;
+    }
+
+    private List<GraphQLAppliedDirective> readAppliedDirectives() throws IOException {
+        int appliedDirectiveCount = in.readInt();
+        List<GraphQLAppliedDirective> appliedDirectives = new ArrayList<>(appliedDirectiveCount);
+        for (int i = 0; i < appliedDirectiveCount; i++) {
+            GraphQLAppliedDirective.Builder builder = GraphQLAppliedDirective.newDirective()
+                    .name(readString())
+                    .comparatorRegistry(comparatorRegistry);
+            int argumentCount = in.readInt();
+            for (int j = 0; j < argumentCount; j++) {
+                GraphQLAppliedDirectiveArgument.Builder argumentBuilder = GraphQLAppliedDirectiveArgument.newArgument()
+                        .name(readString())
+                        .type((GraphQLInputType) readType());
+                Value<?> value = readValue();
+                if (value != null) {
+                    argumentBuilder.valueLiteral(value);
+                }
+                GraphQLAppliedDirectiveArgument argument = argumentBuilder.build();
+                typeReferenceReplacements.add(() -> argument.replaceType((GraphQLInputType) resolve(argument.getType())));
+                builder.argument(argument);
+            }
+            appliedDirectives.add(builder.build());
+        }
+        return appliedDirectives;
+    }
+
+    private void readDirectives(GraphqlDirectivesContainerTypeBuilder<?, ?> builder) throws IOException {
+        builder.replaceDirectives(readLegacyDirectives());
+        builder.replaceAppliedDirectives(readAppliedDirectives());
+    }
+
+    private GraphQLType readType() throws IOException {
+        int kind = in.readByte();
+        switch (kind) {
+            case TYPE_NAMED:
+                return GraphQLTypeReference.typeRef(readString());
+            case TYPE_NON_NULL:
+                return GraphQLNonNull.nonNull(readType());
+            case TYPE_LIST:
+                return GraphQLList.list(readType());
+            default:
+                throw new IOException("Unknown schema image type modifier " + kind);
+        }
+    }
+
+    /*
+     * Returns null when the value is not set, which is not the same as a null literal
+     */
+    private Value<?> readValue() throws IOException {
+        int kind = in.readByte();
+        switch (kind) {
+            case VALUE_NOT_SET:
+                return null;
+            case VALUE_NULL:
+                return NullValue.of();
+            case VALUE_BOOLEAN:
+                return BooleanValue.of(in.readBoolean());
+            case VALUE_INT:
+                return new IntValue(new BigInteger(readString()));
+            case VALUE_FLOAT:
+                return new FloatValue(new BigDecimal(readString()));
+            case VALUE_STRING:
+                return StringValue.of(readString());
+            case VALUE_ENUM:
+                return EnumValue.of(readString());
+            case VALUE_ARRAY: {
+                int valueCount = in.readInt();
+                List<Value> values = new ArrayList<>(valueCount);
+                for (int i = 0; i < valueCount; i++) {
+                    values.add(readValue());
+                }
+                return ArrayValue.newArrayValue().values(values).build();
+            }
+            case VALUE_OBJECT: {
+                int fieldCount = in.readInt();
+                List<ObjectField> objectFields = new ArrayList<>(fieldCount);
+                for (int i = 0; i < fieldCount; i++) {
+                    objectFields.add(new ObjectField(readString(), readValue()));
+                }
+                return ObjectValue.newObjectValue().objectFields(objectFields).build();
+            }
+            default:
+                throw new IOException("Unknown schema image value kind " + kind);
+        }
+    }
+
+    private List<String> readStrings() throws IOException {
+        int count = in.readInt();
+        List<String> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(readString());
+        }
+        return values;
+    }
+
+    private String readString() throws IOException {
+        int index = in.readInt();
+        return index < 0 ? null : strings[index];
+    }
+
+    private GraphQLType resolve(GraphQLType type) {
+        if (type instanceof GraphQLNonNull) {
+            GraphQLNonNull nonNull = (GraphQLNonNull) type;
+            nonNull.replaceType(resolve(nonNull.getWrappedType()));
+            return nonNull;
+        }
+        if (type instanceof GraphQLList) {
+            GraphQLList list = (GraphQLList) type;
+            list.replaceType(resolve(list.getWrappedType()));
+            return list;
+        }
+        return namedType(((GraphQLNamedType) type).getName());
+    }
+
+    private List<GraphQLNamedOutputType> namedOutputTypes(List<? extends GraphQLNamedType> typeReferences) {
+        List<GraphQLNamedOutputType> namedOutputTypes = new ArrayList<>(typeReferences.size());
+        for (GraphQLNamedType typeReference : typeReferences) {
+            namedOutputTypes.add((GraphQLNamedOutputType) namedType(typeReference.getName()));
+        }
+        return namedOutputTypes;
+    }
+
+    private GraphQLNamedType namedType(String name) {
+        return assertNotNull(types.get(name), "The schema image refers to the unknown type '%s'", name);
+    }
+}
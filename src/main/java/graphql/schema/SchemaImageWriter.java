@@ -0,0 +1,323 @@
+package graphql.schema;
+
+import graphql.GraphQLContext;
+import graphql.Internal;
+import graphql.execution.ValuesResolver;
+import graphql.introspection.Introspection;
+import graphql.language.ArrayValue;
+import graphql.language.BooleanValue;
+import graphql.language.EnumValue;
+import graphql.language.FloatValue;
+import graphql.language.IntValue;
+import graphql.language.NullValue;
+import graphql.language.ObjectField;
+import graphql.language.ObjectValue;
+import graphql.language.StringValue;
+import graphql.language.Value;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static graphql.Assert.assertShouldNeverHappen;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Writes a {@link SchemaImage}.  Every string is written once into a string table at the front of the image, and the
+ * schema elements refer to strings by their index in that table.
+ */
+@Internal
+class SchemaImageWriter {
+
+    static final int KIND_SCALAR = 0;
+    static final int KIND_OBJECT = 1;
+    static final int KIND_INTERFACE = 2;
+    static final int KIND_UNION = 3;
+    static final int KIND_ENUM = 4;
+    static final int KIND_INPUT_OBJECT = 5;
+
+    static final int TYPE_NAMED = 0;
+    static final int TYPE_NON_NULL = 1;
+    static final int TYPE_LIST = 2;
+
+    static final int VALUE_NOT_SET = 0;
+    static final int VALUE_NULL = 1;
+    static final int VALUE_BOOLEAN = 2;
+    static final int VALUE_INT = 3;
+    static final int VALUE_FLOAT = 4;
+    static final int VALUE_STRING = 5;
+    static final int VALUE_ENUM = 6;
+    static final int VALUE_ARRAY = 7;
+    static final int VALUE_OBJECT = 8;
+
+    private final Map<String, Integer> strings = new LinkedHashMap<>();
+    private final ByteArrayOutputStream bodyBytes = new ByteArrayOutputStream();
+    private final DataOutputStream body = new DataOutputStream(bodyBytes);
+
+    void write(GraphQLSchema schema, OutputStream outputStream) throws IOException {
+        writeSchema(schema);
+        body.flush();
+
+        DataOutputStream out = new DataOutputStream(outputStream);
+        out.writeInt(SchemaImage.MAGIC);
+        out.writeInt(SchemaImage.VERSION);
+        out.writeInt(strings.size());
+        for (String string : strings.keySet()) {
+            byte[] bytes = string.getBytes(UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+        bodyBytes.writeTo(out);
+        out.flush();
+    }
+
+    private void writeSchema(GraphQLSchema schema) throws IOException {
+        writeString(schema.getDescription());
+        writeString(nameOf(schema.getQueryType()));
+        writeString(nameOf(schema.getMutationType()));
+        writeString(nameOf(schema.getSubscriptionType()));
+
+        body.writeInt(schema.getDirectives().size());
+        for (GraphQLDirective directive : schema.getDirectives()) {
+            writeDirective(directive);
+        }
+        writeDirectives(schema.getSchemaDirectives(), schema.getSchemaAppliedDirectives());
+
+        List<GraphQLNamedType> types = new ArrayList<>();
+        for (GraphQLNamedType type : schema.getAllTypesAsList()) {
+            if (!Introspection.isIntrospectionTypes(type)) {
+                types.add(type);
+            }
+        }
+        body.writeInt(types.size());
+        for (GraphQLNamedType type : types) {
+            writeNamedType(type);
+        }
+
+        List<String> additionalTypes = new ArrayList<>();
+        for (GraphQLType additionalType : schema.getAdditionalTypes()) {
+            if (additionalType instanceof GraphQLNamedType && !Introspection.isIntrospectionTypes((GraphQLNamedType) additionalType)) {
+                additionalTypes.add(((GraphQLNamedType) additionalType).getName());
+            }
+        }
+        writeStrings(additionalTypes);
+    }
+
+    private void writeNamedType(GraphQLNamedType type) throws IOException {
+        if (type instanceof GraphQLScalarType) {
+            GraphQLScalarType scalarType = (GraphQLScalarType) type;
+            body.writeByte(KIND_SCALAR);
+            writeString(scalarType.getName());
+            writeString(scalarType.getDescription());
+            writeString(scalarType.getSpecifiedByUrl());
+        } else if (type instanceof GraphQLObjectType) {
+            GraphQLObjectType objectType = (GraphQLObjectType) type;
+            body.writeByte(KIND_OBJECT);
+            writeString(objectType.getName());
+            writeString(objectType.getDescription());
+            writeTypeNames(objectType.getInterfaces());
+            writeFields(objectType.getFieldDefinitions());
+        } else if (type instanceof GraphQLInterfaceType) {
+            GraphQLInterfaceType interfaceType = (GraphQLInterfaceType) type;
+            body.writeByte(KIND_INTERFACE);
+            writeString(interfaceType.getName());
+            writeString(interfaceType.getDescription());
+            writeTypeNames(interfaceType.getInterfaces());
+            writeFields(interfaceType.getFieldDefinitions());
+        } else if (type instanceof GraphQLUnionType) {
+            GraphQLUnionType unionType = (GraphQLUnionType) type;
+            body.writeByte(KIND_UNION);
+            writeString(unionType.getName());
+            writeString(unionType.getDescription());
+            writeTypeNames(unionType.getTypes());
+        } else if (type instanceof GraphQLEnumType) {
+            GraphQLEnumType enumType = (GraphQLEnumType) type;
+            body.writeByte(KIND_ENUM);
+            writeString(enumType.getName());
+            writeString(enumType.getDescription());
+            body.writeInt(enumType.getValues().size());
+            for (GraphQLEnumValueDefinition value : enumType.getValues()) {
+                writeString(value.getName());
+                writeString(value.getDescription());
+                writeString(value.getDeprecationReason());
+                body.writeBoolean(value.getName().equals(value.getValue()));
+                writeDirectives(value.getDirectives(), value.getAppliedDirectives());
+            }
+        } else if (type instanceof GraphQLInputObjectType) {
+            GraphQLInputObjectType inputObjectType = (GraphQLInputObjectType) type;
+            body.writeByte(KIND_INPUT_OBJECT);
+            writeString(inputObjectType.getName());
+            writeString(inputObjectType.getDescription());
+            body.writeInt(inputObjectType.getFieldDefinitions().size());
+            for (GraphQLInputObjectField field : inputObjectType.getFieldDefinitions()) {
+                writeString(field.getName());
+                writeString(field.getDescription());
+                writeString(field.getDeprecationReason());
+                writeType(field.getType());
+                writeInputValue(field.getInputFieldDefaultValue(), field.getType());
+                writeDirectives(field.getDirectives(), field.getAppliedDirectives());
+            }
+        } else {
+            assertShouldNeverHappen("Unexpected schema type %s", type);
+        }
+        GraphQLDirectiveContainer directiveContainer = (GraphQLDirectiveContainer) type;
+        writeDirectives(directiveContainer.getDirectives(), directiveContainer.getAppliedDirectives());
+    }
+
+    private void writeFields(List<GraphQLFieldDefinition> fieldDefinitions) throws IOException {
+        body.writeInt(fieldDefinitions.size());
+        for (GraphQLFieldDefinition fieldDefinition : fieldDefinitions) {
+            writeString(fieldDefinition.getName());
+            writeString(fieldDefinition.getDescription());
+            writeString(fieldDefinition.getDeprecationReason());
+            writeType(fieldDefinition.getType());
+            writeArguments(fieldDefinition.getArguments());
+            writeDirectives(fieldDefinition.getDirectives(), fieldDefinition.getAppliedDirectives());
+        }
+    }
+
+    private void writeArguments(List<GraphQLArgument> arguments) throws IOException {
+        body.writeInt(arguments.size());
+        for (GraphQLArgument argument : arguments) {
+            writeString(argument.getName());
+            writeString(argument.getDescription());
+            writeString(argument.getDeprecationReason());
+            writeType(argument.getType());
+            writeInputValue(argument.getArgumentDefaultValue(), argument.getType());
+            writeInputValue(argument.getArgumentValue(), argument.getType());
+            writeDirectives(argument.getDirectives(), argument.getAppliedDirectives());
+        }
+    }
+
+    private void writeDirective(GraphQLDirective directive) throws IOException {
+        writeString(directive.getName());
+        writeString(directive.getDescription());
+        body.writeBoolean(directive.isRepeatable());
+        List<String> locations = new ArrayList<>();
+        for (Introspection.DirectiveLocation location : directive.validLocations()) {
+            locations.add(location.name());
+        }
+        writeStrings(locations);
+        writeArguments(directive.getArguments());
+    }
+
+    private void writeDirectives(List<GraphQLDirective> directives, List<GraphQLAppliedDirective> appliedDirectives) throws IOException {
+        body.writeInt(directives.size());
+        for (GraphQLDirective directive : directives) {
+            writeDirective(directive);
+        }
+        body.writeInt(appliedDirectives.size());
+        for (GraphQLAppliedDirective appliedDirective : appliedDirectives) {
+            writeString(appliedDirective.getName());
+            body.writeInt(appliedDirective.getArguments().size());
+            for (GraphQLAppliedDirectiveArgument argument : appliedDirective.getArguments()) {
+                writeString(argument.getName());
+                writeType(argument.getType());
+                writeInputValue(argument.getArgumentValue(), argument.getType());
+            }
+        }
+    }
+
+    private void writeType(GraphQLType type) throws IOException {
+        if (type instanceof GraphQLNonNull) {
+            body.writeByte(TYPE_NON_NULL);
+            writeType(((GraphQLNonNull) type).getWrappedType());
+        } else if (type instanceof GraphQLList) {
+            body.writeByte(TYPE_LIST);
+            writeType(((GraphQLList) type).getWrappedType());
+        } else {
+            body.writeByte(TYPE_NAMED);
+            writeString(((GraphQLNamedType) type).getName());
+        }
+    }
+
+    private void writeTypeNames(List<? extends GraphQLNamedType> types) throws IOException {
+        List<String> names = new ArrayList<>();
+        for (GraphQLNamedType type : types) {
+            names.add(type.getName());
+        }
+        writeStrings(names);
+    }
+
+    private void writeInputValue(InputValueWithState inputValue, GraphQLType type) throws IOException {
+        if (inputValue.isNotSet()) {
+            body.writeByte(VALUE_NOT_SET);
+            return;
+        }
+        Value<?> literal;
+        if (inputValue.isLiteral()) {
+            literal = (Value<?>) inputValue.getValue();
+        } else {
+            literal = ValuesResolver.valueToLiteral(inputValue, type, GraphQLContext.getDefault(), Locale.getDefault());
+        }
+        writeValue(literal);
+    }
+
+    private void writeValue(Value<?> value) throws IOException {
+        if (value == null || value instanceof NullValue) {
+            body.writeByte(VALUE_NULL);
+        } else if (value instanceof BooleanValue) {
+            body.writeByte(VALUE_BOOLEAN);
+            body.writeBoolean(((BooleanValue) value).isValue());
+        } else if (value instanceof IntValue) {
+            body.writeByte(VALUE_INT);
+            writeString(((IntValue) value).getValue().toString());
+        } else if (value instanceof FloatValue) {
+            body.writeByte(VALUE_FLOAT);
+            writeString(((FloatValue) value).getValue().toString());
+        } else if (value instanceof StringValue) {
+            body.writeByte(VALUE_STRING);
+            writeString(((StringValue) value).getValue());
+        } else if (value instanceof EnumValue) {
+            body.writeByte(VALUE_ENUM);
+            writeString(((EnumValue) value).getName());
+        } else if (value instanceof ArrayValue) {
+            List<Value> values = ((ArrayValue) value).getValues();
+            body.writeByte(VALUE_ARRAY);
+            body.writeInt(values.size());
+            for (Value<?> element : values) {
+                writeValue(element);
+            }
+        } else if (value instanceof ObjectValue) {
+            List<ObjectField> objectFields = ((ObjectValue) value).getObjectFields();
+            body.writeByte(VALUE_OBJECT);
+            body.writeInt(objectFields.size());
+            for (ObjectField objectField : objectFields) {
+                writeString(objectField.getName());
+                writeValue(objectField.getValue());
+            }
+        } else {
+            assertShouldNeverHappen("Unexpected schema value %s", value);
+        }
+    }
+
+    private void writeStrings(List<String> values) throws IOException {
+        body.writeInt(values.size());
+        for (String value : values) {
+            writeString(value);
+        }
+    }
+
+    private void writeString(String value) throws IOException {
+        if (value == null) {
+            body.writeInt(-1);
+            return;
+        }
+        Integer index = strings.get(value);
+        if (index == null) {
+            index = strings.size();
+            strings.put(value, index);
+        }
+        body.writeInt(index);
+    }
+
+    private static String nameOf(GraphQLNamedType type) {
+        return type == null ? null : type.getName();
+    }
+}
@@ -5,6 +5,7 @@ import com.google.common.collect.Multimap;
 import graphql.PublicApi;
 import graphql.collect.ImmutableKit;
 import graphql.util.Breadcrumb;
+import graphql.util.LockKit;
 import graphql.util.NodeAdapter;
 import graphql.util.NodeLocation;
 import graphql.util.NodeZipper;
@@ -16,6 +17,7 @@ import graphql.util.TraverserVisitor;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
@@ -23,11 +25,15 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 import static graphql.Assert.assertNotEmpty;
 import static graphql.Assert.assertNotNull;
 import static graphql.Assert.assertShouldNeverHappen;
+import static graphql.Assert.assertTrue;
 import static graphql.schema.GraphQLSchemaElementAdapter.SCHEMA_ELEMENT_ADAPTER;
 import static graphql.schema.SchemaElementChildrenContainer.newSchemaElementChildrenContainer;
 import static graphql.schema.impl.StronglyConnectedComponentsTopologicallySorted.getStronglyConnectedComponentsTopologicallySorted;
@@ -71,10 +77,16 @@ import static graphql.util.TraversalControl.CONTINUE;
  *  }
  *  }
  * </pre>
+ * <p>
+ * When a visitor only changes a few known types, {@link #transformSchemaIncrementally(GraphQLSchema, Collection, GraphQLTypeVisitor)}
+ * visits only those types and rebuilds only the types that refer to them, sharing everything else with the original schema.
  */
 @PublicApi
 public class SchemaTransformer {
 
+    private static final LockKit.ReentrantLock referringTypesLock = new LockKit.ReentrantLock();
+    private static final Map<GraphQLSchema, Map<String, List<String>>> referringTypesBySchema = new WeakHashMap<>();
+
     /**
      * Transforms a GraphQLSchema and returns a new GraphQLSchema object.
      *
@@ -116,6 +128,31 @@ public class SchemaTransformer {
         return schemaTransformer.transform(schemaElement, visitor);
     }
 
+    /**
+     * Transforms the given types of a GraphQLSchema and returns a new GraphQLSchema object.
+     * <p>
+     * Unlike {@link #transformSchema(GraphQLSchema, GraphQLTypeVisitor)} the visitor is only called for the named types given and the
+     * elements within them, such as their fields, arguments and directives, and not for the other named types they refer to.  A changed
+     * type keeps its name.  The types that refer to a changed type, directly or via other types, are rebuilt to refer to the changed type
+     * and every other type is shared with the original schema as is.
+     * <p>
+     * A type can only be deleted if nothing refers to it once the given types are transformed, so the types that refer to it must be
+     * transformed at the same time to no longer do so.  Deleting a type that is still referred to by a type, a directive or the schema
+     * itself fails with an {@link graphql.AssertException} that names what still refers to it.
+     * <p>
+     * The new schema is not validated again, and types that are no longer referred to are kept.
+     *
+     * @param schema    the schema to transform
+     * @param typeNames the names of the types to transform
+     * @param visitor   the visitor call back
+     *
+     * @return a new GraphQLSchema instance, or the original one if nothing changed
+     */
+    public static GraphQLSchema transformSchemaIncrementally(GraphQLSchema schema, Collection<String> typeNames, GraphQLTypeVisitor visitor) {
+        SchemaTransformer schemaTransformer = new SchemaTransformer();
+        return schemaTransformer.transformIncrementally(schema, typeNames, visitor);
+    }
+
     public GraphQLSchema transform(final GraphQLSchema schema, GraphQLTypeVisitor visitor) {
         return (GraphQLSchema) transformImpl(schema, null, visitor, null);
     }
@@ -129,6 +166,238 @@ public class SchemaTransformer {
         return (T) transformImpl(null, schemaElement, visitor, null);
     }
 
+    public GraphQLSchema transformIncrementally(final GraphQLSchema schema, Collection<String> typeNames, GraphQLTypeVisitor visitor) {
+        GraphQLCodeRegistry.Builder codeRegistry = GraphQLCodeRegistry.newCodeRegistry(schema.getCodeRegistry());
+
+        // first - transform each type on its own without going into the types it refers to
+        Map<String, GraphQLNamedType> changedTypes = new LinkedHashMap<>();
+        Set<String> deletedTypes = new LinkedHashSet<>();
+        for (String typeName : typeNames) {
+            GraphQLNamedType type = assertNotNull(schema.getTypeMap().get(typeName), "type %s not found in schema", typeName);
+            DummyRoot dummyRoot = new DummyRoot(type);
+            traverseAndTransform(dummyRoot, new HashMap<>(), new HashMap<>(), visitor, codeRegistry, schema,
+                    element -> element == dummyRoot ? SCHEMA_ELEMENT_ADAPTER.getNamedChildren(element) : namedChildrenWithinType(element), true);
+            GraphQLNamedType newType = (GraphQLNamedType) dummyRoot.schemaElement;
+            if (newType == null) {
+                deletedTypes.add(typeName);
+            } else if (newType != type) {
+                assertTrue(newType.getName().equals(typeName), "type %s can't be renamed by an incremental transformation", typeName);
+                changedTypes.put(typeName, newType);
+            }
+        }
+        if (changedTypes.isEmpty() && deletedTypes.isEmpty()) {
+            return codeRegistry.hasChanged() ? schema.transformWithoutTypes(builder -> builder.codeRegistry(codeRegistry)) : schema;
+        }
+        if (!deletedTypes.isEmpty()) {
+            assertNotReferredTo(schema, changedTypes, deletedTypes);
+        }
+
+        // second - rebuild the types and directives that refer to a changed type so that they refer to it by name
+        Set<String> affectedTypes = typesReferringTo(schema, changedTypes.keySet(), deletedTypes);
+        Map<String, GraphQLNamedType> typeMap = new LinkedHashMap<>(schema.getTypeMap());
+        typeMap.keySet().removeAll(deletedTypes);
+        List<GraphQLSchemaElement> rebuiltElements = new ArrayList<>();
+        for (String typeName : affectedTypes) {
+            if (!deletedTypes.contains(typeName)) {
+                GraphQLNamedType type = changedTypes.getOrDefault(typeName, typeMap.get(typeName));
+                GraphQLNamedType rebuiltType = (GraphQLNamedType) referToTypesByName(type, affectedTypes);
+                typeMap.put(typeName, rebuiltType);
+                rebuiltElements.add(rebuiltType);
+            }
+        }
+        List<GraphQLDirective> directives = rebuildReferringElements(schema.getDirectives(), GraphQLDirective.class, affectedTypes, rebuiltElements);
+        List<GraphQLDirective> schemaDirectives = rebuildReferringElements(schema.getSchemaDirectives(), GraphQLDirective.class, affectedTypes, rebuiltElements);
+        List<GraphQLAppliedDirective> schemaAppliedDirectives = rebuildReferringElements(schema.getSchemaAppliedDirectives(), GraphQLAppliedDirective.class,
+                affectedTypes, rebuiltElements);
+
+        // third - resolve those names, which only ever goes into the rebuilt elements
+        Set<GraphQLSchemaElement> rebuiltElementSet = new HashSet<>(rebuiltElements);
+        SchemaTraverser schemaTraverser = new SchemaTraverser(element -> childrenWithinType(element, rebuiltElementSet));
+        schemaTraverser.depthFirst(new GraphQLTypeResolvingVisitor(typeMap), rebuiltElements);
+
+        Set<GraphQLType> additionalTypes = new LinkedHashSet<>();
+        for (GraphQLType additionalType : schema.getAdditionalTypes()) {
+            if (additionalType instanceof GraphQLNamedType) {
+                GraphQLNamedType newType = typeMap.get(((GraphQLNamedType) additionalType).getName());
+                if (newType != null) {
+                    additionalTypes.add(newType);
+                }
+            } else {
+                additionalTypes.add(additionalType);
+            }
+        }
+        return GraphQLSchema.newSchema(schema)
+                .query(rootType(schema.getQueryType(), typeMap))
+                .mutation(rootType(schema.getMutationType(), typeMap))
+                .subscription(rootType(schema.getSubscriptionType(), typeMap))
+                .codeRegistry(codeRegistry.build())
+                .clearAdditionalTypes()
+                .additionalTypes(additionalTypes)
+                .clearDirectives()
+                .additionalDirectives(new LinkedHashSet<>(directives))
+                .clearSchemaDirectives()
+                .withSchemaDirectives(schemaDirectives)
+                .withSchemaAppliedDirectives(schemaAppliedDirectives)
+                .buildWithResolvedTypes(typeMap);
+    }
+
+    /*
+     * A deleted type that is still referred to would be left as a type reference that can't be resolved
+     */
+    private static void assertNotReferredTo(GraphQLSchema schema, Map<String, GraphQLNamedType> changedTypes, Set<String> deletedTypes) {
+        Map<String, List<String>> referringTypes = referringTypes(schema);
+        Set<String> candidateTypes = new LinkedHashSet<>();
+        for (String deletedType : deletedTypes) {
+            candidateTypes.addAll(referringTypes.getOrDefault(deletedType, ImmutableKit.emptyList()));
+        }
+        Set<String> referringElements = new LinkedHashSet<>();
+        for (String typeName : candidateTypes) {
+            // a changed type may no longer refer to the deleted types
+            if (!deletedTypes.contains(typeName) && refersTo(changedTypes.getOrDefault(typeName, schema.getTypeMap().get(typeName)), deletedTypes)) {
+                referringElements.add(typeName);
+            }
+        }
+        for (GraphQLDirective directive : schema.getDirectives()) {
+            if (refersTo(directive, deletedTypes)) {
+                referringElements.add("@" + directive.getName());
+            }
+        }
+        boolean rootTypeDeleted = Stream.of(schema.getQueryType(), schema.getMutationType(), schema.getSubscriptionType())
+                .anyMatch(rootType -> rootType != null && deletedTypes.contains(rootType.getName()));
+        boolean schemaDirectiveRefers = schema.getSchemaAppliedDirectives().stream().anyMatch(directive -> refersTo(directive, deletedTypes));
+        if (rootTypeDeleted || schemaDirectiveRefers) {
+            referringElements.add("schema");
+        }
+        assertTrue(referringElements.isEmpty(), "types %s can't be deleted by an incremental transformation as they are still referred to by %s",
+                deletedTypes, referringElements);
+    }
+
+    private static boolean refersTo(GraphQLSchemaElement element, Set<String> typeNames) {
+        Set<String> referredTypes = new LinkedHashSet<>();
+        collectReferredTypeNames(element, referredTypes);
+        return referredTypes.stream().anyMatch(typeNames::contains);
+    }
+
+    private static GraphQLObjectType rootType(GraphQLObjectType rootType, Map<String, GraphQLNamedType> typeMap) {
+        return rootType == null ? null : (GraphQLObjectType) typeMap.get(rootType.getName());
+    }
+
+    /*
+     * The names of the changed and deleted types and of all the types that refer to them, directly or via other types
+     */
+    private static Set<String> typesReferringTo(GraphQLSchema schema, Set<String> changedTypes, Set<String> deletedTypes) {
+        Map<String, List<String>> referringTypes = referringTypes(schema);
+        Set<String> affectedTypes = new LinkedHashSet<>(changedTypes);
+        affectedTypes.addAll(deletedTypes);
+        LinkedList<String> queue = new LinkedList<>(affectedTypes);
+        while (!queue.isEmpty()) {
+            for (String referringType : referringTypes.getOrDefault(queue.removeFirst(), ImmutableKit.emptyList())) {
+                if (affectedTypes.add(referringType)) {
+                    queue.add(referringType);
+                }
+            }
+        }
+        return affectedTypes;
+    }
+
+    /*
+     * The names of the types that refer to each type directly.  This is worked out once per schema since a schema can be transformed
+     * incrementally many times over, and is only held for as long as the schema is in use.
+     */
+    private static Map<String, List<String>> referringTypes(GraphQLSchema schema) {
+        Map<String, List<String>> referringTypes = referringTypesLock.callLocked(() -> referringTypesBySchema.get(schema));
+        if (referringTypes != null) {
+            return referringTypes;
+        }
+        Map<String, List<String>> newReferringTypes = new HashMap<>();
+        for (GraphQLNamedType type : schema.getAllTypesAsList()) {
+            Set<String> referredTypes = new LinkedHashSet<>();
+            collectReferredTypeNames(type, referredTypes);
+            for (String referredType : referredTypes) {
+                newReferringTypes.computeIfAbsent(referredType, k -> new ArrayList<>()).add(type.getName());
+            }
+        }
+        referringTypesLock.runLocked(() -> referringTypesBySchema.put(schema, newReferringTypes));
+        return newReferringTypes;
+    }
+
+    private static void collectReferredTypeNames(GraphQLSchemaElement element, Set<String> referredTypes) {
+        for (GraphQLSchemaElement child : element.getChildrenWithTypeReferences().getChildrenAsList()) {
+            if (child instanceof GraphQLNamedType) {
+                referredTypes.add(((GraphQLNamedType) child).getName());
+            } else {
+                collectReferredTypeNames(child, referredTypes);
+            }
+        }
+    }
+
+    private static <T extends GraphQLSchemaElement> List<T> rebuildReferringElements(List<T> elements, Class<T> elementClass, Set<String> typeNames,
+                                                                                     List<GraphQLSchemaElement> rebuiltElements) {
+        List<T> newElements = new ArrayList<>(elements.size());
+        for (T element : elements) {
+            T newElement = elementClass.cast(referToTypesByName(element, typeNames));
+            if (newElement != element) {
+                rebuiltElements.add(newElement);
+            }
+            newElements.add(newElement);
+        }
+        return newElements;
+    }
+
+    /*
+     * This copies only the parts of an element that lead to one of the named types, which are replaced by a type reference
+     */
+    private static GraphQLSchemaElement referToTypesByName(GraphQLSchemaElement element, Set<String> typeNames) {
+        Map<String, List<GraphQLSchemaElement>> namedChildren = SCHEMA_ELEMENT_ADAPTER.getNamedChildren(element);
+        Map<String, List<GraphQLSchemaElement>> newNamedChildren = null;
+        for (Map.Entry<String, List<GraphQLSchemaElement>> entry : namedChildren.entrySet()) {
+            List<GraphQLSchemaElement> children = entry.getValue();
+            List<GraphQLSchemaElement> newChildren = null;
+            for (int i = 0; i < children.size(); i++) {
+                GraphQLSchemaElement child = children.get(i);
+                GraphQLSchemaElement newChild = child;
+                if (child instanceof GraphQLNamedType) {
+                    String typeName = ((GraphQLNamedType) child).getName();
+                    if (typeNames.contains(typeName) && !(child instanceof GraphQLTypeReference)) {
+                        newChild = GraphQLTypeReference.typeRef(typeName);
+                    }
+                } else {
+                    newChild = referToTypesByName(child, typeNames);
+                }
+                if (newChild != child) {
+                    if (newChildren == null) {
+                        newChildren = new ArrayList<>(children);
+                    }
+                    newChildren.set(i, newChild);
+                }
+            }
+            if (newChildren != null) {
+                if (newNamedChildren == null) {
+                    newNamedChildren = new LinkedHashMap<>(namedChildren);
+                }
+                newNamedChildren.put(entry.getKey(), newChildren);
+            }
+        }
+        return newNamedChildren == null ? element : SCHEMA_ELEMENT_ADAPTER.withNewChildren(element, newNamedChildren);
+    }
+
+    /*
+     * The children of an element without the named types it refers to, other than type references, so that a traversal stays within one type
+     */
+    private static Map<String, List<GraphQLSchemaElement>> namedChildrenWithinType(GraphQLSchemaElement element) {
+        Map<String, List<GraphQLSchemaElement>> namedChildren = new LinkedHashMap<>();
+        SCHEMA_ELEMENT_ADAPTER.getNamedChildren(element).forEach((name, children) ->
+                namedChildren.put(name, ImmutableKit.filter(children, child -> !(child instanceof GraphQLNamedType) || child instanceof GraphQLTypeReference)));
+        return namedChildren;
+    }
+
+    private static List<GraphQLSchemaElement> childrenWithinType(GraphQLSchemaElement element, Set<GraphQLSchemaElement> roots) {
+        if (element instanceof GraphQLNamedType && !(element instanceof GraphQLTypeReference) && !roots.contains(element)) {
+            return ImmutableKit.emptyList();
+        }
+        return element.getChildrenWithTypeReferences().getChildrenAsList();
+    }
+
     private Object transformImpl(final GraphQLSchema schema, GraphQLSchemaElement schemaElement, GraphQLTypeVisitor visitor, Consumer<GraphQLSchema.Builder> postTransformation) {
         DummyRoot dummyRoot;
         GraphQLCodeRegistry.Builder codeRegistry = null;
@@ -143,7 +412,7 @@ public class SchemaTransformer {
         final Map<String, GraphQLTypeReference> typeReferences = new LinkedHashMap<>();
 
         // first pass - general transformation
-        boolean schemaChanged = traverseAndTransform(dummyRoot, changedTypes, typeReferences, visitor, codeRegistry, schema);
+        boolean schemaChanged = traverseAndTransform(dummyRoot, changedTypes, typeReferences, visitor, codeRegistry, schema, SCHEMA_ELEMENT_ADAPTER::getNamedChildren, false);
 
         // if we have changed any named elements AND we have type references referring to them then
         // we need to make a second pass to replace these type references to the new names
@@ -181,10 +450,12 @@ public class SchemaTransformer {
                 return CONTINUE;
             }
         };
-        traverseAndTransform(dummyRoot, new HashMap<>(), new HashMap<>(), typeRefVisitor, codeRegistry, schema);
+        traverseAndTransform(dummyRoot, new HashMap<>(), new HashMap<>(), typeRefVisitor, codeRegistry, schema, SCHEMA_ELEMENT_ADAPTER::getNamedChildren, false);
     }
 
-    private boolean traverseAndTransform(DummyRoot dummyRoot, Map<String, GraphQLNamedType> changedTypes, Map<String, GraphQLTypeReference> typeReferences, GraphQLTypeVisitor visitor, GraphQLCodeRegistry.Builder codeRegistry, GraphQLSchema schema) {
+    private boolean traverseAndTransform(DummyRoot dummyRoot, Map<String, GraphQLNamedType> changedTypes, Map<String, GraphQLTypeReference> typeReferences, GraphQLTypeVisitor visitor, GraphQLCodeRegistry.Builder codeRegistry, GraphQLSchema schema,
+                                         Function<GraphQLSchemaElement, Map<String, ? extends List<GraphQLSchemaElement>>> getNamedChildren,
+                                         boolean singleType) {
         List<NodeZipper<GraphQLSchemaElement>> zippers = new LinkedList<>();
         Map<GraphQLSchemaElement, NodeZipper<GraphQLSchemaElement>> zipperByNodeAfterTraversing = new LinkedHashMap<>();
         Map<GraphQLSchemaElement, NodeZipper<GraphQLSchemaElement>> zipperByOriginalNode = new LinkedHashMap<>();
@@ -193,6 +464,10 @@ public class SchemaTransformer {
 
         Map<GraphQLSchemaElement, List<GraphQLSchemaElement>> reverseDependencies = new LinkedHashMap<>();
         Map<String, List<GraphQLSchemaElement>> typeRefReverseDependencies = new LinkedHashMap<>();
+        if (singleType) {
+            // the dummy root of a single type is always zipped up, even when the type is deleted and so nothing else depends on the root
+            reverseDependencies.put(dummyRoot, new ArrayList<>());
+        }
 
         TraverserVisitor<GraphQLSchemaElement> nodeTraverserVisitor = new TraverserVisitor<>() {
             @Override
@@ -266,7 +541,7 @@ public class SchemaTransformer {
         };
 
 
-        Traverser<GraphQLSchemaElement> traverser = Traverser.depthFirstWithNamedChildren(SCHEMA_ELEMENT_ADAPTER::getNamedChildren, zippers, null);
+        Traverser<GraphQLSchemaElement> traverser = Traverser.depthFirstWithNamedChildren(getNamedChildren, zippers, null);
         if (codeRegistry != null) {
             traverser.rootVar(GraphQLCodeRegistry.Builder.class, codeRegistry);
         }
@@ -0,0 +1,147 @@
+package graphql.schema;
+
+import graphql.Internal;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This gives every named type of a {@link GraphQLSchema} a dense integer ordinal, in the same order as
+ * {@link GraphQLSchema#getAllTypesAsList()}, and keeps the possible types of each interface and union as a {@link BitSet}
+ * of object type ordinals.  This means that possible type checks, which are done constantly during validation, field collection
+ * and normalisation, are a bit test rather than a scan of the list of implementations.
+ * <p>
+ * The ordinals are only stable for a given schema object; a transformed schema has its own ordinals.  Object, interface and
+ * union types keep the ordinal they were last looked up with, together with the id of the ordinals it came from, so that
+ * looking up the types of the schema is a field read rather than a map lookup.
+ */
+@Internal
+public class SchemaTypeOrdinals {
+
+    private static final AtomicInteger ids = new AtomicInteger();
+
+    private final int id = ids.incrementAndGet();
+    private final Map<GraphQLNamedType, Integer> ordinalsByType;
+    private final Map<String, Integer> ordinalsByName;
+    private final BitSet[] possibleTypes;
+
+    SchemaTypeOrdinals(GraphQLSchema schema) {
+        List<GraphQLNamedType> allTypes = schema.getAllTypesAsList();
+        this.ordinalsByType = new IdentityHashMap<>(allTypes.size());
+        this.ordinalsByName = new HashMap<>(allTypes.size());
+        for (GraphQLNamedType type : allTypes) {
+            int ordinal = ordinalsByName.size();
+            ordinalsByType.put(type, ordinal);
+            ordinalsByName.put(type.getName(), ordinal);
+        }
+
+        this.possibleTypes = new BitSet[allTypes.size()];
+        for (int ordinal = 0; ordinal < allTypes.size(); ordinal++) {
+            GraphQLNamedType type = allTypes.get(ordinal);
+            if (type instanceof GraphQLInterfaceType) {
+                possibleTypes[ordinal] = toBitSet(schema.getImplementations((GraphQLInterfaceType) type));
+            } else if (type instanceof GraphQLUnionType) {
+                possibleTypes[ordinal] = toBitSet(((GraphQLUnionType) type).getTypes());
+            }
+        }
+    }
+
+    private BitSet toBitSet(List<? extends GraphQLNamedType> types) {
+        BitSet bitSet = new BitSet(ordinalsByName.size());
+        for (GraphQLNamedType type : types) {
+            int ordinal = getOrdinal(type);
+            if (ordinal >= 0) {
+                bitSet.set(ordinal);
+            }
+        }
+        return bitSet;
+    }
+
+    /**
+     * @return the number of named types in the schema
+     */
+    public int size() {
+        return ordinalsByName.size();
+    }
+
+    /**
+     * Returns the ordinal of a named type of the schema.  Types are looked up by object identity, and then by name
+     * for type objects that did not come from the schema (say ones that a {@link TypeResolver} made itself)
+     *
+     * @param type the named type
+     *
+     * @return the ordinal of the type or -1 if the schema has no type of that name
+     */
+    public int getOrdinal(GraphQLNamedType type) {
+        int ordinal = getSchemaTypeOrdinal(type);
+        if (ordinal >= 0) {
+            return ordinal;
+        }
+        Integer namedOrdinal = ordinalsByName.get(type.getName());
+        return namedOrdinal == null ? -1 : namedOrdinal;
+    }
+
+    /*
+     * The ordinal of a type object that came from the schema, or -1 for any other type object
+     */
+    private int getSchemaTypeOrdinal(GraphQLNamedType type) {
+        long cachedOrdinal = getCachedOrdinal(type);
+        if ((int) (cachedOrdinal >>> 32) == id) {
+            return (int) cachedOrdinal;
+        }
+        Integer ordinal = ordinalsByType.get(type);
+        if (ordinal == null) {
+            return -1;
+        }
+        setCachedOrdinal(type, (long) id << 32 | ordinal);
+        return ordinal;
+    }
+
+    private static long getCachedOrdinal(GraphQLNamedType type) {
+        if (type instanceof GraphQLObjectType) {
+            return ((GraphQLObjectType) type).getCachedOrdinal();
+        } else if (type instanceof GraphQLInterfaceType) {
+            return ((GraphQLInterfaceType) type).getCachedOrdinal();
+        } else if (type instanceof GraphQLUnionType) {
+            return ((GraphQLUnionType) type).getCachedOrdinal();
+        }
+        return 0;
+    }
+
+    private static void setCachedOrdinal(GraphQLNamedType type, long cachedOrdinal) {
+        if (type instanceof GraphQLObjectType) {
+            ((GraphQLObjectType) type).setCachedOrdinal(cachedOrdinal);
+        } else if (type instanceof GraphQLInterfaceType) {
+            ((GraphQLInterfaceType) type).setCachedOrdinal(cachedOrdinal);
+        } else if (type instanceof GraphQLUnionType) {
+            ((GraphQLUnionType) type).setCachedOrdinal(cachedOrdinal);
+        }
+    }
+
+    /**
+     * Returns true if a concrete type is a possible type of an abstract type, which is the same answer
+     * as {@link GraphQLSchema#isPossibleType(GraphQLNamedType, GraphQLObjectType)} gives
+     *
+     * @param abstractType an interface or union type of the schema
+     * @param concreteType the object type
+     *
+     * @return true if it is a possible type
+     */
+    public boolean isPossibleType(GraphQLNamedType abstractType, GraphQLObjectType concreteType) {
+        // interface implementations are a property of the schema, but union members are a property of the union object itself
+        int abstractOrdinal = abstractType instanceof GraphQLUnionType ? getSchemaTypeOrdinal(abstractType) : getOrdinal(abstractType);
+        BitSet bitSet = abstractOrdinal < 0 ? null : possibleTypes[abstractOrdinal];
+        if (bitSet == null) {
+            if (abstractType instanceof GraphQLUnionType) {
+                return ((GraphQLUnionType) abstractType).isPossibleType(concreteType);
+            }
+            return false;
+        }
+        int concreteOrdinal = getOrdinal(concreteType);
+        return concreteOrdinal >= 0 && bitSet.get(concreteOrdinal);
+    }
+}
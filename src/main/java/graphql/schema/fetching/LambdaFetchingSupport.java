@@ -1,5 +1,6 @@
 package graphql.schema.fetching;
 
+import graphql.GraphQLException;
 import graphql.Internal;
 import graphql.VisibleForTesting;
 import graphql.util.FpKit;
@@ -9,6 +10,7 @@ import java.lang.invoke.LambdaMetafactory;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
@@ -54,6 +56,42 @@ public class LambdaFetchingSupport {
         return Optional.empty();
     }
 
+    /**
+     * This will use {@link MethodHandles} to create a function that reads the value of the nominated field, which saves the access
+     * checks and boxing of {@link Field#get(Object)}.  Fields that have been made accessible via {@link Field#setAccessible(boolean)}
+     * can be read this way too.
+     * <p>
+     * If one cant be made, because the calling class does not have access to the field, then it will return
+     * an empty result indicating that this strategy cant be used.
+     *
+     * @param field the field to read
+     *
+     * @return a function that can be used to pass in an instance of the declaring class of the field and returns the field value
+     */
+    public static Optional<Function<Object, Object>> createFieldGetter(Field field) {
+        try {
+            MethodHandle fieldHandle = getLookup(field.getDeclaringClass()).unreflectGetter(field);
+            if (Modifier.isStatic(field.getModifiers())) {
+                // statics are read from the class so the source object is ignored
+                fieldHandle = MethodHandles.dropArguments(fieldHandle, 0, Object.class);
+            }
+            MethodHandle getterHandle = fieldHandle.asType(MethodType.methodType(Object.class, Object.class));
+            Function<Object, Object> getterFunction = object -> {
+                try {
+                    return (Object) getterHandle.invokeExact(object);
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new GraphQLException(e);
+                }
+            };
+            return Optional.of(getterFunction);
+        } catch (Throwable ignore) {
+            // as with getters, we let the old property fetching code read the field if we cant make a handle to it
+        }
+        return Optional.empty();
+    }
+
 
     private static Method getCandidateMethod(Class<?> sourceClass, String propertyName) {
         // property() methods first
@@ -0,0 +1,259 @@
+package graphql.schema.idl;
+
+import graphql.PublicApi;
+import graphql.language.AstPrinter;
+import graphql.language.Value;
+import graphql.schema.GraphQLAppliedDirective;
+import graphql.schema.GraphQLAppliedDirectiveArgument;
+import graphql.schema.GraphQLArgument;
+import graphql.schema.GraphQLDirective;
+import graphql.schema.GraphQLDirectiveContainer;
+import graphql.schema.GraphQLEnumType;
+import graphql.schema.GraphQLEnumValueDefinition;
+import graphql.schema.GraphQLInputObjectField;
+import graphql.schema.GraphQLInputObjectType;
+import graphql.schema.GraphQLScalarType;
+import graphql.schema.GraphQLType;
+import graphql.schema.GraphQLTypeReference;
+import graphql.schema.GraphQLTypeUtil;
+import graphql.schema.InputValueWithState;
+import graphql.util.LockKit;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * A schema element pool lets many schemas built with {@link SchemaGenerator} share the structurally identical parts of them, which
+ * saves a lot of memory when a JVM holds many schemas that are mostly the same, such as one schema per tenant.
+ * <p>
+ * The pool shares descriptions, scalar types, enum types, input object types, directive definitions and the directives and applied
+ * directives put on schema elements.  These are immutable once a schema has been built and so they can safely be shared.  Object and
+ * interface types and their fields are never shared since they are tied to the data fetchers and type resolvers of their schema.
+ * <p>
+ * AST definitions carry source locations that differ from schema to schema, so schemas generated with a pool do not capture AST
+ * definitions, whatever {@link SchemaGenerator.Options#captureAstDefinitions(boolean)} says.  Elements that have AST definitions
+ * anyway, say scalars from the runtime wiring, are not shared.
+ * <p>
+ * The pool only holds its elements, and the elements its keys refer to, weakly, and so elements that are no longer used by any schema
+ * can be garbage collected.  A pool can be used by many schema generations at the same time.
+ *
+ * @see SchemaGenerator.Options#elementPool(SchemaElementPool)
+ */
+@PublicApi
+public class SchemaElementPool {
+
+    private final LockKit.ReentrantLock lock = new LockKit.ReentrantLock();
+    private final Map<Object, PooledReference> pooled = new HashMap<>();
+    private final ReferenceQueue<Object> collected = new ReferenceQueue<>();
+    // strings are their own keys, so they are held weakly on both sides
+    private final Map<String, WeakReference<String>> strings = new WeakHashMap<>();
+
+    public static SchemaElementPool newSchemaElementPool() {
+        return new SchemaElementPool();
+    }
+
+    /**
+     * @return the number of elements in the pool that are still in use
+     */
+    public int size() {
+        return lock.callLocked(() -> {
+            expungeCollected();
+            return pooled.size() + strings.size();
+        });
+    }
+
+    String description(String description) {
+        if (description == null) {
+            return null;
+        }
+        return lock.callLocked(() -> {
+            WeakReference<String> reference = strings.get(description);
+            String existing = reference == null ? null : reference.get();
+            if (existing != null) {
+                return existing;
+            }
+            strings.put(description, new WeakReference<>(description));
+            return description;
+        });
+    }
+
+    GraphQLScalarType scalar(GraphQLScalarType scalar) {
+        if (scalar.getDefinition() != null || !scalar.getExtensionDefinitions().isEmpty()) {
+            return scalar;
+        }
+        // the coercing is compared by identity, which is what scalars taken from a shared runtime wiring have in common
+        Object key = Arrays.asList(GraphQLScalarType.class, scalar.getName(), scalar.getDescription(), scalar.getSpecifiedByUrl(),
+                new WeakIdentity(scalar.getCoercing()), directivesKey(scalar));
+        return canonical(key, scalar);
+    }
+
+    GraphQLEnumType enumType(GraphQLEnumType enumType) {
+        if (enumType.getDefinition() != null || !enumType.getExtensionDefinitions().isEmpty()) {
+            return enumType;
+        }
+        List<Object> valueKeys = new ArrayList<>();
+        for (GraphQLEnumValueDefinition value : enumType.getValues()) {
+            if (value.getDefinition() != null) {
+                return enumType;
+            }
+            valueKeys.add(Arrays.asList(value.getName(), value.getDescription(), value.getValue(), value.getDeprecationReason(), directivesKey(value)));
+        }
+        Object key = Arrays.asList(GraphQLEnumType.class, enumType.getName(), enumType.getDescription(), valueKeys, directivesKey(enumType));
+        return canonical(key, enumType);
+    }
+
+    GraphQLInputObjectType inputObjectType(GraphQLInputObjectType inputObjectType) {
+        if (inputObjectType.getDefinition() != null || !inputObjectType.getExtensionDefinitions().isEmpty()) {
+            return inputObjectType;
+        }
+        List<Object> fieldKeys = new ArrayList<>();
+        for (GraphQLInputObjectField field : inputObjectType.getFields()) {
+            Object typeKey = typeKey(field.getType());
+            if (field.getDefinition() != null || typeKey == null) {
+                return inputObjectType;
+            }
+            fieldKeys.add(Arrays.asList(field.getName(), field.getDescription(), typeKey, valueKey(field.getInputFieldDefaultValue()),
+                    field.getDeprecationReason(), directivesKey(field)));
+        }
+        Object key = Arrays.asList(GraphQLInputObjectType.class, inputObjectType.getName(), inputObjectType.getDescription(), fieldKeys,
+                directivesKey(inputObjectType));
+        return canonical(key, inputObjectType);
+    }
+
+    GraphQLDirective directiveDefinition(GraphQLDirective directive) {
+        return directive(directive, true);
+    }
+
+    GraphQLDirective directive(GraphQLDirective directive) {
+        return directive(directive, false);
+    }
+
+    private GraphQLDirective directive(GraphQLDirective directive, boolean definition) {
+        if (directive.getDefinition() != null) {
+            return directive;
+        }
+        List<Object> argumentKeys = new ArrayList<>();
+        for (GraphQLArgument argument : directive.getArguments()) {
+            Object typeKey = typeKey(argument.getType());
+            if (argument.getDefinition() != null || typeKey == null) {
+                return directive;
+            }
+            argumentKeys.add(Arrays.asList(argument.getName(), argument.getDescription(), typeKey, valueKey(argument.getArgumentValue()),
+                    valueKey(argument.getArgumentDefaultValue()), argument.getDeprecationReason(), directivesKey(argument)));
+        }
+        // a directive definition and a directive put on an element can look the same but are never the same element
+        Object key = Arrays.asList(GraphQLDirective.class, definition, directive.getName(), directive.getDescription(), directive.isRepeatable(),
+                directive.validLocations(), argumentKeys);
+        return canonical(key, directive);
+    }
+
+    GraphQLAppliedDirective appliedDirective(GraphQLAppliedDirective appliedDirective) {
+        if (appliedDirective.getDefinition() != null) {
+            return appliedDirective;
+        }
+        List<Object> argumentKeys = new ArrayList<>();
+        for (GraphQLAppliedDirectiveArgument argument : appliedDirective.getArguments()) {
+            Object typeKey = typeKey(argument.getType());
+            if (argument.getDefinition() != null || typeKey == null) {
+                return appliedDirective;
+            }
+            argumentKeys.add(Arrays.asList(argument.getName(), argument.getDescription(), typeKey, valueKey(argument.getArgumentValue())));
+        }
+        Object key = Arrays.asList(GraphQLAppliedDirective.class, appliedDirective.getName(), argumentKeys);
+        return canonical(key, appliedDirective);
+    }
+
+    /*
+     * Named types are compared by identity, so an element is only shared when the types it uses are shared too.  Elements that
+     * still hold type references are never shared since the type references are replaced in place when their schema is built.
+     */
+    private static Object typeKey(GraphQLType type) {
+        GraphQLType namedType = GraphQLTypeUtil.unwrapAllAs(type);
+        if (namedType instanceof GraphQLTypeReference) {
+            return null;
+        }
+        return Arrays.asList(GraphQLTypeUtil.simplePrint(type), new WeakIdentity(namedType));
+    }
+
+    private static Object valueKey(InputValueWithState value) {
+        Object rawValue = value.getValue();
+        if (value.isLiteral() && rawValue != null) {
+            rawValue = AstPrinter.printAstCompact((Value<?>) rawValue);
+        }
+        return Arrays.asList(value.isNotSet(), value.isLiteral(), value.isExternal(), rawValue);
+    }
+
+    private static Object directivesKey(GraphQLDirectiveContainer directiveContainer) {
+        List<Object> key = new ArrayList<>();
+        directiveContainer.getDirectives().forEach(directive -> key.add(new WeakIdentity(directive)));
+        // applied directives are set apart from directives since both lists can be empty
+        key.add(GraphQLAppliedDirective.class);
+        directiveContainer.getAppliedDirectives().forEach(appliedDirective -> key.add(new WeakIdentity(appliedDirective)));
+        return key;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T canonical(Object key, T element) {
+        return lock.callLocked(() -> {
+            expungeCollected();
+            PooledReference reference = pooled.get(key);
+            Object existing = reference == null ? null : reference.get();
+            if (existing != null) {
+                return (T) existing;
+            }
+            pooled.put(key, new PooledReference(key, element, collected));
+            return element;
+        });
+    }
+
+    private void expungeCollected() {
+        Reference<?> reference;
+        while ((reference = collected.poll()) != null) {
+            PooledReference pooledReference = (PooledReference) reference;
+            // only remove the entry if it has not been replaced by a newer element since
+            pooled.remove(pooledReference.key, pooledReference);
+        }
+    }
+
+    private static class PooledReference extends WeakReference<Object> {
+        private final Object key;
+
+        PooledReference(Object key, Object element, ReferenceQueue<Object> queue) {
+            super(element, queue);
+            this.key = key;
+        }
+    }
+
+    /*
+     * The elements that keys refer to are compared by identity and held weakly, so that the keys of the pool don't keep them alive
+     */
+    private static class WeakIdentity extends WeakReference<Object> {
+        private final int hashCode;
+
+        WeakIdentity(Object object) {
+            super(object);
+            this.hashCode = System.identityHashCode(object);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            Object object = get();
+            return object != null && o instanceof WeakIdentity && ((WeakIdentity) o).get() == object;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
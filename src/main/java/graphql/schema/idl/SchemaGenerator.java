@@ -2,6 +2,7 @@ package graphql.schema.idl;
 
 import graphql.GraphQLError;
 import graphql.PublicApi;
+import graphql.introspection.Introspection;
 import graphql.language.OperationTypeDefinition;
 import graphql.schema.GraphQLCodeRegistry;
 import graphql.schema.GraphQLDirective;
@@ -12,6 +13,7 @@ import graphql.schema.idl.errors.SchemaProblem;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
 
 import static graphql.schema.idl.SchemaGeneratorHelper.buildDescription;
 
@@ -103,7 +105,7 @@ public class SchemaGenerator {
 
         schemaGeneratorHelper.addDirectivesIncludedByDefault(typeRegistryCopy);
 
-        List<GraphQLError> errors = typeChecker.checkTypeRegistry(typeRegistryCopy, wiring);
+        List<GraphQLError> errors = typeChecker.checkTypeRegistry(typeRegistryCopy, wiring, options.getExecutor());
         if (!errors.isEmpty()) {
             throw new SchemaProblem(errors);
         }
@@ -118,6 +120,11 @@ public class SchemaGenerator {
                                                    Map<String, OperationTypeDefinition> operationTypeDefinitions,
                                                    Options options) {
         SchemaGeneratorHelper.BuildContext buildCtx = new SchemaGeneratorHelper.BuildContext(typeRegistry, wiring, operationTypeDefinitions, options);
+        if (buildCtx.isLazyTypes()) {
+            // a lazy schema must accept exactly the SDL that an eager one does, and so an eager schema is generated and validated
+            // first, and then let go of
+            makeExecutableSchemaImpl(typeRegistry, wiring, operationTypeDefinitions, options.lazyTypes(false));
+        }
 
         GraphQLSchema.Builder schemaBuilder = GraphQLSchema.newSchema();
 
@@ -132,6 +139,11 @@ public class SchemaGenerator {
         schemaBuilder.additionalTypes(additionalTypes);
 
         buildCtx.getCodeRegistry().fieldVisibility(buildCtx.getWiring().getFieldVisibility());
+        if (buildCtx.isLazyTypes()) {
+            schemaGeneratorHelper.buildLazyFieldDataFetchers(buildCtx);
+            // the schema is not traversed for its code and so the introspection code is added here
+            Introspection.addCodeForIntrospectionTypes(buildCtx.getCodeRegistry());
+        }
 
         GraphQLCodeRegistry codeRegistry = buildCtx.getCodeRegistry().build();
         schemaBuilder.codeRegistry(codeRegistry);
@@ -140,6 +152,10 @@ public class SchemaGenerator {
             String description = buildDescription(buildCtx, schemaDefinition, schemaDefinition.getDescription());
             schemaBuilder.description(description);
         });
+        if (buildCtx.isLazyTypes()) {
+            // the schema has been validated eagerly above and traversing it again would build all the lazy fields
+            return schemaBuilder.buildWithResolvedTypes(schemaGeneratorHelper.buildLazyTypeMap(buildCtx));
+        }
         GraphQLSchema graphQLSchema = schemaBuilder.build();
 
 
@@ -164,11 +180,17 @@ public class SchemaGenerator {
         private final boolean useCommentsAsDescription;
         private final boolean captureAstDefinitions;
         private final boolean useAppliedDirectivesOnly;
+        private final Executor executor;
+        private final boolean lazyTypes;
+        private final SchemaElementPool elementPool;
 
-        Options(boolean useCommentsAsDescription, boolean captureAstDefinitions, boolean useAppliedDirectivesOnly) {
+        Options(boolean useCommentsAsDescription, boolean captureAstDefinitions, boolean useAppliedDirectivesOnly, Executor executor, boolean lazyTypes, SchemaElementPool elementPool) {
             this.useCommentsAsDescription = useCommentsAsDescription;
             this.captureAstDefinitions = captureAstDefinitions;
             this.useAppliedDirectivesOnly = useAppliedDirectivesOnly;
+            this.executor = executor;
+            this.lazyTypes = lazyTypes;
+            this.elementPool = elementPool;
         }
 
         public boolean isUseCommentsAsDescription() {
@@ -183,8 +205,29 @@ public class SchemaGenerator {
             return useAppliedDirectivesOnly;
         }
 
+        /**
+         * @return the executor that independent schema generation work is run on or null if it is all run on the calling thread
+         */
+        public Executor getExecutor() {
+            return executor;
+        }
+
+        /**
+         * @return true if the field definitions of object and interface types are only created when they are first used
+         */
+        public boolean isLazyTypes() {
+            return lazyTypes;
+        }
+
+        /**
+         * @return the pool that schema elements are shared through or null if they are not shared
+         */
+        public SchemaElementPool getElementPool() {
+            return elementPool;
+        }
+
         public static Options defaultOptions() {
-            return new Options(true, true, false);
+            return new Options(true, true, false, null, false, null);
         }
 
         /**
@@ -197,7 +240,7 @@ public class SchemaGenerator {
          * @return a new Options object
          */
         public Options useCommentsAsDescriptions(boolean useCommentsAsDescription) {
-            return new Options(useCommentsAsDescription, captureAstDefinitions, useAppliedDirectivesOnly);
+            return new Options(useCommentsAsDescription, captureAstDefinitions, useAppliedDirectivesOnly, executor, lazyTypes, elementPool);
         }
 
         /**
@@ -209,7 +252,7 @@ public class SchemaGenerator {
          * @return a new Options object
          */
         public Options captureAstDefinitions(boolean captureAstDefinitions) {
-            return new Options(useCommentsAsDescription, captureAstDefinitions, useAppliedDirectivesOnly);
+            return new Options(useCommentsAsDescription, captureAstDefinitions, useAppliedDirectivesOnly, executor, lazyTypes, elementPool);
         }
 
         /**
@@ -222,7 +265,60 @@ public class SchemaGenerator {
          * @return a new Options object
          */
         public Options useAppliedDirectivesOnly(boolean useAppliedDirectivesOnly) {
-            return new Options(useCommentsAsDescription, captureAstDefinitions, useAppliedDirectivesOnly);
+            return new Options(useCommentsAsDescription, captureAstDefinitions, useAppliedDirectivesOnly, executor, lazyTypes, elementPool);
+        }
+
+        /**
+         * The checks that a type registry can be made into a schema are independent of each other, and on very large schemas
+         * they can be run at the same time on an executor.  The schema that is generated, and any schema problems that are
+         * reported, are the same as when the schema is generated on the calling thread.  The {@link WiringFactory} and the scalars
+         * of the runtime wiring are only called on the calling thread, so they don't need to be thread safe.
+         *
+         * @param executor the executor to run independent schema generation work on, or null to run it all on the calling thread
+         *
+         * @return a new Options object
+         */
+        public Options executor(Executor executor) {
+            return new Options(useCommentsAsDescription, captureAstDefinitions, useAppliedDirectivesOnly, executor, lazyTypes, elementPool);
+        }
+
+        /**
+         * On very large schemas most requests only touch a small part of the schema.  In lazy mode every named type is still created
+         * when the schema is generated, however the field definitions of object and interface types, with their arguments and
+         * data fetchers, are only created the first time they are used, for example when a query is executed against them, when they
+         * are printed or when the schema is traversed.
+         * <p>
+         * The schema is validated exactly as an eager one is, and so lazy and eager schemas accept the same SDL.  To do that an eager
+         * schema is generated and validated first and then let go of, which means that lazy types save the memory of the field
+         * definitions that are never used rather than generation time.  The types that are not referenced from the operation
+         * types are all reported as {@link GraphQLSchema#getAdditionalTypes()} and all the specified scalars are part of the schema,
+         * since it is not known up front which types are reachable via fields.
+         * <p>
+         * Schema directive wiring needs the whole schema and a {@link WiringFactory} can provide data fetchers based on the built
+         * fields, and so this option is ignored, and the schema is generated eagerly, when the runtime wiring has directive wiring or a
+         * wiring factory other than the default one.
+         *
+         * @param lazyTypes the flag on whether to create the field definitions of object and interface types lazily
+         *
+         * @return a new Options object
+         */
+        public Options lazyTypes(boolean lazyTypes) {
+            return new Options(useCommentsAsDescription, captureAstDefinitions, useAppliedDirectivesOnly, executor, lazyTypes, elementPool);
+        }
+
+        /**
+         * When many similar schemas are held in memory, the structurally identical parts of them can be shared through a
+         * {@link SchemaElementPool}, so that each schema does not hold its own copy of them.
+         * <p>
+         * AST definitions are not captured when a pool is used, whatever {@link #captureAstDefinitions(boolean)} says, since they carry
+         * source locations that differ from schema to schema and so would keep the elements from being shared.
+         *
+         * @param elementPool the pool to share schema elements through, or null to not share them
+         *
+         * @return a new Options object
+         */
+        public Options elementPool(SchemaElementPool elementPool) {
+            return new Options(useCommentsAsDescription, captureAstDefinitions, useAppliedDirectivesOnly, executor, lazyTypes, elementPool);
         }
     }
 }
\ No newline at end of file
@@ -74,8 +74,8 @@ class SchemaGeneratorAppliedDirectiveHelper {
                     runtimeDirectives,
                     directiveLocation,
                     comparatorRegistry);
-            output.add(pair.first);
-            outputApplied.add(pair.second);
+            output.add(buildCtx.pooled(pair.first));
+            outputApplied.add(buildCtx.pooled(pair.second));
         }
         for (Directive directive : extensionDirectives) {
             Pair<GraphQLDirective, GraphQLAppliedDirective> pair = buildAppliedDirective(buildCtx,
@@ -84,8 +84,8 @@ class SchemaGeneratorAppliedDirectiveHelper {
                     runtimeDirectives,
                     directiveLocation,
                     comparatorRegistry);
-            output.add(pair.first);
-            outputApplied.add(pair.second);
+            output.add(buildCtx.pooled(pair.first));
+            outputApplied.add(buildCtx.pooled(pair.second));
         }
         return pair(output, outputApplied);
     }
@@ -12,6 +12,7 @@ import graphql.language.EnumTypeDefinition;
 import graphql.language.EnumTypeExtensionDefinition;
 import graphql.language.EnumValueDefinition;
 import graphql.language.FieldDefinition;
+import graphql.language.ImplementingTypeDefinition;
 import graphql.language.InputObjectTypeDefinition;
 import graphql.language.InputObjectTypeExtensionDefinition;
 import graphql.language.InputValueDefinition;
@@ -48,10 +49,12 @@ import graphql.schema.GraphQLInputType;
 import graphql.schema.GraphQLInterfaceType;
 import graphql.schema.GraphQLNamedInputType;
 import graphql.schema.GraphQLNamedOutputType;
+import graphql.schema.GraphQLNamedType;
 import graphql.schema.GraphQLObjectType;
 import graphql.schema.GraphQLOutputType;
 import graphql.schema.GraphQLScalarType;
 import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLSchemaElement;
 import graphql.schema.GraphQLType;
 import graphql.schema.GraphQLTypeReference;
 import graphql.schema.GraphQLUnionType;
@@ -61,7 +64,9 @@ import graphql.schema.TypeResolver;
 import graphql.schema.TypeResolverProxy;
 import graphql.schema.idl.errors.NotAnInputTypeError;
 import graphql.schema.idl.errors.NotAnOutputTypeError;
+import graphql.schema.impl.SchemaUtil;
 import graphql.util.FpKit;
+import graphql.util.LockKit;
 import graphql.util.Pair;
 
 import java.util.ArrayDeque;
@@ -76,6 +81,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static graphql.Assert.assertNotNull;
@@ -122,6 +128,10 @@ public class SchemaGeneratorHelper {
         public final Map<String, OperationTypeDefinition> operationTypeDefs;
         public final SchemaGenerator.Options options;
         public boolean directiveWiringRequired;
+        private final boolean lazyTypes;
+        // lazily created field definitions are built on whatever thread first asks for them, one type at a time
+        private final LockKit.ReentrantLock lazyFieldsLock = new LockKit.ReentrantLock();
+        private final SchemaElementPool elementPool;
 
         BuildContext(TypeDefinitionRegistry typeRegistry, RuntimeWiring wiring, Map<String, OperationTypeDefinition> operationTypeDefinitions, SchemaGenerator.Options options) {
             this.typeRegistry = typeRegistry;
@@ -129,9 +139,25 @@ public class SchemaGeneratorHelper {
             this.codeRegistry = GraphQLCodeRegistry.newCodeRegistry(wiring.getCodeRegistry());
             this.operationTypeDefs = operationTypeDefinitions;
             this.options = options;
+            this.lazyTypes = options.isLazyTypes() && lazyTypesSupported(wiring);
+            this.elementPool = options.getElementPool();
             directiveWiringRequired = false;
         }
 
+        /*
+         * Directive wiring needs the whole schema and a wiring factory can provide data fetchers that depend on the built field
+         * definitions, so both of these need the schema to be built eagerly
+         */
+        private static boolean lazyTypesSupported(RuntimeWiring wiring) {
+            return wiring.getWiringFactory().getClass() == NoopWiringFactory.class
+                    && wiring.getRegisteredDirectiveWiring().isEmpty()
+                    && wiring.getDirectiveWiring().isEmpty();
+        }
+
+        public boolean isLazyTypes() {
+            return lazyTypes;
+        }
+
         public boolean isDirectiveWiringRequired() {
             return directiveWiringRequired;
         }
@@ -209,13 +235,42 @@ public class SchemaGeneratorHelper {
         }
 
         public boolean isCaptureAstDefinitions() {
-            return options.isCaptureAstDefinitions();
+            // AST definitions carry source locations that differ from schema to schema, and so would stop elements being pooled
+            return options.isCaptureAstDefinitions() && elementPool == null;
+        }
+
+        String pooled(String description) {
+            return elementPool == null ? description : elementPool.description(description);
+        }
+
+        GraphQLScalarType pooled(GraphQLScalarType scalar) {
+            return elementPool == null ? scalar : elementPool.scalar(scalar);
+        }
+
+        GraphQLEnumType pooled(GraphQLEnumType enumType) {
+            return elementPool == null ? enumType : elementPool.enumType(enumType);
+        }
+
+        GraphQLInputObjectType pooled(GraphQLInputObjectType inputObjectType) {
+            return elementPool == null ? inputObjectType : elementPool.inputObjectType(inputObjectType);
+        }
+
+        GraphQLDirective pooled(GraphQLDirective directive) {
+            return elementPool == null ? directive : elementPool.directive(directive);
+        }
+
+        GraphQLDirective pooledDefinition(GraphQLDirective directiveDefinition) {
+            return elementPool == null ? directiveDefinition : elementPool.directiveDefinition(directiveDefinition);
+        }
+
+        GraphQLAppliedDirective pooled(GraphQLAppliedDirective appliedDirective) {
+            return elementPool == null ? appliedDirective : elementPool.appliedDirective(appliedDirective);
         }
     }
 
     static String buildDescription(BuildContext buildContext, Node<?> node, Description description) {
         if (description != null) {
-            return description.getContent();
+            return buildContext.pooled(description.getContent());
         }
         if (!buildContext.options.isUseCommentsAsDescription()) {
             return null;
@@ -233,7 +288,7 @@ public class SchemaGeneratorHelper {
         if (lines.size() == 0) {
             return null;
         }
-        return String.join("\n", lines);
+        return buildContext.pooled(String.join("\n", lines));
     }
 
     String buildDeprecationReason(List<Directive> directives) {
@@ -321,7 +376,7 @@ public class SchemaGeneratorHelper {
             }
         }));
 
-        return directivesObserve(buildCtx, builder.build());
+        return directivesObserve(buildCtx, buildCtx.pooled(builder.build()));
     }
 
     private GraphQLInputObjectField buildInputField(BuildContext buildCtx, InputValueDefinition fieldDef) {
@@ -387,7 +442,7 @@ public class SchemaGeneratorHelper {
 
         buildAppliedDirectives(buildCtx, builder, appliedDirectives);
 
-        return directivesObserve(buildCtx, builder.build());
+        return directivesObserve(buildCtx, buildCtx.pooled(builder.build()));
     }
 
     private GraphQLEnumValueDefinition buildEnumValue(BuildContext buildCtx,
@@ -464,6 +519,7 @@ public class SchemaGeneratorHelper {
 
                 buildAppliedDirectives(buildCtx, builder, appliedDirectives);
             });
+            scalar = buildCtx.pooled(scalar);
         }
         return directivesObserve(buildCtx, scalar);
     }
@@ -591,17 +647,12 @@ public class SchemaGeneratorHelper {
                 buildCtx.getComparatorRegistry());
         buildAppliedDirectives(buildCtx, builder, appliedDirectives);
 
-        typeDefinition.getFieldDefinitions().forEach(fieldDef -> {
-            GraphQLFieldDefinition fieldDefinition = buildField(buildCtx, typeDefinition, fieldDef);
-            builder.field(fieldDefinition);
-        });
-
-        extensions.forEach(extension -> extension.getFieldDefinitions().forEach(fieldDef -> {
-            GraphQLFieldDefinition fieldDefinition = buildField(buildCtx, typeDefinition, fieldDef);
-            if (!builder.hasField(fieldDefinition.getName())) {
-                builder.field(fieldDefinition);
-            }
-        }));
+        List<FieldDefinition> extensionFieldDefinitions = extensionFieldDefinitions(extensions);
+        if (buildCtx.isLazyTypes()) {
+            builder.lazyFields(new LazyFieldDefinitions(buildCtx, () -> buildFields(buildCtx, typeDefinition, extensionFieldDefinitions)));
+        } else {
+            buildFields(buildCtx, typeDefinition, extensionFieldDefinitions).forEach(builder::field);
+        }
 
         buildInterfaceTypeInterfaces(buildCtx, typeDefinition, builder, extensions);
 
@@ -632,21 +683,67 @@ public class SchemaGeneratorHelper {
                 buildCtx.getComparatorRegistry());
         buildAppliedDirectives(buildCtx, builder, appliedDirectives);
 
+        List<FieldDefinition> extensionFieldDefinitions = extensionFieldDefinitions(extensions);
+        if (buildCtx.isLazyTypes()) {
+            builder.lazyFields(new LazyFieldDefinitions(buildCtx, () -> buildFields(buildCtx, typeDefinition, extensionFieldDefinitions)));
+        } else {
+            buildFields(buildCtx, typeDefinition, extensionFieldDefinitions).forEach(builder::field);
+        }
+
+        buildObjectTypeInterfaces(buildCtx, typeDefinition, builder, extensions);
+
+        return directivesObserve(buildCtx, builder.build());
+    }
+
+    private List<FieldDefinition> extensionFieldDefinitions(List<? extends ImplementingTypeDefinition<?>> extensions) {
+        List<FieldDefinition> fieldDefinitions = new ArrayList<>();
+        extensions.forEach(extension -> fieldDefinitions.addAll(extension.getFieldDefinitions()));
+        return fieldDefinitions;
+    }
+
+    private List<GraphQLFieldDefinition> buildFields(BuildContext buildCtx, ImplementingTypeDefinition<?> typeDefinition, List<FieldDefinition> extensionFieldDefinitions) {
+        Map<String, GraphQLFieldDefinition> fields = new LinkedHashMap<>();
         typeDefinition.getFieldDefinitions().forEach(fieldDef -> {
             GraphQLFieldDefinition fieldDefinition = buildField(buildCtx, typeDefinition, fieldDef);
-            builder.field(fieldDefinition);
+            fields.put(fieldDefinition.getName(), fieldDefinition);
         });
 
-        extensions.forEach(extension -> extension.getFieldDefinitions().forEach(fieldDef -> {
+        extensionFieldDefinitions.forEach(fieldDef -> {
             GraphQLFieldDefinition fieldDefinition = buildField(buildCtx, typeDefinition, fieldDef);
-            if (!builder.hasField(fieldDefinition.getName())) {
-                builder.field(fieldDefinition);
-            }
-        }));
+            fields.putIfAbsent(fieldDefinition.getName(), fieldDefinition);
+        });
+        return new ArrayList<>(fields.values());
+    }
 
-        buildObjectTypeInterfaces(buildCtx, typeDefinition, builder, extensions);
+    /**
+     * This builds the field definitions of an object or interface type the first time they are asked for.  The build context
+     * is not thread safe and so only one type has its fields built at a time.  The build context is let go of once the
+     * fields have been built.
+     */
+    private static class LazyFieldDefinitions implements Supplier<List<GraphQLFieldDefinition>> {
+        private final LockKit.ReentrantLock lock;
+        private Supplier<List<GraphQLFieldDefinition>> fieldsBuilder;
+        private volatile List<GraphQLFieldDefinition> fieldDefinitions;
+
+        LazyFieldDefinitions(BuildContext buildCtx, Supplier<List<GraphQLFieldDefinition>> fieldsBuilder) {
+            this.lock = buildCtx.lazyFieldsLock;
+            this.fieldsBuilder = fieldsBuilder;
+        }
 
-        return directivesObserve(buildCtx, builder.build());
+        @Override
+        public List<GraphQLFieldDefinition> get() {
+            List<GraphQLFieldDefinition> fields = fieldDefinitions;
+            if (fields != null) {
+                return fields;
+            }
+            return lock.callLocked(() -> {
+                if (fieldDefinitions == null) {
+                    fieldDefinitions = fieldsBuilder.get();
+                    fieldsBuilder = null;
+                }
+                return fieldDefinitions;
+            });
+        }
     }
 
     private void buildObjectTypeInterfaces(BuildContext buildCtx,
@@ -798,9 +895,10 @@ public class SchemaGeneratorHelper {
         builder.type(fieldType);
 
         GraphQLFieldDefinition fieldDefinition = builder.build();
-        // if they have already wired in a fetcher - then leave it alone
+        // the data fetchers of lazy fields have been wired up front since the code registry is in use by the time they are built
+        // and if they have already wired in a fetcher - then leave it alone
         FieldCoordinates coordinates = FieldCoordinates.coordinates(parentType.getName(), fieldDefinition.getName());
-        if (!buildCtx.getCodeRegistry().hasDataFetcher(coordinates)) {
+        if (!buildCtx.isLazyTypes() && !buildCtx.getCodeRegistry().hasDataFetcher(coordinates)) {
             Optional<DataFetcherFactory<?>> dataFetcherFactory = buildDataFetcherFactory(buildCtx,
                     parentType,
                     fieldDef,
@@ -1065,6 +1163,72 @@ public class SchemaGeneratorHelper {
         return detachedTypeNames;
     }
 
+    /**
+     * In lazy mode the field definitions are built after the code registry is in use, so the data fetchers of the fields are
+     * wired up front from the field names of the type definitions.  This gives the same data fetchers as eagerly built fields
+     * since lazy mode is only used when there is no wiring factory to provide data fetchers from the built fields.
+     *
+     * @param buildCtx the context we need to work out what we are doing
+     */
+    void buildLazyFieldDataFetchers(BuildContext buildCtx) {
+        RuntimeWiring wiring = buildCtx.getWiring();
+        GraphQLCodeRegistry.Builder codeRegistry = buildCtx.getCodeRegistry();
+        for (TypeDefinition<?> typeDefinition : buildCtx.getTypeRegistry().types().values()) {
+            List<FieldDefinition> fieldDefinitions;
+            if (typeDefinition instanceof ObjectTypeDefinition) {
+                fieldDefinitions = new ArrayList<>(((ObjectTypeDefinition) typeDefinition).getFieldDefinitions());
+                fieldDefinitions.addAll(extensionFieldDefinitions(objectTypeExtensions((ObjectTypeDefinition) typeDefinition, buildCtx)));
+            } else if (typeDefinition instanceof InterfaceTypeDefinition) {
+                fieldDefinitions = new ArrayList<>(((InterfaceTypeDefinition) typeDefinition).getFieldDefinitions());
+                fieldDefinitions.addAll(extensionFieldDefinitions(interfaceTypeExtensions((InterfaceTypeDefinition) typeDefinition, buildCtx)));
+            } else {
+                continue;
+            }
+            String typeName = typeDefinition.getName();
+            Map<String, DataFetcher> typeDataFetchers = wiring.getDataFetchersForType(typeName);
+            DataFetcher<?> defaultDataFetcher = wiring.getDefaultDataFetcherForType(typeName);
+            for (FieldDefinition fieldDefinition : fieldDefinitions) {
+                DataFetcher<?> dataFetcher = typeDataFetchers.get(fieldDefinition.getName());
+                if (dataFetcher == null) {
+                    dataFetcher = defaultDataFetcher;
+                }
+                // otherwise the code registry default data fetcher is used when it's asked for
+                if (dataFetcher != null) {
+                    FieldCoordinates coordinates = FieldCoordinates.coordinates(typeName, fieldDefinition.getName());
+                    if (!codeRegistry.hasDataFetcher(coordinates)) {
+                        codeRegistry.dataFetcher(coordinates, DataFetcherFactories.useDataFetcher(dataFetcher));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * In lazy mode the schema types are not collected by traversing the schema, since that would build all the field definitions,
+     * and so they are all taken from the build context instead.  Type references outside of field definitions are replaced here,
+     * while lazily built field definitions refer to the built types directly.
+     *
+     * @param buildCtx the context we need to work out what we are doing
+     *
+     * @return all the named types of the schema other than the introspection types
+     */
+    Map<String, GraphQLNamedType> buildLazyTypeMap(BuildContext buildCtx) {
+        // the specified scalars are always part of the lazy schema since it's not known up front which are used by fields
+        for (ScalarTypeDefinition scalarTypeDefinition : buildCtx.getTypeRegistry().scalars().values()) {
+            if (buildCtx.hasInputType(scalarTypeDefinition) == null) {
+                buildCtx.putOutputType(buildScalar(buildCtx, scalarTypeDefinition));
+            }
+        }
+        Map<String, GraphQLNamedType> types = new LinkedHashMap<>();
+        buildCtx.outputGTypes.values().forEach(type -> types.put(((GraphQLNamedType) type).getName(), (GraphQLNamedType) type));
+        buildCtx.inputGTypes.values().forEach(type -> types.put(((GraphQLNamedType) type).getName(), (GraphQLNamedType) type));
+
+        List<GraphQLSchemaElement> roots = new ArrayList<>(types.values());
+        roots.addAll(buildCtx.getDirectives());
+        SchemaUtil.replaceTypeReferencesOutsideLazyFields(types, roots);
+        return types;
+    }
+
     Set<GraphQLDirective> buildAdditionalDirectiveDefinitions(BuildContext buildCtx) {
         Set<GraphQLDirective> additionalDirectives = new LinkedHashSet<>();
         TypeDefinitionRegistry typeRegistry = buildCtx.getTypeRegistry();
@@ -1075,7 +1239,7 @@ public class SchemaGeneratorHelper {
                 // skip and include directives are added by default to the GraphQLSchema via the GraphQLSchema builder.
                 continue;
             }
-            GraphQLDirective directive = buildDirectiveDefinitionFromAst(buildCtx, directiveDefinition, inputTypeFactory(buildCtx));
+            GraphQLDirective directive = buildCtx.pooledDefinition(buildDirectiveDefinitionFromAst(buildCtx, directiveDefinition, inputTypeFactory(buildCtx)));
             buildCtx.addDirectiveDefinition(directive);
             additionalDirectives.add(directive);
         }
@@ -50,15 +50,23 @@ import graphql.schema.GraphqlTypeComparatorRegistry;
 import graphql.schema.InputValueWithState;
 import graphql.schema.visibility.GraphqlFieldVisibility;
 
+import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
-import java.util.LinkedHashMap;
+import java.util.Deque;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -461,7 +469,7 @@ public class SchemaPrinter {
         }
     }
 
-    private final Map<Class<?>, SchemaElementPrinter<?>> printers = new LinkedHashMap<>();
+    private final Map<Class<?>, SchemaElementPrinter<?>> printers = new ConcurrentHashMap<>();
 
     private final Options options;
 
@@ -504,12 +512,46 @@ public class SchemaPrinter {
      * @return the logical schema definition
      */
     public String print(GraphQLSchema schema) {
-        StringWriter sw = new StringWriter();
-        PrintWriter out = new PrintWriter(sw);
+        StringBuilder sb = new StringBuilder();
+        try {
+            print(schema, sb);
+        } catch (IOException e) {
+            return Assert.assertShouldNeverHappen("A StringBuilder can't fail to be appended to");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * This prints an in memory GraphQL schema to the output one schema element at a time, rather than building the whole logical schema
+     * definition in memory first.  The output is the same as {@link #print(GraphQLSchema)}.
+     *
+     * @param schema the schema in play
+     * @param out    the output to print to, such as a {@link java.io.Writer}, which is not flushed or closed
+     *
+     * @throws IOException if the output can't be appended to
+     */
+    public void print(GraphQLSchema schema, Appendable out) throws IOException {
+        print(schema, out, null);
+    }
+
+    /**
+     * This prints an in memory GraphQL schema to the output, with the schema elements printed in chunks on the executor.  The chunks are
+     * appended to the output in order as they are done and only a bounded number of chunks are printed ahead of the output, so the whole
+     * logical schema definition is never held in memory.  The output is the same as {@link #print(GraphQLSchema)}.
+     *
+     * @param schema   the schema in play
+     * @param out      the output to print to, such as a {@link java.io.Writer}, which is not flushed or closed
+     * @param executor the executor to print the chunks on, or null to print them on the calling thread
+     *
+     * @throws IOException if the output can't be appended to
+     */
+    public void print(GraphQLSchema schema, Appendable out, Executor executor) throws IOException {
+        TrailingNewLineTrimmingWriter writer = new TrailingNewLineTrimmingWriter(out);
+        PrintWriter printWriter = new PrintWriter(writer);
 
         GraphqlFieldVisibility visibility = schema.getCodeRegistry().getFieldVisibility();
 
-        printer(schema.getClass()).print(out, schema, visibility);
+        printer(schema.getClass()).print(printWriter, schema, visibility);
         Comparator<? super GraphQLSchemaElement> comparator = getComparator(GraphQLSchemaElement.class, null);
 
         Stream<? extends GraphQLSchemaElement> directivesAndTypes = Stream.concat(
@@ -522,11 +564,116 @@ public class SchemaPrinter {
                 .sorted(comparator)
                 .collect(toList());
 
-        for (GraphQLSchemaElement element : elements) {
+        if (executor == null) {
+            for (GraphQLSchemaElement element : elements) {
+                printSchemaElement(printWriter, element, visibility);
+            }
+        } else {
+            printWriter.flush();
+            Deque<CompletableFuture<String>> chunks = new ArrayDeque<>();
+            for (int from = 0; from < elements.size(); from += PARALLEL_CHUNK_SIZE) {
+                List<GraphQLSchemaElement> chunk = elements.subList(from, Math.min(from + PARALLEL_CHUNK_SIZE, elements.size()));
+                chunks.add(CompletableFuture.supplyAsync(() -> printChunk(chunk, visibility), executor));
+                if (chunks.size() >= PARALLEL_CHUNKS_AHEAD) {
+                    writer.write(joinChunk(chunks.removeFirst()));
+                }
+            }
+            while (!chunks.isEmpty()) {
+                writer.write(joinChunk(chunks.removeFirst()));
+            }
+        }
+        printWriter.flush();
+        writer.finish();
+    }
+
+    private static final int PARALLEL_CHUNK_SIZE = 64;
+    private static final int PARALLEL_CHUNKS_AHEAD = 16;
+
+    private String printChunk(List<GraphQLSchemaElement> chunk, GraphqlFieldVisibility visibility) {
+        StringWriter sw = new StringWriter();
+        PrintWriter out = new PrintWriter(sw);
+        for (GraphQLSchemaElement element : chunk) {
             printSchemaElement(out, element, visibility);
         }
+        return sw.toString();
+    }
 
-        return trimNewLineChars(sw.toString());
+    private static String joinChunk(CompletableFuture<String> chunk) {
+        try {
+            return chunk.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /*
+     * This writes through to the output, other than holding back the new lines at the end so that a schema printed as a whole
+     * ends in a single new line, the same as trimNewLineChars does for printed strings
+     */
+    private static class TrailingNewLineTrimmingWriter extends Writer {
+        private final Appendable out;
+        private int trailingNewLines;
+        private IOException failure;
+
+        TrailingNewLineTrimmingWriter(Appendable out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            write(CharBuffer.wrap(cbuf), off, len);
+        }
+
+        @Override
+        public void write(String str, int off, int len) throws IOException {
+            write((CharSequence) str, off, len);
+        }
+
+        private void write(CharSequence chars, int off, int len) throws IOException {
+            int end = off + len;
+            int contentEnd = end;
+            while (contentEnd > off && chars.charAt(contentEnd - 1) == '\n') {
+                contentEnd--;
+            }
+            if (contentEnd == off) {
+                trailingNewLines += len;
+                return;
+            }
+            try {
+                appendNewLines(trailingNewLines);
+                out.append(chars, off, contentEnd);
+            } catch (IOException e) {
+                // the print writer swallows exceptions so they are kept to be thrown at the end
+                failure = e;
+                throw e;
+            }
+            trailingNewLines = end - contentEnd;
+        }
+
+        private void appendNewLines(int count) throws IOException {
+            for (int i = 0; i < count; i++) {
+                out.append('\n');
+            }
+        }
+
+        void finish() throws IOException {
+            if (failure != null) {
+                throw failure;
+            }
+            appendNewLines(trailingNewLines >= 2 ? trailingNewLines - 1 : trailingNewLines);
+            trailingNewLines = 0;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
     }
 
     private interface SchemaElementPrinter<T> {
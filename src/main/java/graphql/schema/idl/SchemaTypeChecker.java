@@ -36,6 +36,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -53,33 +56,92 @@ import static java.util.stream.Collectors.toList;
 public class SchemaTypeChecker {
 
     public List<GraphQLError> checkTypeRegistry(TypeDefinitionRegistry typeRegistry, RuntimeWiring wiring) throws SchemaProblem {
-        List<GraphQLError> errors = new ArrayList<>();
-        checkForMissingTypes(errors, typeRegistry);
+        return checkTypeRegistry(typeRegistry, wiring, null);
+    }
 
-        SchemaTypeExtensionsChecker typeExtensionsChecker = new SchemaTypeExtensionsChecker();
+    /**
+     * The checks only read the type registry and so they can be run at the same time on an executor.  The errors are
+     * gathered per check and put together in check order, so the result is the same as running them one after the other.
+     * <p>
+     * The checks that call the {@link WiringFactory} or the scalars of the runtime wiring are always run on the calling
+     * thread, since those are not required to be thread safe.
+     *
+     * @param typeRegistry the type registry to check
+     * @param wiring       the runtime wiring
+     * @param executor     the executor to run the checks on or null to run them on the calling thread
+     *
+     * @return the list of schema errors
+     *
+     * @throws SchemaProblem if a check cannot continue
+     */
+    public List<GraphQLError> checkTypeRegistry(TypeDefinitionRegistry typeRegistry, RuntimeWiring wiring, Executor executor) throws SchemaProblem {
+        List<TypeCheck> checks = new ArrayList<>();
+        checks.add(new TypeCheck(false, errors -> checkForMissingTypes(errors, typeRegistry)));
 
-        typeExtensionsChecker.checkTypeExtensions(errors, typeRegistry);
+        checks.add(new TypeCheck(false, errors -> new SchemaTypeExtensionsChecker().checkTypeExtensions(errors, typeRegistry)));
+        checks.add(new TypeCheck(false, errors -> new ImplementingTypesChecker().checkImplementingTypes(errors, typeRegistry)));
+        checks.add(new TypeCheck(false, errors -> new UnionTypesChecker().checkUnionType(errors, typeRegistry)));
+        checks.add(new TypeCheck(false, errors -> SchemaExtensionsChecker.checkSchemaInvariants(errors, typeRegistry)));
 
-        ImplementingTypesChecker implementingTypesChecker = new ImplementingTypesChecker();
-        implementingTypesChecker.checkImplementingTypes(errors, typeRegistry);
+        checks.add(new TypeCheck(true, errors -> checkScalarImplementationsArePresent(errors, typeRegistry, wiring)));
+        checks.add(new TypeCheck(true, errors -> checkTypeResolversArePresent(errors, typeRegistry, wiring)));
 
-        UnionTypesChecker unionTypesChecker = new UnionTypesChecker();
-        unionTypesChecker.checkUnionType(errors, typeRegistry);
+        checks.add(new TypeCheck(false, errors -> checkFieldsAreSensible(errors, typeRegistry)));
 
-        SchemaExtensionsChecker.checkSchemaInvariants(errors, typeRegistry);
+        // errors in directive definitions are reported before errors in directive usages
+        checks.add(new TypeCheck(false, errors -> checkDirectiveDefinitions(typeRegistry, errors)));
 
-        checkScalarImplementationsArePresent(errors, typeRegistry, wiring);
-        checkTypeResolversArePresent(errors, typeRegistry, wiring);
+        // directive argument values are checked by the scalars of the wiring
+        checks.add(new TypeCheck(true, errors -> new SchemaTypeDirectivesChecker(typeRegistry, wiring).checkTypeDirectives(errors)));
 
-        checkFieldsAreSensible(errors, typeRegistry);
+        List<GraphQLError> errors = new ArrayList<>();
+        if (executor == null) {
+            checks.forEach(check -> check.check.accept(errors));
+            return errors;
+        }
+
+        List<CompletableFuture<List<GraphQLError>>> checkResults = new ArrayList<>();
+        for (TypeCheck check : checks) {
+            checkResults.add(check.callsWiring ? new CompletableFuture<>() : CompletableFuture.supplyAsync(check::run, executor));
+        }
+        // the checks that call the wiring run here while the others run on the executor
+        for (int i = 0; i < checks.size(); i++) {
+            TypeCheck check = checks.get(i);
+            if (check.callsWiring) {
+                try {
+                    checkResults.get(i).complete(check.run());
+                } catch (RuntimeException e) {
+                    checkResults.get(i).completeExceptionally(e);
+                }
+            }
+        }
+        for (CompletableFuture<List<GraphQLError>> checkResult : checkResults) {
+            try {
+                errors.addAll(checkResult.join());
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+        }
+        return errors;
+    }
 
-        //check directive definitions before checking directive usages
-        checkDirectiveDefinitions(typeRegistry, errors);
+    private static class TypeCheck {
+        private final boolean callsWiring;
+        private final Consumer<List<GraphQLError>> check;
 
-        SchemaTypeDirectivesChecker directivesChecker = new SchemaTypeDirectivesChecker(typeRegistry, wiring);
-        directivesChecker.checkTypeDirectives(errors);
+        TypeCheck(boolean callsWiring, Consumer<List<GraphQLError>> check) {
+            this.callsWiring = callsWiring;
+            this.check = check;
+        }
 
-        return errors;
+        List<GraphQLError> run() {
+            List<GraphQLError> checkErrors = new ArrayList<>();
+            check.accept(checkErrors);
+            return checkErrors;
+        }
     }
 
     private void checkForMissingTypes(List<GraphQLError> errors, TypeDefinitionRegistry typeRegistry) {
@@ -5,7 +5,9 @@ import com.google.common.collect.ImmutableMap;
 import graphql.Internal;
 import graphql.execution.MissingRootTypeException;
 import graphql.language.OperationDefinition;
+import graphql.schema.GraphQLDirectiveContainer;
 import graphql.schema.GraphQLImplementingType;
+import graphql.schema.GraphQLInterfaceType;
 import graphql.schema.GraphQLNamedOutputType;
 import graphql.schema.GraphQLNamedType;
 import graphql.schema.GraphQLObjectType;
@@ -105,6 +107,31 @@ public class SchemaUtil {
         schemaTraverser.depthFirst(new GraphQLTypeResolvingVisitor(typeMap), roots);
     }
 
+    /**
+     * This replaces the type references in types whose field definitions may not have been created yet, without creating them.
+     * Lazily created field definitions are expected to refer to the resolved types directly.
+     *
+     * @param typeMap the named types to resolve type references against
+     * @param roots   the schema elements to replace type references in
+     */
+    public static void replaceTypeReferencesOutsideLazyFields(Map<String, GraphQLNamedType> typeMap, List<GraphQLSchemaElement> roots) {
+        SchemaTraverser schemaTraverser = new SchemaTraverser(SchemaUtil::childrenOutsideLazyFields);
+        schemaTraverser.depthFirst(new GraphQLTypeResolvingVisitor(typeMap), roots);
+    }
+
+    private static List<GraphQLSchemaElement> childrenOutsideLazyFields(GraphQLSchemaElement schemaElement) {
+        boolean lazyFields = (schemaElement instanceof GraphQLObjectType && !((GraphQLObjectType) schemaElement).isFieldDefinitionsMaterialized())
+                || (schemaElement instanceof GraphQLInterfaceType && !((GraphQLInterfaceType) schemaElement).isFieldDefinitionsMaterialized());
+        if (!lazyFields) {
+            return schemaElement.getChildrenWithTypeReferences().getChildrenAsList();
+        }
+        List<GraphQLSchemaElement> children = new ArrayList<>(((GraphQLImplementingType) schemaElement).getInterfaces());
+        GraphQLDirectiveContainer directiveContainer = (GraphQLDirectiveContainer) schemaElement;
+        children.addAll(directiveContainer.getDirectives());
+        children.addAll(directiveContainer.getAppliedDirectives());
+        return children;
+    }
+
     public static GraphQLObjectType getOperationRootType(GraphQLSchema graphQLSchema, OperationDefinition operationDefinition) {
         OperationDefinition.Operation operation = operationDefinition.getOperation();
         if (operation == MUTATION) {
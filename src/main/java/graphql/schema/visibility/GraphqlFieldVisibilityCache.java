@@ -0,0 +1,122 @@
+package graphql.schema.visibility;
+
+import graphql.PublicApi;
+import graphql.schema.GraphQLSchema;
+import graphql.util.LockKit;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import static graphql.Assert.assertNotNull;
+
+/**
+ * A field visibility cache turns a schema and a visibility key, such as the roles of a user, into a {@link PrecomputedGraphqlFieldVisibility}
+ * and a schema that uses it, and keeps them so that every request with the same key and schema can reuse them.
+ * <p>
+ * The field visibility for a key comes from the visibility policy given to the cache.  When the policy changes, {@link #invalidate(Object)}
+ * or {@link #invalidateAll()} evict what was worked out from it.  The cache only holds schemas weakly, so everything worked out for a
+ * schema is evicted once the schema is no longer used, such as when it has been replaced by a newer schema.
+ * <pre>
+ * {@code
+ *  GraphqlFieldVisibilityCache<Set<String>> cache = GraphqlFieldVisibilityCache.newCache(roles -> roleBasedVisibility(roles));
+ *  ...
+ *  GraphQLSchema schemaForUser = cache.getSchema(schema, user.getRoles());
+ * }
+ * </pre>
+ *
+ * @param <K> the type of the visibility keys
+ */
+@PublicApi
+public class GraphqlFieldVisibilityCache<K> {
+
+    private final Function<K, GraphqlFieldVisibility> visibilityPolicy;
+    private final LockKit.ReentrantLock lock = new LockKit.ReentrantLock();
+    private final Map<GraphQLSchema, SchemaViews<K>> viewsBySchema = new WeakHashMap<>();
+
+    private GraphqlFieldVisibilityCache(Function<K, GraphqlFieldVisibility> visibilityPolicy) {
+        this.visibilityPolicy = assertNotNull(visibilityPolicy, () -> "visibilityPolicy can't be null");
+    }
+
+    /**
+     * Creates a new field visibility cache
+     *
+     * @param visibilityPolicy the function that gives the field visibility for a visibility key
+     * @param <K>              the type of the visibility keys
+     *
+     * @return a new field visibility cache
+     */
+    public static <K> GraphqlFieldVisibilityCache<K> newCache(Function<K, GraphqlFieldVisibility> visibilityPolicy) {
+        return new GraphqlFieldVisibilityCache<>(visibilityPolicy);
+    }
+
+    /**
+     * Gets the precomputed field visibility for the schema and visibility key, working it out the first time it is asked for
+     *
+     * @param schema the schema
+     * @param key    the visibility key
+     *
+     * @return the precomputed field visibility
+     */
+    public PrecomputedGraphqlFieldVisibility getFieldVisibility(GraphQLSchema schema, K key) {
+        return getView(schema, key).fieldVisibility;
+    }
+
+    /**
+     * Gets a schema that is the same as the given schema other than it uses the precomputed field visibility for the visibility key
+     *
+     * @param schema the schema
+     * @param key    the visibility key
+     *
+     * @return the schema that uses the precomputed field visibility for the key
+     */
+    public GraphQLSchema getSchema(GraphQLSchema schema, K key) {
+        return getView(schema, key).schema;
+    }
+
+    /**
+     * Evicts everything worked out for a visibility key, for example because the policy for it has changed
+     *
+     * @param key the visibility key
+     */
+    public void invalidate(K key) {
+        lock.runLocked(() -> viewsBySchema.values().forEach(schemaViews -> schemaViews.views.remove(key)));
+    }
+
+    /**
+     * Evicts everything worked out, for example because the visibility policy has changed
+     */
+    public void invalidateAll() {
+        lock.runLocked(viewsBySchema::clear);
+    }
+
+    private View getView(GraphQLSchema schema, K key) {
+        assertNotNull(schema, () -> "schema can't be null");
+        SchemaViews<K> schemaViews = lock.callLocked(() -> viewsBySchema.computeIfAbsent(schema, SchemaViews::new));
+        return schemaViews.views.computeIfAbsent(key, k -> {
+            GraphqlFieldVisibility fieldVisibility = assertNotNull(visibilityPolicy.apply(k), () -> "the visibility policy gave no field visibility");
+            return new View(schema, PrecomputedGraphqlFieldVisibility.precompute(schema, fieldVisibility, schemaViews.fieldPositions));
+        });
+    }
+
+    private static class SchemaViews<K> {
+        private final PrecomputedGraphqlFieldVisibility.FieldPositions fieldPositions;
+        private final Map<K, View> views = new ConcurrentHashMap<>();
+
+        SchemaViews(GraphQLSchema schema) {
+            this.fieldPositions = new PrecomputedGraphqlFieldVisibility.FieldPositions(schema);
+        }
+    }
+
+    private static class View {
+        private final PrecomputedGraphqlFieldVisibility fieldVisibility;
+        private final GraphQLSchema schema;
+
+        View(GraphQLSchema schema, PrecomputedGraphqlFieldVisibility fieldVisibility) {
+            this.fieldVisibility = fieldVisibility;
+            this.schema = schema.transformWithoutTypes(builder ->
+                    builder.codeRegistry(schema.getCodeRegistry().transform(codeRegistry -> codeRegistry.fieldVisibility(fieldVisibility))));
+        }
+    }
+}
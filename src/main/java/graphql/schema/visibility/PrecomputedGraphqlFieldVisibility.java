@@ -0,0 +1,166 @@
+package graphql.schema.visibility;
+
+import graphql.PublicApi;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLFieldsContainer;
+import graphql.schema.GraphQLInputFieldsContainer;
+import graphql.schema.GraphQLInputObjectField;
+import graphql.schema.GraphQLNamedSchemaElement;
+import graphql.schema.GraphQLNamedType;
+import graphql.schema.GraphQLSchema;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This field visibility asks another field visibility about every field of a schema once, up front, and then answers from what it
+ * was told.  Each object type, interface type and input object type of the schema keeps a {@link BitSet} of its visible fields
+ * and the list of its visible fields, so a precomputed visibility costs a bit and a list entry per field, and answering is a
+ * map lookup and a bit test or a list that is ready to be returned.
+ * <p>
+ * This is useful when a field visibility does real work on each call, since field visibility is asked constantly during
+ * validation, execution and introspection.  The field visibility that is precomputed must give the same answers for the same
+ * schema every time it is asked.
+ * <p>
+ * Types that are not part of the schema, such as types of another schema, are passed on to the field visibility that was precomputed.
+ *
+ * @see GraphqlFieldVisibilityCache
+ */
+@PublicApi
+public class PrecomputedGraphqlFieldVisibility implements GraphqlFieldVisibility {
+
+    private final GraphqlFieldVisibility fieldVisibility;
+    private final FieldPositions fieldPositions;
+    private final Map<GraphQLNamedType, VisibleFields<GraphQLFieldDefinition>> outputFields = new IdentityHashMap<>();
+    private final Map<GraphQLNamedType, VisibleFields<GraphQLInputObjectField>> inputFields = new IdentityHashMap<>();
+
+    private PrecomputedGraphqlFieldVisibility(GraphQLSchema schema, GraphqlFieldVisibility fieldVisibility, FieldPositions fieldPositions) {
+        this.fieldVisibility = fieldVisibility;
+        this.fieldPositions = fieldPositions;
+        for (GraphQLNamedType type : schema.getAllTypesAsList()) {
+            if (type instanceof GraphQLFieldsContainer) {
+                GraphQLFieldsContainer fieldsContainer = (GraphQLFieldsContainer) type;
+                List<GraphQLFieldDefinition> fieldDefinitions = fieldsContainer.getFieldDefinitions();
+                BitSet visible = new BitSet(fieldDefinitions.size());
+                for (int i = 0; i < fieldDefinitions.size(); i++) {
+                    visible.set(i, fieldVisibility.getFieldDefinition(fieldsContainer, fieldDefinitions.get(i).getName()) != null);
+                }
+                outputFields.put(type, new VisibleFields<>(fieldVisibility.getFieldDefinitions(fieldsContainer), visible));
+            } else if (type instanceof GraphQLInputFieldsContainer) {
+                GraphQLInputFieldsContainer fieldsContainer = (GraphQLInputFieldsContainer) type;
+                List<GraphQLInputObjectField> fieldDefinitions = fieldsContainer.getFieldDefinitions();
+                BitSet visible = new BitSet(fieldDefinitions.size());
+                for (int i = 0; i < fieldDefinitions.size(); i++) {
+                    visible.set(i, fieldVisibility.getFieldDefinition(fieldsContainer, fieldDefinitions.get(i).getName()) != null);
+                }
+                inputFields.put(type, new VisibleFields<>(fieldVisibility.getFieldDefinitions(fieldsContainer), visible));
+            }
+        }
+    }
+
+    /**
+     * Precomputes the given field visibility for all the types of a schema
+     *
+     * @param schema          the schema whose types are to be precomputed
+     * @param fieldVisibility the field visibility to precompute
+     *
+     * @return a precomputed field visibility
+     */
+    public static PrecomputedGraphqlFieldVisibility precompute(GraphQLSchema schema, GraphqlFieldVisibility fieldVisibility) {
+        return precompute(schema, fieldVisibility, new FieldPositions(schema));
+    }
+
+    static PrecomputedGraphqlFieldVisibility precompute(GraphQLSchema schema, GraphqlFieldVisibility fieldVisibility, FieldPositions fieldPositions) {
+        return new PrecomputedGraphqlFieldVisibility(schema, fieldVisibility, fieldPositions);
+    }
+
+    /**
+     * @return the field visibility that was precomputed
+     */
+    public GraphqlFieldVisibility getFieldVisibility() {
+        return fieldVisibility;
+    }
+
+    @Override
+    public List<GraphQLFieldDefinition> getFieldDefinitions(GraphQLFieldsContainer fieldsContainer) {
+        VisibleFields<GraphQLFieldDefinition> visibleFields = outputFields.get(fieldsContainer);
+        if (visibleFields == null) {
+            return fieldVisibility.getFieldDefinitions(fieldsContainer);
+        }
+        return visibleFields.fieldDefinitions;
+    }
+
+    @Override
+    public GraphQLFieldDefinition getFieldDefinition(GraphQLFieldsContainer fieldsContainer, String fieldName) {
+        VisibleFields<GraphQLFieldDefinition> visibleFields = outputFields.get(fieldsContainer);
+        if (visibleFields == null) {
+            return fieldVisibility.getFieldDefinition(fieldsContainer, fieldName);
+        }
+        return visibleFields.isVisible(fieldPositions.position(fieldsContainer, fieldName)) ? fieldsContainer.getFieldDefinition(fieldName) : null;
+    }
+
+    @Override
+    public List<GraphQLInputObjectField> getFieldDefinitions(GraphQLInputFieldsContainer fieldsContainer) {
+        VisibleFields<GraphQLInputObjectField> visibleFields = inputFields.get(fieldsContainer);
+        if (visibleFields == null) {
+            return fieldVisibility.getFieldDefinitions(fieldsContainer);
+        }
+        return visibleFields.fieldDefinitions;
+    }
+
+    @Override
+    public GraphQLInputObjectField getFieldDefinition(GraphQLInputFieldsContainer fieldsContainer, String fieldName) {
+        VisibleFields<GraphQLInputObjectField> visibleFields = inputFields.get(fieldsContainer);
+        if (visibleFields == null) {
+            return fieldVisibility.getFieldDefinition(fieldsContainer, fieldName);
+        }
+        return visibleFields.isVisible(fieldPositions.position(fieldsContainer, fieldName)) ? fieldsContainer.getFieldDefinition(fieldName) : null;
+    }
+
+    private static class VisibleFields<T> {
+        private final List<T> fieldDefinitions;
+        private final BitSet visible;
+
+        VisibleFields(List<T> fieldDefinitions, BitSet visible) {
+            this.fieldDefinitions = fieldDefinitions;
+            this.visible = visible;
+        }
+
+        boolean isVisible(int position) {
+            return position >= 0 && visible.get(position);
+        }
+    }
+
+    /*
+     * The position of each field within its type, which is the same for every field visibility of a schema and so can be shared by them
+     */
+    static class FieldPositions {
+        private final Map<GraphQLNamedType, Map<String, Integer>> positionsByType = new IdentityHashMap<>();
+
+        FieldPositions(GraphQLSchema schema) {
+            for (GraphQLNamedType type : schema.getAllTypesAsList()) {
+                if (type instanceof GraphQLFieldsContainer) {
+                    positionsByType.put(type, positions(((GraphQLFieldsContainer) type).getFieldDefinitions()));
+                } else if (type instanceof GraphQLInputFieldsContainer) {
+                    positionsByType.put(type, positions(((GraphQLInputFieldsContainer) type).getFieldDefinitions()));
+                }
+            }
+        }
+
+        private static Map<String, Integer> positions(List<? extends GraphQLNamedSchemaElement> fieldDefinitions) {
+            Map<String, Integer> positions = new HashMap<>(fieldDefinitions.size() * 2);
+            for (int i = 0; i < fieldDefinitions.size(); i++) {
+                positions.put(fieldDefinitions.get(i).getName(), i);
+            }
+            return positions;
+        }
+
+        int position(GraphQLNamedType type, String fieldName) {
+            Integer position = positionsByType.get(type).get(fieldName);
+            return position == null ? -1 : position;
+        }
+    }
+}
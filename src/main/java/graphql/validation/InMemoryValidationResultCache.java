@@ -0,0 +1,148 @@
+package graphql.validation;
+
+import graphql.PublicApi;
+import graphql.collect.ImmutableKit;
+import graphql.language.AstPrinter;
+import graphql.language.Document;
+import graphql.schema.GraphQLSchema;
+import graphql.util.LockKit;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import static graphql.Assert.assertNotNull;
+import static graphql.Assert.assertTrue;
+
+/**
+ * A bounded, least recently used {@link ValidationResultCache} that remembers which documents have validated cleanly.
+ * <p>
+ * Documents are identified by their compact printed form, so the same operation text parsed into different
+ * {@link Document} objects will share the one cache entry.  The printed form is worked out once per {@link Document} object.
+ * Only documents without validation errors are cached, since error source locations depend on the exact text that was parsed,
+ * and invalid documents are the rare case.
+ * <p>
+ * By default, schemas are identified by object identity, without the cache keeping them from being garbage collected.  If you
+ * rebuild structurally identical schemas (say on a hot reload) and want validation work to be shared between them, then supply
+ * a {@link Builder#schemaFingerprint(Function)} such as a version of your schema.
+ * <p>
+ * The rule predicate is compared with {@link Object#equals(Object)}, which for a lambda is object identity.  So if you set one via
+ * {@link graphql.ParseAndValidate#INTERNAL_VALIDATION_PREDICATE_HINT}, reuse the same predicate object across requests, say a
+ * constant, or every request will miss the cache.
+ */
+@PublicApi
+public class InMemoryValidationResultCache implements ValidationResultCache {
+
+    private final int maxEntries;
+    private final Function<GraphQLSchema, Object> schemaFingerprint;
+    private final Map<ValidationResultCacheKey, Boolean> validDocuments;
+    private final Map<Document, String> documentFingerprints = new WeakHashMap<>();
+    private final Map<GraphQLSchema, Object> schemaFingerprints = new WeakHashMap<>();
+    private final LockKit.ReentrantLock lock = new LockKit.ReentrantLock();
+
+    private InMemoryValidationResultCache(Builder builder) {
+        this.maxEntries = builder.maxEntries;
+        this.schemaFingerprint = builder.schemaFingerprint;
+        this.validDocuments = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ValidationResultCacheKey, Boolean> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * @return the number of valid documents currently in the cache
+     */
+    public int size() {
+        return lock.callLocked(validDocuments::size);
+    }
+
+    /**
+     * Removes all entries from the cache
+     */
+    public void clear() {
+        lock.runLocked(validDocuments::clear);
+    }
+
+    @Override
+    public List<ValidationError> getValidationErrors(GraphQLSchema graphQLSchema, Document document, Predicate<Class<?>> rulePredicate, Locale locale, Supplier<List<ValidationError>> validateFunction) {
+        ValidationResultCacheKey key = new ValidationResultCacheKey(getDocumentFingerprint(document), getSchemaFingerprint(graphQLSchema), rulePredicate, locale);
+        Boolean valid = lock.callLocked(() -> validDocuments.get(key));
+        if (valid != null) {
+            return ImmutableKit.emptyList();
+        }
+        List<ValidationError> validationErrors = validateFunction.get();
+        if (validationErrors.isEmpty()) {
+            lock.runLocked(() -> validDocuments.put(key, Boolean.TRUE));
+        }
+        return validationErrors;
+    }
+
+    private String getDocumentFingerprint(Document document) {
+        String fingerprint = lock.callLocked(() -> documentFingerprints.get(document));
+        if (fingerprint == null) {
+            String newFingerprint = AstPrinter.printAstCompact(document);
+            fingerprint = lock.callLocked(() -> documentFingerprints.computeIfAbsent(document, key -> newFingerprint));
+        }
+        return fingerprint;
+    }
+
+    private Object getSchemaFingerprint(GraphQLSchema graphQLSchema) {
+        Object fingerprint = lock.callLocked(() -> schemaFingerprints.get(graphQLSchema));
+        if (fingerprint == null) {
+            Object newFingerprint = assertNotNull(schemaFingerprint.apply(graphQLSchema), "The schema fingerprint function must not return null");
+            assertTrue(newFingerprint != graphQLSchema, "The schema fingerprint function must not return the schema itself");
+            fingerprint = lock.callLocked(() -> schemaFingerprints.computeIfAbsent(graphQLSchema, key -> newFingerprint));
+        }
+        return fingerprint;
+    }
+
+    public static Builder newInMemoryValidationResultCache() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private int maxEntries = 1000;
+        // a fresh object per schema, which stands in for the schema without keeping it alive
+        private Function<GraphQLSchema, Object> schemaFingerprint = schema -> new Object();
+
+        /**
+         * @param maxEntries the maximum number of valid documents to remember
+         *
+         * @return this builder
+         */
+        public Builder maxEntries(int maxEntries) {
+            assertTrue(maxEntries > 0, "maxEntries must be greater than zero");
+            this.maxEntries = maxEntries;
+            return this;
+        }
+
+        /**
+         * This function computes a fingerprint of a schema, such as a version or a hash of its SDL.  Schemas with equal
+         * fingerprints are considered to validate documents the same way.  It is called once per schema object, and the
+         * fingerprint must not refer to the schema, since fingerprints are kept for as long as the cache entries that use them.
+         *
+         * @param schemaFingerprint the function to compute a schema fingerprint
+         *
+         * @return this builder
+         */
+        public Builder schemaFingerprint(Function<GraphQLSchema, Object> schemaFingerprint) {
+            this.schemaFingerprint = assertNotNull(schemaFingerprint);
+            return this;
+        }
+
+        public InMemoryValidationResultCache build() {
+            return new InMemoryValidationResultCache(this);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package graphql.validation;
+
+import graphql.Internal;
+import graphql.language.Document;
+import graphql.schema.GraphQLSchema;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+@Internal
+public class NoOpValidationResultCache implements ValidationResultCache {
+    public static final NoOpValidationResultCache INSTANCE = new NoOpValidationResultCache();
+
+    @Override
+    public List<ValidationError> getValidationErrors(GraphQLSchema graphQLSchema, Document document, Predicate<Class<?>> rulePredicate, Locale locale, Supplier<List<ValidationError>> validateFunction) {
+        return validateFunction.get();
+    }
+}
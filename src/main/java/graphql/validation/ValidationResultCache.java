@@ -0,0 +1,42 @@
+package graphql.validation;
+
+import graphql.PublicSpi;
+import graphql.language.Document;
+import graphql.schema.GraphQLSchema;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * This interface abstracts a cache of validation results, so that the validation work for a document can be reused
+ * across requests and across {@link graphql.GraphQL} instances that share the same schema.
+ * <p>
+ * The validation result of a document depends on the document, the schema, the locale of the error messages and the
+ * predicate of rules that are applied, so an implementation must take all of these into account.
+ *
+ * @see InMemoryValidationResultCache
+ * @see graphql.GraphQL.Builder#validationResultCache(ValidationResultCache)
+ */
+@PublicSpi
+public interface ValidationResultCache {
+
+    /**
+     * This is called to get the validation errors for a document.  If they are not present in the cache then the
+     * implementation must call the validate function to compute them.
+     *
+     * @param graphQLSchema    the schema the document is validated against
+     * @param document         the document to validate
+     * @param rulePredicate    the predicate that decides which validation rules are applied
+     * @param locale           the locale of any validation error messages
+     * @param validateFunction the function that actually validates the document
+     *
+     * @return the validation errors for the document, which is empty if the document is valid
+     */
+    List<ValidationError> getValidationErrors(GraphQLSchema graphQLSchema,
+                                              Document document,
+                                              Predicate<Class<?>> rulePredicate,
+                                              Locale locale,
+                                              Supplier<List<ValidationError>> validateFunction);
+}
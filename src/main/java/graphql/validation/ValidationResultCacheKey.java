@@ -0,0 +1,45 @@
+package graphql.validation;
+
+import graphql.Internal;
+
+import java.util.Locale;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+@Internal
+public class ValidationResultCacheKey {
+    private final String documentFingerprint;
+    private final Object schemaFingerprint;
+    private final Predicate<Class<?>> rulePredicate;
+    private final Locale locale;
+    private final int hashCode;
+
+    public ValidationResultCacheKey(String documentFingerprint, Object schemaFingerprint, Predicate<Class<?>> rulePredicate, Locale locale) {
+        this.documentFingerprint = documentFingerprint;
+        this.schemaFingerprint = schemaFingerprint;
+        this.rulePredicate = rulePredicate;
+        this.locale = locale;
+        this.hashCode = Objects.hash(documentFingerprint, schemaFingerprint, rulePredicate, locale);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ValidationResultCacheKey that = (ValidationResultCacheKey) o;
+        return hashCode == that.hashCode
+                && documentFingerprint.equals(that.documentFingerprint)
+                && schemaFingerprint.equals(that.schemaFingerprint)
+                && rulePredicate.equals(that.rulePredicate)
+                && locale.equals(that.locale);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+}
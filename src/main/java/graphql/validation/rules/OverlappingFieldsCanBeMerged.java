@@ -27,6 +27,7 @@ import graphql.validation.ValidationErrorCollector;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -56,6 +57,8 @@ public class OverlappingFieldsCanBeMerged extends AbstractRule {
     private final Set<Set<FieldAndType>> sameResponseShapeChecked = new LinkedHashSet<>();
     private final Set<Set<FieldAndType>> sameForCommonParentsChecked = new LinkedHashSet<>();
     private final Set<Set<Field>> conflictsReported = new LinkedHashSet<>();
+    private final Map<String, List<FragmentSelection>> selectionsByFragment = new HashMap<>();
+    private final Map<Field, FieldAndType> fieldAndTypes = new HashMap<>();
 
     public OverlappingFieldsCanBeMerged(ValidationContext validationContext, ValidationErrorCollector validationErrorCollector) {
         super(validationContext, validationErrorCollector);
@@ -73,10 +76,9 @@ public class OverlappingFieldsCanBeMerged extends AbstractRule {
         collectFields(fieldMap, selectionSet, graphQLOutputType, visitedFragmentSpreads);
         List<Conflict> conflicts = findConflicts(fieldMap);
         for (Conflict conflict : conflicts) {
-            if (conflictsReported.contains(conflict.fields)) {
+            if (!conflictsReported.add(conflict.fields)) {
                 continue;
             }
-            conflictsReported.add(conflict.fields);
             // each error contains a reference to the current querypath via validationContext.getQueryPath()
             // queryPath is null for the first selection set
             addError(FieldsConflict, conflict.fields, conflict.reason);
@@ -103,12 +105,45 @@ public class OverlappingFieldsCanBeMerged extends AbstractRule {
         if (fragment == null) {
             return;
         }
-        if (visitedFragmentSpreads.contains(fragment.getName())) {
+        if (!visitedFragmentSpreads.add(fragment.getName())) {
             return;
         }
-        visitedFragmentSpreads.add(fragment.getName());
-        GraphQLType graphQLType = getGraphQLTypeForFragmentDefinition(fragment);
-        collectFields(fieldMap, fragment.getSelectionSet(), graphQLType, visitedFragmentSpreads);
+        List<FragmentSelection> fragmentSelections = selectionsByFragment.get(fragment.getName());
+        if (fragmentSelections == null) {
+            fragmentSelections = new ArrayList<>();
+            flattenFragmentSelections(fragmentSelections, fragment.getSelectionSet(), getGraphQLTypeForFragmentDefinition(fragment));
+            selectionsByFragment.put(fragment.getName(), fragmentSelections);
+        }
+        for (FragmentSelection fragmentSelection : fragmentSelections) {
+            if (fragmentSelection.fragmentSpread != null) {
+                collectFieldsForFragmentSpread(fieldMap, visitedFragmentSpreads, fragmentSelection.fragmentSpread);
+            } else {
+                FieldAndType fieldAndType = fragmentSelection.fieldAndType;
+                fieldMap.computeIfAbsent(fieldAndType.field.getResultKey(), name -> new LinkedHashSet<>()).add(fieldAndType);
+            }
+        }
+    }
+
+    /*
+     * Like the reference implementation, the selections of a fragment are only walked once and reused wherever the fragment
+     * is spread.  Only the fragment's own fields, with those of its inline fragments, are kept in selection order, together
+     * with the fragments it spreads.  The spreads are collected in place every time, so the fields come out in the same order
+     * as walking the fragment would give, and a fragment spread by n nested fragments is still collected once rather than n
+     * times.
+     */
+    private void flattenFragmentSelections(List<FragmentSelection> fragmentSelections, SelectionSet selectionSet, GraphQLType parentType) {
+        for (Selection selection : selectionSet.getSelections()) {
+            if (selection instanceof Field) {
+                fragmentSelections.add(new FragmentSelection(getFieldAndType(parentType, (Field) selection), null));
+
+            } else if (selection instanceof InlineFragment) {
+                InlineFragment inlineFragment = (InlineFragment) selection;
+                flattenFragmentSelections(fragmentSelections, inlineFragment.getSelectionSet(), getGraphQLTypeForInlineFragment(parentType, inlineFragment));
+
+            } else if (selection instanceof FragmentSpread) {
+                fragmentSelections.add(new FragmentSelection(null, (FragmentSpread) selection));
+            }
+        }
     }
 
     private GraphQLType getGraphQLTypeForFragmentDefinition(FragmentDefinition fragment) {
@@ -130,17 +165,25 @@ public class OverlappingFieldsCanBeMerged extends AbstractRule {
 
     private void collectFieldsForField(Map<String, Set<FieldAndType>> fieldMap, GraphQLType parentType, Field field) {
         String responseName = field.getResultKey();
-        if (!fieldMap.containsKey(responseName)) {
-            fieldMap.put(responseName, new LinkedHashSet<>());
-        }
-        GraphQLOutputType fieldType = null;
-        GraphQLUnmodifiedType unwrappedParent = unwrapAll(parentType);
-        if (unwrappedParent instanceof GraphQLFieldsContainer) {
-            GraphQLFieldsContainer fieldsContainer = (GraphQLFieldsContainer) unwrappedParent;
-            GraphQLFieldDefinition fieldDefinition = getVisibleFieldDefinition(fieldsContainer, field);
-            fieldType = fieldDefinition != null ? fieldDefinition.getType() : null;
+        Set<FieldAndType> fieldAndTypesForName = fieldMap.computeIfAbsent(responseName, name -> new LinkedHashSet<>());
+        fieldAndTypesForName.add(getFieldAndType(parentType, field));
+    }
+
+    private FieldAndType getFieldAndType(GraphQLType parentType, Field field) {
+        // a field is always collected with the same parent type, so the field definition only needs to be looked up once
+        FieldAndType fieldAndType = fieldAndTypes.get(field);
+        if (fieldAndType == null) {
+            GraphQLOutputType fieldType = null;
+            GraphQLUnmodifiedType unwrappedParent = unwrapAll(parentType);
+            if (unwrappedParent instanceof GraphQLFieldsContainer) {
+                GraphQLFieldsContainer fieldsContainer = (GraphQLFieldsContainer) unwrappedParent;
+                GraphQLFieldDefinition fieldDefinition = getVisibleFieldDefinition(fieldsContainer, field);
+                fieldType = fieldDefinition != null ? fieldDefinition.getType() : null;
+            }
+            fieldAndType = new FieldAndType(field, fieldType, unwrappedParent);
+            fieldAndTypes.put(field, fieldAndType);
         }
-        fieldMap.get(responseName).add(new FieldAndType(field, fieldType, unwrappedParent));
+        return fieldAndType;
     }
 
     private GraphQLFieldDefinition getVisibleFieldDefinition(GraphQLFieldsContainer fieldsContainer, Field field) {
@@ -162,11 +205,10 @@ public class OverlappingFieldsCanBeMerged extends AbstractRule {
 
     private void sameResponseShapeByName(Map<String, Set<FieldAndType>> fieldMap, ImmutableList<String> currentPath, List<Conflict> conflictsResult) {
         for (Map.Entry<String, Set<FieldAndType>> entry : fieldMap.entrySet()) {
-            if (sameResponseShapeChecked.contains(entry.getValue())) {
+            if (!sameResponseShapeChecked.add(entry.getValue())) {
                 continue;
             }
             ImmutableList<String> newPath = addToList(currentPath, entry.getKey());
-            sameResponseShapeChecked.add(entry.getValue());
             Conflict conflict = requireSameOutputTypeShape(newPath, entry.getValue());
             if (conflict != null) {
                 conflictsResult.add(conflict);
@@ -193,10 +235,9 @@ public class OverlappingFieldsCanBeMerged extends AbstractRule {
             List<Set<FieldAndType>> groups = groupByCommonParents(entry.getValue());
             ImmutableList<String> newPath = addToList(currentPath, entry.getKey());
             for (Set<FieldAndType> group : groups) {
-                if (sameForCommonParentsChecked.contains(group)) {
+                if (!sameForCommonParentsChecked.add(group)) {
                     continue;
                 }
-                sameForCommonParentsChecked.add(group);
                 Conflict conflict = requireSameNameAndArguments(newPath, group);
                 if (conflict != null) {
                     conflictsResult.add(conflict);
@@ -209,6 +250,12 @@ public class OverlappingFieldsCanBeMerged extends AbstractRule {
     }
 
     private List<Set<FieldAndType>> groupByCommonParents(Set<FieldAndType> fields) {
+        if (fields.size() == 1) {
+            GraphQLType parentType = fields.iterator().next().parentType;
+            if (parentType instanceof GraphQLObjectType || isInterfaceOrUnion(parentType)) {
+                return Collections.singletonList(fields);
+            }
+        }
         Set<FieldAndType> abstractTypes = filterSet(fields, fieldAndType -> isInterfaceOrUnion(fieldAndType.parentType));
         Set<FieldAndType> concreteTypes = filterSet(fields, fieldAndType -> fieldAndType.parentType instanceof GraphQLObjectType);
         if (concreteTypes.isEmpty()) {
@@ -349,6 +396,19 @@ public class OverlappingFieldsCanBeMerged extends AbstractRule {
     }
 
 
+    /*
+     * Either a field of a fragment or a fragment spread within it
+     */
+    private static class FragmentSelection {
+        final FieldAndType fieldAndType;
+        final FragmentSpread fragmentSpread;
+
+        FragmentSelection(FieldAndType fieldAndType, FragmentSpread fragmentSpread) {
+            this.fieldAndType = fieldAndType;
+            this.fragmentSpread = fragmentSpread;
+        }
+    }
+
     private static class FieldAndType {
         final Field field;
         final GraphQLType graphQLType;
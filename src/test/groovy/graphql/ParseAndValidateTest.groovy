@@ -11,6 +11,7 @@ import graphql.validation.ValidationErrorType
 import graphql.validation.rules.NoUnusedFragments
 import spock.lang.Specification
 
+import java.util.concurrent.Executors
 import java.util.function.Predicate
 
 /**
@@ -235,4 +236,26 @@ class ParseAndValidateTest extends Specification {
         error2.message == "Validation error (UnknownOperation): The 'Subscription' operation is not supported by the schema"
         error2.locations == [new SourceLocation(1, 36)]
     }
+
+    def "can validate many documents in parallel"() {
+        def schema = StarWarsSchema.starWarsSchema
+        def documents = [:]
+        (1..50).each {
+            documents["valid" + it] = new Parser().parseDocument("query Q$it { hero { name } }")
+        }
+        documents["invalid"] = new Parser().parseDocument("query { hero { nameX } }")
+        def executor = Executors.newFixedThreadPool(4)
+
+        when:
+        def results = ParseAndValidate.validateAll(schema, documents, Locale.ENGLISH, executor).join()
+
+        then:
+        results.keySet() as List == documents.keySet() as List
+        results.findAll { it.key.startsWith("valid") }.every { it.value.isEmpty() }
+        results["invalid"] == ParseAndValidate.validate(schema, documents["invalid"], Locale.ENGLISH)
+        results["invalid"][0].validationErrorType == ValidationErrorType.FieldUndefined
+
+        cleanup:
+        executor.shutdown()
+    }
 }
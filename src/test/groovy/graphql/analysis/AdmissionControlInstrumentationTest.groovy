@@ -0,0 +1,153 @@
+package graphql.analysis
+
+import graphql.ExecutionResult
+import graphql.GraphQL
+import graphql.TestUtil
+import graphql.schema.DataFetcher
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+
+class AdmissionControlInstrumentationTest extends Specification {
+
+    def sdl = """
+        type Query {
+            foo : Foo
+        }
+        type Foo {
+            scalar : String
+            foo : Foo
+        }
+    """
+
+    def runningCosts = []
+
+    GraphQL graphQL(AdmissionController admissionController) {
+        AdmissionController controller = admissionController
+        DataFetcher fooFetcher = { env ->
+            runningCosts.add(controller.getRunningCost())
+            return [scalar: "x"]
+        }
+        def schema = TestUtil.schema(sdl, [Query: [foo: fooFetcher]])
+        return GraphQL.newGraphQL(schema).instrumentation(new AdmissionControlInstrumentation(admissionController)).build()
+    }
+
+    static String reason(ExecutionResult executionResult) {
+        executionResult.errors[0].extensions["reason"]
+    }
+
+    def "operations are admitted with their complexity as cost and give it back when they complete"() {
+        def admissionController = AdmissionController.newAdmissionController().maxConcurrentCost(10).build()
+
+        when:
+        def er = graphQL(admissionController).execute("{ foo { scalar foo { scalar } } }")
+
+        then:
+        er.errors.isEmpty()
+        runningCosts == [4]
+        admissionController.getRunningOperations() == 0
+        admissionController.getRunningCost() == 0
+    }
+
+    def "operations that cost more than the budget are rejected"() {
+        def admissionController = AdmissionController.newAdmissionController().maxConcurrentCost(3).build()
+
+        when:
+        def er = graphQL(admissionController).execute("{ foo { scalar foo { scalar } } }")
+
+        then:
+        er.data == null
+        er.errors.size() == 1
+        reason(er) == "COST_OVER_BUDGET"
+        er.errors[0].extensions["cost"] == 4
+        runningCosts.isEmpty()
+        admissionController.getRunningOperations() == 0
+    }
+
+    def "operations are rejected when the node is busy and the queue is full or waited on too long"() {
+        def admissionController = AdmissionController.newAdmissionController()
+                .maxConcurrentOperations(1)
+                .maxQueueLength(queueLength)
+                .maxQueueTime(Duration.ofMillis(50))
+                .build()
+        def running = admissionController.admit(1)
+
+        when:
+        def er = graphQL(admissionController).execute("{ foo { scalar } }")
+
+        then:
+        reason(er) == expectedReason
+        runningCosts.isEmpty()
+        admissionController.getQueuedOperations() == 0
+
+        when:
+        running.release()
+        er = graphQL(admissionController).execute("{ foo { scalar } }")
+
+        then:
+        er.errors.isEmpty()
+        admissionController.getRunningOperations() == 0
+
+        where:
+        queueLength | expectedReason
+        0           | "QUEUE_FULL"
+        1           | "QUEUE_TIMEOUT"
+    }
+
+    def "queued operations are admitted when the running ones complete"() {
+        def admissionController = AdmissionController.newAdmissionController()
+                .maxConcurrentCost(5)
+                .maxQueueLength(1)
+                .maxQueueTime(Duration.ofSeconds(10))
+                .build()
+        def running = admissionController.admit(4)
+
+        when:
+        def queued = CompletableFuture.supplyAsync({ graphQL(admissionController).execute("{ foo { scalar } }") })
+        while (admissionController.getQueuedOperations() == 0) {
+            Thread.sleep(1)
+        }
+        running.release()
+        running.release()
+        def er = queued.join()
+
+        then:
+        er.errors.isEmpty()
+        runningCosts == [2]
+        admissionController.getRunningCost() == 0
+        admissionController.getQueuedOperations() == 0
+    }
+
+    def "cheap operations are admitted while an expensive one is queued"() {
+        def admissionController = AdmissionController.newAdmissionController()
+                .maxConcurrentOperations(2)
+                .maxConcurrentCost(10)
+                .maxQueueLength(1)
+                .maxQueueTime(Duration.ofSeconds(10))
+                .build()
+        def running = admissionController.admit(6)
+
+        when:
+        def expensive = CompletableFuture.supplyAsync({ admissionController.admit(8) })
+        while (admissionController.getQueuedOperations() == 0) {
+            Thread.sleep(1)
+        }
+        def er = graphQL(admissionController).execute("{ foo { scalar } }")
+
+        then:
+        er.errors.isEmpty()
+        runningCosts == [8]
+        !expensive.isDone()
+
+        when:
+        running.release()
+        def admitted = expensive.join()
+
+        then:
+        admitted.getCost() == 8
+        admissionController.getRunningOperations() == 1
+        admissionController.getRunningCost() == 8
+        admissionController.getQueuedOperations() == 0
+    }
+}
@@ -0,0 +1,232 @@
+package graphql.analysis
+
+import graphql.GraphQL
+import graphql.TestUtil
+import graphql.execution.CoercedVariables
+import graphql.execution.instrumentation.ChainedInstrumentation
+import graphql.execution.preparsed.PreparsedDocumentEntry
+import graphql.execution.preparsed.PreparsedDocumentProvider
+import graphql.schema.DataFetcher
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.TimeUnit
+
+import static graphql.schema.FieldCoordinates.coordinates
+import static graphql.schema.idl.RuntimeWiring.newRuntimeWiring
+import static graphql.schema.idl.TypeRuntimeWiring.newTypeWiring
+
+class LearnedFieldComplexityCalculatorTest extends Specification {
+
+    def sdl = """
+        type Query {
+            items : [Item]
+            nodes : [Node]
+        }
+        interface Node {
+            id : ID
+        }
+        type Item implements Node {
+            id : ID
+            name : String
+        }
+    """
+
+    def items = [[id: "1", name: "one"], [id: "2", name: "two"], [id: "3", name: "three"]]
+
+    DataFetcher itemsFetcher = { env -> items }
+
+    def schema = TestUtil.schema(sdl, newRuntimeWiring()
+            .type(newTypeWiring("Query").dataFetcher("items", itemsFetcher).dataFetcher("nodes", itemsFetcher))
+            .type(newTypeWiring("Node").typeResolver({ env -> env.getSchema().getObjectType("Item") }))
+            .build())
+
+    int complexity(String query, FieldComplexityCalculator calculator) {
+        QueryComplexityCalculator.newCalculator()
+                .fieldComplexityCalculator(calculator)
+                .schema(schema)
+                .document(TestUtil.parseQuery(query))
+                .variables(CoercedVariables.emptyVariables())
+                .build()
+                .calculate()
+    }
+
+    def "field costs are learned from sampled executions"() {
+        def model = FieldCostModel.newModel()
+        def graphQL = GraphQL.newGraphQL(schema).instrumentation(new FieldCostLearningInstrumentation(model)).build()
+
+        when:
+        5.times {
+            assert graphQL.execute("{ items { name } nodes { id } }").errors.isEmpty()
+        }
+
+        then:
+        def itemsCost = model.getFieldCost(coordinates("Query", "items"))
+        itemsCost.samples == 5
+        itemsCost.meanFanOut == 3
+        itemsCost.meanResultSize == 3
+        itemsCost.meanLatency > Duration.ZERO
+        itemsCost.p99Latency >= itemsCost.meanLatency
+
+        def nameCost = model.getFieldCost(coordinates("Item", "name"))
+        nameCost.samples == 15
+        nameCost.meanFanOut == 1
+        Math.abs(nameCost.meanResultSize - (3 + 3 + 5) / 3) < 0.001
+
+        // ids selected through the interface are known by the interface too
+        model.getFieldCost(coordinates("Item", "id")).samples == 15
+        model.getFieldCost(coordinates("Node", "id")).samples == 15
+    }
+
+    def "executions that are not sampled are not learned from"() {
+        def model = FieldCostModel.newModel()
+        def graphQL = GraphQL.newGraphQL(schema).instrumentation(new FieldCostLearningInstrumentation(model, 0)).build()
+
+        when:
+        graphQL.execute("{ items { name } }")
+
+        then:
+        model.getFieldCosts().isEmpty()
+    }
+
+    def "complexity uses the learned latency and fan out of fields"() {
+        def model = FieldCostModel.newModel()
+        98.times { model.record(coordinates("Query", "items"), TimeUnit.MILLISECONDS.toNanos(3), 5, 5) }
+        2.times { model.record(coordinates("Query", "items"), TimeUnit.MILLISECONDS.toNanos(100), 5, 5) }
+        5.times { model.record(coordinates("Item", "name"), 1000, 1, 3) }
+        model.snapshot()
+
+        when:
+        def mean = LearnedFieldComplexityCalculator.newCalculator(model).build()
+        def p99 = LearnedFieldComplexityCalculator.newCalculator(model).useP99Latency(true).build()
+        def fewSamples = LearnedFieldComplexityCalculator.newCalculator(model).minSamples(5).build()
+
+        then:
+        // items has a mean latency of 4.94ms, and name has too few samples so it falls back to 1
+        complexity("{ items { name } }", mean) == 5 + 5 * 1
+        // the p99 latency is within the 100ms histogram bucket
+        complexity("{ items { name } }", p99) >= 100 + 5
+        complexity("{ items { name } }", p99) <= 125 + 5
+        // with enough samples, name costs its latency of 1us, which is the least cost of 1
+        complexity("{ items { name } }", fewSamples) == 5 + 5 * 1
+        // unknown fields fall back to 1 + childComplexity
+        complexity("{ nodes { id } }", mean) == 2
+    }
+
+    def "cached complexities follow the costs the model goes on to learn"() {
+        def model = FieldCostModel.newModel()
+        10.times { model.record(coordinates("Query", "items"), TimeUnit.MILLISECONDS.toNanos(3), 3, 3) }
+        model.snapshot()
+        def calculator = LearnedFieldComplexityCalculator.newCalculator(model).build()
+        def complexities = []
+        def maxComplexityInstrumentation = new MaxQueryComplexityInstrumentation(0, calculator, { info ->
+            complexities.add(info.complexity)
+            return false
+        }, true)
+        def admissionController = AdmissionController.newAdmissionController().maxConcurrentCost(10).build()
+        def admissionControlInstrumentation = new AdmissionControlInstrumentation(admissionController, calculator, true)
+        // the same document object is executed every time, as it would be with a caching preparsed document provider
+        def document = TestUtil.parseQuery("{ items { name } }")
+        PreparsedDocumentProvider documentProvider = { executionInput, parseAndValidate ->
+            CompletableFuture.completedFuture(new PreparsedDocumentEntry(document))
+        }
+        def graphQL = GraphQL.newGraphQL(schema)
+                .instrumentation(new ChainedInstrumentation(maxComplexityInstrumentation, admissionControlInstrumentation))
+                .preparsedDocumentProvider(documentProvider)
+                .build()
+
+        when:
+        def first = graphQL.execute("{ items { name } }")
+        def second = graphQL.execute("{ items { name } }")
+
+        then:
+        first.errors.isEmpty()
+        second.errors.isEmpty()
+        complexities == [3 + 3, 3 + 3]
+
+        when:
+        10.times { model.record(coordinates("Query", "items"), TimeUnit.MILLISECONDS.toNanos(30), 3, 3) }
+        def beforeSnapshot = graphQL.execute("{ items { name } }")
+
+        then:
+        // what the model learns is only used once a snapshot of it is taken
+        beforeSnapshot.errors.isEmpty()
+        complexities == [3 + 3, 3 + 3, 3 + 3]
+
+        when:
+        model.snapshot()
+        def afterLearning = graphQL.execute("{ items { name } }")
+
+        then:
+        // items now has a mean latency of 16.5ms
+        complexities == [3 + 3, 3 + 3, 3 + 3, 17 + 3]
+        afterLearning.errors.size() == 1
+        afterLearning.errors[0].extensions["reason"] == "COST_OVER_BUDGET"
+        afterLearning.errors[0].extensions["cost"] == 17 + 3
+    }
+
+    def "cached complexities are still used while the model goes on learning"() {
+        def model = FieldCostModel.newModel()
+        10.times { model.record(coordinates("Query", "items"), TimeUnit.MILLISECONDS.toNanos(3), 3, 3) }
+        model.snapshot()
+        int calculations = 0
+        // name has no samples in the snapshot, so every calculation of the document goes to the fallback calculator
+        FieldComplexityCalculator countingFallback = { env, childComplexity ->
+            calculations++
+            return 1 + childComplexity
+        }
+        def calculator = LearnedFieldComplexityCalculator.newCalculator(model).fallbackCalculator(countingFallback).build()
+        def document = TestUtil.parseQuery("{ items { name } }")
+        PreparsedDocumentProvider documentProvider = { executionInput, parseAndValidate ->
+            CompletableFuture.completedFuture(new PreparsedDocumentEntry(document))
+        }
+        def maxComplexityInstrumentation = new MaxQueryComplexityInstrumentation(100, calculator, { info -> true }, true)
+        def graphQL = GraphQL.newGraphQL(schema)
+                .instrumentation(new ChainedInstrumentation(maxComplexityInstrumentation, new FieldCostLearningInstrumentation(model)))
+                .preparsedDocumentProvider(documentProvider)
+                .build()
+
+        when:
+        def first = graphQL.execute("{ items { name } }")
+        def calculationsAfterFirst = calculations
+        def second = graphQL.execute("{ items { name } }")
+
+        then:
+        first.errors.isEmpty()
+        second.errors.isEmpty()
+        model.getFieldCost(coordinates("Query", "items")).samples == 12
+        calculationsAfterFirst > 0
+        calculations == calculationsAfterFirst
+    }
+
+    def "field cost models can be saved and loaded"() {
+        def model = FieldCostModel.newModel()
+        10.times { model.record(coordinates("Query", "items"), 1000 * it, 3, 3) }
+        model.record(coordinates("Item", "name"), 0, 1, 5)
+        def file = Files.createTempFile("field-costs", ".txt")
+
+        when:
+        model.save(file)
+        def loaded = FieldCostModel.load(file)
+
+        then:
+        loaded.getFieldCosts().collectEntries { [it.key.toString(), it.value.toString()] } ==
+                model.getFieldCosts().collectEntries { [it.key.toString(), it.value.toString()] }
+        // a loaded model is ready to be used straight away
+        loaded.getSnapshotFieldCost(coordinates("Query", "items")).samples == 10
+        model.getSnapshotFieldCost(coordinates("Query", "items")) == null
+
+        when:
+        Files.write(file, ["Query.items 1 x 1 1"])
+        FieldCostModel.load(file)
+
+        then:
+        def e = thrown(IOException)
+        e.message.contains("line 1")
+
+        cleanup:
+        Files.deleteIfExists(file)
+    }
+}
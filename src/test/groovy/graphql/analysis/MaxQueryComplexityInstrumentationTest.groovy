@@ -3,6 +3,7 @@ package graphql.analysis
 import graphql.ExecutionInput
 import graphql.TestUtil
 import graphql.execution.AbortExecutionException
+import graphql.execution.CoercedVariables
 import graphql.execution.ExecutionContext
 import graphql.execution.ExecutionContextBuilder
 import graphql.execution.ExecutionId
@@ -165,6 +166,78 @@ class MaxQueryComplexityInstrumentationTest extends Specification {
         e.message == "maximum query complexity exceeded 1 > 0"
     }
 
+    def "complexity is only calculated once per document and variables"() {
+        given:
+        def schema = TestUtil.schema("""
+            type Query{
+                foo(id: ID): Foo
+            }
+            type Foo {
+                scalar: String
+                foo: Foo
+            }
+        """)
+        def query = createQuery("""
+            query Foo(\$id: ID, \$deep: Boolean!) {
+                foo(id: \$id) { scalar foo @include(if: \$deep) { scalar } }
+            }
+            """)
+        def calculator = Mock(FieldComplexityCalculator)
+        MaxQueryComplexityInstrumentation queryComplexityInstrumentation = new MaxQueryComplexityInstrumentation(10, calculator, { true }, true)
+        ExecutionInput executionInput = Mock(ExecutionInput)
+
+        def complexity = { Map<String, Object> variables ->
+            def state = createInstrumentationState(queryComplexityInstrumentation)
+            def executionContext = executionCtx(executionInput, query, schema).transform({ it.coercedVariables(CoercedVariables.of(variables)) })
+            queryComplexityInstrumentation.beginExecuteOperation(new InstrumentationExecuteOperationParameters(executionContext), state)
+        }
+
+        when:
+        complexity([id: "1", deep: false])
+        complexity([id: "1", deep: false])
+
+        then:
+        2 * calculator.calculate(_, _) >> 1
+
+        when:
+        complexity([id: "2", deep: false])
+        complexity([id: "2", deep: true])
+        complexity([id: "2", deep: true])
+
+        then:
+        6 * calculator.calculate(_, _) >> 1
+    }
+
+    def "complexity is calculated on every execution unless it is cached"() {
+        given:
+        def schema = TestUtil.schema("""
+            type Query{
+                foo: Foo
+            }
+            type Foo {
+                scalar: String
+            }
+        """)
+        def query = createQuery("""
+            { foo { scalar } }
+            """)
+        def calculator = Mock(FieldComplexityCalculator)
+        MaxQueryComplexityInstrumentation queryComplexityInstrumentation = new MaxQueryComplexityInstrumentation(10, calculator)
+        ExecutionInput executionInput = Mock(ExecutionInput)
+
+        def complexity = {
+            def state = createInstrumentationState(queryComplexityInstrumentation)
+            queryComplexityInstrumentation.beginExecuteOperation(new InstrumentationExecuteOperationParameters(executionCtx(executionInput, query, schema)), state)
+        }
+
+        when:
+        complexity()
+        complexity()
+
+        then:
+        4 * calculator.calculate(_, _) >> 1
+    }
+
     private InstrumentationExecuteOperationParameters createExecuteOperationParameters(MaxQueryComplexityInstrumentation queryComplexityInstrumentation, ExecutionInput executionInput, Document query, GraphQLSchema schema, InstrumentationState state) {
         // we need to run N steps to create instrumentation state
         def validationParameters = new InstrumentationValidationParameters(executionInput, query, schema)
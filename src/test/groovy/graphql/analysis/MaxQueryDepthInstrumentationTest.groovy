@@ -4,6 +4,7 @@ import graphql.ExecutionInput
 import graphql.GraphQL
 import graphql.TestUtil
 import graphql.execution.AbortExecutionException
+import graphql.execution.CoercedVariables
 import graphql.execution.ExecutionContext
 import graphql.execution.ExecutionContextBuilder
 import graphql.execution.ExecutionId
@@ -158,6 +159,45 @@ class MaxQueryDepthInstrumentationTest extends Specification {
         !er.errors.isEmpty()
     }
 
+    def "depth is cached per document and variables"() {
+        given:
+        def schema = TestUtil.schema("""
+            type Query{
+                foo: Foo
+            }
+            type Foo {
+                scalar: String
+                foo: Foo
+            }
+        """)
+        def query = createQuery('''
+            query Foo($deep: Boolean!) {
+                foo { scalar foo @include(if: $deep) { foo { scalar } } }
+            }
+            ''')
+        MaxQueryDepthInstrumentation maximumQueryDepthInstrumentation = new MaxQueryDepthInstrumentation(3, { true }, true)
+        ExecutionInput executionInput = Mock(ExecutionInput)
+
+        def depthCheck = { Map<String, Object> variables ->
+            def executionContext = executionCtx(executionInput, query, schema).transform({ it.coercedVariables(CoercedVariables.of(variables)) })
+            maximumQueryDepthInstrumentation.beginExecuteOperation(new InstrumentationExecuteOperationParameters(executionContext), null)
+        }
+
+        when:
+        depthCheck([deep: false])
+        depthCheck([deep: false])
+
+        then:
+        notThrown(Exception)
+
+        when:
+        depthCheck([deep: true])
+
+        then:
+        def e = thrown(AbortExecutionException)
+        e.message == "maximum query depth exceeded 4 > 3"
+    }
+
     static private ExecutionContext executionCtx(ExecutionInput executionInput, Document query, GraphQLSchema schema) {
         ExecutionContextBuilder.newExecutionContextBuilder()
                 .executionInput(executionInput).document(query).graphQLSchema(schema).executionId(ExecutionId.generate()).build()
@@ -129,6 +129,7 @@ class ExecutionStrategyEquivalenceTest extends Specification {
         strategyType   | strategyUnderTest                       | expectedQueriesAndResults
         "async"        | new AsyncExecutionStrategy()            | standardQueriesAndResults()
         "asyncSerial"  | new AsyncSerialExecutionStrategy()      | standardQueriesAndResults()
+        "precompiled"  | new PrecompiledExecutionStrategy()      | standardQueriesAndResults()
         "breadthFirst" | new BreadthFirstExecutionTestStrategy() | standardQueriesAndResults()
         "breadthFirst" | new BreadthFirstTestStrategy()          | standardQueriesAndResults()
 
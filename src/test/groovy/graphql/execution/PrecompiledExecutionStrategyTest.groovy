@@ -0,0 +1,304 @@
+package graphql.execution
+
+import graphql.ExecutionInput
+import graphql.GraphQL
+import graphql.TestUtil
+import graphql.analysis.AdmissionControlInstrumentation
+import graphql.analysis.AdmissionController
+import graphql.analysis.MaxQueryComplexityInstrumentation
+import graphql.analysis.MaxQueryDepthInstrumentation
+import graphql.execution.instrumentation.FieldFetchingInstrumentationContext
+import graphql.execution.instrumentation.InstrumentationState
+import graphql.execution.instrumentation.SimplePerformantInstrumentation
+import graphql.execution.instrumentation.fieldvalidation.FieldValidationInstrumentation
+import graphql.execution.instrumentation.fieldvalidation.SimpleFieldValidation
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters
+import graphql.execution.instrumentation.tracing.TracingInstrumentation
+import graphql.execution.preparsed.PreparsedDocumentEntry
+import graphql.execution.preparsed.PreparsedDocumentProvider
+import graphql.parser.Parser
+import graphql.schema.DataFetcher
+import graphql.schema.DataFetchingEnvironment
+import graphql.schema.GraphQLFieldDefinition
+import graphql.schema.LightDataFetcher
+import graphql.schema.TypeResolver
+import graphql.schema.idl.RuntimeWiring
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+import java.util.function.Supplier
+
+import static graphql.schema.idl.TypeRuntimeWiring.newTypeWiring
+
+class PrecompiledExecutionStrategyTest extends Specification {
+
+    def sdl = """
+        type Query {
+            pets : [Pet]
+        }
+        interface Pet {
+            name : String
+        }
+        type Dog implements Pet {
+            name : String
+            barks : Boolean
+            owner : Owner
+        }
+        type Cat implements Pet {
+            name : String
+            meows : Boolean
+            owner : Owner
+        }
+        type Owner {
+            name : String
+            age : Int
+        }
+    """
+
+    def query = """
+        query Pets(\$withAge : Boolean!) {
+            pets {
+                name
+                ... on Dog { barks owner { ...OwnerFields } }
+                ... on Cat { meows owner { ...OwnerFields } }
+            }
+        }
+        fragment OwnerFields on Owner {
+            name
+            age @include(if : \$withAge)
+        }
+    """
+
+    def pets = [
+            [name: "Rex", barks: true, owner: [name: "Ann", age: 30]],
+            [name: "Tom", meows: true, owner: [name: "Bob", age: 40]],
+            [name: "Fido", barks: false, owner: [name: "Cid", age: 50]],
+    ]
+
+    def ownerFields = []
+
+    def onPets = { env -> }
+
+    def document = Parser.parse(query)
+
+    GraphQL graphQL(ExecutionStrategy strategy) {
+        def wiring = RuntimeWiring.newRuntimeWiring()
+                .type(newTypeWiring("Query").dataFetcher("pets", { env ->
+                    onPets(env)
+                    return pets
+                } as DataFetcher))
+                .type(newTypeWiring("Owner").dataFetcher("name", { env ->
+                    ownerFields.add(env.getMergedField())
+                    return env.getSource().name
+                } as DataFetcher))
+                .type(newTypeWiring("Pet").typeResolver({ env ->
+                    env.getSchema().getObjectType(env.getObject().containsKey("barks") ? "Dog" : "Cat")
+                } as TypeResolver))
+        // the same document object is executed every time, as it would be with a caching preparsed document provider
+        PreparsedDocumentProvider documentProvider = { executionInput, parseAndValidate ->
+            CompletableFuture.completedFuture(new PreparsedDocumentEntry(document))
+        }
+        return GraphQL.newGraphQL(TestUtil.schema(sdl, wiring))
+                .queryExecutionStrategy(strategy)
+                .preparsedDocumentProvider(documentProvider)
+                .build()
+    }
+
+    def "executes the same as the async execution strategy"() {
+        when:
+        def expected = [true, false].collect { graphQL(new AsyncExecutionStrategy()).execute(executionInput(it)) }
+        def precompiledGraphQL = graphQL(new PrecompiledExecutionStrategy())
+        def actual = [true, false, true].collect { precompiledGraphQL.execute(executionInput(it)) }
+
+        then:
+        actual.every { it.errors.isEmpty() }
+        actual[0].toSpecification() == expected[0].toSpecification()
+        actual[1].toSpecification() == expected[1].toSpecification()
+        actual[2].toSpecification() == expected[0].toSpecification()
+        actual[1].data.pets[0].owner == [name: "Ann"]
+    }
+
+    def "the sub fields are compiled once per field and type and reused by later requests"() {
+        def precompiledGraphQL = graphQL(new PrecompiledExecutionStrategy())
+
+        when:
+        precompiledGraphQL.execute(executionInput(true))
+        precompiledGraphQL.execute(executionInput(true))
+
+        then:
+        ownerFields.size() == 6
+        // the dog owners share one merged field and the cat owner another, across both requests
+        ownerFields.collect { System.identityHashCode(it) }.toSet().size() == 2
+
+        when:
+        ownerFields.clear()
+        graphQL(new AsyncExecutionStrategy()).execute(executionInput(true))
+
+        then:
+        ownerFields.collect { System.identityHashCode(it) }.toSet().size() == 3
+    }
+
+    def "the plan of an execution is kept out of the graphql context"() {
+        def strategy = new PrecompiledExecutionStrategy()
+        def precompiledGraphQL = graphQL(strategy)
+        def contextKeys = []
+        def activePlans = 0
+        onPets = { env ->
+            contextKeys.addAll(env.getGraphQlContext().stream().collect { it.key })
+            activePlans = strategy.@activePlans.size()
+        }
+
+        when:
+        def executionInput = executionInput(true).transform({ builder -> builder.graphQLContext([tenant: "a"]) })
+        def result = precompiledGraphQL.execute(executionInput)
+
+        then:
+        result.errors.isEmpty()
+        contextKeys.contains("tenant")
+        !contextKeys.any { it.toString().contains(PrecompiledExecutionStrategy.name) }
+        activePlans == 1
+        !executionInput.getGraphQLContext().stream().any { it.key.toString().contains(PrecompiledExecutionStrategy.name) }
+        strategy.@activePlans.isEmpty()
+    }
+
+    def itemsSdl = """
+        type Query {
+            items : [Item]
+        }
+        type Item {
+            id : ID!
+            name : String
+            count : Int
+            size : Size
+            price : Float
+            broken : Int
+            fails : String
+            later : String
+            required : String!
+        }
+        enum Size {
+            SMALL
+            LARGE
+        }
+    """
+
+    def items = [
+            new Item(id: 1, name: "one", count: 10, size: "SMALL", price: 1.5, broken: 1, required: "a"),
+            [id: "2", name: "two", count: 20, size: "LARGE", price: 2.5, broken: "many", required: "b"],
+            new Item(id: 3, name: null, count: null, size: null, price: null, broken: 3, required: null),
+    ]
+
+    GraphQL itemsGraphQL(ExecutionStrategy strategy, SimplePerformantInstrumentation instrumentation = new SimplePerformantInstrumentation()) {
+        def wiring = RuntimeWiring.newRuntimeWiring()
+                .type(newTypeWiring("Query").dataFetcher("items", { env -> items } as DataFetcher))
+                .type(newTypeWiring("Item")
+                        .dataFetcher("fails", new LightFetcher({ source -> throw new RuntimeException("bang") }))
+                        .dataFetcher("later", new LightFetcher({ source -> CompletableFuture.supplyAsync { "later" + source.id } })))
+        return GraphQL.newGraphQL(TestUtil.schema(itemsSdl, wiring))
+                .queryExecutionStrategy(strategy)
+                .instrumentation(instrumentation)
+                .build()
+    }
+
+    def "trivial objects are completed the same as the async execution strategy"() {
+        when:
+        def expected = itemsGraphQL(new AsyncExecutionStrategy()).execute(query)
+        def actual = itemsGraphQL(new PrecompiledExecutionStrategy()).execute(query)
+
+        then:
+        actual.toSpecification() == expected.toSpecification()
+        actual.errors.size() == errors
+
+        where:
+        query                                                    | errors
+        "{ items { __typename id name count size price } }"      | 0
+        "{ items { id first : name second : name count } }"      | 0
+        "{ items { id broken } }"                                | 1
+        "{ items { id fails later } }"                           | 3
+        "{ items { id name required } }"                         | 1
+    }
+
+    def "only instrumentations that ask for trivial fields see them"() {
+        def instrumentation = new FieldRecordingInstrumentation(instrumentingTrivialFields: instrumentingTrivialFields)
+
+        when:
+        def result = itemsGraphQL(new PrecompiledExecutionStrategy(), instrumentation).execute("{ items { id name } }")
+
+        then:
+        result.errors.isEmpty()
+        result.data.items.name == ["one", "two", null]
+        instrumentation.fields == fields
+
+        where:
+        instrumentingTrivialFields | fields
+        false                      | ["items"]
+        true                       | ["items", "id", "name", "id", "name", "id", "name"]
+    }
+
+    def "built in instrumentations only leave trivial fields out when they are not subclassed"() {
+        expect:
+        instrumentation.isInstrumentingTrivialFields(null) == instrumentingTrivialFields
+
+        where:
+        instrumentation                                                                                              | instrumentingTrivialFields
+        new MaxQueryComplexityInstrumentation(10)                                                                    | false
+        new MaxQueryComplexityInstrumentation(10) {}                                                                 | true
+        new MaxQueryDepthInstrumentation(10)                                                                         | false
+        new MaxQueryDepthInstrumentation(10) {}                                                                      | true
+        new AdmissionControlInstrumentation(AdmissionController.newAdmissionController().build())                    | false
+        new AdmissionControlInstrumentation(AdmissionController.newAdmissionController().build()) {}                 | true
+        new FieldValidationInstrumentation(new SimpleFieldValidation())                                              | false
+        new FieldValidationInstrumentation(new SimpleFieldValidation()) {}                                           | true
+        new TracingInstrumentation(TracingInstrumentation.Options.newOptions().includeTrivialDataFetchers(false))    | false
+        new TracingInstrumentation(TracingInstrumentation.Options.newOptions().includeTrivialDataFetchers(true))     | true
+        new TracingInstrumentation(TracingInstrumentation.Options.newOptions().includeTrivialDataFetchers(false)) {} | true
+    }
+
+    ExecutionInput executionInput(boolean withAge) {
+        return ExecutionInput.newExecutionInput(query).variables([withAge: withAge]).build()
+    }
+
+    static class Item {
+        int id
+        String name
+        Integer count
+        String size
+        Double price
+        Integer broken
+        String required
+    }
+
+    static class LightFetcher implements LightDataFetcher<Object> {
+        Closure<Object> fetch
+
+        LightFetcher(Closure<Object> fetch) {
+            this.fetch = fetch
+        }
+
+        @Override
+        Object get(GraphQLFieldDefinition fieldDefinition, Object sourceObject, Supplier<DataFetchingEnvironment> environmentSupplier) {
+            return fetch.call(sourceObject)
+        }
+
+        @Override
+        Object get(DataFetchingEnvironment environment) {
+            return fetch.call(environment.getSource())
+        }
+    }
+
+    static class FieldRecordingInstrumentation extends SimplePerformantInstrumentation {
+        boolean instrumentingTrivialFields
+        List<String> fields = []
+
+        @Override
+        boolean isInstrumentingTrivialFields(InstrumentationState state) {
+            return instrumentingTrivialFields
+        }
+
+        @Override
+        FieldFetchingInstrumentationContext beginFieldFetching(InstrumentationFieldFetchParameters parameters, InstrumentationState state) {
+            fields.add(parameters.getField().getName())
+            return null
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package graphql.execution.preparsed.persisted
+
+import graphql.ExecutionInput
+import graphql.StarWarsSchema
+import graphql.execution.preparsed.PreparsedDocumentEntry
+import graphql.parser.Parser
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.StandardOpenOption
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+
+import static graphql.language.AstPrinter.printAstCompact
+
+class DiskPersistedQueryCacheTest extends Specification {
+
+    Path path
+
+    def setup() {
+        path = Files.createTempFile("persisted-queries", ".bin")
+        Files.delete(path)
+    }
+
+    def cleanup() {
+        Files.deleteIfExists(path)
+    }
+
+    def mkEI(String hash, String query) {
+        ExecutionInput.newExecutionInput().query(query).extensions([persistedQuery: [sha256Hash: hash, version: 1]]).build()
+    }
+
+    int missCount = 0
+
+    PersistedQueryCacheMiss onMiss = {
+        String query ->
+            missCount++
+            def doc = new Parser().parseDocument(query)
+            return new PreparsedDocumentEntry(doc)
+    }
+
+    def "queries survive being re-opened"() {
+        def cache = DiskPersistedQueryCache.newDiskPersistedQueryCache(path).build()
+
+        when:
+        cache.getPersistedQueryDocumentAsync("hash1", mkEI("hash1", "{ hero { name } }"), onMiss).join()
+        cache.getPersistedQueryDocumentAsync("hash2", mkEI("hash2", "{ hero { id } }"), onMiss).join()
+        cache.close()
+
+        def reopened = DiskPersistedQueryCache.newDiskPersistedQueryCache(path).build()
+        def entry = reopened.getPersistedQueryDocumentAsync("hash1", mkEI("hash1", PersistedQuerySupport.PERSISTED_QUERY_MARKER), onMiss).join()
+
+        then:
+        reopened.getKnownQueryIds() == ["hash1", "hash2"]
+        printAstCompact(entry.document) == "{hero{name}}"
+
+        cleanup:
+        reopened?.close()
+    }
+
+    def "in memory tier is used on repeated lookups"() {
+        def cache = DiskPersistedQueryCache.newDiskPersistedQueryCache(path).build()
+
+        when:
+        cache.getPersistedQueryDocumentAsync("hash1", mkEI("hash1", "{ hero { name } }"), onMiss).join()
+        cache.getPersistedQueryDocumentAsync("hash1", mkEI("hash1", PersistedQuerySupport.PERSISTED_QUERY_MARKER), onMiss).join()
+
+        then:
+        missCount == 1
+
+        cleanup:
+        cache.close()
+    }
+
+    def "in memory tier is bounded and falls back to disk"() {
+        def cache = DiskPersistedQueryCache.newDiskPersistedQueryCache(path).maxInMemoryEntries(1).build()
+
+        when:
+        cache.getPersistedQueryDocumentAsync("hash1", mkEI("hash1", "{ hero { name } }"), onMiss).join()
+        cache.getPersistedQueryDocumentAsync("hash2", mkEI("hash2", "{ hero { id } }"), onMiss).join()
+        def entry = cache.getPersistedQueryDocumentAsync("hash1", mkEI("hash1", PersistedQuerySupport.PERSISTED_QUERY_MARKER), onMiss).join()
+
+        then:
+        missCount == 3
+        printAstCompact(entry.document) == "{hero{name}}"
+
+        cleanup:
+        cache.close()
+    }
+
+    def "unknown queries are not found"() {
+        def cache = DiskPersistedQueryCache.newDiskPersistedQueryCache(path).build()
+
+        when:
+        cache.getPersistedQueryDocumentAsync("unknown", mkEI("unknown", PersistedQuerySupport.PERSISTED_QUERY_MARKER), onMiss)
+
+        then:
+        thrown(PersistedQueryNotFound)
+
+        cleanup:
+        cache.close()
+    }
+
+    def "writes from another cache on the same file are seen"() {
+        def cache1 = DiskPersistedQueryCache.newDiskPersistedQueryCache(path).build()
+        def cache2 = DiskPersistedQueryCache.newDiskPersistedQueryCache(path).build()
+
+        when:
+        cache1.getPersistedQueryDocumentAsync("hash1", mkEI("hash1", "{ hero { name } }"), onMiss).join()
+        cache2.getPersistedQueryDocumentAsync("hash2", mkEI("hash2", "{ hero { id } }"), onMiss).join()
+        def entry = cache2.getPersistedQueryDocumentAsync("hash1", mkEI("hash1", PersistedQuerySupport.PERSISTED_QUERY_MARKER), onMiss).join()
+
+        then:
+        printAstCompact(entry.document) == "{hero{name}}"
+        cache1.getKnownQueryIds() == ["hash1", "hash2"]
+
+        cleanup:
+        cache1.close()
+        cache2.close()
+    }
+
+    def "a partially written record is ignored and then overwritten"() {
+        def cache = DiskPersistedQueryCache.newDiskPersistedQueryCache(path).build()
+        cache.getPersistedQueryDocumentAsync("hash1", mkEI("hash1", "{ hero { name } }"), onMiss).join()
+        cache.close()
+        Files.write(path, [0, 0, 0, 99, 0, 0] as byte[], StandardOpenOption.APPEND)
+
+        when:
+        def reopened = DiskPersistedQueryCache.newDiskPersistedQueryCache(path).build()
+        reopened.getPersistedQueryDocumentAsync("hash2", mkEI("hash2", "{ hero { id } }"), onMiss).join()
+        reopened.close()
+        def again = DiskPersistedQueryCache.newDiskPersistedQueryCache(path).build()
+
+        then:
+        again.getKnownQueryIds() == ["hash1", "hash2"]
+
+        cleanup:
+        again?.close()
+    }
+
+    def "can warm up from disk against a schema"() {
+        def cache = DiskPersistedQueryCache.newDiskPersistedQueryCache(path).build()
+        cache.getPersistedQueryDocumentAsync("hash1", mkEI("hash1", "{ hero { name } }"), onMiss).join()
+        cache.getPersistedQueryDocumentAsync("hash2", mkEI("hash2", "{ hero { id } }"), onMiss).join()
+        cache.close()
+
+        def executor = Executors.newFixedThreadPool(2)
+        def reopened = DiskPersistedQueryCache.newDiskPersistedQueryCache(path).build()
+
+        when:
+        reopened.warmUp(StarWarsSchema.starWarsSchema, executor).join()
+        def entry = reopened.getPersistedQueryDocumentAsync("hash2", mkEI("hash2", PersistedQuerySupport.PERSISTED_QUERY_MARKER), onMiss).join()
+
+        then:
+        missCount == 2
+        !entry.hasErrors()
+        printAstCompact(entry.document) == "{hero{id}}"
+
+        cleanup:
+        executor.shutdown()
+        reopened.close()
+    }
+
+    def "a file that is not a journal is rejected"() {
+        Files.write(path, "not a journal".bytes)
+
+        when:
+        DiskPersistedQueryCache.newDiskPersistedQueryCache(path).build()
+
+        then:
+        thrown(UncheckedIOException)
+    }
+
+    def "concurrent misses for the same query only load it once"() {
+        def cache = DiskPersistedQueryCache.newDiskPersistedQueryCache(path).build()
+        def loading = new CountDownLatch(1)
+        def release = new CountDownLatch(1)
+        PersistedQueryCacheMiss slowMiss = { String query ->
+            loading.countDown()
+            release.await()
+            return onMiss.apply(query)
+        }
+
+        when:
+        def first = CompletableFuture.supplyAsync({ cache.getPersistedQueryDocumentAsync("hash1", mkEI("hash1", "{ hero { name } }"), slowMiss).join() })
+        loading.await()
+        def second = CompletableFuture.supplyAsync({ cache.getPersistedQueryDocumentAsync("hash1", mkEI("hash1", "{ hero { name } }"), slowMiss).join() })
+        Thread.sleep(100)
+        release.countDown()
+
+        then:
+        first.join().is(second.join())
+        missCount == 1
+
+        cleanup:
+        cache.close()
+    }
+
+    def "a journal can be read across mapped segments"() {
+        def journal = new PersistedQueryJournal(path, 16)
+        def queries = (1..20).collectEntries { ["hash" + it, "{ hero { name id friends { name } } } # " + it] }
+
+        when:
+        queries.each { id, query -> journal.append(id, query) }
+        journal.close()
+        def reopened = new PersistedQueryJournal(path, 16)
+
+        then:
+        reopened.getQueryIds() == queries.keySet() as List
+        queries.every { id, query -> reopened.readQuery(id) == query }
+
+        cleanup:
+        reopened?.close()
+    }
+}
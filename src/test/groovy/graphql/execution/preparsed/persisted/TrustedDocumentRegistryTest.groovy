@@ -0,0 +1,169 @@
+package graphql.execution.preparsed.persisted
+
+import graphql.ErrorType
+import graphql.ExecutionInput
+import graphql.GraphQL
+import graphql.StarWarsSchema
+import graphql.TestUtil
+import graphql.execution.instrumentation.LegacyTestingInstrumentation
+import graphql.schema.DataFetcher
+import spock.lang.Specification
+
+import static graphql.execution.preparsed.persisted.PersistedQuerySupport.PERSISTED_QUERY_MARKER
+
+class TrustedDocumentRegistryTest extends Specification {
+
+    def mkEI(String hash, String query) {
+        ExecutionInput.newExecutionInput().query(query).extensions([persistedQuery: [sha256Hash: hash]]).build()
+    }
+
+    def manifest = [
+            heroName: "query HeroName { hero { name } }",
+            heroId  : "query HeroId { hero { id } }",
+    ]
+
+    def "trusted documents skip parsing and validation"() {
+        def registry = TrustedDocumentRegistry.newTrustedDocumentRegistry()
+                .schema(StarWarsSchema.starWarsSchema)
+                .documents(manifest)
+                .build()
+        def instrumentation = new LegacyTestingInstrumentation()
+        def graphQL = GraphQL.newGraphQL(StarWarsSchema.starWarsSchema)
+                .instrumentation(instrumentation)
+                .preparsedDocumentProvider(new ApolloPersistedQuerySupport(registry))
+                .build()
+
+        when:
+        def result = graphQL.execute(mkEI("heroName", PERSISTED_QUERY_MARKER))
+
+        then:
+        result.errors.isEmpty()
+        result.data == [hero: [name: "R2-D2"]]
+        !instrumentation.executionList.contains("start:parse")
+        !instrumentation.executionList.contains("start:validation")
+    }
+
+    def "unregistered documents are rejected by default"() {
+        def registry = TrustedDocumentRegistry.newTrustedDocumentRegistry()
+                .schema(StarWarsSchema.starWarsSchema)
+                .documents(manifest)
+                .build()
+        def graphQL = GraphQL.newGraphQL(StarWarsSchema.starWarsSchema)
+                .preparsedDocumentProvider(new ApolloPersistedQuerySupport(registry))
+                .build()
+
+        when:
+        def result = graphQL.execute(mkEI("unknown", "query { hero { name } }"))
+
+        then:
+        result.errors.size() == 1
+        result.errors[0].message == "PersistedQueryNotFound"
+    }
+
+    def "unregistered documents can be allowed"() {
+        def registry = TrustedDocumentRegistry.newTrustedDocumentRegistry()
+                .schema(StarWarsSchema.starWarsSchema)
+                .documents(manifest)
+                .allowUntrustedDocuments(true)
+                .build()
+        def graphQL = GraphQL.newGraphQL(StarWarsSchema.starWarsSchema)
+                .preparsedDocumentProvider(new ApolloPersistedQuerySupport(registry))
+                .build()
+        def query = "query { hero { id } }"
+        def hash = "ab6d3527e294de629be54a5a31f31adb17d2a92a0d92ccd67201ebfde3517fff"
+
+        when:
+        def result = graphQL.execute(mkEI(hash, query))
+
+        then:
+        result.errors.isEmpty()
+        result.data == [hero: [id: "2001"]]
+        !registry.getDocuments().containsKey(hash)
+    }
+
+    def "documents are validated at load time and re-validated when the schema changes"() {
+        def registry = TrustedDocumentRegistry.newTrustedDocumentRegistry()
+                .schema(StarWarsSchema.starWarsSchema)
+                .documents(manifest)
+                .document("bad", "query { hero { name ")
+                .build()
+
+        expect:
+        !registry.getDocuments()["heroName"].hasErrors()
+        !registry.getDocuments()["heroId"].hasErrors()
+        registry.getDocuments()["bad"].errors[0].errorType == ErrorType.InvalidSyntax
+
+        when:
+        def newSchema = TestUtil.schema("""
+            type Query {
+                hero : Character
+            }
+            type Character {
+                id : ID
+            }
+        """)
+        def heroNameDocument = registry.getDocuments()["heroName"].document
+        registry.revalidate(newSchema)
+
+        then:
+        registry.getSchema() == newSchema
+        registry.getDocuments()["heroName"].hasErrors()
+        registry.getDocuments()["heroName"].errors[0].errorType == ErrorType.ValidationError
+        registry.getDocuments()["heroName"].document.is(heroNameDocument)
+        !registry.getDocuments()["heroId"].hasErrors()
+    }
+
+    def "documents are validated against the schema they are executed against"() {
+        def registry = TrustedDocumentRegistry.newTrustedDocumentRegistry()
+                .schema(StarWarsSchema.starWarsSchema)
+                .documents(manifest)
+                .build()
+        def newSchema = TestUtil.schema("""
+            type Query {
+                hero : Character
+            }
+            type Character {
+                id : ID
+            }
+        """, [Query: [hero: { env -> [id: "1"] } as DataFetcher]])
+        def graphQL = GraphQL.newGraphQL(newSchema)
+                .preparsedDocumentProvider(new ApolloPersistedQuerySupport(registry))
+                .build()
+
+        when:
+        def heroName = graphQL.execute(mkEI("heroName", PERSISTED_QUERY_MARKER))
+        def heroId = graphQL.execute(mkEI("heroId", PERSISTED_QUERY_MARKER))
+
+        then:
+        heroName.errors.size() == 1
+        heroName.errors[0].errorType == ErrorType.ValidationError
+        heroName.data == null
+        heroId.errors.isEmpty()
+        heroId.data == [hero: [id: "1"]]
+        // the registry keeps its documents until it is revalidated
+        registry.getSchema() == StarWarsSchema.starWarsSchema
+        !registry.getDocuments()["heroName"].hasErrors()
+    }
+
+    def "documents are only validated once per schema they are executed against"() {
+        def registry = TrustedDocumentRegistry.newTrustedDocumentRegistry()
+                .schema(StarWarsSchema.starWarsSchema)
+                .documents(manifest)
+                .build()
+        def newSchema = TestUtil.schema("type Query { hero : String }")
+        PersistedQueryCacheMiss onMiss = { String query -> throw new IllegalStateException("no miss expected") }
+        def ei = mkEI("heroName", PERSISTED_QUERY_MARKER)
+
+        when:
+        def first = registry.getPersistedQueryDocumentAsync("heroName", ei, newSchema, onMiss).join()
+        def second = registry.getPersistedQueryDocumentAsync("heroName", ei, newSchema, onMiss).join()
+        def registered = registry.getPersistedQueryDocumentAsync("heroName", ei, StarWarsSchema.starWarsSchema, onMiss).join()
+
+        then:
+        first.hasErrors()
+        second.is(first)
+        registered.is(registry.getDocuments()["heroName"])
+        // the schema is passed along rather than put in the context of the request
+        ei.getGraphQLContext().stream().count() == 0
+    }
+}
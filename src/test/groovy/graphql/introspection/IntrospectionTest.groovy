@@ -1,13 +1,21 @@
 package graphql.introspection
 
 import graphql.ExecutionInput
+import graphql.ExecutionResult
 import graphql.TestUtil
 import graphql.execution.AsyncSerialExecutionStrategy
+import graphql.execution.instrumentation.ExecutionStrategyInstrumentationContext
+import graphql.execution.instrumentation.InstrumentationState
+import graphql.execution.instrumentation.SimplePerformantInstrumentation
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionStrategyParameters
 import graphql.schema.DataFetcher
 import graphql.schema.FieldCoordinates
 import graphql.schema.GraphQLCodeRegistry
+import graphql.schema.GraphQLFieldDefinition
 import graphql.schema.GraphQLFieldsContainer
 import graphql.schema.GraphQLNamedType
+import graphql.schema.visibility.DefaultGraphqlFieldVisibility
+import graphql.schema.visibility.GraphqlFieldVisibility
 import spock.lang.Issue
 import spock.lang.See
 import spock.lang.Specification
@@ -804,4 +812,141 @@ class IntrospectionTest extends Specification {
         er.errors.isEmpty()
     }
 
+    def "standard introspection queries can be served from a cached result"() {
+        def graphQL = TestUtil.graphQL("type Query { f(arg : String = \"x\") : String } ").build()
+        def cached = { String query -> ExecutionInput.newExecutionInput(query).graphQLContext([(Introspection.CACHED_INTROSPECTION_ENABLED): true]).build() }
+        def customQuery = IntrospectionQueryBuilder.build(IntrospectionQueryBuilder.Options.defaultOptions().descriptions(false).typeRefFragmentDepth(3))
+
+        when:
+        def uncachedResult = graphQL.execute(IntrospectionQuery.INTROSPECTION_QUERY)
+        def firstResult = graphQL.execute(cached(IntrospectionQuery.INTROSPECTION_QUERY))
+        def secondResult = graphQL.execute(cached(IntrospectionQuery.INTROSPECTION_QUERY))
+        def thirdResult = graphQL.execute(cached(IntrospectionQuery.INTROSPECTION_QUERY))
+
+        then:
+        firstResult.errors.isEmpty()
+        firstResult.data == uncachedResult.data
+        secondResult.data == uncachedResult.data
+        secondResult.data.is(thirdResult.data)
+        !graphQL.execute(IntrospectionQuery.INTROSPECTION_QUERY).data.is(secondResult.data)
+
+        when:
+        secondResult.data["__schema"]["types"].clear()
+
+        then:
+        thrown(UnsupportedOperationException)
+
+        when:
+        graphQL.execute(cached(customQuery))
+        def customResult = graphQL.execute(cached(customQuery))
+
+        then:
+        customResult.data == graphQL.execute(customQuery).data
+        graphQL.execute(cached(customQuery)).data.is(customResult.data)
+        !customResult.data.is(secondResult.data)
+
+        when:
+        def nonStandardQuery = IntrospectionQuery.INTROSPECTION_QUERY.replace("query IntrospectionQuery", "query OtherIntrospectionQuery")
+        graphQL.execute(cached(nonStandardQuery))
+        def nonStandardResult = graphQL.execute(cached(nonStandardQuery))
+
+        then:
+        nonStandardResult.errors.isEmpty()
+        !graphQL.execute(cached(nonStandardQuery)).data.is(nonStandardResult.data)
+    }
+
+    def "cached introspection results still honour introspection being disabled"() {
+        def graphQL = TestUtil.graphQL("type Query { f : String } ").build()
+        def context = [(Introspection.CACHED_INTROSPECTION_ENABLED): true]
+
+        when:
+        graphQL.execute(ExecutionInput.newExecutionInput(IntrospectionQuery.INTROSPECTION_QUERY).graphQLContext(context).build())
+        def disabledContext = context + [(Introspection.INTROSPECTION_DISABLED): true]
+        def er = graphQL.execute(ExecutionInput.newExecutionInput(IntrospectionQuery.INTROSPECTION_QUERY).graphQLContext(disabledContext).build())
+
+        then:
+        er.errors[0] instanceof IntrospectionDisabledError
+        er.data == null
+    }
+
+    def "cached introspection results are not used for field visibility that may change"() {
+        def visibility = new GraphqlFieldVisibility() {
+            @Override
+            List<GraphQLFieldDefinition> getFieldDefinitions(GraphQLFieldsContainer fieldsContainer) {
+                return fieldsContainer.getFieldDefinitions()
+            }
+
+            @Override
+            GraphQLFieldDefinition getFieldDefinition(GraphQLFieldsContainer fieldsContainer, String fieldName) {
+                return fieldsContainer.getFieldDefinition(fieldName)
+            }
+        }
+        def schema = TestUtil.schema("type Query { f : String } ")
+        schema = schema.transformWithoutTypes({ it.codeRegistry(schema.getCodeRegistry().transform({ it.fieldVisibility(visibility) })) })
+        def graphQL = newGraphQL(schema).build()
+        def input = { ExecutionInput.newExecutionInput(IntrospectionQuery.INTROSPECTION_QUERY).graphQLContext([(Introspection.CACHED_INTROSPECTION_ENABLED): true]).build() }
+
+        when:
+        graphQL.execute(input())
+        def first = graphQL.execute(input())
+        def second = graphQL.execute(input())
+
+        then:
+        first.data == second.data
+        !first.data.is(second.data)
+    }
+
+    def "cached introspection results are not used for subclasses of a stable field visibility"() {
+        def visibility = new DefaultGraphqlFieldVisibility() {
+            @Override
+            GraphQLFieldDefinition getFieldDefinition(GraphQLFieldsContainer fieldsContainer, String fieldName) {
+                return fieldsContainer.getFieldDefinition(fieldName)
+            }
+        }
+        def schema = TestUtil.schema("type Query { f : String } ")
+        schema = schema.transformWithoutTypes({ it.codeRegistry(schema.getCodeRegistry().transform({ it.fieldVisibility(visibility) })) })
+        def graphQL = newGraphQL(schema).build()
+        def input = { ExecutionInput.newExecutionInput(IntrospectionQuery.INTROSPECTION_QUERY).graphQLContext([(Introspection.CACHED_INTROSPECTION_ENABLED): true]).build() }
+
+        when:
+        graphQL.execute(input())
+        def first = graphQL.execute(input())
+        def second = graphQL.execute(input())
+
+        then:
+        first.data == second.data
+        !first.data.is(second.data)
+    }
+
+    def "cached introspection results complete the execution strategy instrumentation"() {
+        List<String> calls = []
+        def instrumentation = new SimplePerformantInstrumentation() {
+            @Override
+            ExecutionStrategyInstrumentationContext beginExecutionStrategy(InstrumentationExecutionStrategyParameters parameters, InstrumentationState state) {
+                calls.add("begin")
+                return new ExecutionStrategyInstrumentationContext() {
+                    @Override
+                    void onDispatched() {
+                        calls.add("dispatched")
+                    }
+
+                    @Override
+                    void onCompleted(ExecutionResult result, Throwable t) {
+                        calls.add(result.data == null ? "completed without data" : "completed")
+                    }
+                }
+            }
+        }
+        def graphQL = TestUtil.graphQL("type Query { f : String } ").instrumentation(instrumentation).build()
+        def input = { ExecutionInput.newExecutionInput(IntrospectionQuery.INTROSPECTION_QUERY).graphQLContext([(Introspection.CACHED_INTROSPECTION_ENABLED): true]).build() }
+
+        when:
+        graphQL.execute(input())
+        calls.clear()
+        def cachedResult = graphQL.execute(input())
+
+        then:
+        cachedResult.errors.isEmpty()
+        calls == ["begin", "dispatched", "completed"]
+    }
 }
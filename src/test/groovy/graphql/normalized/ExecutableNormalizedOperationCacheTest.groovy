@@ -0,0 +1,128 @@
+package graphql.normalized
+
+import graphql.ExecutionInput
+import graphql.GraphQL
+import graphql.TestUtil
+import graphql.execution.CoercedVariables
+import graphql.execution.preparsed.PreparsedDocumentEntry
+import graphql.execution.preparsed.PreparsedDocumentProvider
+import graphql.language.Document
+import graphql.language.FragmentDefinition
+import graphql.language.OperationDefinition
+import graphql.schema.DataFetcher
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+import java.util.function.Function
+
+class ExecutableNormalizedOperationCacheTest extends Specification {
+
+    def sdl = """
+        type Query {
+            pets(kind : String) : [Pet]
+        }
+        type Pet {
+            name : String
+            owner : String
+        }
+    """
+
+    def schema = TestUtil.schema(sdl)
+
+    def query = """
+        query Pets(\$kind : String, \$withOwner : Boolean!, \$unused : Int) {
+            pets(kind : \$kind) {
+                ...PetFields
+            }
+        }
+        fragment PetFields on Pet {
+            name
+            owner @include(if : \$withOwner)
+        }
+    """
+
+    ExecutableNormalizedOperation normalize(ExecutableNormalizedOperationCache cache, Document document, Map<String, Object> variables) {
+        def operation = document.getDefinitionsOfType(OperationDefinition)[0]
+        def fragments = document.getDefinitionsOfType(FragmentDefinition).collectEntries { [it.name, it] }
+        return cache.getOrCreate(schema, document, operation, fragments, CoercedVariables.of(variables))
+    }
+
+    def "normalized operations are shared when only the variables they don't use change"() {
+        def cache = ExecutableNormalizedOperationCache.newCache(10)
+        def document = TestUtil.parseQuery(query)
+
+        when:
+        def operation = normalize(cache, document, [kind: "cat", withOwner: true, unused: 1])
+
+        then:
+        normalize(cache, document, [kind: "cat", withOwner: true, unused: 2]).is(operation)
+        !normalize(cache, TestUtil.parseQuery(query), [kind: "cat", withOwner: true, unused: 1]).is(operation)
+        cache.size() == 2
+
+        when:
+        def withoutOwner = normalize(cache, document, [kind: "cat", withOwner: false])
+        def dogs = normalize(cache, document, [kind: "dog", withOwner: true])
+
+        then:
+        operation.getTopLevelFields()[0].getChildren().collect { it.name } == ["name", "owner"]
+        withoutOwner.getTopLevelFields()[0].getChildren().collect { it.name } == ["name"]
+        dogs.getTopLevelFields()[0].getResolvedArguments() == [kind: "dog"]
+        cache.size() == 4
+    }
+
+    def "the least recently used normalized operations are evicted"() {
+        def cache = ExecutableNormalizedOperationCache.newCache(2)
+        def document = TestUtil.parseQuery(query)
+
+        when:
+        def cats = normalize(cache, document, [kind: "cat", withOwner: true])
+        def dogs = normalize(cache, document, [kind: "dog", withOwner: true])
+        normalize(cache, document, [kind: "cat", withOwner: true])
+        normalize(cache, document, [kind: "bird", withOwner: true])
+
+        then:
+        cache.size() == 2
+        normalize(cache, document, [kind: "cat", withOwner: true]).is(cats)
+        !normalize(cache, document, [kind: "dog", withOwner: true]).is(dogs)
+
+        when:
+        cache.clear()
+
+        then:
+        cache.size() == 0
+    }
+
+    def "executions use the cache given in the graphql context"() {
+        def cache = ExecutableNormalizedOperationCache.newCache(10)
+        def selections = []
+        DataFetcher petsFetcher = { env ->
+            selections.add(env.getSelectionSet().getFields().collect { it.name })
+            return [[name: "Tom", owner: "Jerry"]]
+        }
+        def graphQL = GraphQL.newGraphQL(TestUtil.schema(sdl, [Query: [pets: petsFetcher]]))
+                .preparsedDocumentProvider(new CachingPreparsedDocumentProvider())
+                .build()
+
+        when:
+        def executionQuery = query.replace(", \$unused : Int", "")
+        def results = [true, true, false].collect {
+            def executionInput = ExecutionInput.newExecutionInput(executionQuery).variables([kind: "cat", withOwner: it]).build()
+            GraphQL.unusualConfiguration(executionInput).normalizedOperations().cache(cache)
+            graphQL.execute(executionInput)
+        }
+
+        then:
+        results.every { it.errors.isEmpty() }
+        selections == [["name", "owner"], ["name", "owner"], ["name"]]
+        cache.size() == 2
+    }
+
+    static class CachingPreparsedDocumentProvider implements PreparsedDocumentProvider {
+        Map<String, PreparsedDocumentEntry> entries = [:]
+
+        @Override
+        CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(ExecutionInput executionInput, Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+            return CompletableFuture.completedFuture(entries.computeIfAbsent(executionInput.getQuery(), { parseAndValidateFunction.apply(executionInput) }))
+        }
+    }
+}
@@ -21,6 +21,7 @@ import graphql.util.TraverserContext
 import graphql.util.TraverserVisitorStub
 import spock.lang.Specification
 
+import java.util.concurrent.ForkJoinPool
 import java.util.stream.Collectors
 import java.util.stream.IntStream
 
@@ -3187,6 +3188,124 @@ fragment personName on Person {
     }
 
 
+    def "normalizing in parallel gives the same normalized operation as on a single thread"() {
+        String schema = """
+        type Query {
+            animals: [Animal]
+            pet(name : String): Pet
+        }
+        interface Animal {
+            name: String
+            friends: [Animal]
+        }
+        union Pet = Dog | Cat
+        type Dog implements Animal {
+            name: String
+            friends: [Animal]
+            barks: Boolean
+        }
+        type Cat implements Animal {
+            name: String
+            friends: [Animal]
+            meows: Boolean
+        }
+        """
+        GraphQLSchema graphQLSchema = TestUtil.schema(schema)
+
+        String query = """
+        query Q(\$name : String) {
+            animals {
+                name
+                ...AnimalFields
+                ... on Dog { barks friends { ... on Cat { meows } } }
+                ... on Cat { friends { name ...AnimalFields } }
+            }
+            rex: pet(name : \$name) { ... on Dog { name barks } ... on Cat { name } }
+            tom: pet(name : "tom") { ... on Cat { meows } }
+        }
+        fragment AnimalFields on Animal {
+            friends {
+                name
+                friends { name ... on Dog { barks } }
+            }
+        }
+        """
+        assertValidQuery(graphQLSchema, query)
+        Document document = TestUtil.parseQuery(query)
+        def variables = CoercedVariables.of([name: "rex"])
+        def pool = new ForkJoinPool(4)
+
+        when:
+        def sequential = ExecutableNormalizedOperationFactory.createExecutableNormalizedOperation(graphQLSchema, document, null, variables)
+        def parallel = ExecutableNormalizedOperationFactory.createExecutableNormalizedOperation(graphQLSchema, document, null, variables,
+                ExecutableNormalizedOperationFactory.Options.defaultOptions().forkJoinPool(pool))
+
+        then:
+        printTreeWithLevelInfo(parallel, graphQLSchema) == printTreeWithLevelInfo(sequential, graphQLSchema)
+        parallel.getOperationFieldCount() == sequential.getOperationFieldCount()
+        parallel.getOperationDepth() == sequential.getOperationDepth()
+        parallel.getCoordinatesToNormalizedFields().entries().collect { [it.key, it.value.printDetails()] } ==
+                sequential.getCoordinatesToNormalizedFields().entries().collect { [it.key, it.value.printDetails()] }
+        parallel.getFieldToNormalizedField().entries().collect { [it.key, it.value.printDetails()] } ==
+                sequential.getFieldToNormalizedField().entries().collect { [it.key, it.value.printDetails()] }
+        parallel.getNormalizedFieldToMergedField().values().toList() == sequential.getNormalizedFieldToMergedField().values().toList()
+
+        cleanup:
+        pool.shutdown()
+    }
+
+    def "normalizing in parallel still enforces the max fields count and max depth"() {
+        String schema = """
+        type Query {
+            foo: Foo
+        }
+        type Foo {
+            foo: Foo
+            name: String
+        }
+        """
+        GraphQLSchema graphQLSchema = TestUtil.schema(schema)
+
+        String query = "{ foo { ...F1}} "
+        int fragmentCount = 12
+        for (int i = 1; i < fragmentCount; i++) {
+            query += """
+             fragment F$i on Foo {
+                foo { ...F${i + 1} }
+                a: foo{ ...F${i + 1} }
+                b: foo{ ...F${i + 1} }
+             }
+            """
+        }
+        query += """
+        fragment F$fragmentCount on Foo{
+            name
+        }
+        """
+        Document document = TestUtil.parseQuery(query)
+        def pool = new ForkJoinPool(4)
+        def options = ExecutableNormalizedOperationFactory.Options.defaultOptions().forkJoinPool(pool)
+
+        when:
+        ExecutableNormalizedOperationFactory.createExecutableNormalizedOperation(graphQLSchema, document, null, CoercedVariables.emptyVariables(), options)
+
+        then:
+        def e = thrown(AbortExecutionException)
+        e.message.startsWith("Maximum field count exceeded.")
+
+        when:
+        ExecutableNormalizedOperationFactory.createExecutableNormalizedOperation(graphQLSchema, document, null, CoercedVariables.emptyVariables(),
+                options.maxChildrenDepth(5))
+
+        then:
+        def depthException = thrown(AbortExecutionException)
+        depthException.message == "Maximum query depth exceeded. 6 > 5"
+
+        cleanup:
+        pool.shutdown()
+    }
+
+
     private static ExecutableNormalizedOperation localCreateExecutableNormalizedOperation(
             GraphQLSchema graphQLSchema,
             Document document,
@@ -0,0 +1,89 @@
+package graphql.schema
+
+import graphql.TestUtil
+import graphql.introspection.Introspection
+import spock.lang.Specification
+
+import static graphql.schema.idl.RuntimeWiring.newRuntimeWiring
+import static graphql.schema.idl.TypeRuntimeWiring.newTypeWiring
+
+class BoundDataFetchersTest extends Specification {
+
+    def sdl = '''
+        type Query {
+            hero : Hero
+            name : String
+            lateBound : String
+        }
+        type Hero {
+            name : String
+        }
+    '''
+
+    DataFetcher heroDF = { env -> [name: "R2-D2"] }
+    int factoryCalls = 0
+    DataFetcherFactory lateBoundFactory = new DataFetcherFactory() {
+        @Override
+        DataFetcher get(DataFetcherFactoryEnvironment environment) {
+            factoryCalls++
+            return { env -> "late" + factoryCalls } as DataFetcher
+        }
+    }
+
+    def schema = TestUtil.schema(sdl, newRuntimeWiring()
+            .codeRegistry(GraphQLCodeRegistry.newCodeRegistry().dataFetcher(FieldCoordinates.coordinates("Query", "lateBound"), lateBoundFactory))
+            .type(newTypeWiring("Query").dataFetcher("hero", heroDF))
+            .build())
+
+    def "data fetchers are bound to their fields"() {
+        def boundDataFetchers = schema.getBoundDataFetchers()
+        def queryType = schema.getQueryType()
+        def heroType = schema.getObjectType("Hero")
+
+        expect:
+        boundDataFetchers.getDataFetcher(queryType, queryType.getFieldDefinition("hero")).is(heroDF)
+        boundDataFetchers.getDataFetcher(queryType, queryType.getFieldDefinition("name")).is(SingletonPropertyDataFetcher.singleton())
+        boundDataFetchers.getDataFetcher(heroType, heroType.getFieldDefinition("name")).is(SingletonPropertyDataFetcher.singleton())
+    }
+
+    def "they give the same data fetchers as the code registry"() {
+        def boundDataFetchers = schema.getBoundDataFetchers()
+        def queryType = schema.getQueryType()
+
+        expect:
+        [queryType.getFieldDefinition("hero"), Introspection.TypeNameMetaFieldDef, schema.getIntrospectionSchemaFieldDefinition()].every {
+            boundDataFetchers.getDataFetcher(queryType, it).is(schema.getCodeRegistry().getDataFetcher(queryType, it))
+        }
+    }
+
+    def "late binding data fetcher factories are called on every fetch"() {
+        def boundDataFetchers = schema.getBoundDataFetchers()
+        def queryType = schema.getQueryType()
+        def lateBound = queryType.getFieldDefinition("lateBound")
+
+        when:
+        def df1 = boundDataFetchers.getDataFetcher(queryType, lateBound)
+        def df2 = boundDataFetchers.getDataFetcher(queryType, lateBound)
+
+        then:
+        factoryCalls == 2
+        !df1.is(df2)
+    }
+
+    def "a transformed schema gets fresh bindings"() {
+        DataFetcher newHeroDF = { env -> [name: "Luke"] }
+        def queryType = schema.getQueryType()
+        def boundHeroDF = schema.getBoundDataFetchers().getDataFetcher(queryType, queryType.getFieldDefinition("hero"))
+
+        when:
+        def newSchema = schema.transform({ builder ->
+            builder.codeRegistry(schema.getCodeRegistry().transform({ it.dataFetcher(FieldCoordinates.coordinates("Query", "hero"), newHeroDF) }))
+        })
+        def newQueryType = newSchema.getQueryType()
+
+        then:
+        boundHeroDF.is(heroDF)
+        !newSchema.getBoundDataFetchers().is(schema.getBoundDataFetchers())
+        newSchema.getBoundDataFetchers().getDataFetcher(newQueryType, newQueryType.getFieldDefinition("hero")).is(newHeroDF)
+    }
+}
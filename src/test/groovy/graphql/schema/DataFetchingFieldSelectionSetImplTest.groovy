@@ -966,6 +966,57 @@ class DataFetchingFieldSelectionSetImplTest extends Specification {
 
     }
 
+    def "sibling environments share the selected fields of their normalized field"() {
+        def sdl = """
+            type Query {
+                pets : [Pet]
+            }
+            type Pet {
+                name : String
+                owner : Person
+            }
+            type Person {
+                name : String
+            }
+        """
+        def ownerSelectionSets = []
+        DataFetcher ownerDF = { env ->
+            ownerSelectionSets.add(env.getSelectionSet())
+            return [name: "Jerry"]
+        }
+        def runtimeWiring = newRuntimeWiring()
+                .type(newTypeWiring("Query").dataFetcher("pets", { env -> [[name: "Tom"], [name: "Spike"], [name: "Tyke"]] }))
+                .type(newTypeWiring("Pet").dataFetcher("owner", ownerDF))
+                .build()
+        def graphQL = GraphQL.newGraphQL(TestUtil.schema(sdl, runtimeWiring)).build()
+
+        when:
+        def er = graphQL.execute("{ pets { owner { name } } }")
+
+        then:
+        er.errors.isEmpty()
+        ownerSelectionSets.size() == 3
+        ownerSelectionSets.every { it.contains("name") && it.contains("/Person.name") && !it.contains("owner/*") }
+        def fields = ownerSelectionSets.collect { it.getFields() }
+        fields[0].collect { it.qualifiedName } == ["name"]
+        fields.every { it[0].is(fields[0][0]) }
+        ownerSelectionSets.collect { it.getImmediateFields() }.every { it.is(ownerSelectionSets[0].getImmediateFields()) }
+    }
+
+    def "glob patterns work the same when compiled once"() {
+        def ei = ExecutionInput.newExecutionInput(starWarsQuery).build()
+        def er = starWarsGraphql.execute(ei)
+
+        expect:
+        er.errors.isEmpty()
+        (1..3).every {
+            selectionSet.contains("friends/friends/*") && !selectionSet.contains("friends/friends/friends/*")
+        }
+        selectionSet.getFields("friends/name", "friends/friends/name").collect { it.qualifiedName }.sort() ==
+                ["friends/friends/name", "friends/name"]
+        selectionSet.getFields("friends/name", "friends/friends/name") == selectionSet.getFields("friends/name", "friends/friends/name")
+    }
+
     static Comparator<SelectedField> byName() {
         { o1, o2 -> (o1.getQualifiedName() <=> o2.getQualifiedName()) }
     }
@@ -608,6 +608,53 @@ class PropertyDataFetcherTest extends Specification {
 
     }
 
+    def "a fetcher gets the right values from sources of many classes"() {
+        def fetcher = new PropertyDataFetcher("name")
+
+        when:
+        def values = [new ProductDTO(name: "Prado"), new ProductDTO(name: "Camry"), [name: "fromMap"],
+                      new SomeObject(value: "noName"), new ProductDTO(name: "Corolla"), [name: "fromMapAgain"]]
+                .collect { fetcher.get(env("name", it)) }
+
+        then:
+        values == ["Prado", "Camry", "fromMap", null, "Corolla", "fromMapAgain"]
+    }
+
+    def "a fetcher remembers that getters taking the environment can't be inline cached"() {
+        def fetcher = new PropertyDataFetcher("methodUsesDataFetchingEnvironment")
+        def source = new ClassWithDFEMethods()
+        def environment = { String argument ->
+            newDataFetchingEnvironment(env("methodUsesDataFetchingEnvironment", source)).arguments([argument1: argument]).build()
+        }
+
+        when:
+        def values = ["first", "second", "third"].collect { fetcher.get(environment(it)) }
+
+        then:
+        values == ["first", "second", "third"]
+        fetcher.inlineCache.sourceClass == ClassWithDFEMethods
+        fetcher.inlineCache.accessor == null
+    }
+
+    def "a fetcher stops using the accessor it has seen once the reflection cache is cleared"() {
+        def fetcher = new PropertyDataFetcher("privateProperty")
+        def environment = env("privateProperty", new TestClass())
+
+        when:
+        def values = [fetcher.get(environment), fetcher.get(environment)]
+
+        then:
+        values == ["privateValue", "privateValue"]
+
+        when:
+        PropertyDataFetcher.setUseSetAccessible(false)
+        PropertyDataFetcher.clearReflectionCache()
+        def value = fetcher.get(environment)
+
+        then:
+        value == null
+    }
+
     static class ProductDTO {
         String name
         String model
@@ -0,0 +1,214 @@
+package graphql.schema
+
+import graphql.ExecutionInput
+import graphql.GraphQL
+import graphql.TestUtil
+import graphql.schema.idl.RuntimeWiring
+import graphql.schema.idl.SchemaPrinter
+import graphql.schema.idl.TypeRuntimeWiring
+import spock.lang.Specification
+
+class SchemaImageTest extends Specification {
+
+    def sdl = '''
+        "the schema"
+        schema @schemaDirective(reason : "yes") {
+            query : Query
+            mutation : Mutation
+        }
+
+        directive @schemaDirective(reason : String) on SCHEMA
+        directive @tag(names : [String!]! = ["a", "b"], weight : Float = 1.5, input : TagInput) repeatable on FIELD_DEFINITION | OBJECT | ARGUMENT_DEFINITION | ENUM_VALUE | INPUT_FIELD_DEFINITION
+
+        scalar Date @specifiedBy(url : "https://example.com/date")
+
+        type Query @tag(names : ["query"]) {
+            "the pets"
+            pets(first : Int = 10, kind : Kind = DOG @tag(names : []), filter : PetFilter) : [Pet!]! @tag(names : ["x"]) @tag(names : ["y"], input : {id : "1", nested : [{id : "2"}]})
+            search(text : String!) : [SearchResult]
+            oldField : String @deprecated(reason : "use pets")
+            born : Date
+        }
+
+        type Mutation {
+            addPet(name : String!) : Pet
+        }
+
+        interface Node {
+            id : ID!
+        }
+
+        interface Pet implements Node {
+            id : ID!
+            name : String
+            kind : Kind
+        }
+
+        type Dog implements Pet & Node {
+            id : ID!
+            name : String
+            kind : Kind
+            barks : Boolean
+        }
+
+        type Cat implements Pet & Node {
+            id : ID!
+            name : String
+            kind : Kind
+            friends : [Cat]
+        }
+
+        union SearchResult = Dog | Cat
+
+        enum Kind {
+            "a dog"
+            DOG @tag(names : ["dog"])
+            CAT @deprecated
+        }
+
+        input PetFilter @oneOf {
+            name : String @tag(names : ["name"])
+            kind : Kind
+        }
+
+        input TagInput {
+            id : ID = "none"
+            nested : [TagInput]
+        }
+    '''
+
+    def wiring = RuntimeWiring.newRuntimeWiring()
+            .scalar(GraphQLScalarType.newScalar().name("Date").coercing(new Coercing() {}).build())
+            .type(TypeRuntimeWiring.newTypeWiring("Query")
+                    .dataFetcher("pets", { env -> [[id: "1", name: "Fido", kind: "DOG", barks: true], [id: "2", name: "Tom", kind: "CAT"]] })
+                    .dataFetcher("search", { env -> [[id: "1", name: "Fido", barks: true]] }))
+            .type(TypeRuntimeWiring.newTypeWiring("Node").typeResolver({ env -> env.schema.getObjectType("Dog") }))
+            .type(TypeRuntimeWiring.newTypeWiring("Pet").typeResolver({ env -> env.schema.getObjectType(env.object.barks ? "Dog" : "Cat") }))
+            .type(TypeRuntimeWiring.newTypeWiring("SearchResult").typeResolver({ env -> env.schema.getObjectType("Dog") }))
+            .build()
+
+    def roundTrip(GraphQLSchema schema, RuntimeWiring wiring) {
+        def bytes = new ByteArrayOutputStream()
+        SchemaImage.write(schema, bytes)
+        SchemaImage.read(new ByteArrayInputStream(bytes.toByteArray()), wiring)
+    }
+
+    def print(GraphQLSchema schema) {
+        new SchemaPrinter(SchemaPrinter.Options.defaultOptions().includeSchemaDefinition(true).includeDirectives(true)).print(schema)
+    }
+
+    def "a schema read from an image is the same as the schema that was written"() {
+        def schema = TestUtil.schema(sdl, wiring)
+
+        when:
+        def imageSchema = roundTrip(schema, wiring)
+
+        then:
+        print(imageSchema) == print(schema)
+        imageSchema.getTypeMap().keySet() == schema.getTypeMap().keySet()
+        imageSchema.getDirectives().collect { it.name } == schema.getDirectives().collect { it.name }
+        imageSchema.getSchemaAppliedDirective("schemaDirective").getArgument("reason").getValue() == "yes"
+        imageSchema.getSchemaDirective("schemaDirective").getArgument("reason").getArgumentValue().getValue().value == "yes"
+        imageSchema.getObjectType("Query").getField("pets").getAppliedDirectives("tag").size() == 2
+        imageSchema.getObjectType("Query").getField("pets").getArgument("first").getArgumentDefaultValue().getValue().value == 10
+        imageSchema.getTypeAs("PetFilter").isOneOf()
+        imageSchema.getTypeAs("Date").getSpecifiedByUrl() == "https://example.com/date"
+        imageSchema.getImplementations(imageSchema.getTypeAs("Node")).collect { it.name } == ["Cat", "Dog"]
+        imageSchema.isPossibleType(imageSchema.getTypeAs("SearchResult"), imageSchema.getObjectType("Cat"))
+    }
+
+    def "type references are replaced with the real types"() {
+        def schema = TestUtil.schema(sdl, wiring)
+
+        when:
+        def imageSchema = roundTrip(schema, wiring)
+        def catType = imageSchema.getObjectType("Cat")
+
+        then:
+        GraphQLTypeUtil.unwrapAll(catType.getField("friends").getType()).is(catType)
+        catType.getInterfaces()[0].is(imageSchema.getType("Pet"))
+        GraphQLTypeUtil.unwrapAll(imageSchema.getTypeAs("TagInput").getField("nested").getType()).is(imageSchema.getType("TagInput"))
+    }
+
+    def "runtime wiring is attached when the image is read"() {
+        def schema = TestUtil.schema(sdl, wiring)
+        def coordinates = FieldCoordinates.coordinates("Mutation", "addPet")
+        def imageWiring = wiring.transform({
+            it.codeRegistry(GraphQLCodeRegistry.newCodeRegistry().dataFetcher(coordinates, { env -> [id: "3", name: env.getArgument("name"), barks: false] } as DataFetcher))
+        })
+
+        when:
+        def graphQL = GraphQL.newGraphQL(roundTrip(schema, imageWiring)).build()
+        def result = graphQL.execute('''
+            query { pets { __typename name kind } search(text : "F") { ... on Dog { name barks } } }
+        ''')
+        def mutationResult = graphQL.execute(ExecutionInput.newExecutionInput('mutation { addPet(name : "Rex") { __typename name } }'))
+
+        then:
+        result.errors.isEmpty()
+        result.data == [pets: [[__typename: "Dog", name: "Fido", kind: "DOG"], [__typename: "Cat", name: "Tom", kind: "CAT"]], search: [[name: "Fido", barks: true]]]
+        mutationResult.data == [addPet: [__typename: "Cat", name: "Rex"]]
+    }
+
+    def "introspection works on a schema read from an image"() {
+        def schema = TestUtil.schema(sdl, wiring)
+        def query = graphql.introspection.IntrospectionQuery.INTROSPECTION_QUERY
+
+        when:
+        def expected = GraphQL.newGraphQL(schema).build().execute(query)
+        def actual = GraphQL.newGraphQL(roundTrip(schema, wiring)).build().execute(query)
+
+        then:
+        actual.errors.isEmpty()
+        actual.data == expected.data
+    }
+
+    def "large schemas can be written and read"() {
+        def schema = TestUtil.schemaFile("extra-large-schema-1.graphqls")
+
+        when:
+        def imageWiring = TestUtil.mockRuntimeWiring.transform({ builder ->
+            ["URL", "DateTime", "Date", "Long", "JSON"].each { builder.scalar(TestUtil.mockScalar(it)) }
+        })
+        def imageSchema = roundTrip(schema, imageWiring)
+
+        then:
+        print(imageSchema) == print(schema)
+    }
+
+    def "enum values are looked up from the runtime wiring"() {
+        def enumSdl = '''
+            type Query {
+                kind : Kind
+            }
+            enum Kind {
+                DOG
+                CAT
+            }
+        '''
+        def enumWiring = RuntimeWiring.newRuntimeWiring()
+                .type(TypeRuntimeWiring.newTypeWiring("Kind").enumValues({ name -> name.toLowerCase() }))
+                .build()
+        def schema = TestUtil.schema(enumSdl, enumWiring)
+
+        when:
+        def imageSchema = roundTrip(schema, enumWiring)
+
+        then:
+        imageSchema.getTypeAs("Kind").getValue("DOG").getValue() == "dog"
+
+        when:
+        roundTrip(schema, RuntimeWiring.newRuntimeWiring().build())
+
+        then:
+        thrown(graphql.AssertException)
+    }
+
+    def "an input that is not a schema image is rejected"() {
+        when:
+        SchemaImage.read(new ByteArrayInputStream("type Query { f : String }".getBytes()), wiring)
+
+        then:
+        thrown(IOException)
+    }
+}
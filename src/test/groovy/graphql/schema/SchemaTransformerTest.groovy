@@ -1,6 +1,7 @@
 package graphql.schema
 
 import graphql.GraphQL
+import graphql.AssertException
 import graphql.Scalars
 import graphql.TestUtil
 import graphql.schema.idl.RuntimeWiring
@@ -1022,4 +1023,179 @@ type Query {
 }
 """
     }
+
+    def incrementalSdl = """
+        type Query {
+            user(id : ID) : User
+            search(filter : Filter) : [Result]
+            time : Time
+        }
+        type User implements Node {
+            id : ID
+            name : String
+            secret : String
+            friends : [User!]
+            address : Address
+        }
+        type Address {
+            city : String
+        }
+        type Robot {
+            id : ID
+        }
+        interface Node {
+            id : ID
+        }
+        union Result = User | Robot
+        input Filter {
+            name : String
+            nested : Filter
+        }
+        scalar Time
+        directive @tag(filter : Filter) on FIELD_DEFINITION
+        """
+
+    def removeSecrets = new GraphQLTypeVisitorStub() {
+        @Override
+        TraversalControl visitGraphQLFieldDefinition(GraphQLFieldDefinition node, TraverserContext<GraphQLSchemaElement> context) {
+            if (node.name == "secret") {
+                return deleteNode(context)
+            }
+            return TraversalControl.CONTINUE
+        }
+    }
+
+    def "an incremental transformation gives the same schema as a full transformation"() {
+        given:
+        GraphQLSchema schema = TestUtil.schema(incrementalSdl)
+
+        when:
+        def fullSchema = SchemaTransformer.transformSchema(schema, removeSecrets)
+        def incrementalSchema = SchemaTransformer.transformSchemaIncrementally(schema, ["User"], removeSecrets)
+
+        then:
+        new SchemaPrinter().print(incrementalSchema) == new SchemaPrinter().print(fullSchema)
+        incrementalSchema.getObjectType("User").getFieldDefinition("secret") == null
+        incrementalSchema.getAllTypesAsList().every { type -> refersToOwnSchema(incrementalSchema, type) }
+
+        // the types that refer to User are rebuilt and everything else is shared
+        !incrementalSchema.getObjectType("User").is(schema.getObjectType("User"))
+        !incrementalSchema.getQueryType().is(schema.getQueryType())
+        !incrementalSchema.getType("Result").is(schema.getType("Result"))
+        incrementalSchema.getObjectType("Address").is(schema.getObjectType("Address"))
+        incrementalSchema.getObjectType("Robot").is(schema.getObjectType("Robot"))
+        incrementalSchema.getType("Node").is(schema.getType("Node"))
+        incrementalSchema.getType("Filter").is(schema.getType("Filter"))
+        incrementalSchema.getDirective("tag").is(schema.getDirective("tag"))
+        incrementalSchema.getQueryType().getFieldDefinition("time").is(schema.getQueryType().getFieldDefinition("time"))
+        incrementalSchema.getImplementations(incrementalSchema.getType("Node") as GraphQLInterfaceType)[0].is(incrementalSchema.getObjectType("User"))
+    }
+
+    def "an incremental transformation of a recursive input type rebuilds the directives that refer to it"() {
+        given:
+        GraphQLSchema schema = TestUtil.schema(incrementalSdl)
+        def addField = new GraphQLTypeVisitorStub() {
+            @Override
+            TraversalControl visitGraphQLInputObjectType(GraphQLInputObjectType node, TraverserContext<GraphQLSchemaElement> context) {
+                def changedNode = node.transform({ builder -> builder.field(GraphQLInputObjectField.newInputObjectField().name("added").type(Scalars.GraphQLInt)) })
+                return changeNode(context, changedNode)
+            }
+        }
+
+        when:
+        def fullSchema = SchemaTransformer.transformSchema(schema, addField)
+        def incrementalSchema = SchemaTransformer.transformSchemaIncrementally(schema, ["Filter"], addField)
+        def filter = incrementalSchema.getType("Filter") as GraphQLInputObjectType
+
+        then:
+        new SchemaPrinter().print(incrementalSchema) == new SchemaPrinter().print(fullSchema)
+        filter.getField("added") != null
+        filter.getField("nested").type.is(filter)
+        incrementalSchema.getDirective("tag").getArgument("filter").type.is(filter)
+        incrementalSchema.getQueryType().getFieldDefinition("search").getArgument("filter").type.is(filter)
+        incrementalSchema.getObjectType("User").is(schema.getObjectType("User"))
+    }
+
+    def "an incremental transformation that changes nothing gives back the same schema"() {
+        given:
+        GraphQLSchema schema = TestUtil.schema(incrementalSdl)
+
+        when:
+        def incrementalSchema = SchemaTransformer.transformSchemaIncrementally(schema, ["Address", "Robot"], removeSecrets)
+
+        then:
+        incrementalSchema.is(schema)
+    }
+
+    def removeAddresses = new GraphQLTypeVisitorStub() {
+        @Override
+        TraversalControl visitGraphQLObjectType(GraphQLObjectType node, TraverserContext<GraphQLSchemaElement> context) {
+            if (node.name == "Address") {
+                return deleteNode(context)
+            }
+            return TraversalControl.CONTINUE
+        }
+
+        @Override
+        TraversalControl visitGraphQLFieldDefinition(GraphQLFieldDefinition node, TraverserContext<GraphQLSchemaElement> context) {
+            if (node.name == "address") {
+                return deleteNode(context)
+            }
+            return TraversalControl.CONTINUE
+        }
+    }
+
+    def "an incremental transformation can delete a type that is no longer referred to"() {
+        given:
+        GraphQLSchema schema = TestUtil.schema(incrementalSdl)
+
+        when:
+        def incrementalSchema = SchemaTransformer.transformSchemaIncrementally(schema, ["User", "Address"], removeAddresses)
+
+        then:
+        incrementalSchema.getType("Address") == null
+        incrementalSchema.getObjectType("User").getFieldDefinition("address") == null
+        incrementalSchema.getAllTypesAsList().every { type -> refersToOwnSchema(incrementalSchema, type) }
+    }
+
+    def "an incremental transformation can't delete a type that is still referred to"() {
+        given:
+        GraphQLSchema schema = TestUtil.schema(incrementalSdl)
+
+        when:
+        SchemaTransformer.transformSchemaIncrementally(schema, ["Address"], removeAddresses)
+
+        then:
+        def e = thrown(AssertException)
+        e.message == "types [Address] can't be deleted by an incremental transformation as they are still referred to by [User]"
+    }
+
+    def "an incremental transformation works out the types that refer to each type once per schema"() {
+        given:
+        GraphQLSchema schema = TestUtil.schema(incrementalSdl)
+
+        when:
+        def firstSchema = SchemaTransformer.transformSchemaIncrementally(schema, ["User"], removeSecrets)
+        def referringTypes = SchemaTransformer.referringTypesBySchema[schema]
+        def secondSchema = SchemaTransformer.transformSchemaIncrementally(schema, ["User"], removeSecrets)
+
+        then:
+        referringTypes["Address"] == ["User"]
+        SchemaTransformer.referringTypesBySchema[schema].is(referringTypes)
+        new SchemaPrinter().print(secondSchema) == new SchemaPrinter().print(firstSchema)
+        !SchemaTransformer.referringTypesBySchema.containsKey(firstSchema)
+    }
+
+    static boolean refersToOwnSchema(GraphQLSchema schema, GraphQLNamedType type) {
+        if (type instanceof GraphQLFieldsContainer) {
+            return type.fieldDefinitions.every { field ->
+                def fieldType = GraphQLTypeUtil.unwrapAll(field.type)
+                schema.getType(fieldType.name).is(fieldType) && field.arguments.every { schema.getType(GraphQLTypeUtil.unwrapAll(it.type).name).is(GraphQLTypeUtil.unwrapAll(it.type)) }
+            }
+        }
+        if (type instanceof GraphQLUnionType) {
+            return type.types.every { schema.getType(it.name).is(it) }
+        }
+        return true
+    }
 }
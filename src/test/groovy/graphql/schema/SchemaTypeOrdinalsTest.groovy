@@ -0,0 +1,95 @@
+package graphql.schema
+
+import graphql.Scalars
+import graphql.TestUtil
+import spock.lang.Specification
+
+class SchemaTypeOrdinalsTest extends Specification {
+
+    def schema = TestUtil.schema('''
+        type Query {
+            pets : [Pet]
+            catOrDog : CatOrDog
+        }
+        interface Pet {
+            name : String
+        }
+        type Cat implements Pet {
+            name : String
+        }
+        type Dog implements Pet {
+            name : String
+        }
+        type Bird {
+            name : String
+        }
+        union CatOrDog = Cat | Dog
+    ''')
+
+    def "types have dense ordinals in the order of all types"() {
+        def ordinals = schema.getTypeOrdinals()
+        def allTypes = schema.getAllTypesAsList()
+
+        expect:
+        ordinals.size() == allTypes.size()
+        allTypes.withIndex().every { type, index -> ordinals.getOrdinal(type) == index }
+        ordinals.getOrdinal(GraphQLObjectType.newObject().name("Cat").build()) == ordinals.getOrdinal(schema.getObjectType("Cat"))
+        ordinals.getOrdinal(GraphQLObjectType.newObject().name("Unknown").build()) == -1
+        schema.getTypeOrdinals().is(ordinals)
+    }
+
+    def "possible types are the same as the schema says"() {
+        def ordinals = schema.getTypeOrdinals()
+        def pet = schema.getType("Pet")
+        def catOrDog = schema.getType("CatOrDog")
+
+        expect:
+        ordinals.isPossibleType(pet, schema.getObjectType("Cat"))
+        ordinals.isPossibleType(pet, schema.getObjectType("Dog"))
+        !ordinals.isPossibleType(pet, schema.getObjectType("Bird"))
+        ordinals.isPossibleType(catOrDog, schema.getObjectType("Dog"))
+        !ordinals.isPossibleType(catOrDog, schema.getObjectType("Bird"))
+        schema.getAllTypesAsList().findAll { it instanceof GraphQLObjectType }.every {
+            ordinals.isPossibleType(pet, it) == schema.getImplementations(pet).contains(it)
+        }
+    }
+
+    def "unions that are not part of the schema use their own members"() {
+        def otherUnion = GraphQLUnionType.newUnionType().name("CatOrDog")
+                .possibleType(schema.getObjectType("Bird"))
+                .build()
+
+        expect:
+        schema.isPossibleType(otherUnion, schema.getObjectType("Bird"))
+        !schema.isPossibleType(otherUnion, schema.getObjectType("Cat"))
+    }
+
+    def "a transformed schema has its own ordinals"() {
+        def newSchema = schema.transform({ it.additionalType(GraphQLObjectType.newObject().name("Aardvark").field(GraphQLFieldDefinition.newFieldDefinition().name("a").type(Scalars.GraphQLString)).build()) })
+
+        expect:
+        newSchema.getTypeOrdinals().getOrdinal(newSchema.getObjectType("Aardvark")) == 0
+        schema.getTypeOrdinals().getOrdinal(newSchema.getObjectType("Aardvark")) == -1
+    }
+
+    def "types keep their ordinal and types shared by schemas get the ordinal of each"() {
+        def newSchema = schema.transform({ it.additionalType(GraphQLObjectType.newObject().name("Aardvark").field(GraphQLFieldDefinition.newFieldDefinition().name("a").type(Scalars.GraphQLString)).build()) })
+        def cat = schema.getObjectType("Cat")
+        def pet = schema.getType("Pet")
+        def ordinals = schema.getTypeOrdinals()
+        def newOrdinals = newSchema.getTypeOrdinals()
+
+        when:
+        def ordinal = ordinals.getOrdinal(cat)
+
+        then:
+        (int) cat.getCachedOrdinal() == ordinal
+        newSchema.getObjectType("Cat").is(cat)
+
+        expect:
+        [ordinals, newOrdinals, ordinals, newOrdinals].every {
+            it.getOrdinal(cat) == it.getOrdinal(GraphQLObjectType.newObject().name("Cat").build()) && it.isPossibleType(pet, cat)
+        }
+        ordinals.getOrdinal(cat) != newOrdinals.getOrdinal(cat)
+    }
+}
@@ -3,6 +3,7 @@ package graphql.schema.fetching
 import graphql.Scalars
 import graphql.schema.GraphQLFieldDefinition
 import graphql.schema.PropertyDataFetcher
+import graphql.schema.somepackage.TestClass
 import graphql.util.javac.DynamicJavacSupport
 import spock.lang.Specification
 
@@ -146,6 +147,34 @@ class LambdaFetchingSupportTest extends Specification {
         !getter.isPresent()
     }
 
+    static class FieldHolder {
+        public static String staticField = "static"
+    }
+
+    def "can make getters for fields"() {
+        def testClass = new TestClass()
+
+        when:
+        def getter = LambdaFetchingSupport.createFieldGetter(TestClass.class.getField("publicField"))
+        then:
+        getter.isPresent()
+        getter.get().apply(testClass) == "publicFieldValue"
+
+        when:
+        def privateField = TestClass.class.getDeclaredField("privateField")
+        privateField.setAccessible(true)
+        getter = LambdaFetchingSupport.createFieldGetter(privateField)
+        then:
+        getter.isPresent()
+        getter.get().apply(testClass) == "privateFieldValue"
+
+        when:
+        getter = LambdaFetchingSupport.createFieldGetter(FieldHolder.class.getField("staticField"))
+        then:
+        getter.isPresent()
+        getter.get().apply(testClass) == "static"
+    }
+
     GraphQLFieldDefinition fld(String fldName) {
         return GraphQLFieldDefinition.newFieldDefinition().name(fldName).type(Scalars.GraphQLString).build()
     }
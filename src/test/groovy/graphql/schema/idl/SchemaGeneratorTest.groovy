@@ -1,7 +1,9 @@
 package graphql.schema.idl
 
+import graphql.GraphQL
 import graphql.TestUtil
 import graphql.introspection.Introspection
+import graphql.introspection.IntrospectionQuery
 import graphql.language.Node
 import graphql.schema.DataFetcher
 import graphql.schema.DataFetcherFactory
@@ -25,12 +27,18 @@ import graphql.schema.GraphQLType
 import graphql.schema.GraphQLTypeUtil
 import graphql.schema.GraphQLUnionType
 import graphql.schema.GraphqlTypeComparatorRegistry
+import graphql.schema.SchemaFootprint
+import graphql.schema.TypeResolver
 import graphql.schema.idl.errors.NotAnInputTypeError
 import graphql.schema.idl.errors.NotAnOutputTypeError
 import graphql.schema.idl.errors.SchemaProblem
+import graphql.schema.validation.InvalidSchemaException
 import graphql.schema.visibility.GraphqlFieldVisibility
 import spock.lang.Specification
 
+import java.lang.ref.WeakReference
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
 import java.util.function.UnaryOperator
 
 import static graphql.Scalars.GraphQLBoolean
@@ -2541,4 +2549,370 @@ class SchemaGeneratorTest extends Specification {
         inputObjectType.isOneOf()
         inputObjectType.hasAppliedDirective("oneOf")
     }
+
+    def "generating with an executor gives the same schema and the same errors"() {
+        def executor = Executors.newFixedThreadPool(4)
+        def parallelOptions = defaultOptions().executor(executor)
+        def sdl = getClass().getClassLoader().getResourceAsStream("large-schema-1.graphqls").text
+        def wiring = TestUtil.mockRuntimeWiring
+        def badSdl = '''
+            type Query {
+                f : Missing
+                g(arg : Query) : String @unknown
+            }
+            interface Node {
+                id : ID
+            }
+            type Thing implements Node {
+                name : String
+            }
+        '''
+
+        when:
+        def schema = new SchemaGenerator().makeExecutableSchema(defaultOptions(), new SchemaParser().parse(sdl), wiring)
+        def parallelSchema = new SchemaGenerator().makeExecutableSchema(parallelOptions, new SchemaParser().parse(sdl), wiring)
+
+        then:
+        new SchemaPrinter().print(parallelSchema) == new SchemaPrinter().print(schema)
+
+        when:
+        new SchemaGenerator().makeExecutableSchema(defaultOptions(), new SchemaParser().parse(badSdl), wiring)
+
+        then:
+        def problem = thrown(SchemaProblem)
+        problem.errors.size() > 1
+
+        when:
+        new SchemaGenerator().makeExecutableSchema(parallelOptions, new SchemaParser().parse(badSdl), wiring)
+
+        then:
+        def parallelProblem = thrown(SchemaProblem)
+        parallelProblem.errors.collect { it.message } == problem.errors.collect { it.message }
+
+        cleanup:
+        executor.shutdown()
+    }
+
+    def "the wiring factory is only called on the calling thread when generating with an executor"() {
+        def executor = Executors.newFixedThreadPool(4)
+        def threads = Collections.synchronizedSet(new HashSet<Thread>())
+        def dateScalar = GraphQLScalarType.newScalar().name("Date").coercing(GraphQLString.getCoercing()).build()
+        def wiringFactory = new WiringFactory() {
+            @Override
+            boolean providesScalar(ScalarWiringEnvironment environment) {
+                threads.add(Thread.currentThread())
+                return environment.getScalarTypeDefinition().getName() == "Date"
+            }
+
+            @Override
+            GraphQLScalarType getScalar(ScalarWiringEnvironment environment) {
+                threads.add(Thread.currentThread())
+                return dateScalar
+            }
+
+            @Override
+            boolean providesTypeResolver(InterfaceWiringEnvironment environment) {
+                threads.add(Thread.currentThread())
+                return true
+            }
+
+            @Override
+            TypeResolver getTypeResolver(InterfaceWiringEnvironment environment) {
+                threads.add(Thread.currentThread())
+                return { env -> null } as TypeResolver
+            }
+        }
+        def sdl = '''
+            directive @since(date : Date) on FIELD_DEFINITION
+            scalar Date
+            type Query {
+                node : Node @since(date : "2020-01-01")
+            }
+            interface Node {
+                id : ID
+            }
+            type Thing implements Node {
+                id : ID
+            }
+        '''
+
+        when:
+        def schema = new SchemaGenerator().makeExecutableSchema(defaultOptions().executor(executor), new SchemaParser().parse(sdl),
+                RuntimeWiring.newRuntimeWiring().wiringFactory(wiringFactory).build())
+
+        then:
+        schema.getType("Date") != null
+        threads == [Thread.currentThread()] as Set
+
+        cleanup:
+        executor.shutdown()
+    }
+
+    def lazySdl = '''
+            directive @cost(weight : Int = 1) on FIELD_DEFINITION | OBJECT
+
+            type Query {
+                hero(episode : Episode = JEDI) : Character
+                search(filter : Filter) : [SearchResult]
+                humans : [Human] @cost(weight : 2)
+            }
+
+            interface Character {
+                id : ID!
+                name : String
+                friends : [Character]
+            }
+
+            type Human implements Character @cost {
+                id : ID!
+                name : String
+                friends : [Character]
+                homePlanet : String @deprecated
+            }
+
+            type Droid implements Character {
+                id : ID!
+                name : String
+                friends : [Character]
+            }
+
+            extend type Droid {
+                primaryFunction : String
+            }
+
+            union SearchResult = Human | Droid
+
+            enum Episode { NEWHOPE, EMPIRE, JEDI }
+
+            input Filter {
+                name : String
+                and : [Filter]
+            }
+
+            type Unreachable {
+                value : Float
+            }
+        '''
+
+    def lazyWiring() {
+        def luke = [id: "1000", name: "Luke", homePlanet: "Tatooine", type: "Human"]
+        def r2d2 = [id: "2001", name: "R2-D2", primaryFunction: "Astromech", type: "Droid"]
+        luke.friends = [r2d2]
+        r2d2.friends = [luke]
+        TypeResolver byType = { env -> env.schema.getObjectType(env.object.type) }
+        RuntimeWiring.newRuntimeWiring()
+                .type(newTypeWiring("Query")
+                        .dataFetcher("hero", { env -> env.getArgument("episode") == "JEDI" ? r2d2 : luke })
+                        .dataFetcher("search", { env -> [luke, r2d2].findAll { it.name.startsWith(env.getArgument("filter").name) } })
+                        .dataFetcher("humans", { env -> [luke] }))
+                .type(newTypeWiring("Droid").dataFetcher("name", { env -> env.source.name.toUpperCase() }))
+                .type(newTypeWiring("Character").typeResolver(byType))
+                .type(newTypeWiring("SearchResult").typeResolver(byType))
+                .build()
+    }
+
+    def "lazy types give the same schema as eager types"() {
+        def lazyOptions = defaultOptions().lazyTypes(true)
+
+        when:
+        def schema = new SchemaGenerator().makeExecutableSchema(defaultOptions(), new SchemaParser().parse(lazySdl), lazyWiring())
+        def lazySchema = new SchemaGenerator().makeExecutableSchema(lazyOptions, new SchemaParser().parse(lazySdl), lazyWiring())
+
+        then:
+        !lazySchema.getObjectType("Human").isFieldDefinitionsMaterialized()
+        !(lazySchema.getType("Character") as GraphQLInterfaceType).isFieldDefinitionsMaterialized()
+        lazySchema.getType("Unreachable") != null
+        lazySchema.getType("Filter") != null
+
+        new SchemaPrinter().print(lazySchema) == new SchemaPrinter().print(schema)
+        lazySchema.getObjectType("Human").isFieldDefinitionsMaterialized()
+
+        when:
+        def query = '''{
+            hero { id name friends { name ... on Human { homePlanet } } }
+            search(filter : {name : "R"}) { ... on Droid { name primaryFunction } }
+            humans { name }
+        }'''
+        def result = GraphQL.newGraphQL(schema).build().execute(query)
+        def lazyResult = GraphQL.newGraphQL(lazySchema).build().execute(query)
+        def introspection = GraphQL.newGraphQL(schema).build().execute(IntrospectionQuery.INTROSPECTION_QUERY)
+        def lazyIntrospection = GraphQL.newGraphQL(lazySchema).build().execute(IntrospectionQuery.INTROSPECTION_QUERY)
+
+        then:
+        result.errors.isEmpty()
+        lazyResult.toSpecification() == result.toSpecification()
+        result.data == [hero   : [id: "2001", name: "R2-D2", friends: [[name: "Luke", homePlanet: "Tatooine"]]],
+                        search : [[name: "R2-D2", primaryFunction: "Astromech"]],
+                        humans : [[name: "Luke"]]]
+        lazyIntrospection.errors.isEmpty()
+        lazyIntrospection.data == introspection.data
+    }
+
+    def "lazy fields are only built once and refer to the schema types"() {
+        def lazyOptions = defaultOptions().lazyTypes(true)
+        def lazySchema = new SchemaGenerator().makeExecutableSchema(lazyOptions, new SchemaParser().parse(lazySdl), lazyWiring())
+        def executor = Executors.newFixedThreadPool(8)
+
+        when:
+        def futures = (1..32).collect {
+            executor.submit({ lazySchema.getObjectType("Droid").getFieldDefinitions() } as Callable)
+        }
+        def fieldDefinitions = futures.collect { it.get() }
+
+        then:
+        fieldDefinitions.every { fields -> (0..<fields.size()).every { fields[it].is(fieldDefinitions[0][it]) } }
+        fieldDefinitions[0].collect { it.name } == ["id", "name", "friends", "primaryFunction"]
+        (lazySchema.getObjectType("Droid").getFieldDefinition("friends").type as GraphQLList).wrappedType.is(lazySchema.getType("Character"))
+        lazySchema.getObjectType("Query").getFieldDefinition("search").getArgument("filter").type.is(lazySchema.getType("Filter"))
+        ((lazySchema.getType("Filter") as GraphQLInputObjectType).getField("and").type as GraphQLList).wrappedType.is(lazySchema.getType("Filter"))
+
+        cleanup:
+        executor.shutdown()
+    }
+
+    def "lazy and eager types reject the same invalid schemas"() {
+        def sdl = "type Query { f(a : Int) : String }\n" + invalidSdl
+
+        when:
+        new SchemaGenerator().makeExecutableSchema(defaultOptions(), new SchemaParser().parse(sdl), RuntimeWiring.newRuntimeWiring().build())
+
+        then:
+        def eagerError = thrown(InvalidSchemaException)
+
+        when:
+        new SchemaGenerator().makeExecutableSchema(defaultOptions().lazyTypes(true), new SchemaParser().parse(sdl), RuntimeWiring.newRuntimeWiring().build())
+
+        then:
+        def lazyError = thrown(InvalidSchemaException)
+        lazyError.message == eagerError.message
+
+        where:
+        invalidSdl << [
+                "input A { b : A! } type E { f(a : A) : String }",
+                "type B { f(a : Int = \"x\") : String }",
+                "input C @oneOf { a : Int! }",
+                "type D { f(a : Int! @deprecated) : String }",
+        ]
+    }
+
+    def "lazy types are not used with directive wiring or a wiring factory"() {
+        def lazyOptions = defaultOptions().lazyTypes(true)
+        def directiveWiring = RuntimeWiring.newRuntimeWiring(lazyWiring())
+                .directiveWiring(new SchemaDirectiveWiring() {})
+                .build()
+
+        when:
+        def directiveWiringSchema = new SchemaGenerator().makeExecutableSchema(lazyOptions, new SchemaParser().parse(lazySdl), directiveWiring)
+        def mockedSchema = new SchemaGenerator().makeExecutableSchema(lazyOptions, new SchemaParser().parse(lazySdl), TestUtil.mockRuntimeWiring)
+
+        then:
+        directiveWiringSchema.getObjectType("Human").isFieldDefinitionsMaterialized()
+        mockedSchema.getObjectType("Human").isFieldDefinitionsMaterialized()
+    }
+
+    def pooledSdl(String tenantField) {
+        """
+            "A date without a time"
+            scalar Date
+
+            directive @cost(weight : Int = 1) on FIELD_DEFINITION | INPUT_FIELD_DEFINITION
+
+            "The unit of a price"
+            enum Currency { EUR USD @deprecated(reason : "use EUR") }
+
+            "A price range"
+            input PriceFilter {
+                "The lowest price"
+                min : Float @cost(weight : 2)
+                currency : Currency = EUR
+            }
+
+            type Query {
+                "The products"
+                products(filter : PriceFilter, since : Date) : [String] @cost
+                $tenantField : String
+            }
+        """
+    }
+
+    def "an element pool shares identical elements between schemas"() {
+        def pool = SchemaElementPool.newSchemaElementPool()
+        def wiring = RuntimeWiring.newRuntimeWiring()
+                .scalar(GraphQLScalarType.newScalar().name("Date").coercing(GraphQLString.getCoercing()).build())
+                .build()
+        def pooledOptions = defaultOptions().captureAstDefinitions(false).elementPool(pool)
+        def astOptions = defaultOptions().elementPool(pool)
+
+        when:
+        def tenantA = new SchemaGenerator().makeExecutableSchema(pooledOptions, new SchemaParser().parse(pooledSdl("a")), wiring)
+        def tenantB = new SchemaGenerator().makeExecutableSchema(pooledOptions, new SchemaParser().parse(pooledSdl("b")), wiring)
+        def withAst = new SchemaGenerator().makeExecutableSchema(astOptions, new SchemaParser().parse(pooledSdl("b")), wiring)
+        def unpooledB = new SchemaGenerator().makeExecutableSchema(defaultOptions().captureAstDefinitions(false), new SchemaParser().parse(pooledSdl("b")), wiring)
+
+        then:
+        pool.size() > 0
+        tenantA.getType("Date").is(tenantB.getType("Date"))
+        tenantA.getType("Currency").is(tenantB.getType("Currency"))
+        tenantA.getType("PriceFilter").is(tenantB.getType("PriceFilter"))
+        tenantA.getDirective("cost").is(tenantB.getDirective("cost"))
+        def productsA = tenantA.getQueryType().getFieldDefinition("products")
+        def productsB = tenantB.getQueryType().getFieldDefinition("products")
+        !productsA.is(productsB)
+        productsA.description.is(productsB.description)
+        productsA.getAppliedDirective("cost").is(productsB.getAppliedDirective("cost"))
+        !tenantA.getQueryType().is(tenantB.getQueryType())
+
+        withAst.getType("PriceFilter").is(tenantB.getType("PriceFilter"))
+        withAst.getQueryType().getDefinition() == null
+        new SchemaPrinter().print(tenantB) == new SchemaPrinter().print(unpooledB)
+        new SchemaPrinter().print(tenantB) == new SchemaPrinter().print(withAst)
+    }
+
+    def "an element pool does not keep the elements of schemas that are gone alive"() {
+        def pool = SchemaElementPool.newSchemaElementPool()
+        def wiring = RuntimeWiring.newRuntimeWiring()
+                .scalar(GraphQLScalarType.newScalar().name("Date").coercing(GraphQLString.getCoercing()).build())
+                .build()
+        def schema = new SchemaGenerator().makeExecutableSchema(defaultOptions().elementPool(pool), new SchemaParser().parse(pooledSdl("a")), wiring)
+        // PriceFilter is pooled under a key that refers to Currency
+        def priceFilterRef = new WeakReference(schema.getType("PriceFilter"))
+        def currencyRef = new WeakReference(schema.getType("Currency"))
+        def sizeBefore = pool.size()
+
+        when:
+        schema = null
+        for (int i = 0; i < 10 && (priceFilterRef.get() != null || currencyRef.get() != null); i++) {
+            System.gc()
+            Thread.sleep(10)
+        }
+
+        then:
+        priceFilterRef.get() == null
+        currencyRef.get() == null
+        pool.size() < sizeBefore
+    }
+
+    def "the schema footprint reports what pooled schemas share"() {
+        def pool = SchemaElementPool.newSchemaElementPool()
+        def wiring = RuntimeWiring.newRuntimeWiring()
+                .scalar(GraphQLScalarType.newScalar().name("Date").coercing(GraphQLString.getCoercing()).build())
+                .build()
+        def pooledOptions = defaultOptions().captureAstDefinitions(false).elementPool(pool)
+        def unpooledOptions = defaultOptions().captureAstDefinitions(false)
+
+        when:
+        def pooled = (1..3).collect { new SchemaGenerator().makeExecutableSchema(pooledOptions, new SchemaParser().parse(pooledSdl("t" + it)), wiring) }
+        def unpooled = (1..3).collect { new SchemaGenerator().makeExecutableSchema(unpooledOptions, new SchemaParser().parse(pooledSdl("t" + it)), wiring) }
+        def pooledFootprint = SchemaFootprint.measure(pooled)
+        def unpooledFootprint = SchemaFootprint.measure(unpooled)
+
+        then:
+        pooledFootprint.schemaCount == 3
+        pooledFootprint.elementCount == unpooledFootprint.elementCount
+        pooledFootprint.descriptionCount == unpooledFootprint.descriptionCount
+        pooledFootprint.distinctElementCount < unpooledFootprint.distinctElementCount
+        pooledFootprint.sharedElementCount > unpooledFootprint.sharedElementCount
+        pooledFootprint.distinctDescriptionCount < unpooledFootprint.distinctDescriptionCount
+        pooledFootprint.sharedDescriptionCount > unpooledFootprint.sharedDescriptionCount
+    }
 }
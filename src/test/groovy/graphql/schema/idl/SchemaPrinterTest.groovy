@@ -36,6 +36,7 @@ import graphql.schema.GraphqlTypeComparators
 import graphql.schema.TypeResolver
 import spock.lang.Specification
 
+import java.util.concurrent.Executors
 import java.util.function.Predicate
 import java.util.function.UnaryOperator
 import java.util.stream.Collectors
@@ -3095,6 +3096,57 @@ type Query {
 }
 """
     }
-}
 
+    def "streaming a schema prints the same as printing it to a string"() {
+        def sdl = new StringBuilder("type Query {\n")
+        (0..<300).each { sdl.append("  field$it(arg : Input$it) : Type$it\n") }
+        sdl.append("}\n")
+        (0..<300).each {
+            sdl.append("\"Type $it\"\ntype Type$it { name : String @deprecated, next : Type$it }\n")
+            sdl.append("input Input$it { value : Int = $it }\n")
+        }
+        def schema = TestUtil.schema(sdl.toString())
+        def printer = new SchemaPrinter(defaultOptions().includeDirectives(true))
+        def executor = Executors.newFixedThreadPool(4)
+
+        when:
+        def expected = printer.print(schema)
+        def streamed = new StringWriter()
+        printer.print(schema, streamed)
+        def printedInParallel = new StringBuilder()
+        printer.print(schema, printedInParallel, executor)
+
+        then:
+        expected.contains("type Type299")
+        streamed.toString() == expected
+        printedInParallel.toString() == expected
+
+        cleanup:
+        executor.shutdown()
+    }
+
+    def "streaming a schema throws when the output can't be appended to"() {
+        def schema = TestUtil.schema("type Query { field : String }")
+        def failing = new Writer() {
+            @Override
+            void write(char[] cbuf, int off, int len) throws IOException {
+                throw new IOException("disk full")
+            }
 
+            @Override
+            void flush() {
+            }
+
+            @Override
+            void close() {
+            }
+        }
+
+        when:
+        new SchemaPrinter().print(schema, failing)
+
+        then:
+        def e = thrown(IOException)
+        e.message == "disk full"
+    }
+}
@@ -0,0 +1,160 @@
+package graphql.schema.visibility
+
+import graphql.GraphQL
+import graphql.TestUtil
+import graphql.schema.GraphQLFieldDefinition
+import graphql.schema.GraphQLFieldsContainer
+import graphql.schema.GraphQLInputFieldsContainer
+import graphql.schema.GraphQLInputObjectField
+import graphql.schema.GraphQLInputObjectType
+import graphql.schema.GraphQLObjectType
+import spock.lang.Specification
+
+class GraphqlFieldVisibilityCacheTest extends Specification {
+
+    def schema = TestUtil.schema("""
+        type Query {
+            user(filter : UserFilter) : User
+            admin : String
+        }
+        type User {
+            name : String
+            salary : Int
+        }
+        input UserFilter {
+            name : String
+            salary : Int
+        }
+    """)
+
+    class CountingVisibility implements GraphqlFieldVisibility {
+        final GraphqlFieldVisibility blocked
+        int calls
+
+        CountingVisibility(List<String> patterns) {
+            this.blocked = BlockedFields.newBlock().addPatterns(patterns).build()
+        }
+
+        @Override
+        List<GraphQLFieldDefinition> getFieldDefinitions(GraphQLFieldsContainer fieldsContainer) {
+            calls++
+            return blocked.getFieldDefinitions(fieldsContainer)
+        }
+
+        @Override
+        GraphQLFieldDefinition getFieldDefinition(GraphQLFieldsContainer fieldsContainer, String fieldName) {
+            calls++
+            return blocked.getFieldDefinition(fieldsContainer, fieldName)
+        }
+
+        @Override
+        List<GraphQLInputObjectField> getFieldDefinitions(GraphQLInputFieldsContainer fieldsContainer) {
+            calls++
+            return blocked.getFieldDefinitions(fieldsContainer)
+        }
+
+        @Override
+        GraphQLInputObjectField getFieldDefinition(GraphQLInputFieldsContainer fieldsContainer, String fieldName) {
+            calls++
+            return blocked.getFieldDefinition(fieldsContainer, fieldName)
+        }
+    }
+
+    def "a precomputed field visibility gives the same answers as the field visibility it was computed from"() {
+        def visibility = new CountingVisibility(["Query.admin", "User.salary", "UserFilter.salary"])
+        def precomputed = PrecomputedGraphqlFieldVisibility.precompute(schema, visibility)
+        def query = schema.getQueryType()
+        def user = schema.getObjectType("User")
+        def filter = schema.getType("UserFilter") as GraphQLInputObjectType
+
+        when:
+        def callsBefore = visibility.calls
+
+        then:
+        precomputed.getFieldDefinitions(query).collect { it.name } == ["user"]
+        precomputed.getFieldDefinition(query, "user").is(query.getFieldDefinition("user"))
+        precomputed.getFieldDefinition(query, "admin") == null
+        precomputed.getFieldDefinition(query, "unknown") == null
+        precomputed.getFieldDefinitions(user).collect { it.name } == ["name"]
+        precomputed.getFieldDefinition(user, "salary") == null
+        precomputed.getFieldDefinitions(filter).collect { it.name } == ["name"]
+        precomputed.getFieldDefinition(filter, "name").is(filter.getField("name"))
+        precomputed.getFieldDefinition(filter, "salary") == null
+        visibility.calls == callsBefore
+    }
+
+    def "a precomputed field visibility passes types of other schemas on"() {
+        def visibility = new CountingVisibility(["User.salary"])
+        def precomputed = PrecomputedGraphqlFieldVisibility.precompute(schema, visibility)
+        def otherUser = GraphQLObjectType.newObject(schema.getObjectType("User")).build()
+
+        when:
+        def callsBefore = visibility.calls
+        def fields = precomputed.getFieldDefinitions(otherUser)
+
+        then:
+        fields.collect { it.name } == ["name"]
+        visibility.calls == callsBefore + 1
+    }
+
+    def "the cache reuses what it worked out for the same schema and key"() {
+        Map<String, CountingVisibility> policies = [:]
+        def cache = GraphqlFieldVisibilityCache.<String> newCache({ role ->
+            policies.computeIfAbsent(role, { new CountingVisibility(role == "admin" ? [] : ["Query.admin", "User.salary"]) })
+        })
+
+        when:
+        def userSchema = cache.getSchema(schema, "user")
+        def adminSchema = cache.getSchema(schema, "admin")
+
+        then:
+        cache.getSchema(schema, "user").is(userSchema)
+        cache.getFieldVisibility(schema, "user").is(userSchema.getCodeRegistry().getFieldVisibility())
+        !adminSchema.is(userSchema)
+        userSchema.getQueryType().is(schema.getQueryType())
+
+        when:
+        def callsBefore = policies["user"].calls
+        def query = "{ user { name } admin }"
+        def userResult = GraphQL.newGraphQL(userSchema).build().execute(query)
+        def adminResult = GraphQL.newGraphQL(adminSchema).build().execute(query)
+
+        then:
+        userResult.errors.size() == 1
+        userResult.errors[0].message.contains("admin")
+        adminResult.errors.isEmpty()
+        policies["user"].calls == callsBefore
+    }
+
+    def "the cache evicts what it worked out when it is invalidated"() {
+        int policyCalls = 0
+        def cache = GraphqlFieldVisibilityCache.<String> newCache({ role ->
+            policyCalls++
+            return DefaultGraphqlFieldVisibility.DEFAULT_FIELD_VISIBILITY
+        })
+
+        when:
+        def userVisibility = cache.getFieldVisibility(schema, "user")
+        def adminVisibility = cache.getFieldVisibility(schema, "admin")
+        cache.invalidate("user")
+
+        then:
+        !cache.getFieldVisibility(schema, "user").is(userVisibility)
+        cache.getFieldVisibility(schema, "admin").is(adminVisibility)
+        policyCalls == 3
+
+        when:
+        cache.invalidateAll()
+
+        then:
+        !cache.getFieldVisibility(schema, "admin").is(adminVisibility)
+        policyCalls == 4
+
+        when:
+        def otherSchema = TestUtil.schema("type Query { admin : String }")
+
+        then:
+        !cache.getFieldVisibility(otherSchema, "admin").is(cache.getFieldVisibility(schema, "admin"))
+        policyCalls == 5
+    }
+}
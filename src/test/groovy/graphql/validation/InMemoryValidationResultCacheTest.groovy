@@ -0,0 +1,152 @@
+package graphql.validation
+
+import graphql.GraphQL
+import graphql.StarWarsSchema
+import graphql.TestUtil
+import graphql.parser.Parser
+import graphql.schema.GraphQLSchema
+import spock.lang.Specification
+
+import java.lang.ref.WeakReference
+import java.util.function.Predicate
+
+class InMemoryValidationResultCacheTest extends Specification {
+
+    def schema = StarWarsSchema.starWarsSchema
+    Predicate<Class<?>> allRules = { true }
+    int validateCount = 0
+
+    def validate(ValidationResultCache cache, String query) {
+        validate(cache, schema, query, Locale.ENGLISH)
+    }
+
+    def validate(ValidationResultCache cache, GraphQLSchema graphQLSchema, String query, Locale locale = Locale.ENGLISH) {
+        def document = new Parser().parseDocument(query)
+        cache.getValidationErrors(graphQLSchema, document, allRules, locale, {
+            validateCount++
+            new Validator().validateDocument(graphQLSchema, document, allRules, locale)
+        })
+    }
+
+    def "valid documents are only validated once"() {
+        def cache = InMemoryValidationResultCache.newInMemoryValidationResultCache().build()
+
+        when:
+        def errors1 = validate(cache, "{ hero { name } }")
+        def errors2 = validate(cache, "query { hero { name }}")
+
+        then:
+        errors1.isEmpty()
+        errors2.isEmpty()
+        validateCount == 1
+        cache.size() == 1
+    }
+
+    def "invalid documents are not cached"() {
+        def cache = InMemoryValidationResultCache.newInMemoryValidationResultCache().build()
+
+        when:
+        def errors1 = validate(cache, "{ hero { nameX } }")
+        def errors2 = validate(cache, "{ hero { nameX } }")
+
+        then:
+        errors1.size() == 1
+        errors2.size() == 1
+        validateCount == 2
+        cache.size() == 0
+    }
+
+    def "the schema and locale are part of the key"() {
+        def cache = InMemoryValidationResultCache.newInMemoryValidationResultCache().build()
+        def otherSchema = TestUtil.schema("type Query { hero : Hero } type Hero { name : String }")
+
+        when:
+        validate(cache, "{ hero { name } }")
+        validate(cache, otherSchema, "{ hero { name } }")
+        validate(cache, schema, "{ hero { name } }", Locale.GERMAN)
+        validate(cache, "{ hero { name } }")
+
+        then:
+        validateCount == 3
+    }
+
+    def "schemas with the same fingerprint share results"() {
+        def cache = InMemoryValidationResultCache.newInMemoryValidationResultCache()
+                .schemaFingerprint({ "v1" })
+                .build()
+        def sdl = "type Query { hero : Hero } type Hero { name : String }"
+
+        when:
+        validate(cache, TestUtil.schema(sdl), "{ hero { name } }")
+        validate(cache, TestUtil.schema(sdl), "{ hero { name } }")
+
+        then:
+        validateCount == 1
+    }
+
+    def "document objects are only printed once"() {
+        def cache = InMemoryValidationResultCache.newInMemoryValidationResultCache().build()
+        def document = new Parser().parseDocument("{ hero { name } }")
+        def fingerprints = cache.@documentFingerprints as Map
+
+        when:
+        cache.getValidationErrors(schema, document, allRules, Locale.ENGLISH, { validateCount++; [] })
+        def fingerprint = fingerprints[document]
+        cache.getValidationErrors(schema, document, allRules, Locale.ENGLISH, { validateCount++; [] })
+
+        then:
+        fingerprint == "{hero{name}}"
+        fingerprints[document].is(fingerprint)
+        validateCount == 1
+    }
+
+    def "schemas are not kept alive by the cache"() {
+        def cache = InMemoryValidationResultCache.newInMemoryValidationResultCache().build()
+        def otherSchema = TestUtil.schema("type Query { hero : Hero } type Hero { name : String }")
+        validate(cache, otherSchema, "{ hero { name } }")
+        def schemaRef = new WeakReference(otherSchema)
+
+        when:
+        otherSchema = null
+        for (int i = 0; i < 10 && schemaRef.get() != null; i++) {
+            System.gc()
+            Thread.sleep(10)
+        }
+
+        then:
+        schemaRef.get() == null
+        cache.size() == 1
+    }
+
+    def "the cache is bounded"() {
+        def cache = InMemoryValidationResultCache.newInMemoryValidationResultCache().maxEntries(2).build()
+
+        when:
+        validate(cache, "{ hero { name } }")
+        validate(cache, "{ hero { id } }")
+        validate(cache, "{ hero { id name } }")
+        validate(cache, "{ hero { name } }")
+
+        then:
+        cache.size() == 2
+        validateCount == 4
+    }
+
+    def "can be shared across GraphQL instances"() {
+        def cache = InMemoryValidationResultCache.newInMemoryValidationResultCache().build()
+        def graphQL1 = GraphQL.newGraphQL(schema).validationResultCache(cache).build()
+        def graphQL2 = graphQL1.transform({})
+
+        when:
+        def result1 = graphQL1.execute("{ hero { name } }")
+        def result2 = graphQL2.execute("{ hero { name } }")
+        def result3 = graphQL2.execute("{ hero { nameX } }")
+
+        then:
+        graphQL2.getValidationResultCache() == cache
+        result1.errors.isEmpty()
+        result2.data == [hero: [name: "R2-D2"]]
+        result3.errors.size() == 1
+        cache.size() == 1
+    }
+}
@@ -1017,5 +1017,73 @@ class OverlappingFieldsCanBeMergedTest extends Specification {
 
     }
 
+    def "fragments spread in many places are checked in each place"() {
+        given:
+        def query = """
+            {
+                ...f
+                a: nickname
+                ...g
+            }
+            fragment f on Test {
+                a: name
+            }
+            fragment g on Test {
+                ...f
+                b: name
+            }
+        """
+        when:
+        traverse(query, null)
+
+        then:
+        errorCollector.getErrors().size() == 1
+        errorCollector.getErrors()[0].message == "Validation error (FieldsConflict) : 'a' : 'name' and 'nickname' are different fields"
+        errorCollector.getErrors()[0].locations == [new SourceLocation(8, 17), new SourceLocation(4, 17)]
+    }
+
+    def "fragment cycles do not prevent conflicts being found"() {
+        given:
+        def query = """
+            {
+                ...f
+            }
+            fragment f on Test {
+                a: name
+                ...g
+            }
+            fragment g on Test {
+                a: nickname
+                ...f
+            }
+        """
+        when:
+        traverse(query, null)
+
+        then:
+        errorCollector.getErrors().size() == 1
+        errorCollector.getErrors()[0].message == "Validation error (FieldsConflict) : 'a' : 'name' and 'nickname' are different fields"
+    }
+
+    def "long chains of nested fragments are checked"() {
+        given:
+        def fragments = (1..500).collect { "fragment f${it} on Test { ...f${it - 1} name }" }.join("\n")
+        def query = """
+            {
+                a: name
+                ...f500
+            }
+            fragment f0 on Test {
+                a: nickname
+            }
+            ${fragments}
+        """
+        when:
+        traverse(query, null)
 
+        then:
+        errorCollector.getErrors().size() == 1
+        errorCollector.getErrors()[0].message == "Validation error (FieldsConflict) : 'a' : 'name' and 'nickname' are different fields"
+        errorCollector.getErrors()[0].locations == [new SourceLocation(3, 17), new SourceLocation(7, 17)]
+    }
 }